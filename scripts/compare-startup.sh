@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# ===================================================================
+# Compares the startup of the gateway jar with its AOT-processed build started from an AppCDS archive
+#
+# Usage: scripts/compare-startup.sh
+#
+# Environment:
+#   SPRING_PROFILE   Spring profile baked into both jars and used for AOT processing (default: prod)
+#   RUNS             Startups measured per variant (default: 5)
+#   TRAINING_RATE    Requests/second of each scenario during the training run (default: 200)
+#   TRAINING_TIME    Duration of each scenario during the training run (default: 5s)
+#
+# Runs against local stubs (src/loadtest/java), no Redis, Eureka or config server is needed.
+# The archive only matches the JVM that created it, the comparison must use the same java as the training run
+# ===================================================================
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+RESULT_DIR="${ROOT_DIR}/target/startup-benchmark"
+SPRING_PROFILE="${SPRING_PROFILE:-prod}"
+RUNS="${RUNS:-5}"
+TRAINING_RATE="${TRAINING_RATE:-200}"
+TRAINING_TIME="${TRAINING_TIME:-5s}"
+
+run_benchmark() {
+  (cd "${ROOT_DIR}" && mvn -B -P"${SPRING_PROFILE},loadtest" exec:exec \
+    -Dloadtest.main=com.ars.gateway.loadtest.StartupBenchmark \
+    -Dloadtest.jvm.args="-Xmx512m" \
+    -Dloadtest.args="$*")
+}
+
+# Current jar, as built by Dockerfile
+(cd "${ROOT_DIR}" && mvn -B -q clean package -DskipTests -P"${SPRING_PROFILE}")
+mkdir -p "${RESULT_DIR}"
+cp "${ROOT_DIR}"/target/gateway-*.jar "${RESULT_DIR}/gateway.jar"
+
+# AOT-processed jar, the loadtest profile also compiles the stubs and the benchmark
+(cd "${ROOT_DIR}" && mvn -B -q package -DskipTests -P"${SPRING_PROFILE},cds,loadtest")
+rm -rf "${RESULT_DIR}/cds"
+cp "${ROOT_DIR}"/target/gateway-*.jar "${RESULT_DIR}/gateway-aot.jar"
+java -Djarmode=tools -jar "${RESULT_DIR}/gateway-aot.jar" extract --destination "${RESULT_DIR}/cds"
+
+echo "=== Training run"
+run_benchmark --mode=train \
+  --jar="${RESULT_DIR}/cds/gateway-aot.jar" \
+  --archive="${RESULT_DIR}/cds/gateway-aot.jsa" \
+  --rate="${TRAINING_RATE}" \
+  --duration="${TRAINING_TIME}"
+
+echo "=== Comparison"
+run_benchmark --mode=compare \
+  --jar="${RESULT_DIR}/gateway.jar" \
+  --cds-jar="${RESULT_DIR}/cds/gateway-aot.jar" \
+  --archive="${RESULT_DIR}/cds/gateway-aot.jsa" \
+  --runs="${RUNS}" | tee "${RESULT_DIR}/startup.txt"
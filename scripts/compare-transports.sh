@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+# ===================================================================
+# Compares requests/second and tail latency of the gateway across Netty transports on the same host
+#
+# Usage: scripts/compare-transports.sh [transports...]
+#   Default transports: NIO EPOLL IO_URING
+#
+# Environment:
+#   TARGET_PATH      Path requested through the gateway (default: /api/p/v1/products)
+#   GATEWAY_PORT     Port the gateway listens on (default: 8080)
+#   WRK_THREADS      wrk threads (default: 4)
+#   WRK_CONNECTIONS  wrk open connections (default: 256)
+#   WRK_DURATION     Duration of each run (default: 60s)
+#   SPRING_PROFILE   Spring profile used to start the gateway (default: dev)
+#   EXTRA_ARGS       Extra arguments passed to the gateway, e.g. worker thread sizing
+#
+# Requires wrk (https://github.com/wg/wrk) and the downstream dependencies of the selected profile
+# ===================================================================
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+RESULT_DIR="${ROOT_DIR}/target/transport-benchmark"
+TARGET_PATH="${TARGET_PATH:-/api/p/v1/products}"
+GATEWAY_PORT="${GATEWAY_PORT:-8080}"
+WRK_THREADS="${WRK_THREADS:-4}"
+WRK_CONNECTIONS="${WRK_CONNECTIONS:-256}"
+WRK_DURATION="${WRK_DURATION:-60s}"
+SPRING_PROFILE="${SPRING_PROFILE:-dev}"
+EXTRA_ARGS="${EXTRA_ARGS:-}"
+TRANSPORTS=("${@:-NIO EPOLL IO_URING}")
+read -r -a TRANSPORTS <<< "${TRANSPORTS[*]}"
+
+mkdir -p "${RESULT_DIR}"
+
+# io_uring takes precedence over epoll when both are on the classpath, so each native transport gets its own jar
+build_jar() {
+  local transport="$1"
+  local maven_profile="native-epoll"
+
+  if [[ "${transport}" == "IO_URING" ]]; then
+    maven_profile="native-io-uring"
+  fi
+
+  (cd "${ROOT_DIR}" && mvn -B -q clean package -DskipTests -P"${SPRING_PROFILE},${maven_profile}")
+  cp "${ROOT_DIR}"/target/gateway-*.jar "${RESULT_DIR}/gateway-${transport}.jar"
+}
+
+wait_until_ready() {
+  for _ in $(seq 1 120); do
+    if curl -fs "http://localhost:${GATEWAY_PORT}/actuator/health/readiness" > /dev/null; then
+      return 0
+    fi
+
+    sleep 1
+  done
+
+  echo "Gateway did not become ready" >&2
+  return 1
+}
+
+for transport in "${TRANSPORTS[@]}"; do
+  echo "=== ${transport}"
+  build_jar "${transport}"
+  # shellcheck disable=SC2086
+  java -jar "${RESULT_DIR}/gateway-${transport}.jar" \
+    --server.port="${GATEWAY_PORT}" \
+    --app.transport.type="${transport}" \
+    ${EXTRA_ARGS} > "${RESULT_DIR}/gateway-${transport}.log" 2>&1 &
+  gateway_pid=$!
+  trap 'kill ${gateway_pid} 2> /dev/null || true' EXIT
+
+  wait_until_ready
+  grep -m1 "\[NETTY_TRANSPORT\] - requested" "${RESULT_DIR}/gateway-${transport}.log" || true
+  # Warm-up run, results discarded
+  wrk -t"${WRK_THREADS}" -c"${WRK_CONNECTIONS}" -d15s "http://localhost:${GATEWAY_PORT}${TARGET_PATH}" > /dev/null
+  wrk -t"${WRK_THREADS}" -c"${WRK_CONNECTIONS}" -d"${WRK_DURATION}" --latency \
+    "http://localhost:${GATEWAY_PORT}${TARGET_PATH}" | tee "${RESULT_DIR}/wrk-${transport}.txt"
+
+  kill "${gateway_pid}"
+  wait "${gateway_pid}" 2> /dev/null || true
+done
+
+echo
+printf "%-10s %15s %10s %10s %10s\n" "transport" "requests/sec" "p50" "p90" "p99"
+
+for transport in "${TRANSPORTS[@]}"; do
+  report="${RESULT_DIR}/wrk-${transport}.txt"
+  rps=$(awk '/Requests\/sec/ {print $2}' "${report}")
+  p50=$(awk '$1 == "50%" {print $2}' "${report}")
+  p90=$(awk '$1 == "90%" {print $2}' "${report}")
+  p99=$(awk '$1 == "99%" {print $2}' "${report}")
+  printf "%-10s %15s %10s %10s %10s\n" "${transport}" "${rps}" "${p50}" "${p90}" "${p99}"
+done
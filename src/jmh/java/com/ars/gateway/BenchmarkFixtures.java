@@ -0,0 +1,85 @@
+package com.ars.gateway;
+
+import com.dct.model.common.MessageTranslationUtils;
+import com.dct.model.config.properties.SecurityProps;
+import com.dct.model.constants.BaseSecurityConstants;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Components of the gateway built without a Spring context, configured like application-dev.yml
+ * @author thoaidc
+ */
+public final class BenchmarkFixtures {
+    public static final String DEVICE_KEY = "NDdiMDQ3Njg3NjNkMjJjYTVhMDQyNDgA";
+    public static final String JWT_SECRET = "ZGN0LWJhc2Utc2VjcmV0LWtleS1mb3ItYWNjZXNzLXRva2VuLXZhbGlkYXRpb24=";
+
+    /**
+     * Public request patterns of a production-like configuration: the ones of application-dev.yml plus the public
+     * endpoints of every service, so that a protected path is compared against all of them
+     */
+    public static final List<String> PUBLIC_REQUEST_PATTERNS = List.of(
+        "/favicon.ico",
+        "/api/p/**",
+        "/login/**",
+        "/ws/**",
+        "/uploads/**",
+        "/api/v1/payments/webhook/payos",
+        "/actuator/prometheus",
+        "/api/v1/notifications/chats/**",
+        "/",
+        "/api/v1/auth/login",
+        "/api/v1/auth/register",
+        "/api/v1/auth/refresh-token",
+        "/api/v1/auth/forgot-password/**",
+        "/api/v1/products/search",
+        "/api/v1/products/*/reviews",
+        "/api/v1/shops/*/products",
+        "/api/v1/vouchers/public/**",
+        "/api/v1/categories/**",
+        "/api/v1/banners/**",
+        "/api/v1/payments/callback/**",
+        "/swagger-ui/**",
+        "/v3/api-docs/**"
+    );
+
+    private BenchmarkFixtures() {}
+
+    public static MessageTranslationUtils messageTranslationUtils() {
+        ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasenames("classpath:i18n/messages", "classpath:i18n/base_messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        messageSource.setDefaultLocale(Locale.ENGLISH);
+        return new MessageTranslationUtils(messageSource);
+    }
+
+    public static SecurityProps securityProps() {
+        Map<String, Object> properties = Map.of(
+            "app.security.jwt.access-token.base64-secret-key", JWT_SECRET,
+            "app.security.public-request-patterns", String.join(",", PUBLIC_REQUEST_PATTERNS)
+        );
+        return new Binder(new MapConfigurationPropertySource(properties)).bind("app.security", SecurityProps.class).get();
+    }
+
+    public static String accessToken(int userId, String authorities) {
+        return Jwts.builder()
+            .claim(BaseSecurityConstants.TOKEN_PAYLOAD.USER_ID, userId)
+            .claim(BaseSecurityConstants.TOKEN_PAYLOAD.USERNAME, "benchmark-user-" + userId)
+            .claim(BaseSecurityConstants.TOKEN_PAYLOAD.AUTHORITIES, authorities)
+            .setExpiration(new Date(System.currentTimeMillis() + Duration.ofDays(1).toMillis()))
+            .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET)))
+            .compact();
+    }
+}
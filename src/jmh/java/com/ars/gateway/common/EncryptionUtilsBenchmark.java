@@ -0,0 +1,53 @@
+package com.ars.gateway.common;
+
+import com.ars.gateway.BenchmarkFixtures;
+import com.ars.gateway.dto.CheckValidDeviceIdResponseDTO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EncryptionUtils#checkValidDeviceId}, called for every request by the rate limiter key resolver
+ * @author thoaidc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncryptionUtilsBenchmark {
+    private EncryptionUtils encryptionUtils;
+    private String validDeviceId;
+
+    @Setup
+    public void setup() {
+        encryptionUtils = new EncryptionUtils(BenchmarkFixtures.DEVICE_KEY);
+        validDeviceId = encryptionUtils.encrypt("3f6c2a1e-8d4b-4f7a-9c1e-2b5d8e7f6a90");
+    }
+
+    @Benchmark
+    public CheckValidDeviceIdResponseDTO validDeviceId() {
+        return encryptionUtils.checkValidDeviceId(validDeviceId);
+    }
+
+    @Benchmark
+    public CheckValidDeviceIdResponseDTO invalidDeviceId() {
+        return encryptionUtils.checkValidDeviceId("not-an-encrypted-device-id");
+    }
+
+    @Benchmark
+    public CheckValidDeviceIdResponseDTO missingDeviceId() {
+        return encryptionUtils.checkValidDeviceId(null);
+    }
+}
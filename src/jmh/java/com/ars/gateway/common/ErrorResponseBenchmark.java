@@ -0,0 +1,78 @@
+package com.ars.gateway.common;
+
+import com.ars.gateway.BenchmarkFixtures;
+import com.ars.gateway.constants.ExceptionConstants;
+import com.dct.model.common.JsonUtils;
+import com.dct.model.common.MessageTranslationUtils;
+import com.dct.model.dto.response.BaseResponseDTO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error bodies written on hot failure paths
+ *
+ * <ul>
+ *     <li>{@code translatedBody}: translate + build + serialize per request, as the rate limiter and JwtFilter do</li>
+ *     <li>{@code cachedWrite}: {@link ErrorResponseWriter#write}, body serialized once per status, key and language</li>
+ *     <li>{@code exchangeOnly}: creation of the mock exchange, to subtract from {@code cachedWrite}</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorResponseBenchmark {
+    private MessageTranslationUtils messageTranslationUtils;
+    private ErrorResponseWriter errorResponseWriter;
+
+    @Setup
+    public void setup() {
+        messageTranslationUtils = BenchmarkFixtures.messageTranslationUtils();
+        errorResponseWriter = new ErrorResponseWriter(messageTranslationUtils);
+    }
+
+    @Benchmark
+    public byte[] translatedBody() {
+        BaseResponseDTO responseDTO = BaseResponseDTO.builder()
+                .code(HttpStatus.TOO_MANY_REQUESTS.value())
+                .success(Boolean.FALSE)
+                .message(messageTranslationUtils.getMessageI18n(ExceptionConstants.TOO_MANY_REQUESTS))
+                .build();
+        return JsonUtils.toJsonString(responseDTO).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public MockServerWebExchange cachedWrite() {
+        MockServerWebExchange exchange = exchange();
+        errorResponseWriter.write(exchange, HttpStatus.TOO_MANY_REQUESTS, ExceptionConstants.TOO_MANY_REQUESTS).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public MockServerWebExchange exchangeOnly() {
+        return exchange();
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders").header("Accept-Language", "vi"));
+    }
+}
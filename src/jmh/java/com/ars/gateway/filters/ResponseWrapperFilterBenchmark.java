@@ -0,0 +1,60 @@
+package com.ars.gateway.filters;
+
+import com.ars.gateway.BenchmarkFixtures;
+import com.ars.gateway.constants.ExceptionConstants;
+import com.dct.model.dto.response.BaseResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ResponseWrapperFilter#transformBody}: a {@link BaseResponseDTO} whose message is translated,
+ * and a JSON body with unknown fields that is returned unchanged after a failed strict parse
+ * @author thoaidc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseWrapperFilterBenchmark {
+    private static final String FOREIGN_BODY = """
+        {"id":1024,"name":"Wireless keyboard","price":49.9,"stock":120,"tags":["electronics","accessories"]}
+        """;
+    private ResponseWrapperFilter responseWrapperFilter;
+    private String baseResponseBody;
+
+    @Setup
+    public void setup() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        responseWrapperFilter = new ResponseWrapperFilter(BenchmarkFixtures.messageTranslationUtils(), objectMapper);
+        BaseResponseDTO responseDTO = BaseResponseDTO.builder()
+            .code(429)
+            .success(Boolean.FALSE)
+            .message(ExceptionConstants.TOO_MANY_REQUESTS)
+            .build();
+        baseResponseBody = objectMapper.writeValueAsString(responseDTO);
+    }
+
+    @Benchmark
+    public String baseResponse() {
+        return responseWrapperFilter.transformBody(baseResponseBody);
+    }
+
+    @Benchmark
+    public String foreignBody() {
+        return responseWrapperFilter.transformBody(FOREIGN_BODY);
+    }
+}
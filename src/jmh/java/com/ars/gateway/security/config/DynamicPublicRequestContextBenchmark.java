@@ -0,0 +1,45 @@
+package com.ars.gateway.security.config;
+
+import com.ars.gateway.BenchmarkFixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DynamicPublicRequestContext#isPublicPath(String)} with the production-like pattern set of
+ * {@link BenchmarkFixtures#PUBLIC_REQUEST_PATTERNS}, for a public path and for protected paths that miss every pattern
+ * @author thoaidc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DynamicPublicRequestContextBenchmark {
+    @Param({"/api/p/v1/products/1024", "/api/v1/orders/1024/items", "/api/v1/admin/shops/12/vouchers/34"})
+    private String path;
+    private DynamicPublicRequestContext dynamicPublicRequestContext;
+
+    @Setup
+    public void setup() {
+        dynamicPublicRequestContext = new DynamicPublicRequestContext();
+        dynamicPublicRequestContext.updatePublicPaths(BenchmarkFixtures.PUBLIC_REQUEST_PATTERNS);
+    }
+
+    @Benchmark
+    public boolean isPublicPath() {
+        return dynamicPublicRequestContext.isPublicPath(path);
+    }
+}
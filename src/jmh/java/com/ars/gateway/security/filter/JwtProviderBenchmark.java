@@ -0,0 +1,49 @@
+package com.ars.gateway.security.filter;
+
+import com.ars.gateway.BenchmarkFixtures;
+import com.dct.model.dto.auth.BaseUserDTO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtProvider}: token parsing alone, and {@link JwtProvider#validateToken} including its hop to the
+ * bounded elastic scheduler, as JwtFilter calls it
+ * @author thoaidc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtProviderBenchmark {
+    private JwtProvider jwtProvider;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtProvider = new JwtProvider(BenchmarkFixtures.securityProps());
+        token = BenchmarkFixtures.accessToken(1024, "ROLE_USER,product.read,order.read,order.create,cart.update");
+    }
+
+    @Benchmark
+    public BaseUserDTO getAuthentication() {
+        return jwtProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public BaseUserDTO validateToken() {
+        return jwtProvider.validateToken(token).block();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ars.gateway.security.ratelimiter;
+
+import com.ars.gateway.BenchmarkFixtures;
+import com.ars.gateway.common.EncryptionUtils;
+import com.ars.gateway.config.properties.HeavyHitterProps;
+import com.ars.gateway.config.properties.IpFilterProps;
+import com.ars.gateway.constants.CommonConstants;
+import com.ars.gateway.heavyhitter.HeavyHitterDetector;
+import com.ars.gateway.ipfilter.ClientAddressResolver;
+import com.dct.model.constants.BaseSecurityConstants;
+import com.dct.model.dto.auth.BaseUserDTO;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CustomKeyResolver#resolve} for an authenticated request with a device ID and for an anonymous one (IP key),
+ * including the heavy hitter counting of the key and the IP
+ * @author thoaidc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomKeyResolverBenchmark {
+    private static final InetSocketAddress CLIENT_ADDRESS = new InetSocketAddress("203.0.113.24", 52814);
+    private CustomKeyResolver customKeyResolver;
+    private MockServerWebExchange authenticatedExchange;
+    private MockServerWebExchange anonymousExchange;
+
+    @Setup
+    public void setup() {
+        EncryptionUtils encryptionUtils = new EncryptionUtils(BenchmarkFixtures.DEVICE_KEY);
+        HeavyHitterDetector heavyHitterDetector = new HeavyHitterDetector(
+            new HeavyHitterProps(),
+            null,
+            new ClientAddressResolver(new IpFilterProps()),
+            new SimpleMeterRegistry()
+        );
+        customKeyResolver = new CustomKeyResolver(encryptionUtils, heavyHitterDetector);
+        String deviceId = encryptionUtils.encrypt("3f6c2a1e-8d4b-4f7a-9c1e-2b5d8e7f6a90");
+        authenticatedExchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/orders/1024")
+                .header(BaseSecurityConstants.HEADER.X_DEVICE_ID, deviceId)
+                .remoteAddress(CLIENT_ADDRESS)
+        );
+        BaseUserDTO user = BaseUserDTO.userBuilder()
+            .withId(1024)
+            .withUsername("benchmark-user")
+            .withAuthorities(Set.of("ROLE_USER"))
+            .build();
+        authenticatedExchange.getAttributes().put(CommonConstants.AUTHENTICATION_EXCHANGE_ATTRIBUTE, user);
+        anonymousExchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/p/v1/products").remoteAddress(CLIENT_ADDRESS));
+    }
+
+    @Benchmark
+    public String authenticatedWithDeviceId() {
+        return customKeyResolver.resolve(authenticatedExchange).block();
+    }
+
+    @Benchmark
+    public String anonymous() {
+        return customKeyResolver.resolve(anonymousExchange).block();
+    }
+}
@@ -0,0 +1,131 @@
+package com.ars.gateway.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway started from a jar in its own JVM, pointed at a {@link StubEnvironment}
+ *
+ * <ul>
+ *     <li>
+ *         Runs in a temporary working directory, so the registry and route snapshot files written by the gateway
+ *         never end up next to the jar (e.g. in a container image built after a training run)
+ *     </li>
+ *     <li>Secrets of the prod profile are set to the values of application-dev.yml unless defined in the environment</li>
+ *     <li>Stopped with SIGTERM: the JVM exits normally, which is when a CDS archive requested at launch is written</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+public class GatewayProcess implements AutoCloseable {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(60);
+    private final Process process;
+    private final long startNanos;
+    private final String baseUrl;
+    private final Path logFile;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private GatewayProcess(Process process, long startNanos, String baseUrl, Path logFile) {
+        this.process = process;
+        this.startNanos = startNanos;
+        this.baseUrl = baseUrl;
+        this.logFile = logFile;
+    }
+
+    public static GatewayProcess launch(Path jar, List<String> jvmOptions, StubEnvironment stubs) throws IOException {
+        Path workDir = Files.createTempDirectory("gateway-process");
+        Path logFile = workDir.resolve("console.log");
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.addAll(stubs.gatewayArguments());
+        command.add("--server.port=" + port);
+        command.add("--logging.file.path=" + workDir.resolve("logs"));
+
+        ProcessBuilder processBuilder = new ProcessBuilder(command)
+            .directory(workDir.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(logFile.toFile());
+        Map<String, String> environment = processBuilder.environment();
+        environment.putIfAbsent("ARS_REDIS_PASSWORD", "load-test");
+        environment.putIfAbsent("DEVICE_KEY", Scenario.DEVICE_KEY);
+        environment.putIfAbsent("ARS_GATEWAY_SECURITY_KEY", Scenario.JWT_SECRET);
+        long startNanos = System.nanoTime();
+        return new GatewayProcess(processBuilder.start(), startNanos, "http://127.0.0.1:" + port, logFile);
+    }
+
+    /**
+     * @return the time from launch until the readiness probe answered 200
+     */
+    public Duration awaitReady(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Gateway exited with code " + process.exitValue() + ", see " + logFile);
+            }
+
+            if (send(new Scenario.Request("/actuator/health/readiness", Map.of())) == 200) {
+                return sinceLaunch();
+            }
+
+            Thread.sleep(POLL_INTERVAL);
+        }
+
+        throw new IllegalStateException("Gateway not ready after " + timeout + ", see " + logFile);
+    }
+
+    /**
+     * @return the HTTP status, or -1 when the gateway could not be reached
+     */
+    public int send(Scenario.Request request) throws InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.path())).timeout(Duration.ofSeconds(10));
+        request.headers().forEach(builder::header);
+
+        try {
+            return client.send(builder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    public Duration sinceLaunch() {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+
+        if (!process.waitFor(STOP_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+
+        client.close();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ars.gateway.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Options of {@link LoadTestRunner}, given as {@code --name=value}
+ *
+ * <ul>
+ *     <li>{@code rate}: Requests per second sent by each scenario (default 500)</li>
+ *     <li>{@code duration}: Measured duration of each scenario (default 30s)</li>
+ *     <li>{@code warmup}: Unmeasured run before each scenario, lets the JIT compile the hot paths (default 10s)</li>
+ *     <li>{@code scenarios}: Comma-separated scenario names, see {@link Scenario#all} (default all of them)</li>
+ *     <li>{@code stub-latency}, {@code stub-payload}: Response time and body size of the downstream stubs (default 5ms, 1024 bytes)</li>
+ *     <li>{@code rate-limit-rate}: Rate of the rate-limit scenario, above the ban threshold of 100 rps (default 300)</li>
+ *     <li>{@code connections}, {@code max-in-flight}, {@code timeout}: Client limits (default 512, 10000, 10s)</li>
+ *     <li>{@code pool-size}: Number of distinct users and devices rotated by the scenarios (default 1000)</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+public record LoadTestOptions(int rate,
+                              Duration duration,
+                              Duration warmup,
+                              List<String> scenarios,
+                              Duration stubLatency,
+                              int stubPayload,
+                              int rateLimitRate,
+                              int connections,
+                              int maxInFlight,
+                              Duration timeout,
+                              int poolSize) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = Arrays.stream(args)
+            .filter(arg -> arg.startsWith("--") && arg.contains("="))
+            .map(arg -> arg.substring(2).split("=", 2))
+            .collect(Collectors.toMap(pair -> pair[0], pair -> pair[1], (first, second) -> second));
+
+        return new LoadTestOptions(
+            Integer.parseInt(values.getOrDefault("rate", "500")),
+            DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+            DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+            Objects.isNull(values.get("scenarios")) ? List.of() : List.of(values.get("scenarios").split(",")),
+            DurationStyle.detectAndParse(values.getOrDefault("stub-latency", "5ms")),
+            Integer.parseInt(values.getOrDefault("stub-payload", "1024")),
+            Integer.parseInt(values.getOrDefault("rate-limit-rate", "300")),
+            Integer.parseInt(values.getOrDefault("connections", "512")),
+            Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+            DurationStyle.detectAndParse(values.getOrDefault("timeout", "10s")),
+            Integer.parseInt(values.getOrDefault("pool-size", "1000"))
+        );
+    }
+
+    public boolean includes(Scenario scenario) {
+        return scenarios.isEmpty() || scenarios.contains(scenario.name());
+    }
+}
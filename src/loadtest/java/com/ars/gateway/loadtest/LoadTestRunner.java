@@ -0,0 +1,96 @@
+package com.ars.gateway.loadtest;
+
+import com.ars.gateway.ApiGatewayApplication;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * End-to-end load test of the gateway without any external dependency
+ *
+ * <ul>
+ *     <li>Downstream services and Redis are replaced by a {@link StubEnvironment}</li>
+ *     <li>
+ *         The gateway runs in this JVM with the dev profile, Eureka and the config server disabled and
+ *         {@code app.registry.mode=STATIC} pointing at the stubs, so the whole filter chain is exercised:
+ *         JWT, authorization, rate limiter (Redis round trips included), load balancer, routing and response rewriting
+ *     </li>
+ *     <li>Each scenario is warmed up, then measured by the {@link OpenLoopLoadGenerator}, one after the other</li>
+ * </ul>
+ *
+ * Run with: {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=2000 --duration=60s"}
+ * <p>
+ * The client shares the machine with the gateway, results compare builds with each other rather than
+ * predicting production capacity
+ *
+ * @author thoaidc
+ */
+public class LoadTestRunner {
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext gateway = null;
+
+        try (StubEnvironment stubs = StubEnvironment.start(options.stubLatency(), options.stubPayload())) {
+            gateway = startGateway(stubs);
+            int gatewayPort = gateway.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            runScenarios(options, "http://127.0.0.1:" + gatewayPort);
+        } finally {
+            if (Objects.nonNull(gateway)) {
+                gateway.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startGateway(StubEnvironment stubs) {
+        List<String> arguments = new ArrayList<>(stubs.gatewayArguments());
+        arguments.add("--server.port=0");
+        arguments.add("--eureka.client.enabled=false");
+        arguments.add("--spring.cloud.discovery.enabled=false");
+        arguments.add("--logging.level.com.ars.gateway=info");
+        return new SpringApplicationBuilder(ApiGatewayApplication.class)
+            .profiles("dev")
+            .run(arguments.toArray(String[]::new));
+    }
+
+    private static void runScenarios(LoadTestOptions options, String baseUrl) {
+        List<Scenario> scenarios = Scenario.all(options.poolSize(), options.rateLimitRate())
+            .stream()
+            .filter(options::includes)
+            .toList();
+        List<ScenarioResult> results = new ArrayList<>();
+
+        try (OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(
+            baseUrl, options.connections(), options.maxInFlight(), options.timeout()
+        )) {
+            for (Scenario scenario : scenarios) {
+                int rate = scenario.fixedRate() > 0 ? scenario.fixedRate() : options.rate();
+                System.out.printf("[LOAD_TEST] - scenario: %s (%s), rate: %d/s%n", scenario.name(), scenario.description(), rate);
+
+                if (!options.warmup().isZero()) {
+                    generator.run(scenario, rate, options.warmup());
+                }
+
+                // Lets the rate limit windows of this scenario expire before the next one starts
+                results.add(generator.run(scenario, rate, options.duration()));
+                sleep(Duration.ofSeconds(2));
+            }
+        }
+
+        System.out.println();
+        ScenarioResult.printHeader(System.out);
+        results.forEach(result -> result.print(System.out));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
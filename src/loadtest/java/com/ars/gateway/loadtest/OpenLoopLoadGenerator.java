@@ -0,0 +1,128 @@
+package com.ars.gateway.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the requests of a {@link Scenario} at a constant arrival rate, whatever the response times (open model)
+ *
+ * <ul>
+ *     <li>
+ *         Request n is due at {@code start + n / rate}. Its latency is measured from that due time, not from the
+ *         actual send, so a stalled gateway is charged for the requests it delayed (no coordinated omission)
+ *     </li>
+ *     <li>
+ *         When {@code maxInFlight} requests are outstanding, due requests are counted as dropped instead of queued,
+ *         the generator never slows down to the pace of the gateway
+ *     </li>
+ *     <li>Latencies are recorded in microseconds into an HdrHistogram {@link Recorder}, errors and timeouts included</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+public class OpenLoopLoadGenerator implements AutoCloseable {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private final ConnectionProvider connectionProvider;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+
+    public OpenLoopLoadGenerator(String baseUrl, int maxConnections, int maxInFlight, Duration requestTimeout) {
+        this.connectionProvider = ConnectionProvider.builder("load-test")
+            .maxConnections(maxConnections)
+            .pendingAcquireMaxCount(maxInFlight)
+            .pendingAcquireTimeout(requestTimeout)
+            .build();
+        this.httpClient = HttpClient.create(connectionProvider).baseUrl(baseUrl).responseTimeout(requestTimeout);
+        this.requestTimeout = requestTimeout;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public ScenarioResult run(Scenario scenario, int rate, Duration duration) {
+        Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder errors = new LongAdder();
+        LongAdder dropped = new LongAdder();
+        AtomicInteger inFlight = new AtomicInteger();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long total = duration.toNanos() / intervalNanos;
+        long start = System.nanoTime();
+
+        for (int n = 0; n < total; n++) {
+            long dueAt = start + n * intervalNanos;
+            long wait = dueAt - System.nanoTime();
+
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            if (inFlight.get() >= maxInFlight) {
+                dropped.increment();
+                continue;
+            }
+
+            inFlight.incrementAndGet();
+            Scenario.Request request = scenario.requests().apply(n);
+            httpClient.headers(headers -> addHeaders(headers, request.headers()))
+                .get()
+                .uri(request.path())
+                .responseSingle((response, body) -> body.asByteArray()
+                    .map(ignored -> response.status().code())
+                    .defaultIfEmpty(response.status().code()))
+                .subscribe(
+                    status -> {
+                        recordLatency(recorder, dueAt);
+                        statuses.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+                        inFlight.decrementAndGet();
+                    },
+                    error -> {
+                        recordLatency(recorder, dueAt);
+                        errors.increment();
+                        inFlight.decrementAndGet();
+                    }
+                );
+        }
+
+        awaitCompletion(inFlight);
+        long elapsedNanos = System.nanoTime() - start;
+        Histogram histogram = recorder.getIntervalHistogram();
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new ScenarioResult(scenario.name(), rate, total, statusCounts, errors.sum(), dropped.sum(), elapsedNanos, histogram);
+    }
+
+    private void awaitCompletion(AtomicInteger inFlight) {
+        long deadline = System.nanoTime() + requestTimeout.toNanos() * 2;
+
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private static void addHeaders(HttpHeaders headers, Map<String, String> values) {
+        values.forEach(headers::set);
+    }
+
+    private static void recordLatency(Recorder recorder, long dueAt) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - dueAt);
+        recorder.recordValue(Math.min(Math.max(micros, 1), MAX_LATENCY_MICROS));
+    }
+
+    @Override
+    public void close() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(10));
+    }
+}
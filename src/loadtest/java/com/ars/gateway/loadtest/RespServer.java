@@ -0,0 +1,302 @@
+package com.ars.gateway.loadtest;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-process stand-in for Redis, speaking enough RESP2 for the gateway: connection handshake, strings with expiry,
+ * EXISTS/DEL/INCR/EXPIRE, MGET, hashes, EVAL of the rate limiter script (INCR + EXPIRE on the first hit)
+ * and pub/sub subscriptions (PUBLISH reaches no subscriber)
+ * <p>
+ * HELLO is rejected so that Lettuce falls back to RESP2. Scripts are not interpreted: EVALSHA always answers NOSCRIPT,
+ * and EVAL runs the only script the gateway sends
+ *
+ * @author thoaidc
+ */
+public class RespServer implements AutoCloseable {
+    private final Map<String, Entry> data = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> hashes = new ConcurrentHashMap<>();
+    private final EventLoopGroup group = new NioEventLoopGroup(2);
+    private Channel channel;
+
+    public int start() throws InterruptedException {
+        channel = new ServerBootstrap()
+            .group(group)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel ch) {
+                    ch.pipeline().addLast(new RespDecoder(), new CommandHandler());
+                }
+            })
+            .bind("127.0.0.1", 0)
+            .sync()
+            .channel();
+        return ((InetSocketAddress) channel.localAddress()).getPort();
+    }
+
+    @Override
+    public void close() {
+        if (Objects.nonNull(channel)) {
+            channel.close().syncUninterruptibly();
+        }
+
+        group.shutdownGracefully();
+    }
+
+    private String execute(List<String> command) {
+        String name = command.getFirst().toUpperCase(Locale.ROOT);
+
+        return switch (name) {
+            case "PING" -> "+PONG\r\n";
+            case "AUTH", "SELECT", "CLIENT", "QUIT", "READONLY" -> "+OK\r\n";
+            case "HELLO" -> "-ERR unknown command 'HELLO'\r\n";
+            case "INFO" -> bulk("# Server\r\nredis_version:7.2.0\r\nredis_mode:standalone\r\n");
+            case "GET" -> bulk(value(command.get(1)));
+            case "MGET" -> array(command.subList(1, command.size()).stream().map(key -> bulk(value(key))).toList());
+            case "SET" -> set(command);
+            case "SETEX" -> setWithExpiry(command.get(1), command.get(3), Long.parseLong(command.get(2)) * 1000);
+            case "PSETEX" -> setWithExpiry(command.get(1), command.get(3), Long.parseLong(command.get(2)));
+            case "EXISTS" -> integer(command.subList(1, command.size()).stream().filter(key -> Objects.nonNull(value(key))).count());
+            case "DEL", "UNLINK" -> integer(command.subList(1, command.size()).stream().filter(key -> Objects.nonNull(data.remove(key))).count());
+            case "INCR" -> integer(increment(command.get(1)));
+            case "EXPIRE" -> integer(expire(command.get(1), Long.parseLong(command.get(2)) * 1000));
+            case "PEXPIRE" -> integer(expire(command.get(1), Long.parseLong(command.get(2))));
+            case "TTL" -> integer(ttlMillis(command.get(1)) / 1000);
+            case "PTTL" -> integer(ttlMillis(command.get(1)));
+            case "EVALSHA" -> "-NOSCRIPT No matching script. Please use EVAL.\r\n";
+            case "EVAL" -> evalRateLimitScript(command);
+            case "HSET" -> integer(hashSet(command));
+            case "HDEL" -> integer(command.subList(2, command.size()).stream().filter(field -> Objects.nonNull(hash(command.get(1)).remove(field))).count());
+            case "HVALS" -> array(hash(command.get(1)).values().stream().map(RespServer::bulk).toList());
+            case "HGET" -> bulk(hash(command.get(1)).get(command.get(2)));
+            case "HGETALL" -> array(hash(command.get(1)).entrySet().stream().flatMap(entry -> Stream.of(bulk(entry.getKey()), bulk(entry.getValue()))).toList());
+            case "PUBLISH" -> integer(0);
+            case "SUBSCRIBE" -> array(List.of(bulk("subscribe"), bulk(command.get(1)), integer(1)));
+            default -> "-ERR unknown command '" + name + "'\r\n";
+        };
+    }
+
+    private String set(List<String> command) {
+        String key = command.get(1);
+        long ttlMillis = 0;
+        boolean onlyIfAbsent = false;
+
+        for (int i = 3; i < command.size(); i++) {
+            switch (command.get(i).toUpperCase(Locale.ROOT)) {
+                case "EX" -> ttlMillis = Long.parseLong(command.get(++i)) * 1000;
+                case "PX" -> ttlMillis = Long.parseLong(command.get(++i));
+                case "NX" -> onlyIfAbsent = true;
+                default -> { }
+            }
+        }
+
+        if (onlyIfAbsent && Objects.nonNull(value(key))) {
+            return "$-1\r\n";
+        }
+
+        return setWithExpiry(key, command.get(2), ttlMillis);
+    }
+
+    private long hashSet(List<String> command) {
+        Map<String, String> hash = hash(command.get(1));
+        long added = 0;
+
+        for (int i = 2; i + 1 < command.size(); i += 2) {
+            if (Objects.isNull(hash.put(command.get(i), command.get(i + 1)))) {
+                added++;
+            }
+        }
+
+        return added;
+    }
+
+    private Map<String, String> hash(String key) {
+        return hashes.computeIfAbsent(key, ignored -> new ConcurrentHashMap<>());
+    }
+
+    private String setWithExpiry(String key, String value, long ttlMillis) {
+        data.put(key, new Entry(value, ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0));
+        return "+OK\r\n";
+    }
+
+    /**
+     * EVAL script numkeys key... arg...: the rate limiter script increments KEYS[1] and sets its expiry to ARGV[1]
+     */
+    private String evalRateLimitScript(List<String> command) {
+        if (!command.get(1).contains("INCR") || Integer.parseInt(command.get(2)) != 1) {
+            return "-ERR unsupported script\r\n";
+        }
+
+        String key = command.get(3);
+        long current = increment(key);
+
+        if (current == 1) {
+            expire(key, Long.parseLong(command.get(4)) * 1000);
+        }
+
+        return integer(current);
+    }
+
+    private long increment(String key) {
+        Entry entry = data.compute(key, (ignored, previous) -> {
+            if (Objects.isNull(previous) || previous.isExpired()) {
+                return new Entry("1", 0);
+            }
+
+            return new Entry(String.valueOf(Long.parseLong(previous.value) + 1), previous.expireAtMillis);
+        });
+        return Long.parseLong(entry.value);
+    }
+
+    private long expire(String key, long ttlMillis) {
+        Entry entry = data.computeIfPresent(key, (ignored, previous) ->
+            previous.isExpired() ? null : new Entry(previous.value, System.currentTimeMillis() + ttlMillis)
+        );
+        return Objects.nonNull(entry) ? 1 : 0;
+    }
+
+    private long ttlMillis(String key) {
+        Entry entry = data.get(key);
+
+        if (Objects.isNull(entry) || entry.isExpired()) {
+            return -2;
+        }
+
+        return entry.expireAtMillis == 0 ? -1 : entry.expireAtMillis - System.currentTimeMillis();
+    }
+
+    private String value(String key) {
+        Entry entry = data.get(key);
+
+        if (Objects.nonNull(entry) && entry.isExpired()) {
+            data.remove(key, entry);
+            return null;
+        }
+
+        return Objects.nonNull(entry) ? entry.value : null;
+    }
+
+    private static String bulk(String value) {
+        if (Objects.isNull(value)) {
+            return "$-1\r\n";
+        }
+
+        return "$" + value.getBytes(StandardCharsets.UTF_8).length + "\r\n" + value + "\r\n";
+    }
+
+    private static String array(List<String> elements) {
+        return "*" + elements.size() + "\r\n" + String.join("", elements);
+    }
+
+    private static String integer(long value) {
+        return ":" + value + "\r\n";
+    }
+
+    private record Entry(String value, long expireAtMillis) {
+        boolean isExpired() {
+            return expireAtMillis > 0 && System.currentTimeMillis() >= expireAtMillis;
+        }
+    }
+
+    private class CommandHandler extends SimpleChannelInboundHandler<List<String>> {
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, List<String> command) {
+            String reply;
+
+            try {
+                reply = command.isEmpty() ? "-ERR empty command\r\n" : execute(command);
+            } catch (RuntimeException e) {
+                reply = "-ERR " + e.getMessage() + "\r\n";
+            }
+
+            ctx.writeAndFlush(ctx.alloc().buffer().writeBytes(reply.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Decodes RESP arrays of bulk strings (what clients send) and inline commands
+     */
+    private static class RespDecoder extends ByteToMessageDecoder {
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+            while (in.isReadable()) {
+                in.markReaderIndex();
+                List<String> command = in.getByte(in.readerIndex()) == '*' ? readArray(in) : readInline(in);
+
+                if (Objects.isNull(command)) {
+                    in.resetReaderIndex();
+                    return;
+                }
+
+                out.add(command);
+            }
+        }
+
+        private static List<String> readArray(ByteBuf in) {
+            in.skipBytes(1);
+            String count = readLine(in);
+
+            if (Objects.isNull(count)) {
+                return null;
+            }
+
+            int size = Integer.parseInt(count);
+            List<String> command = new ArrayList<>(size);
+
+            for (int i = 0; i < size; i++) {
+                if (!in.isReadable()) {
+                    return null;
+                }
+
+                in.skipBytes(1); // '$'
+                String length = readLine(in);
+
+                if (Objects.isNull(length) || in.readableBytes() < Integer.parseInt(length) + 2) {
+                    return null;
+                }
+
+                command.add(in.readCharSequence(Integer.parseInt(length), StandardCharsets.UTF_8).toString());
+                in.skipBytes(2);
+            }
+
+            return command;
+        }
+
+        private static List<String> readInline(ByteBuf in) {
+            String line = readLine(in);
+            return Objects.isNull(line) ? null : List.of(line.trim().split("\\s+"));
+        }
+
+        private static String readLine(ByteBuf in) {
+            int end = in.indexOf(in.readerIndex(), in.writerIndex(), (byte) '\n');
+
+            if (end < 0) {
+                return null;
+            }
+
+            String line = in.readCharSequence(end - in.readerIndex(), StandardCharsets.UTF_8).toString();
+            in.skipBytes(1);
+            return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+        }
+    }
+}
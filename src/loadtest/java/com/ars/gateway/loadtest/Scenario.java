@@ -0,0 +1,90 @@
+package com.ars.gateway.loadtest;
+
+import com.ars.gateway.common.EncryptionUtils;
+import com.dct.model.constants.BaseSecurityConstants;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Traffic shape sent by the {@link OpenLoopLoadGenerator}: the n-th request of a scenario is {@code requests.apply(n)}
+ * <p>
+ * Credentials are generated up front with the secrets of application-dev.yml, and rotated over a pool so that
+ * every request is rate limited under its own user or device key instead of a single shared one
+ *
+ * @author thoaidc
+ */
+public record Scenario(String name, String description, int fixedRate, IntFunction<Request> requests) {
+    public static final String DEVICE_KEY = "NDdiMDQ3Njg3NjNkMjJjYTVhMDQyNDgA";
+    public static final String JWT_SECRET = "ZGN0LWJhc2Utc2VjcmV0LWtleS1mb3ItYWNjZXNzLXRva2VuLXZhbGlkYXRpb24=";
+
+    public record Request(String path, Map<String, String> headers) {}
+
+    public static List<Scenario> all(int poolSize, int rateLimitRate) {
+        List<String> tokens = IntStream.rangeClosed(1, poolSize).mapToObj(Scenario::accessToken).toList();
+        EncryptionUtils encryptionUtils = new EncryptionUtils(DEVICE_KEY);
+        List<String> deviceIds = IntStream.range(0, poolSize)
+            .mapToObj(ignored -> encryptionUtils.encrypt(UUID.randomUUID().toString()))
+            .toList();
+        String bannedDeviceId = encryptionUtils.encrypt(UUID.randomUUID().toString());
+
+        return List.of(
+            new Scenario(
+                "public",
+                "Anonymous reads of a public route, keyed by a rotating X-Device-ID",
+                0,
+                n -> new Request(
+                    "/api/p/v1/products/" + (n % 1000),
+                    Map.of(BaseSecurityConstants.HEADER.X_DEVICE_ID, deviceIds.get(n % poolSize))
+                )
+            ),
+            new Scenario(
+                "jwt",
+                "Authenticated reads of a protected route, rotating access tokens",
+                0,
+                n -> new Request(
+                    "/api/v1/orders/" + (n % 1000),
+                    Map.of(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.get(n % poolSize))
+                )
+            ),
+            new Scenario(
+                "jwt-device",
+                "Authenticated reads with both an access token and a device ID",
+                0,
+                n -> new Request(
+                    "/api/v1/users/" + (n % 1000),
+                    Map.of(
+                        HttpHeaders.AUTHORIZATION, "Bearer " + tokens.get(n % poolSize),
+                        BaseSecurityConstants.HEADER.X_DEVICE_ID, deviceIds.get(n % poolSize)
+                    )
+                )
+            ),
+            new Scenario(
+                "rate-limit",
+                "A single device above the ban threshold, most answers are expected to be 429",
+                rateLimitRate,
+                n -> new Request("/api/p/v1/products/1", Map.of(BaseSecurityConstants.HEADER.X_DEVICE_ID, bannedDeviceId))
+            )
+        );
+    }
+
+    private static String accessToken(int userId) {
+        return Jwts.builder()
+            .claim(BaseSecurityConstants.TOKEN_PAYLOAD.USER_ID, userId)
+            .claim(BaseSecurityConstants.TOKEN_PAYLOAD.USERNAME, "load-test-user-" + userId)
+            .claim(BaseSecurityConstants.TOKEN_PAYLOAD.AUTHORITIES, "ROLE_USER")
+            .setExpiration(new Date(System.currentTimeMillis() + Duration.ofDays(1).toMillis()))
+            .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET)))
+            .compact();
+    }
+}
@@ -0,0 +1,55 @@
+package com.ars.gateway.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of one measured run: answers by status code, transport errors, dropped requests and the latency histogram
+ * @author thoaidc
+ */
+public record ScenarioResult(String scenario,
+                             int targetRate,
+                             long scheduled,
+                             Map<Integer, Long> statuses,
+                             long errors,
+                             long dropped,
+                             long elapsedNanos,
+                             Histogram latencyMicros) {
+
+    public double achievedRate() {
+        long completed = statuses.values().stream().mapToLong(Long::longValue).sum() + errors;
+        return completed / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public static void printHeader(PrintStream out) {
+        out.printf(
+            "%-12s %8s %10s %10s %8s %8s %9s %9s %9s %9s %9s  %s%n",
+            "scenario", "rate", "achieved", "sent", "errors", "dropped", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "statuses"
+        );
+    }
+
+    public void print(PrintStream out) {
+        out.printf(
+            "%-12s %8d %10.1f %10d %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+            scenario,
+            targetRate,
+            achievedRate(),
+            scheduled,
+            errors,
+            dropped,
+            millis(latencyMicros.getValueAtPercentile(50)),
+            millis(latencyMicros.getValueAtPercentile(90)),
+            millis(latencyMicros.getValueAtPercentile(99)),
+            millis(latencyMicros.getValueAtPercentile(99.9)),
+            millis(latencyMicros.getMaxValue()),
+            statuses
+        );
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,167 @@
+package com.ars.gateway.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Startup of the gateway jar compared with its AOT-processed build started from an AppCDS archive,
+ * each run in its own JVM against a {@link StubEnvironment}
+ *
+ * <ul>
+ *     <li>
+ *         {@code --mode=train}: training run of the AOT-processed jar with {@code -XX:ArchiveClassesAtExit}.
+ *         Once ready, the gateway serves every {@link Scenario} for {@code duration}, so the archive also holds the classes
+ *         of the request path (JWT, rate limiter, load balancer, routing, response rewriting), then it is stopped
+ *         and the JVM writes the archive
+ *     </li>
+ *     <li>
+ *         {@code --mode=compare}: starts both variants {@code runs} times, alternately, and reports the time until the
+ *         readiness probe answers, the latency of the first proxied request and the time from launch to its response
+ *     </li>
+ * </ul>
+ *
+ * Options ({@code --name=value}): {@code jar} (plain jar), {@code cds-jar} (AOT-processed jar extracted next to its
+ * libraries), {@code archive}, {@code runs} (default 5), {@code rate} (default 200) and {@code duration} (default 5s)
+ * <p>
+ * See scripts/compare-startup.sh for the whole build, training and comparison
+ *
+ * @author thoaidc
+ */
+public class StartupBenchmark {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    // Refresh scope is not supported on an AOT-processed context, the process-aot execution disables it as well
+    private static final List<String> AOT_OPTIONS = List.of("-Dspring.aot.enabled=true", "-Dspring.cloud.refresh.enabled=false");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Arrays.stream(args)
+            .filter(arg -> arg.startsWith("--") && arg.contains("="))
+            .map(arg -> arg.substring(2).split("=", 2))
+            .collect(Collectors.toMap(pair -> pair[0], pair -> pair[1], (first, second) -> second));
+
+        switch (options.getOrDefault("mode", "compare")) {
+            case "train" -> train(options);
+            case "compare" -> compare(options);
+            default -> throw new IllegalArgumentException("Unknown mode: " + options.get("mode"));
+        }
+    }
+
+    private static void train(Map<String, String> options) throws Exception {
+        Path jar = Path.of(required(options, "jar"));
+        Path archive = Path.of(required(options, "archive")).toAbsolutePath();
+        int rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "5s"));
+        List<String> jvmOptions = new ArrayList<>(AOT_OPTIONS);
+        jvmOptions.add("-XX:ArchiveClassesAtExit=" + archive);
+        Files.deleteIfExists(archive);
+
+        try (StubEnvironment stubs = StubEnvironment.start(Duration.ZERO, 1024)) {
+            try (GatewayProcess gateway = GatewayProcess.launch(jar, jvmOptions, stubs)) {
+                System.out.printf("[CDS_TRAINING] - ready after %d ms%n", gateway.awaitReady(STARTUP_TIMEOUT).toMillis());
+
+                try (OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(gateway.getBaseUrl(), 64, 10_000, Duration.ofSeconds(10))) {
+                    for (Scenario scenario : Scenario.all(100, rate)) {
+                        ScenarioResult result = generator.run(scenario, rate, duration);
+                        System.out.printf("[CDS_TRAINING] - scenario: %s, statuses: %s%n", scenario.name(), result.statuses());
+                    }
+                }
+            }
+        }
+
+        if (!Files.isRegularFile(archive)) {
+            throw new IllegalStateException("The training run did not write the CDS archive " + archive);
+        }
+
+        System.out.printf("[CDS_TRAINING] - archive: %s (%d MB)%n", archive, Files.size(archive) / (1024 * 1024));
+    }
+
+    private static void compare(Map<String, String> options) throws Exception {
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        List<String> cdsOptions = new ArrayList<>(AOT_OPTIONS);
+        // Fails the launch instead of silently starting without archive when it does not match this JVM or classpath
+        cdsOptions.add("-Xshare:on");
+        cdsOptions.add("-XX:SharedArchiveFile=" + Path.of(required(options, "archive")).toAbsolutePath());
+        List<Variant> variants = List.of(
+            new Variant("jar", Path.of(required(options, "jar")), List.of()),
+            new Variant("aot-cds", Path.of(required(options, "cds-jar")), cdsOptions)
+        );
+        Scenario.Request firstRequest = Scenario.all(1, 1).getFirst().requests().apply(0);
+        Map<String, List<Measurement>> measurements = new LinkedHashMap<>();
+
+        try (StubEnvironment stubs = StubEnvironment.start(Duration.ZERO, 1024)) {
+            for (int run = 1; run <= runs; run++) {
+                // Alternated, so that a slower period of the machine does not favor one variant
+                for (Variant variant : variants) {
+                    Measurement measurement = measure(variant, stubs, firstRequest);
+                    measurements.computeIfAbsent(variant.name(), key -> new ArrayList<>()).add(measurement);
+                    System.out.printf("[STARTUP_BENCHMARK] - variant: %s, run: %d, %s%n", variant.name(), run, measurement);
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.printf(
+            "%-8s %5s %11s %11s %11s %16s %18s%n",
+            "variant", "runs", "ready(ms)", "min(ms)", "max(ms)", "first req(ms)", "first resp(ms)"
+        );
+        measurements.forEach((variant, results) -> System.out.printf(
+            "%-8s %5d %11d %11d %11d %16d %18d%n",
+            variant,
+            results.size(),
+            median(results, Measurement::ready),
+            results.stream().map(Measurement::ready).min(Comparator.naturalOrder()).orElseThrow().toMillis(),
+            results.stream().map(Measurement::ready).max(Comparator.naturalOrder()).orElseThrow().toMillis(),
+            median(results, Measurement::firstRequest),
+            median(results, Measurement::firstResponse)
+        ));
+    }
+
+    private static Measurement measure(Variant variant, StubEnvironment stubs, Scenario.Request firstRequest) throws Exception {
+        try (GatewayProcess gateway = GatewayProcess.launch(variant.jar(), variant.jvmOptions(), stubs)) {
+            Duration ready = gateway.awaitReady(STARTUP_TIMEOUT);
+            long startNanos = System.nanoTime();
+            int status = gateway.send(firstRequest);
+            Duration firstRequestLatency = Duration.ofNanos(System.nanoTime() - startNanos);
+            return new Measurement(ready, firstRequestLatency, gateway.sinceLaunch(), status);
+        }
+    }
+
+    private static long median(List<Measurement> results, Function<Measurement, Duration> value) {
+        List<Duration> sorted = results.stream().map(value).sorted().toList();
+        return sorted.get(sorted.size() / 2).toMillis();
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+
+        if (Objects.isNull(value)) {
+            throw new IllegalArgumentException("Missing option --" + name + "=...");
+        }
+
+        return value;
+    }
+
+    private record Variant(String name, Path jar, List<String> jvmOptions) {}
+
+    private record Measurement(Duration ready, Duration firstRequest, Duration firstResponse, int status) {
+
+        @Override
+        public String toString() {
+            return String.format(
+                "ready: %d ms, first request: %d ms (status %d), first response: %d ms",
+                ready.toMillis(), firstRequest.toMillis(), status, firstResponse.toMillis()
+            );
+        }
+    }
+}
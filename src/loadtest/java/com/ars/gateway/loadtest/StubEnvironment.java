@@ -0,0 +1,78 @@
+package com.ars.gateway.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * External dependencies of the gateway replaced by local stubs: one {@link StubService} per downstream service,
+ * the {@link RespServer} as Redis and a static registry file listing the stubs
+ *
+ * @author thoaidc
+ */
+public class StubEnvironment implements AutoCloseable {
+    private static final List<String> SERVICE_IDS = List.of("USER-SERVICE", "PRODUCT-SERVICE", "ORDER-SERVICE");
+    private final RespServer redis = new RespServer();
+    private final List<StubService> stubs = new ArrayList<>();
+    private int redisPort;
+    private Path registryFile;
+
+    public static StubEnvironment start(Duration stubLatency, int stubPayload) throws IOException, InterruptedException {
+        StubEnvironment environment = new StubEnvironment();
+
+        try {
+            environment.redisPort = environment.redis.start();
+            Map<String, List<Map<String, Object>>> registry = new LinkedHashMap<>();
+
+            for (String serviceId : SERVICE_IDS) {
+                StubService stub = new StubService(serviceId, stubLatency, stubPayload);
+                int port = stub.start();
+                environment.stubs.add(stub);
+                registry.put(serviceId, List.of(Map.of(
+                    "instanceId", serviceId.toLowerCase() + "-stub",
+                    "host", "127.0.0.1",
+                    "port", port,
+                    "secure", false
+                )));
+            }
+
+            environment.registryFile = Files.createTempFile("static-registry", ".json");
+            environment.registryFile.toFile().deleteOnExit();
+            new ObjectMapper().writeValue(environment.registryFile.toFile(), registry);
+            return environment;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            environment.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Properties pointing the gateway at the stubs, given as command line arguments
+     * <p>
+     * They only change property values, never bean conditions, so they are also valid for an AOT-processed build
+     */
+    public List<String> gatewayArguments() {
+        return List.of(
+            "--spring.cloud.config.enabled=false",
+            "--eureka.client.register-with-eureka=false",
+            "--eureka.client.fetch-registry=false",
+            "--spring.data.redis.host=127.0.0.1",
+            "--spring.data.redis.port=" + redisPort,
+            "--app.registry.mode=STATIC",
+            "--app.registry.static-file=" + registryFile.toAbsolutePath()
+        );
+    }
+
+    @Override
+    public void close() {
+        stubs.forEach(StubService::close);
+        redis.close();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ars.gateway.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Downstream service stub answering every request with the same JSON body after a fixed latency
+ * <p>
+ * The body is a {@code BaseResponseDTO} (code, success, message) so the response filters parse and rewrite it like
+ * real traffic, the message is padded up to the requested payload size
+ *
+ * @author thoaidc
+ */
+public class StubService implements AutoCloseable {
+    private final String serviceId;
+    private final Duration latency;
+    private final byte[] body;
+    private DisposableServer server;
+
+    public StubService(String serviceId, Duration latency, int payloadBytes) {
+        this.serviceId = serviceId;
+        this.latency = latency;
+        this.body = createBody(serviceId, payloadBytes);
+    }
+
+    public int start() {
+        server = HttpServer.create()
+            .host("127.0.0.1")
+            .port(0)
+            .route(routes -> routes.route(request -> true, (request, response) -> {
+                Mono<byte[]> answer = Mono.just(body);
+
+                if (!latency.isZero()) {
+                    answer = answer.delayElement(latency);
+                }
+
+                return request.receive()
+                    .then()
+                    .then(response.header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                        .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(body.length))
+                        .sendByteArray(answer)
+                        .then());
+            }))
+            .bindNow();
+        return server.port();
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    @Override
+    public void close() {
+        if (Objects.nonNull(server)) {
+            server.disposeNow();
+        }
+    }
+
+    private static byte[] createBody(String serviceId, int payloadBytes) {
+        String prefix = "{\"code\":200,\"success\":true,\"message\":\"" + serviceId + ":";
+        String suffix = "\"}";
+        int padding = Math.max(0, payloadBytes - prefix.length() - suffix.length());
+        return (prefix + "x".repeat(padding) + suffix).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ars.gateway.accesslog;
+
+import java.net.InetSocketAddress;
+
+/**
+ * One slot of the {@link AccessLogRingBuffer}, reused for every record written to that slot
+ * <p>
+ * The event loop only copies references and primitives into it, formatting happens on the writer thread
+ *
+ * @author thoaidc
+ */
+public final class AccessLogEntry {
+    long timestampMillis;
+    String method;
+    String path;
+    String routeId;
+    int status;
+    long durationNanos;
+    InetSocketAddress remoteAddress;
+    Integer userId;
+    Throwable error;
+
+    void clear() {
+        method = null;
+        path = null;
+        routeId = null;
+        remoteAddress = null;
+        userId = null;
+        error = null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ars.gateway.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring of preallocated {@link AccessLogEntry}
+ *
+ * <ul>
+ *     <li>Each slot has a sequence number telling whether it is free for the producer or ready for the consumer</li>
+ *     <li>
+ *         Producers (event loop threads) claim a slot with one CAS, fill it and publish it. When the ring is full,
+ *         {@link #claim()} fails immediately: the record is dropped, the request is never slowed down
+ *     </li>
+ *     <li>The single consumer (writer thread) reads published slots in order and hands them back to the producers</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+public final class AccessLogRingBuffer {
+    public static final long FULL = -1;
+    private final AccessLogEntry[] entries;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final int mask;
+    private volatile long head;
+
+    public AccessLogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.entries = new AccessLogEntry[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = new AccessLogEntry();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return the position of a free slot, to fill through {@link #entry(long)} then {@link #publish(long)},
+     * or {@link #FULL} when the consumer is too far behind
+     */
+    public long claim() {
+        while (true) {
+            long position = tail.get();
+            long available = sequences.get((int) (position & mask)) - position;
+
+            if (available < 0) {
+                return FULL;
+            }
+
+            if (available == 0 && tail.compareAndSet(position, position + 1)) {
+                return position;
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    public AccessLogEntry entry(long position) {
+        return entries[(int) (position & mask)];
+    }
+
+    public void publish(long position) {
+        sequences.lazySet((int) (position & mask), position + 1);
+    }
+
+    /**
+     * Consumer side, must only be called from the writer thread
+     * @return the next published entry, or null if there is none. It must be handed back with {@link #release(AccessLogEntry)}
+     */
+    AccessLogEntry poll() {
+        if (sequences.get((int) (head & mask)) != head + 1) {
+            return null;
+        }
+
+        return entries[(int) (head & mask)];
+    }
+
+    void release(AccessLogEntry entry) {
+        entry.clear();
+        sequences.lazySet((int) (head & mask), head + entries.length);
+        head++;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+}
@@ -0,0 +1,101 @@
+package com.ars.gateway.accesslog;
+
+import com.ars.gateway.config.properties.AccessLogProps;
+import com.ars.gateway.constants.CommonConstants;
+import com.ars.gateway.constants.FilterChainConstants;
+import com.dct.model.dto.auth.BaseUserDTO;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Captures one access log record per exchange when it completes and hands it to the {@link AccessLogWriter}
+ * <p>
+ * Never blocks: sampling is decided up front and a full buffer drops the record.
+ * JIT warm-up requests are not logged, they are only marked once the chain has started
+ *
+ * @author thoaidc
+ */
+@Component
+@Order(FilterChainConstants.Order.ACCESS_LOG_FILTER)
+public class AccessLogWebFilter implements WebFilter {
+    private final AccessLogProps accessLogProps;
+    private final AccessLogWriter accessLogWriter;
+
+    public AccessLogWebFilter(AccessLogProps accessLogProps, AccessLogWriter accessLogWriter) {
+        this.accessLogProps = accessLogProps;
+        this.accessLogWriter = accessLogWriter;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        if (!accessLogProps.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        long startNanos = System.nanoTime();
+        boolean sampled = accessLogProps.getSampleRate() >= 1
+            || ThreadLocalRandom.current().nextDouble() < accessLogProps.getSampleRate();
+
+        return chain.filter(exchange)
+            .doOnError(error -> exchange.getAttributes().put(CommonConstants.ACCESS_LOG_ERROR_ATTRIBUTE, error))
+            .doFinally(signal -> capture(exchange, signal, startNanos, sampled));
+    }
+
+    private void capture(ServerWebExchange exchange, SignalType signal, long startNanos, boolean sampled) {
+        if (Boolean.TRUE.equals(exchange.getAttribute(CommonConstants.JIT_WARMUP_ATTRIBUTE))) {
+            return;
+        }
+
+        Throwable error = exchange.getAttribute(CommonConstants.ACCESS_LOG_ERROR_ATTRIBUTE);
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        boolean failed = Objects.nonNull(error) || signal == SignalType.ON_ERROR || (Objects.nonNull(status) && status.is5xxServerError());
+
+        if (!sampled && !(failed && accessLogProps.isAlwaysLogErrors())) {
+            accessLogWriter.onSampledOut();
+            return;
+        }
+
+        AccessLogRingBuffer ringBuffer = accessLogWriter.getRingBuffer();
+        long position = ringBuffer.claim();
+
+        if (position == AccessLogRingBuffer.FULL) {
+            accessLogWriter.onDropped();
+            return;
+        }
+
+        AccessLogEntry entry = ringBuffer.entry(position);
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        BaseUserDTO user = exchange.getAttribute(CommonConstants.AUTHENTICATION_EXCHANGE_ATTRIBUTE);
+        entry.timestampMillis = System.currentTimeMillis();
+        entry.durationNanos = System.nanoTime() - startNanos;
+        entry.method = exchange.getRequest().getMethod().name();
+        entry.path = exchange.getRequest().getPath().value();
+        entry.routeId = Objects.nonNull(route) ? route.getId() : null;
+        entry.status = Objects.nonNull(status) ? status.value() : 0;
+        entry.remoteAddress = exchange.getRequest().getRemoteAddress();
+        entry.userId = Objects.nonNull(user) ? user.getId() : null;
+        entry.error = error;
+
+        // The error has not been handled yet, GlobalExceptionHandler will answer with a 500
+        if (Objects.nonNull(error) && entry.status < 400) {
+            entry.status = 500;
+        }
+
+        ringBuffer.publish(position);
+    }
+}
@@ -0,0 +1,143 @@
+package com.ars.gateway.accesslog;
+
+import com.ars.gateway.config.properties.AccessLogProps;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+/**
+ * Owns the {@link AccessLogRingBuffer} and the background thread draining it into the {@code ACCESS_LOG} logger
+ *
+ * <ul>
+ *     <li>The logger is bound to the logstash encoder in logback-spring.xml, each record becomes one JSON document</li>
+ *     <li>
+ *         Metrics: {@code gateway.accesslog.records} by result (written, dropped, sampled_out)
+ *         and {@code gateway.accesslog.buffer.size}
+ *     </li>
+ *     <li>Records still buffered at shutdown are written before the application stops</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+@EnableConfigurationProperties(AccessLogProps.class)
+public class AccessLogWriter {
+    private static final Logger log = LoggerFactory.getLogger(AccessLogWriter.class);
+    private static final Logger accessLog = LoggerFactory.getLogger("ACCESS_LOG");
+    private static final String RECORDS_METRIC = "gateway.accesslog.records";
+    private static final String BUFFER_SIZE_METRIC = "gateway.accesslog.buffer.size";
+    private static final String RESULT_TAG = "result";
+    private final AccessLogRingBuffer ringBuffer;
+    private final AccessLogProps accessLogProps;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter sampledOut;
+    private volatile boolean running;
+    private Thread thread;
+
+    public AccessLogWriter(AccessLogProps accessLogProps, MeterRegistry meterRegistry) {
+        this.accessLogProps = accessLogProps;
+        this.ringBuffer = new AccessLogRingBuffer(accessLogProps.getBufferSize());
+        this.written = Counter.builder(RECORDS_METRIC).tag(RESULT_TAG, "written").register(meterRegistry);
+        this.dropped = Counter.builder(RECORDS_METRIC).tag(RESULT_TAG, "dropped").register(meterRegistry);
+        this.sampledOut = Counter.builder(RECORDS_METRIC).tag(RESULT_TAG, "sampled_out").register(meterRegistry);
+        Gauge.builder(BUFFER_SIZE_METRIC, ringBuffer, AccessLogRingBuffer::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!accessLogProps.isEnabled()) {
+            return;
+        }
+
+        running = true;
+        thread = Thread.ofPlatform().name("access-log-writer").daemon(true).start(this::drain);
+        log.info("[ACCESS_LOG_STARTED] - bufferSize: {}, sampleRate: {}", ringBuffer.capacity(), accessLogProps.getSampleRate());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+
+        if (Objects.nonNull(thread)) {
+            LockSupport.unpark(thread);
+            thread.join(Duration.ofSeconds(5));
+        }
+    }
+
+    public AccessLogRingBuffer getRingBuffer() {
+        return ringBuffer;
+    }
+
+    void onDropped() {
+        dropped.increment();
+    }
+
+    void onSampledOut() {
+        sampledOut.increment();
+    }
+
+    private void drain() {
+        long idleNanos = accessLogProps.getIdleWait().toNanos();
+
+        while (running) {
+            if (!writeAvailable()) {
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+
+        writeAvailable();
+    }
+
+    private boolean writeAvailable() {
+        boolean any = false;
+        AccessLogEntry entry;
+
+        while (Objects.nonNull(entry = ringBuffer.poll())) {
+            any = true;
+
+            try {
+                write(entry);
+                written.increment();
+            } catch (Exception e) {
+                log.warn("[ACCESS_LOG_WRITE_FAILED] - error: {}", e.getMessage());
+            } finally {
+                ringBuffer.release(entry);
+            }
+        }
+
+        return any;
+    }
+
+    private void write(AccessLogEntry entry) {
+        String clientIp = Objects.nonNull(entry.remoteAddress) && Objects.nonNull(entry.remoteAddress.getAddress())
+            ? entry.remoteAddress.getAddress().getHostAddress()
+            : null;
+        String error = Objects.nonNull(entry.error) ? entry.error.getClass().getSimpleName() : null;
+        accessLog.info(
+            "{} {} {} {} {} {} {} {} {}",
+            keyValue("timestamp_ms", entry.timestampMillis),
+            keyValue("method", entry.method),
+            keyValue("path", entry.path),
+            keyValue("route", entry.routeId),
+            keyValue("status", entry.status),
+            keyValue("duration_ms", entry.durationNanos / 1_000_000d),
+            keyValue("client_ip", clientIp),
+            keyValue("user_id", entry.userId),
+            keyValue("error", error)
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package com.ars.gateway.common;
 
 import com.ars.gateway.dto.CheckValidDeviceIdResponseDTO;
+import com.ars.gateway.jfr.DeviceIdDecryptEvent;
 import com.dct.model.constants.BaseExceptionConstants;
 import com.dct.model.exception.BaseIllegalArgumentException;
 
@@ -15,6 +16,7 @@ import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.Base64;
 
 @Component
@@ -26,6 +28,7 @@ public class EncryptionUtils {
     private static final String ALGORITHM = "AES/CBC/PKCS5Padding";
     private static final String ENTITY_NAME = "sds.easypos.gateway.common.EncryptionUtils";
     private static final Logger log = LoggerFactory.getLogger(EncryptionUtils.class);
+    private static final ThrottledLogger decryptErrorLog = new ThrottledLogger(log, 10, Duration.ofSeconds(10));
 
     public EncryptionUtils(@Value("${app.device-key}") String deviceKey) {
         deviceKey = StringUtils.trimAllWhitespace(deviceKey);
@@ -37,13 +40,26 @@ public class EncryptionUtils {
         }
     }
 
+    /**
+     * Called for every request: a missing device ID is not an error, an invalid one is only logged a few times per interval
+     */
     public CheckValidDeviceIdResponseDTO checkValidDeviceId(final String deviceId) {
+        if (!StringUtils.hasText(deviceId)) {
+            return new CheckValidDeviceIdResponseDTO(deviceId, false);
+        }
+
+        DeviceIdDecryptEvent event = new DeviceIdDecryptEvent();
+        event.begin();
+
         try {
             String deviceIdDecoded = decrypt(deviceId);
+            event.valid = true;
             return new CheckValidDeviceIdResponseDTO(deviceIdDecoded, true);
         } catch (Exception e) {
-            log.error("[COULD_NOT_DECRYPT_DEVICE_ID] - error: {}", e.getMessage());
+            decryptErrorLog.error("[COULD_NOT_DECRYPT_DEVICE_ID] - error: {}", e.getMessage());
             return new CheckValidDeviceIdResponseDTO(deviceId, false);
+        } finally {
+            event.commit();
         }
     }
 
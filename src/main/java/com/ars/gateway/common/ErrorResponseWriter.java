@@ -0,0 +1,62 @@
+package com.ars.gateway.common;
+
+import com.dct.model.common.JsonUtils;
+import com.dct.model.common.MessageTranslationUtils;
+import com.dct.model.dto.response.BaseResponseDTO;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes {@link BaseResponseDTO} error responses whose body is serialized once per status, message and language
+ * <p>
+ * Used on hot failure paths (e.g. open circuit breakers) where every rejected request would otherwise
+ * translate the message and serialize the same JSON again
+ *
+ * @author thoaidc
+ */
+@Component
+public class ErrorResponseWriter {
+    private final Map<String, byte[]> responseBodies = new ConcurrentHashMap<>();
+    private final MessageTranslationUtils messageTranslationUtils;
+
+    public ErrorResponseWriter(MessageTranslationUtils messageTranslationUtils) {
+        this.messageTranslationUtils = messageTranslationUtils;
+    }
+
+    public Mono<Void> write(ServerWebExchange exchange, HttpStatus status, String messageKey) {
+        LocaleUtils.setLocale(exchange);
+        // Only the language selects a bundle, keying by language keeps the cache bounded whatever Accept-Language sends
+        String language = LocaleContextHolder.getLocale().getLanguage();
+        byte[] body = responseBodies.computeIfAbsent(
+            status.value() + ":" + messageKey + ":" + language,
+            ignored -> serialize(status, messageKey)
+        );
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private byte[] serialize(HttpStatus status, String messageKey) {
+        BaseResponseDTO responseDTO = BaseResponseDTO.builder()
+                .code(status.value())
+                .success(Boolean.FALSE)
+                .message(messageTranslationUtils.getMessageI18n(messageKey))
+                .build();
+        return JsonUtils.toJsonString(responseDTO).getBytes(StandardCharsets.UTF_8);
+    }
+}
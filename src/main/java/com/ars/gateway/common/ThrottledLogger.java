@@ -0,0 +1,73 @@
+package com.ars.gateway.common;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs at most {@code maxEvents} messages per interval, for logs written once per request on a hot path
+ *
+ * <ul>
+ *     <li>Messages above the limit are dropped and counted, the count is logged with the first message of the next interval</li>
+ *     <li>Lock-free: one CAS per new interval and one increment per message</li>
+ * </ul>
+ *
+ * Usage: {@code private static final ThrottledLogger bannedLog = new ThrottledLogger(log, 10, Duration.ofSeconds(10));}
+ *
+ * @author thoaidc
+ */
+public class ThrottledLogger {
+    private final Logger log;
+    private final long maxEvents;
+    private final long intervalNanos;
+    private final AtomicLong intervalStart;
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public ThrottledLogger(Logger log, long maxEvents, Duration interval) {
+        this.log = log;
+        this.maxEvents = maxEvents;
+        this.intervalNanos = interval.toNanos();
+        this.intervalStart = new AtomicLong(System.nanoTime());
+    }
+
+    public void info(String format, Object... args) {
+        if (log.isInfoEnabled() && tryAcquire()) {
+            log.info(format, args);
+        }
+    }
+
+    public void warn(String format, Object... args) {
+        if (log.isWarnEnabled() && tryAcquire()) {
+            log.warn(format, args);
+        }
+    }
+
+    public void error(String format, Object... args) {
+        if (log.isErrorEnabled() && tryAcquire()) {
+            log.error(format, args);
+        }
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = intervalStart.get();
+
+        if (now - start >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+            events.set(0);
+            long dropped = suppressed.getAndSet(0);
+
+            if (dropped > 0) {
+                log.warn("[LOG_SUPPRESSED] - {} similar messages dropped in the last {}ms", dropped, intervalNanos / 1_000_000);
+            }
+        }
+
+        if (events.incrementAndGet() <= maxEvents) {
+            return true;
+        }
+
+        suppressed.incrementAndGet();
+        return false;
+    }
+}
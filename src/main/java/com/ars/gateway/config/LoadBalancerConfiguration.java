@@ -0,0 +1,20 @@
+package com.ars.gateway.config;
+
+import com.ars.gateway.config.properties.LoadBalancerProps;
+import com.ars.gateway.config.properties.RegistryProps;
+import com.ars.gateway.loadbalancer.GatewayLoadBalancerClientConfiguration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces the default round-robin load balancer of every {@code lb://} service with the strategy configured in
+ * {@link LoadBalancerProps}, see {@link GatewayLoadBalancerClientConfiguration}
+ *
+ * @author thoaidc
+ */
+@Configuration
+@EnableConfigurationProperties({LoadBalancerProps.class, RegistryProps.class})
+@LoadBalancerClients(defaultConfiguration = GatewayLoadBalancerClientConfiguration.class)
+public class LoadBalancerConfiguration {}
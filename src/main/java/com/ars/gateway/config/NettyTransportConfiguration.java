@@ -0,0 +1,186 @@
+package com.ars.gateway.config;
+
+import com.ars.gateway.config.properties.TransportProps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+import reactor.netty.resources.LoopResources;
+
+import java.util.Objects;
+
+/**
+ * Applies the transport and event-loop topology configured in {@link TransportProps}
+ *
+ * <ul>
+ *     <li>
+ *         Reactor Netty picks the best native transport present on the classpath when {@code preferNative} is enabled
+ *         (io_uring, then epoll), otherwise it always uses NIO
+ *     </li>
+ *     <li>
+ *         The requested transport is checked at startup. If its native library cannot be loaded on this host,
+ *         a warning is logged and the gateway falls back to NIO instead of failing
+ *     </li>
+ *     <li>
+ *         Server and client loops are only replaced when a non-default topology is configured,
+ *         otherwise the shared {@code HttpResources} loops of Reactor Netty stay in use
+ *     </li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Configuration
+@EnableConfigurationProperties(TransportProps.class)
+public class NettyTransportConfiguration implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(NettyTransportConfiguration.class);
+    private static final String EPOLL_CLASS = "io.netty.channel.epoll.Epoll";
+    private static final String[] IO_URING_CLASSES = {
+        "io.netty.incubator.channel.uring.IOUring",
+        "io.netty.channel.uring.IoUring"
+    };
+    private final TransportProps transportProps;
+    private final boolean preferNative;
+    private LoopResources serverLoops;
+    private LoopResources clientLoops;
+
+    public NettyTransportConfiguration(TransportProps transportProps) {
+        this.transportProps = transportProps;
+        this.preferNative = resolvePreferNative(transportProps.getType());
+    }
+
+    @Bean
+    public NettyServerCustomizer transportServerCustomizer() {
+        return httpServer -> {
+            LoopResources loops = getServerLoops();
+            return Objects.isNull(loops) ? httpServer : httpServer.runOn(loops, preferNative);
+        };
+    }
+
+    @Bean
+    public HttpClientCustomizer transportClientCustomizer() {
+        return httpClient -> {
+            LoopResources loops = getClientLoops();
+            return Objects.isNull(loops) ? httpClient : httpClient.runOn(loops, preferNative);
+        };
+    }
+
+    private boolean isDefaultTopology() {
+        TransportProps.LoopGroup server = transportProps.getServer();
+        TransportProps.LoopGroup client = transportProps.getClient();
+        return transportProps.getType() == TransportProps.Type.AUTO
+                && server.getSelectThreads() <= 0
+                && server.getWorkerThreads() <= 0
+                && client.getWorkerThreads() <= 0;
+    }
+
+    private synchronized LoopResources getServerLoops() {
+        if (isDefaultTopology()) {
+            return null;
+        }
+
+        if (Objects.isNull(serverLoops)) {
+            serverLoops = createLoops("gateway-server", transportProps.getServer());
+        }
+
+        return serverLoops;
+    }
+
+    private synchronized LoopResources getClientLoops() {
+        if (isDefaultTopology()) {
+            return null;
+        }
+
+        // Sharing the server loops lets colocation keep a downstream call on the loop that received the request
+        if (transportProps.getClient().getWorkerThreads() <= 0) {
+            return getServerLoops();
+        }
+
+        if (Objects.isNull(clientLoops)) {
+            clientLoops = createLoops("gateway-client", transportProps.getClient());
+        }
+
+        return clientLoops;
+    }
+
+    private LoopResources createLoops(String prefix, TransportProps.LoopGroup group) {
+        int workerThreads = group.getWorkerThreads() > 0 ? group.getWorkerThreads() : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        // -1 lets the worker threads also accept connections
+        int selectThreads = group.getSelectThreads() > 0 ? group.getSelectThreads() : -1;
+        log.info(
+            "[NETTY_TRANSPORT_LOOPS] - group: {}, selectThreads: {}, workerThreads: {}, colocate: {}",
+            prefix,
+            selectThreads,
+            workerThreads,
+            group.isColocate()
+        );
+
+        return LoopResources.create(prefix, selectThreads, workerThreads, transportProps.isDaemon(), group.isColocate());
+    }
+
+    private boolean resolvePreferNative(TransportProps.Type type) {
+        boolean epollAvailable = isNativeTransportAvailable(EPOLL_CLASS);
+        boolean ioUringAvailable = isNativeTransportAvailable(IO_URING_CLASSES);
+
+        boolean result = switch (type) {
+            case AUTO -> true;
+            case NIO -> false;
+            case EPOLL -> {
+                if (ioUringAvailable) {
+                    log.warn("[NETTY_TRANSPORT] - io_uring is on the classpath and takes precedence over epoll");
+                }
+
+                yield epollAvailable;
+            }
+            case IO_URING -> ioUringAvailable;
+        };
+
+        if (!result && type != TransportProps.Type.NIO) {
+            log.warn("[NETTY_TRANSPORT] - Native transport {} is not available on this host, falling back to NIO", type);
+        }
+
+        String effective = !result ? "nio" : ioUringAvailable ? "io_uring" : epollAvailable ? "epoll" : "nio";
+        log.info("[NETTY_TRANSPORT] - requested: {}, effective: {}", type, effective);
+        return result;
+    }
+
+    private boolean isNativeTransportAvailable(String... classNames) {
+        ClassLoader classLoader = getClass().getClassLoader();
+
+        for (String className : classNames) {
+            if (!ClassUtils.isPresent(className, classLoader)) {
+                continue;
+            }
+
+            try {
+                Class<?> transportClass = ClassUtils.forName(className, classLoader);
+                Object available = transportClass.getMethod("isAvailable").invoke(null);
+
+                if (Boolean.TRUE.equals(available)) {
+                    return true;
+                }
+            } catch (Throwable e) {
+                log.debug("[NETTY_TRANSPORT] - Could not load {}: {}", className, e.getMessage());
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        if (Objects.nonNull(clientLoops)) {
+            clientLoops.disposeLater().block();
+        }
+
+        if (Objects.nonNull(serverLoops)) {
+            serverLoops.disposeLater().block();
+        }
+    }
+}
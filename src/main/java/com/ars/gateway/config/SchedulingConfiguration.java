@@ -0,0 +1,17 @@
+package com.ars.gateway.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the {@code @Scheduled} tasks of the gateway: config and dynamic route synchronization, IP filter rules,
+ * heavy hitter slices, adaptive timeouts, route latency windows, instance stats and the registry snapshot
+ * <p>
+ * Several of them do file I/O or Redis calls, they run on the pool sized by {@code spring.task.scheduling.pool.size}
+ * so that a slow task does not delay the others
+ *
+ * @author thoaidc
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {}
@@ -0,0 +1,67 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Asynchronous access log, one JSON record per exchange written to the {@code ACCESS_LOG} logger
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>{@code bufferSize}: Records waiting for the writer thread (rounded up to a power of 2), extra records are dropped</li>
+ *     <li>{@code sampleRate}: Share of requests (0..1) that are logged</li>
+ *     <li>{@code alwaysLogErrors}: 5xx responses and failed exchanges are logged whatever the sample rate</li>
+ *     <li>{@code idleWait}: Pause of the writer thread when the buffer is empty</li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.access-log")
+public class AccessLogProps {
+    private boolean enabled = true;
+    private int bufferSize = 8192;
+    private double sampleRate = 1;
+    private boolean alwaysLogErrors = true;
+    private Duration idleWait = Duration.ofMillis(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isAlwaysLogErrors() {
+        return alwaysLogErrors;
+    }
+
+    public void setAlwaysLogErrors(boolean alwaysLogErrors) {
+        this.alwaysLogErrors = alwaysLogErrors;
+    }
+
+    public Duration getIdleWait() {
+        return idleWait;
+    }
+
+    public void setIdleWait(Duration idleWait) {
+        this.idleWait = idleWait;
+    }
+}
@@ -0,0 +1,122 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Response timeouts learned from the latency observed on each route
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>{@code percentile}, {@code multiplier}: Effective timeout = latency at this percentile x multiplier</li>
+ *     <li>{@code minTimeout}, {@code maxTimeout}: Bounds of the effective timeout</li>
+ *     <li>{@code updateInterval}: How often the effective timeouts are recomputed</li>
+ *     <li>
+ *         {@code routes}: Bounds per route ID, e.g. a higher {@code maxTimeout} for report routes.
+ *         Routes without enough samples keep their static {@code response-timeout} metadata
+ *     </li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.adaptive-timeout")
+public class AdaptiveTimeoutProps {
+    private boolean enabled = true;
+    private double percentile = 0.99;
+    private double multiplier = 3;
+    private Duration minTimeout = Duration.ofSeconds(1);
+    private Duration maxTimeout = Duration.ofSeconds(30);
+    private Duration updateInterval = Duration.ofSeconds(30);
+    private Map<String, Bounds> routes = new HashMap<>();
+
+    public Duration getMinTimeout(String routeId) {
+        Bounds bounds = routes.get(routeId);
+        return Objects.nonNull(bounds) && Objects.nonNull(bounds.getMinTimeout()) ? bounds.getMinTimeout() : minTimeout;
+    }
+
+    public Duration getMaxTimeout(String routeId) {
+        Bounds bounds = routes.get(routeId);
+        return Objects.nonNull(bounds) && Objects.nonNull(bounds.getMaxTimeout()) ? bounds.getMaxTimeout() : maxTimeout;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    public Duration getMinTimeout() {
+        return minTimeout;
+    }
+
+    public void setMinTimeout(Duration minTimeout) {
+        this.minTimeout = minTimeout;
+    }
+
+    public Duration getMaxTimeout() {
+        return maxTimeout;
+    }
+
+    public void setMaxTimeout(Duration maxTimeout) {
+        this.maxTimeout = maxTimeout;
+    }
+
+    public Duration getUpdateInterval() {
+        return updateInterval;
+    }
+
+    public void setUpdateInterval(Duration updateInterval) {
+        this.updateInterval = updateInterval;
+    }
+
+    public Map<String, Bounds> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Bounds> routes) {
+        this.routes = routes;
+    }
+
+    public static class Bounds {
+        private Duration minTimeout;
+        private Duration maxTimeout;
+
+        public Duration getMinTimeout() {
+            return minTimeout;
+        }
+
+        public void setMinTimeout(Duration minTimeout) {
+            this.minTimeout = minTimeout;
+        }
+
+        public Duration getMaxTimeout() {
+            return maxTimeout;
+        }
+
+        public void setMaxTimeout(Duration maxTimeout) {
+            this.maxTimeout = maxTimeout;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cluster-wide propagation of the configuration stored in Redis (rate limits, rate limit excluded APIs, public request patterns)
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>{@code versionCheckInterval}: Safety net for missed pub/sub messages, each node compares its version with Redis at this interval</li>
+ *     <li>{@code startupTimeout}: Deadline of the startup load, readiness is then released with the defaults and the load retried in the background</li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.config-sync")
+public class ConfigSyncProps {
+    private Duration versionCheckInterval = Duration.ofSeconds(30);
+    private Duration startupTimeout = Duration.ofSeconds(5);
+
+    public Duration getVersionCheckInterval() {
+        return versionCheckInterval;
+    }
+
+    public void setVersionCheckInterval(Duration versionCheckInterval) {
+        this.versionCheckInterval = versionCheckInterval;
+    }
+
+    public Duration getStartupTimeout() {
+        return startupTimeout;
+    }
+
+    public void setStartupTimeout(Duration startupTimeout) {
+        this.startupTimeout = startupTimeout;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Routes stored in Redis, in addition to the ones of {@code spring.cloud.gateway.routes}
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>{@code snapshotFile}: Local copy of the dynamic routes, loaded at startup so they are served before Redis answers</li>
+ *     <li>{@code versionCheckInterval}: Safety net for missed pub/sub messages, each node compares its route set version with Redis</li>
+ *     <li>{@code startupTimeout}: Maximum time to load the routes from Redis at startup, the snapshot is used when exceeded</li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.dynamic-routes")
+public class DynamicRouteProps {
+    private String snapshotFile = "./data/routes-snapshot.json";
+    private Duration versionCheckInterval = Duration.ofSeconds(30);
+    private Duration startupTimeout = Duration.ofSeconds(5);
+
+    public String getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    public void setSnapshotFile(String snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    public Duration getVersionCheckInterval() {
+        return versionCheckInterval;
+    }
+
+    public void setVersionCheckInterval(Duration versionCheckInterval) {
+        this.versionCheckInterval = versionCheckInterval;
+    }
+
+    public Duration getStartupTimeout() {
+        return startupTimeout;
+    }
+
+    public void setStartupTimeout(Duration startupTimeout) {
+        this.startupTimeout = startupTimeout;
+    }
+}
@@ -0,0 +1,124 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detection of the clients and source IPs sending the most requests, per time slice
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>{@code sliceDuration}: Requests are counted per slice, the last completed slice is reported and checked for bans</li>
+ *     <li>{@code topK}: Number of heavy hitters tracked per slice, for the client keys and for the IPs</li>
+ *     <li>
+ *         {@code sketchWidth}, {@code sketchDepth}: Size of the Count-Min Sketch. A count is overestimated by at most
+ *         {@code e / sketchWidth} of the slice's requests, with probability {@code 1 - e^-sketchDepth}
+ *     </li>
+ *     <li>{@code autoBan}: Bans the heavy hitters above {@code threshold} requests per slice through the rate limiter ban keys</li>
+ *     <li>
+ *         {@code autoBan.exempt}: IPv4/IPv6 prefixes or addresses never banned (monitoring probes, partners behind a shared
+ *         address). The trusted proxies of {@code app.ip-filter} are never banned either
+ *     </li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.heavy-hitters")
+public class HeavyHitterProps {
+    private boolean enabled = true;
+    private Duration sliceDuration = Duration.ofSeconds(10);
+    private int topK = 50;
+    private int sketchWidth = 4096;
+    private int sketchDepth = 4;
+    private AutoBan autoBan = new AutoBan();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSliceDuration() {
+        return sliceDuration;
+    }
+
+    public void setSliceDuration(Duration sliceDuration) {
+        this.sliceDuration = sliceDuration;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+
+    public int getSketchWidth() {
+        return sketchWidth;
+    }
+
+    public void setSketchWidth(int sketchWidth) {
+        this.sketchWidth = sketchWidth;
+    }
+
+    public int getSketchDepth() {
+        return sketchDepth;
+    }
+
+    public void setSketchDepth(int sketchDepth) {
+        this.sketchDepth = sketchDepth;
+    }
+
+    public AutoBan getAutoBan() {
+        return autoBan;
+    }
+
+    public void setAutoBan(AutoBan autoBan) {
+        this.autoBan = autoBan;
+    }
+
+    public static class AutoBan {
+        private boolean enabled = false;
+        private long threshold = 5000;
+        private Duration duration = Duration.ofMinutes(15);
+        private List<String> exempt = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(long threshold) {
+            this.threshold = threshold;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public void setDuration(Duration duration) {
+            this.duration = duration;
+        }
+
+        public List<String> getExempt() {
+            return exempt;
+        }
+
+        public void setExempt(List<String> exempt) {
+            this.exempt = exempt;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hedged requests for idempotent read routes
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>{@code routes}: IDs of the routes whose GET/HEAD requests may be hedged</li>
+ *     <li>
+ *         {@code percentile}: A second attempt is sent when the first one has not answered after this percentile
+ *         of the route's observed latency, clamped to [{@code minDelay}, {@code maxDelay}]
+ *     </li>
+ *     <li>{@code defaultDelay}: Hedge delay used until enough latency samples were observed for the route</li>
+ *     <li>{@code budget}: Token bucket limiting the extra load created by hedges</li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.hedging")
+public class HedgingProps {
+    private boolean enabled = true;
+    private List<String> routes = new ArrayList<>();
+    private double percentile = 0.95;
+    private Duration defaultDelay = Duration.ofMillis(200);
+    private Duration minDelay = Duration.ofMillis(20);
+    private Duration maxDelay = Duration.ofSeconds(2);
+    private Budget budget = new Budget();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<String> routes) {
+        this.routes = routes;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public Duration getDefaultDelay() {
+        return defaultDelay;
+    }
+
+    public void setDefaultDelay(Duration defaultDelay) {
+        this.defaultDelay = defaultDelay;
+    }
+
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    public void setMinDelay(Duration minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(Duration maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    public Budget getBudget() {
+        return budget;
+    }
+
+    public void setBudget(Budget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Every request deposits {@code ratio} token in the bucket of its route, every hedge withdraws one
+     * <ul>
+     *     <li>{@code ratio}: Long-run share of requests that may be hedged, e.g. 0.1 allows at most 10% extra load</li>
+     *     <li>{@code minPerSecond}: Tokens granted per second whatever the traffic, so low-traffic routes can still hedge</li>
+     *     <li>{@code maxTokens}: Bucket capacity, bounds the burst of hedges after a quiet period</li>
+     * </ul>
+     */
+    public static class Budget {
+        private double ratio = 0.1;
+        private double minPerSecond = 1;
+        private double maxTokens = 20;
+
+        public double getRatio() {
+            return ratio;
+        }
+
+        public void setRatio(double ratio) {
+            this.ratio = ratio;
+        }
+
+        public double getMinPerSecond() {
+            return minPerSecond;
+        }
+
+        public void setMinPerSecond(double minPerSecond) {
+            this.minPerSecond = minPerSecond;
+        }
+
+        public double getMaxTokens() {
+            return maxTokens;
+        }
+
+        public void setMaxTokens(double maxTokens) {
+            this.maxTokens = maxTokens;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CIDR allow/deny lists checked before authentication, and the proxies trusted to report the client address
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>{@code enabled}: Rejects the denied addresses, the client address is resolved in any case</li>
+ *     <li>
+ *         {@code deny}, {@code allow}: IPv4/IPv6 prefixes ({@code 203.0.113.0/24}, {@code 2001:db8::/32}) or addresses,
+ *         merged with the Redis lists. The most specific prefix wins, an allowed prefix carves an exception out of a denied one
+ *     </li>
+ *     <li>
+ *         {@code trustedProxies}: Prefixes of the load balancers and ingress in front of the gateway,
+ *         {@code X-Forwarded-For} is only read from them. Must be set per deployment to their exact ranges
+ *     </li>
+ *     <li>{@code versionCheckInterval}: Interval at which the version of the Redis lists is compared with the applied one</li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.ip-filter")
+public class IpFilterProps {
+    private boolean enabled = true;
+    private List<String> deny = new ArrayList<>();
+    private List<String> allow = new ArrayList<>();
+    private List<String> trustedProxies = new ArrayList<>();
+    private Duration versionCheckInterval = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getDeny() {
+        return deny;
+    }
+
+    public void setDeny(List<String> deny) {
+        this.deny = deny;
+    }
+
+    public List<String> getAllow() {
+        return allow;
+    }
+
+    public void setAllow(List<String> allow) {
+        this.allow = allow;
+    }
+
+    public List<String> getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    public void setTrustedProxies(List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    public Duration getVersionCheckInterval() {
+        return versionCheckInterval;
+    }
+
+    public void setVersionCheckInterval(Duration versionCheckInterval) {
+        this.versionCheckInterval = versionCheckInterval;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * On-demand JFR recordings through {@code /actuator/jfr}
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>{@code settings}: JDK settings the recording starts from, {@code default} (~1% overhead) or {@code profile} (~2%)</li>
+ *     <li>{@code defaultDuration}, {@code maxDuration}: The recording stops by itself after its duration</li>
+ *     <li>{@code maxSize}: Size of the recording file in bytes, older chunks are discarded beyond it</li>
+ *     <li>{@code directory}: Where recordings are written before being downloaded</li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.jfr")
+public class JfrProps {
+    private String settings = "profile";
+    private Duration defaultDuration = Duration.ofSeconds(60);
+    private Duration maxDuration = Duration.ofMinutes(10);
+    private long maxSize = 200L * 1024 * 1024;
+    private String directory = "./data/jfr";
+
+    public String getSettings() {
+        return settings;
+    }
+
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+
+    public Duration getDefaultDuration() {
+        return defaultDuration;
+    }
+
+    public void setDefaultDuration(Duration defaultDuration) {
+        this.defaultDuration = defaultDuration;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+}
@@ -0,0 +1,256 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Load balancing strategy of every {@code lb://} service called by the gateway
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>{@code defaultStrategy}: Strategy of services without an explicit entry in {@code services}</li>
+ *     <li>{@code services}: Strategy per service ID, e.g. {@code '[PRODUCT-SERVICE]': PEAK_EWMA}</li>
+ *     <li>{@code peakEwma}: Tuning of the {@link Strategy#PEAK_EWMA} strategy</li>
+ *     <li>{@code consistentHash}: Tuning of the {@link Strategy#CONSISTENT_HASH} strategy</li>
+ *     <li>{@code outlierDetection}: Passive health checking applied to every strategy</li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.load-balancer")
+public class LoadBalancerProps {
+    private Strategy defaultStrategy = Strategy.ROUND_ROBIN;
+    private Map<String, Strategy> services = new HashMap<>();
+    private PeakEwma peakEwma = new PeakEwma();
+    private ConsistentHash consistentHash = new ConsistentHash();
+    private OutlierDetection outlierDetection = new OutlierDetection();
+
+    public enum Strategy {
+        ROUND_ROBIN, PEAK_EWMA, CONSISTENT_HASH
+    }
+
+    public enum HashKeySource {
+        USER_ID, DEVICE_ID, CLIENT_IP
+    }
+
+    /**
+     * Service IDs come from route URIs and Eureka in upper case, the lookup ignores case to match both spellings
+     */
+    public Strategy getStrategy(String serviceId) {
+        return services.entrySet()
+            .stream()
+            .filter(entry -> entry.getKey().equalsIgnoreCase(serviceId))
+            .map(Map.Entry::getValue)
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(defaultStrategy);
+    }
+
+    public Strategy getDefaultStrategy() {
+        return defaultStrategy;
+    }
+
+    public void setDefaultStrategy(Strategy defaultStrategy) {
+        this.defaultStrategy = defaultStrategy;
+    }
+
+    public Map<String, Strategy> getServices() {
+        return services;
+    }
+
+    public void setServices(Map<String, Strategy> services) {
+        this.services = services;
+    }
+
+    public PeakEwma getPeakEwma() {
+        return peakEwma;
+    }
+
+    public void setPeakEwma(PeakEwma peakEwma) {
+        this.peakEwma = peakEwma;
+    }
+
+    public ConsistentHash getConsistentHash() {
+        return consistentHash;
+    }
+
+    public void setConsistentHash(ConsistentHash consistentHash) {
+        this.consistentHash = consistentHash;
+    }
+
+    public OutlierDetection getOutlierDetection() {
+        return outlierDetection;
+    }
+
+    public void setOutlierDetection(OutlierDetection outlierDetection) {
+        this.outlierDetection = outlierDetection;
+    }
+
+    /**
+     * <ul>
+     *     <li>{@code decayTime}: Time constant of the moving average, older latencies lose weight over roughly this period</li>
+     *     <li>{@code initialLatency}: Latency assumed for an instance that has not answered yet</li>
+     * </ul>
+     */
+    public static class PeakEwma {
+        private Duration decayTime = Duration.ofSeconds(10);
+        private Duration initialLatency = Duration.ofMillis(50);
+
+        public Duration getDecayTime() {
+            return decayTime;
+        }
+
+        public void setDecayTime(Duration decayTime) {
+            this.decayTime = decayTime;
+        }
+
+        public Duration getInitialLatency() {
+            return initialLatency;
+        }
+
+        public void setInitialLatency(Duration initialLatency) {
+            this.initialLatency = initialLatency;
+        }
+    }
+
+    /**
+     * <ul>
+     *     <li>{@code virtualNodes}: Points placed on the hash ring per instance, more points spread keys more evenly</li>
+     *     <li>
+     *         {@code keySources}: Identities tried in order to build the hash key of a request,
+     *         the first one available is used. Requests without any of them are spread randomly
+     *     </li>
+     * </ul>
+     */
+    public static class ConsistentHash {
+        private int virtualNodes = 160;
+        private List<HashKeySource> keySources = new ArrayList<>(
+            List.of(HashKeySource.USER_ID, HashKeySource.DEVICE_ID, HashKeySource.CLIENT_IP)
+        );
+
+        public int getVirtualNodes() {
+            return virtualNodes;
+        }
+
+        public void setVirtualNodes(int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+        }
+
+        public List<HashKeySource> getKeySources() {
+            return keySources;
+        }
+
+        public void setKeySources(List<HashKeySource> keySources) {
+            this.keySources = keySources;
+        }
+    }
+
+    /**
+     * An instance is a failure when the call errors (connect failure, timeout...) or answers with a 5xx status
+     * <ul>
+     *     <li>{@code consecutiveErrors}: Failures in a row that eject the instance</li>
+     *     <li>
+     *         {@code errorRateThreshold}: Failure ratio (0..1) within {@code interval} that ejects the instance,
+     *         evaluated only once {@code minimumRequests} requests were observed in that interval
+     *     </li>
+     *     <li>
+     *         {@code baseEjectionTime}: Ejection time of the first ejection, doubled on every repeated ejection
+     *         up to {@code maxEjectionTime}
+     *     </li>
+     *     <li>{@code maxEjectionPercent}: Maximum share of the instances of a service that can be ejected at the same time</li>
+     *     <li>
+     *         {@code recoveryTime}: After ejection, the instance receives a linearly growing share of traffic
+     *         over this period instead of its full share at once
+     *     </li>
+     * </ul>
+     */
+    public static class OutlierDetection {
+        private boolean enabled = true;
+        private int consecutiveErrors = 5;
+        private double errorRateThreshold = 0.5;
+        private int minimumRequests = 20;
+        private Duration interval = Duration.ofSeconds(10);
+        private Duration baseEjectionTime = Duration.ofSeconds(30);
+        private Duration maxEjectionTime = Duration.ofMinutes(5);
+        private int maxEjectionPercent = 50;
+        private Duration recoveryTime = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getConsecutiveErrors() {
+            return consecutiveErrors;
+        }
+
+        public void setConsecutiveErrors(int consecutiveErrors) {
+            this.consecutiveErrors = consecutiveErrors;
+        }
+
+        public double getErrorRateThreshold() {
+            return errorRateThreshold;
+        }
+
+        public void setErrorRateThreshold(double errorRateThreshold) {
+            this.errorRateThreshold = errorRateThreshold;
+        }
+
+        public int getMinimumRequests() {
+            return minimumRequests;
+        }
+
+        public void setMinimumRequests(int minimumRequests) {
+            this.minimumRequests = minimumRequests;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public Duration getBaseEjectionTime() {
+            return baseEjectionTime;
+        }
+
+        public void setBaseEjectionTime(Duration baseEjectionTime) {
+            this.baseEjectionTime = baseEjectionTime;
+        }
+
+        public Duration getMaxEjectionTime() {
+            return maxEjectionTime;
+        }
+
+        public void setMaxEjectionTime(Duration maxEjectionTime) {
+            this.maxEjectionTime = maxEjectionTime;
+        }
+
+        public int getMaxEjectionPercent() {
+            return maxEjectionPercent;
+        }
+
+        public void setMaxEjectionPercent(int maxEjectionPercent) {
+            this.maxEjectionPercent = maxEjectionPercent;
+        }
+
+        public Duration getRecoveryTime() {
+            return recoveryTime;
+        }
+
+        public void setRecoveryTime(Duration recoveryTime) {
+            this.recoveryTime = recoveryTime;
+        }
+    }
+}
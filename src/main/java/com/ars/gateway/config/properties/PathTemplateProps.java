@@ -0,0 +1,49 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bounded path templates used as the {@code path}/{@code uri} tag of the HTTP metrics
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>{@code maxTemplates}: Hard cap on distinct templates, paths beyond it are tagged with their route pattern</li>
+ *     <li>{@code maxSegments}: Segments kept in a template, deeper paths end with {@code /**}</li>
+ *     <li>
+ *         {@code maxDistinctValues}: Once this many distinct values were seen at the same position of a template,
+ *         that position is collapsed to {@code {var}}, e.g. slugs or usernames
+ *     </li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.metrics.path-templates")
+public class PathTemplateProps {
+    private int maxTemplates = 500;
+    private int maxSegments = 8;
+    private int maxDistinctValues = 50;
+
+    public int getMaxTemplates() {
+        return maxTemplates;
+    }
+
+    public void setMaxTemplates(int maxTemplates) {
+        this.maxTemplates = maxTemplates;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    public int getMaxDistinctValues() {
+        return maxDistinctValues;
+    }
+
+    public void setMaxDistinctValues(int maxDistinctValues) {
+        this.maxDistinctValues = maxDistinctValues;
+    }
+}
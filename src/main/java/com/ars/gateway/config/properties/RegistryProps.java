@@ -0,0 +1,92 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Source of the instance lists used by the gateway load balancers
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>
+ *         {@code mode}: {@link Mode#DISCOVERY} reads instances from the discovery client (Eureka) and falls back to
+ *         the last persisted snapshot when it has none. {@link Mode#STATIC} only reads {@code staticFile},
+ *         e.g. for local load tests without Eureka
+ *     </li>
+ *     <li>{@code staticFile}: JSON file of the {@link Mode#STATIC} mode, same format as the snapshot file</li>
+ *     <li>{@code snapshot}: Persistence of the last-known instances of every routed service</li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.registry")
+public class RegistryProps {
+    private Mode mode = Mode.DISCOVERY;
+    private String staticFile = "./config/static-registry.json";
+    private Snapshot snapshot = new Snapshot();
+
+    public enum Mode {
+        DISCOVERY, STATIC
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public String getStaticFile() {
+        return staticFile;
+    }
+
+    public void setStaticFile(String staticFile) {
+        this.staticFile = staticFile;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * <ul>
+     *     <li>{@code file}: Location of the snapshot, loaded at startup before Eureka has answered</li>
+     *     <li>{@code persistInterval}: How often a changed snapshot is written to disk</li>
+     * </ul>
+     */
+    public static class Snapshot {
+        private boolean enabled = true;
+        private String file = "./data/registry-snapshot.json";
+        private Duration persistInterval = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public Duration getPersistInterval() {
+            return persistInterval;
+        }
+
+        public void setPersistInterval(Duration persistInterval) {
+            this.persistInterval = persistInterval;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-stage latency instrumentation of the gateway filter chain
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>{@code enabled}: Records the stage timers of every request, cheap enough to stay on in production</li>
+ *     <li>{@code serverTiming.enabled}: Adds a {@code Server-Timing} response header to sampled requests</li>
+ *     <li>{@code serverTiming.sampleRate}: Share of requests (0..1) receiving the header</li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.stage-timing")
+public class StageTimingProps {
+    private boolean enabled = true;
+    private ServerTiming serverTiming = new ServerTiming();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public ServerTiming getServerTiming() {
+        return serverTiming;
+    }
+
+    public void setServerTiming(ServerTiming serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    public static class ServerTiming {
+        private boolean enabled = false;
+        private double sampleRate = 0.01;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+}
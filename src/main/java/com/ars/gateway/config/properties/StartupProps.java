@@ -0,0 +1,132 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the startup stages that must finish before the gateway reports itself ready
+ * <p>
+ * Bound from {@code app.startup.*}. Each stage registers itself with
+ * {@link com.ars.gateway.startup.StartupReadinessHealthIndicator}, which keeps the readiness probe DOWN
+ * until every registered stage has completed or timed out
+ *
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.startup")
+public class StartupProps {
+    private ConnectionWarmup connectionWarmup = new ConnectionWarmup();
+    private JitWarmup jitWarmup = new JitWarmup();
+
+    public ConnectionWarmup getConnectionWarmup() {
+        return connectionWarmup;
+    }
+
+    public void setConnectionWarmup(ConnectionWarmup connectionWarmup) {
+        this.connectionWarmup = connectionWarmup;
+    }
+
+    public JitWarmup getJitWarmup() {
+        return jitWarmup;
+    }
+
+    public void setJitWarmup(JitWarmup jitWarmup) {
+        this.jitWarmup = jitWarmup;
+    }
+
+    /**
+     * Pre-opens keep-alive connections from the gateway HTTP client pool to every instance of every {@code lb://} route
+     * <ul>
+     *     <li>{@code connectionsPerInstance}: Number of concurrent warm-up requests (and therefore pooled connections) per instance</li>
+     *     <li>{@code requestPath}: Path requested on each instance. If empty, only the event loops and DNS resolver are warmed</li>
+     *     <li>{@code timeout}: Overall deadline of the stage, readiness flips to UP when it is exceeded</li>
+     * </ul>
+     */
+    public static class ConnectionWarmup {
+        private boolean enabled = true;
+        private int connectionsPerInstance = 4;
+        private String requestPath = "/actuator/health";
+        private Duration timeout = Duration.ofSeconds(15);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getConnectionsPerInstance() {
+            return connectionsPerInstance;
+        }
+
+        public void setConnectionsPerInstance(int connectionsPerInstance) {
+            this.connectionsPerInstance = connectionsPerInstance;
+        }
+
+        public String getRequestPath() {
+            return requestPath;
+        }
+
+        public void setRequestPath(String requestPath) {
+            this.requestPath = requestPath;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * Sends synthetic requests through the local gateway, routed to an in-process stub, so that the JIT compiles
+     * the request path (JWT parsing, device ID decryption, route matching, JSON rewriting) before real traffic arrives
+     * <ul>
+     *     <li>{@code iterations}: Maximum number of synthetic requests</li>
+     *     <li>{@code duration}: Maximum duration of the stage, whichever of both budgets is spent first ends it</li>
+     *     <li>{@code concurrency}: Synthetic requests in flight</li>
+     * </ul>
+     */
+    public static class JitWarmup {
+        private boolean enabled = false;
+        private int iterations = 5000;
+        private Duration duration = Duration.ofSeconds(20);
+        private int concurrency = 8;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        public void setIterations(int iterations) {
+            this.iterations = iterations;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public void setDuration(Duration duration) {
+            this.duration = duration;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+}
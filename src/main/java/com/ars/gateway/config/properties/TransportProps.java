@@ -0,0 +1,106 @@
+package com.ars.gateway.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Selects the Netty transport and event-loop topology used by the gateway server and its downstream HTTP client
+ * <p>
+ * Parameters:
+ * <ul>
+ *     <li>
+ *         {@code type}: {@link Type#AUTO} keeps Reactor Netty defaults. {@link Type#NIO} forces the JDK transport.
+ *         {@link Type#EPOLL} and {@link Type#IO_URING} require the matching native library
+ *         (see the {@code native-epoll} / {@code native-io-uring} Maven profiles) and fall back to NIO when unavailable
+ *     </li>
+ *     <li>{@code server}: Event-loop group accepting and serving client connections</li>
+ *     <li>
+ *         {@code client}: Event-loop group used by the gateway {@code HttpClient} for downstream calls.
+ *         With {@code workerThreads = 0} the client shares the server loops
+ *     </li>
+ * </ul>
+ * @author thoaidc
+ */
+@SuppressWarnings("unused")
+@ConfigurationProperties(prefix = "app.transport")
+public class TransportProps {
+    private Type type = Type.AUTO;
+    private boolean daemon = true;
+    private LoopGroup server = new LoopGroup();
+    private LoopGroup client = new LoopGroup();
+
+    public enum Type {
+        AUTO, NIO, EPOLL, IO_URING
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public boolean isDaemon() {
+        return daemon;
+    }
+
+    public void setDaemon(boolean daemon) {
+        this.daemon = daemon;
+    }
+
+    public LoopGroup getServer() {
+        return server;
+    }
+
+    public void setServer(LoopGroup server) {
+        this.server = server;
+    }
+
+    public LoopGroup getClient() {
+        return client;
+    }
+
+    public void setClient(LoopGroup client) {
+        this.client = client;
+    }
+
+    /**
+     * <ul>
+     *     <li>{@code selectThreads}: Threads accepting connections (server only), 0 lets the worker threads accept</li>
+     *     <li>{@code workerThreads}: Event-loop threads, 0 keeps the Reactor Netty default (number of cores, minimum 4)</li>
+     *     <li>
+     *         {@code colocate}: Pins every connection opened from a loop thread to that same loop,
+     *         so a downstream call stays on the thread that received the request and no cross-thread hand-off happens
+     *     </li>
+     * </ul>
+     */
+    public static class LoopGroup {
+        private int selectThreads = 0;
+        private int workerThreads = 0;
+        private boolean colocate = true;
+
+        public int getSelectThreads() {
+            return selectThreads;
+        }
+
+        public void setSelectThreads(int selectThreads) {
+            this.selectThreads = selectThreads;
+        }
+
+        public int getWorkerThreads() {
+            return workerThreads;
+        }
+
+        public void setWorkerThreads(int workerThreads) {
+            this.workerThreads = workerThreads;
+        }
+
+        public boolean isColocate() {
+            return colocate;
+        }
+
+        public void setColocate(boolean colocate) {
+            this.colocate = colocate;
+        }
+    }
+}
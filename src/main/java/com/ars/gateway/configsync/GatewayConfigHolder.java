@@ -0,0 +1,52 @@
+package com.ars.gateway.configsync;
+
+import com.ars.gateway.constants.ConfigSyncConstants;
+import com.dct.model.config.properties.SecurityProps;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the {@link GatewayConfigSnapshot} applied by this node, read lock-free on the request path
+ * <p>
+ * Starts with the defaults of {@code app.security}, until {@link GatewayConfigSynchronizer} loads the Redis configuration
+ *
+ * @author thoaidc
+ */
+@Component
+public class GatewayConfigHolder {
+    private final AtomicReference<GatewayConfigSnapshot> current;
+
+    public GatewayConfigHolder(SecurityProps securityProps) {
+        this.current = new AtomicReference<>(new GatewayConfigSnapshot(
+            ConfigSyncConstants.INITIAL_VERSION,
+            Map.of(),
+            securityProps.getRateLimitExcludedApis(),
+            List.of(securityProps.getPublicRequestPatterns()),
+            Instant.now()
+        ));
+    }
+
+    public GatewayConfigSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Replaces the current snapshot unless it is newer than the given one, reloads can complete out of order
+     * @return the snapshot in place after the call
+     */
+    public GatewayConfigSnapshot apply(GatewayConfigSnapshot snapshot) {
+        return current.accumulateAndGet(snapshot, (previous, next) -> next.version() >= previous.version() ? next : previous);
+    }
+
+    /**
+     * Replaces the current snapshot whatever its version, used when the cluster version went backwards (e.g. Redis was flushed)
+     */
+    public void reset(GatewayConfigSnapshot snapshot) {
+        current.set(snapshot);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ars.gateway.configsync;
+
+import com.ars.gateway.security.ratelimiter.RateLimiterConfig;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the configuration stored in Redis, as applied by this node
+ * <p>
+ * A new snapshot replaces the previous one as a whole, so a request never sees the rate limits of one version
+ * with the excluded APIs of another
+ *
+ * @param version                 Cluster-wide version the snapshot was read at, {@code -1} before the first load
+ * @param rateLimiterConfigs      Rate limit overrides by route ID, routes without entry use their route configuration
+ * @param rateLimitExcludedApis   Path patterns never rate limited, read on every request and never modified
+ * @param publicRequestPatterns   Path patterns that do not require authentication
+ * @param appliedAt               When this node applied the snapshot
+ *
+ * @author thoaidc
+ */
+public record GatewayConfigSnapshot(long version,
+                                    Map<String, RateLimiterConfig> rateLimiterConfigs,
+                                    String[] rateLimitExcludedApis,
+                                    List<String> publicRequestPatterns,
+                                    Instant appliedAt) {
+
+    public GatewayConfigSnapshot {
+        rateLimiterConfigs = Map.copyOf(rateLimiterConfigs);
+        rateLimitExcludedApis = rateLimitExcludedApis.clone();
+        publicRequestPatterns = List.copyOf(publicRequestPatterns);
+    }
+}
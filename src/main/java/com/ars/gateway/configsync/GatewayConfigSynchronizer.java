@@ -0,0 +1,290 @@
+package com.ars.gateway.configsync;
+
+import com.ars.gateway.config.properties.ConfigSyncProps;
+import com.ars.gateway.constants.ConfigSyncConstants;
+import com.ars.gateway.constants.RateLimitConstants;
+import com.ars.gateway.constants.StartupConstants;
+import com.ars.gateway.dto.ConfigSyncStatusDTO;
+import com.ars.gateway.dto.NodeConfigVersionDTO;
+import com.ars.gateway.security.config.DynamicPublicRequestContext;
+import com.ars.gateway.service.RateLimitConfigService;
+import com.ars.gateway.service.RequestAuthorizationManagementService;
+import com.ars.gateway.startup.StartupReadinessHealthIndicator;
+import com.dct.model.constants.BaseSecurityConstants;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps the configuration stored in Redis identical on every gateway node
+ *
+ * <ul>
+ *     <li>
+ *         A refresh request on any node increments {@link ConfigSyncConstants#VERSION_KEY} and publishes the new version
+ *         on {@link ConfigSyncConstants#CHANNEL}, every subscribed node (the publisher included) then reloads
+ *     </li>
+ *     <li>
+ *         A reload reads the version and all configuration keys with a single MGET, builds a {@link GatewayConfigSnapshot}
+ *         and swaps it in {@link GatewayConfigHolder}. Redis is only accessed through the reactive client,
+ *         refresh requests never block an event loop
+ *     </li>
+ *     <li>
+ *         Every {@code app.config-sync.version-check-interval}, each node compares its version with Redis,
+ *         so a node that missed a message (restart of the pub/sub connection, network partition) still converges
+ *     </li>
+ *     <li>Each node reports its applied version in {@link ConfigSyncConstants#APPLIED_VERSIONS_KEY}, see {@link #getStatus()}</li>
+ *     <li>
+ *         The startup load never blocks the context refresh: it runs in the background with the
+ *         {@code app.config-sync.startup-timeout} deadline and keeps the {@link StartupConstants#CONFIG_LOAD_STAGE}
+ *         readiness stage DOWN meanwhile. Past the deadline, the {@code app.security} defaults stay applied,
+ *         readiness is released and the load is retried with backoff until Redis answers
+ *     </li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+@EnableConfigurationProperties(ConfigSyncProps.class)
+public class GatewayConfigSynchronizer {
+    private static final Logger log = LoggerFactory.getLogger(GatewayConfigSynchronizer.class);
+    private static final List<String> CONFIG_KEYS = List.of(
+        ConfigSyncConstants.VERSION_KEY,
+        RateLimitConstants.CONFIG_RATE_LIMIT_CODE,
+        RateLimitConstants.RATE_LIMIT_EXCLUDED_APIS,
+        BaseSecurityConstants.PUBLIC_REQUEST_CONFIG
+    );
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final GatewayConfigHolder configHolder;
+    private final DynamicPublicRequestContext dynamicPublicRequestContext;
+    private final RateLimitConfigService rateLimitConfigService;
+    private final RequestAuthorizationManagementService requestAuthorizationManagementService;
+    private final ConfigSyncProps configSyncProps;
+    private final StartupReadinessHealthIndicator readinessIndicator;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+    private final Sinks.One<GatewayConfigSnapshot> startupLoad = Sinks.one();
+    private Disposable startupSubscription;
+    private Disposable subscription;
+
+    public GatewayConfigSynchronizer(ReactiveStringRedisTemplate redisTemplate,
+                                     GatewayConfigHolder configHolder,
+                                     DynamicPublicRequestContext dynamicPublicRequestContext,
+                                     RateLimitConfigService rateLimitConfigService,
+                                     RequestAuthorizationManagementService requestAuthorizationManagementService,
+                                     ConfigSyncProps configSyncProps,
+                                     StartupReadinessHealthIndicator readinessIndicator,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.configHolder = configHolder;
+        this.dynamicPublicRequestContext = dynamicPublicRequestContext;
+        this.rateLimitConfigService = rateLimitConfigService;
+        this.requestAuthorizationManagementService = requestAuthorizationManagementService;
+        this.configSyncProps = configSyncProps;
+        this.readinessIndicator = readinessIndicator;
+        this.objectMapper = objectMapper;
+        Gauge.builder(ConfigSyncConstants.VERSION_METRIC, configHolder, holder -> holder.current().version()).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        dynamicPublicRequestContext.updatePublicPaths(configHolder.current().publicRequestPatterns());
+        readinessIndicator.register(StartupConstants.CONFIG_LOAD_STAGE);
+        startupSubscription = load(false)
+            .timeout(configSyncProps.getStartupTimeout())
+            .doOnNext(snapshot -> completeStartupLoad(snapshot, StartupConstants.OUTCOME_COMPLETED))
+            .onErrorResume(e -> {
+                // The defaults of app.security apply until a retry succeeds
+                log.error("[CONFIG_SYNC_STARTUP_LOAD_FAILED] - Using default configuration, retrying in the background, error: {}", e.getMessage());
+                completeStartupLoad(configHolder.current(), e instanceof TimeoutException ? StartupConstants.OUTCOME_TIMEOUT : StartupConstants.OUTCOME_FAILED);
+                return load(false)
+                    .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                    .doOnNext(snapshot -> log.info("[CONFIG_SYNC_STARTUP_LOAD_RECOVERED] - version: {}", snapshot.version()));
+            })
+            .flatMap(this::reportAppliedVersion)
+            .subscribe(ignored -> {}, this::logReloadError);
+
+        subscription = redisTemplate.listenToChannel(ConfigSyncConstants.CHANNEL)
+            .map(message -> Long.parseLong(message.getMessage()))
+            .filter(version -> version > configHolder.current().version())
+            .concatMap(version -> reload(false).onErrorResume(this::logReloadError))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                .maxBackoff(Duration.ofSeconds(30))
+                .doBeforeRetry(signal -> log.warn("[CONFIG_SYNC_SUBSCRIPTION_LOST] - error: {}", signal.failure().getMessage())))
+            .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (Objects.nonNull(startupSubscription)) {
+            startupSubscription.dispose();
+        }
+
+        if (Objects.nonNull(subscription)) {
+            subscription.dispose();
+        }
+
+        redisTemplate.opsForHash()
+            .remove(ConfigSyncConstants.APPLIED_VERSIONS_KEY, nodeId)
+            .onErrorResume(e -> Mono.empty())
+            .block(Duration.ofSeconds(2));
+    }
+
+    /**
+     * Announces a new configuration version to every node, after the configuration keys were updated in Redis
+     * @return the published version
+     */
+    public Mono<Long> publish() {
+        return redisTemplate.opsForValue()
+            .increment(ConfigSyncConstants.VERSION_KEY)
+            .flatMap(version -> redisTemplate.convertAndSend(ConfigSyncConstants.CHANNEL, String.valueOf(version))
+                .doOnNext(receivers -> log.info("[CONFIG_SYNC_PUBLISHED] - version: {}, receivers: {}", version, receivers))
+                .thenReturn(version));
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.config-sync.version-check-interval:30s}",
+        fixedDelayString = "${app.config-sync.version-check-interval:30s}"
+    )
+    public void checkVersion() {
+        redisTemplate.opsForValue()
+            .get(ConfigSyncConstants.VERSION_KEY)
+            .map(Long::parseLong)
+            .defaultIfEmpty(0L)
+            .flatMap(version -> {
+                long applied = configHolder.current().version();
+
+                if (version == applied) {
+                    return reportAppliedVersion(configHolder.current());
+                }
+
+                log.info("[CONFIG_SYNC_VERSION_MISMATCH] - applied: {}, cluster: {}", applied, version);
+                return reload(version < applied);
+            })
+            .subscribe(ignored -> {}, this::logReloadError);
+    }
+
+    /**
+     * Completes once the startup load has applied the Redis configuration, or has fallen back to the defaults
+     */
+    public Mono<GatewayConfigSnapshot> awaitStartupLoad() {
+        return startupLoad.asMono();
+    }
+
+    public Mono<ConfigSyncStatusDTO> getStatus() {
+        Mono<Long> clusterVersion = redisTemplate.opsForValue()
+            .get(ConfigSyncConstants.VERSION_KEY)
+            .map(Long::parseLong)
+            .defaultIfEmpty(0L);
+        Mono<List<NodeConfigVersionDTO>> nodes = redisTemplate.<String, String>opsForHash()
+            .values(ConfigSyncConstants.APPLIED_VERSIONS_KEY)
+            .mapNotNull(this::readNodeVersion)
+            .sort(Comparator.comparing(NodeConfigVersionDTO::getNodeId))
+            .collectList();
+        return Mono.zip(clusterVersion, nodes, ConfigSyncStatusDTO::new);
+    }
+
+    private Mono<Boolean> reload(boolean force) {
+        return load(force).flatMap(this::reportAppliedVersion);
+    }
+
+    /**
+     * Public patterns, excluded APIs and rate limits are read together with their version in one round trip
+     */
+    private Mono<GatewayConfigSnapshot> load(boolean force) {
+        return redisTemplate.opsForValue()
+            .multiGet(CONFIG_KEYS)
+            .map(this::createSnapshot)
+            .map(snapshot -> apply(snapshot, force));
+    }
+
+    private void completeStartupLoad(GatewayConfigSnapshot snapshot, String outcome) {
+        readinessIndicator.complete(StartupConstants.CONFIG_LOAD_STAGE, outcome);
+        startupLoad.tryEmitValue(snapshot);
+    }
+
+    private GatewayConfigSnapshot createSnapshot(List<String> values) {
+        String version = values.get(0);
+        return new GatewayConfigSnapshot(
+            Objects.nonNull(version) ? Long.parseLong(version) : 0L,
+            rateLimitConfigService.parseRateLimitConfig(values.get(1)),
+            rateLimitConfigService.parseRateExcludedApis(values.get(2)),
+            requestAuthorizationManagementService.parsePublicRequestsConfig(values.get(3)),
+            Instant.now()
+        );
+    }
+
+    /**
+     * Serialized, so that the public paths pushed to {@link DynamicPublicRequestContext} always belong to the applied snapshot
+     */
+    private synchronized GatewayConfigSnapshot apply(GatewayConfigSnapshot snapshot, boolean force) {
+        GatewayConfigSnapshot previous = configHolder.current();
+
+        if (force) {
+            configHolder.reset(snapshot);
+        } else if (configHolder.apply(snapshot) != snapshot) {
+            return previous;
+        }
+
+        if (!previous.publicRequestPatterns().equals(snapshot.publicRequestPatterns())) {
+            dynamicPublicRequestContext.updatePublicPaths(snapshot.publicRequestPatterns());
+        }
+
+        log.info(
+            "[CONFIG_SYNC_APPLIED] - version: {}, rateLimitRoutes: {}, excludedApis: {}, publicPatterns: {}",
+            snapshot.version(),
+            snapshot.rateLimiterConfigs().keySet(),
+            snapshot.rateLimitExcludedApis().length,
+            snapshot.publicRequestPatterns().size()
+        );
+        return snapshot;
+    }
+
+    private Mono<Boolean> reportAppliedVersion(GatewayConfigSnapshot snapshot) {
+        NodeConfigVersionDTO nodeVersion = new NodeConfigVersionDTO(nodeId, snapshot.version(), snapshot.appliedAt(), Instant.now());
+
+        try {
+            String value = objectMapper.writeValueAsString(nodeVersion);
+            return redisTemplate.opsForHash().put(ConfigSyncConstants.APPLIED_VERSIONS_KEY, nodeId, value);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    private NodeConfigVersionDTO readNodeVersion(String value) {
+        try {
+            return objectMapper.readValue(value, NodeConfigVersionDTO.class);
+        } catch (JsonProcessingException e) {
+            log.warn("[CONFIG_SYNC_INVALID_NODE_VERSION] - value: {}", value);
+            return null;
+        }
+    }
+
+    private Mono<Boolean> logReloadError(Throwable e) {
+        log.warn("[CONFIG_SYNC_RELOAD_FAILED] - version: {}, error: {}", configHolder.current().version(), e.getMessage());
+        return Mono.empty();
+    }
+}
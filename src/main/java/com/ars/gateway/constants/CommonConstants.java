@@ -4,6 +4,14 @@ public interface CommonConstants {
     String ANONYMOUS_USER = "anonymous";
     String AUTHENTICATION_EXCHANGE_ATTRIBUTE = "ars:auth";
     String TOKEN_EXCHANGE_ATTRIBUTE = "ars:token";
+    String LOAD_BALANCER_HASH_KEY_ATTRIBUTE = "ars:lb-hash-key";
+    String LOAD_BALANCER_EXCLUDED_INSTANCE_ATTRIBUTE = "ars:lb-excluded-instance";
+    String HEDGE_ATTEMPT_ATTRIBUTE = "ars:hedge-attempt";
+    String STAGE_TIMINGS_ATTRIBUTE = "ars:stage-timings";
+    String ROUTE_LOOKUP_ATTRIBUTE = "ars:route-lookup";
+    String ACCESS_LOG_ERROR_ATTRIBUTE = "ars:access-log-error";
+    String CLIENT_IP_ATTRIBUTE = "ars:client-ip";
+    String JIT_WARMUP_ATTRIBUTE = "ars:jit-warmup";
     String DOWNSTREAM_SERVICE_HEADER = "X-Gateway-Downstream";
     String VI = "vi";
 }
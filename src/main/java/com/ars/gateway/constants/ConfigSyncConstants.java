@@ -0,0 +1,18 @@
+package com.ars.gateway.constants;
+
+/**
+ * Redis keys and channel used to propagate the gateway configuration stored in Redis to every node
+ * <ul>
+ *     <li>{@link #VERSION_KEY}: Cluster-wide configuration version, incremented on every refresh request</li>
+ *     <li>{@link #CHANNEL}: Pub/sub channel announcing a new version, the message is the version number</li>
+ *     <li>{@link #APPLIED_VERSIONS_KEY}: Hash of the version applied by each node, field = node ID</li>
+ * </ul>
+ * @author thoaidc
+ */
+public interface ConfigSyncConstants {
+    String VERSION_KEY = "gateway_config_version";
+    String CHANNEL = "gateway_config_changed";
+    String APPLIED_VERSIONS_KEY = "gateway_config_applied_versions";
+    String VERSION_METRIC = "gateway.config.version";
+    long INITIAL_VERSION = -1;
+}
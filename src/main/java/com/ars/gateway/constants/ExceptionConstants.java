@@ -12,4 +12,11 @@ package com.ars.gateway.constants;
 @SuppressWarnings("unused")
 public interface ExceptionConstants {
     String TOO_MANY_REQUESTS = "exception.tooManyRequests";
+    String SERVICE_UNAVAILABLE = "exception.serviceUnavailable";
+    String GATEWAY_TIMEOUT = "exception.gatewayTimeout";
+    String PAYLOAD_TOO_LARGE = "exception.payloadTooLarge";
+    String REQUEST_TIMEOUT = "exception.requestTimeout";
+    String IP_BLOCKED = "exception.ipBlocked";
+    String INVALID_ROUTE_DEFINITION = "exception.route.invalid";
+    String STATIC_ROUTE_NOT_MODIFIABLE = "exception.route.static";
 }
@@ -1,9 +1,15 @@
 package com.ars.gateway.constants;
 
+import org.springframework.core.Ordered;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 
 public interface FilterChainConstants {
     interface Order {
+        int STAGE_TIMING_FILTER = Ordered.HIGHEST_PRECEDENCE;
+        int ACCESS_LOG_FILTER = STAGE_TIMING_FILTER + 1;
+        int LOCALE_CONTEXT_FILTER = ACCESS_LOG_FILTER + 1;
+        int IP_FILTER = LOCALE_CONTEXT_FILTER + 1;
+        int JIT_WARMUP_FILTER = IP_FILTER + 1;
         int BEFORE_SPRING_DEFAULT_GLOBAL_ERROR_HANDLER = -2;
         int AFTER_SPRING_DEFAULT_AUTHORIZATION_FILTER = SecurityWebFiltersOrder.AUTHORIZATION.getOrder() + 1;
     }
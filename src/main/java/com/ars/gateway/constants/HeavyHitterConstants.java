@@ -0,0 +1,13 @@
+package com.ars.gateway.constants;
+
+/**
+ * Metric names and tags of the heavy hitter detection
+ * @author thoaidc
+ */
+public interface HeavyHitterConstants {
+    String BANS_METRIC = "gateway.heavyhitters.bans";
+    String SLICE_REQUESTS_METRIC = "gateway.heavyhitters.slice.requests";
+    String KEY_TYPE_TAG = "key.type";
+    String KEY_TYPE_CLIENT = "client";
+    String KEY_TYPE_IP = "ip";
+}
@@ -0,0 +1,14 @@
+package com.ars.gateway.constants;
+
+/**
+ * Metric names and tags of the hedged requests
+ * @author thoaidc
+ */
+public interface HedgingConstants {
+    String REQUESTS_METRIC = "gateway.hedging.requests";
+    String HEDGES_METRIC = "gateway.hedging.hedges";
+    String WINS_METRIC = "gateway.hedging.wins";
+    String BUDGET_EXHAUSTED_METRIC = "gateway.hedging.budget.exhausted";
+    String BUDGET_TOKENS_METRIC = "gateway.hedging.budget.tokens";
+    String ROUTE_TAG = "route";
+}
@@ -0,0 +1,22 @@
+package com.ars.gateway.constants;
+
+/**
+ * Redis keys and metrics of the CIDR allow/deny lists
+ * <ul>
+ *     <li>{@link #DENY_KEY}, {@link #ALLOW_KEY}: Sets of prefixes or addresses, added to the lists of {@code app.ip-filter}</li>
+ *     <li>{@link #VERSION_KEY}: Incremented after changing the sets, every node then reloads them</li>
+ *     <li>{@link #REJECTED_METRIC}: Requests rejected because their client address is denied</li>
+ *     <li>{@link #PREFIXES_METRIC}: Prefixes of the applied lists, by action</li>
+ * </ul>
+ * @author thoaidc
+ */
+public interface IpFilterConstants {
+    String DENY_KEY = "gateway_ip_deny";
+    String ALLOW_KEY = "gateway_ip_allow";
+    String VERSION_KEY = "gateway_ip_filter_version";
+    String REJECTED_METRIC = "gateway.ipfilter.rejected";
+    String PREFIXES_METRIC = "gateway.ipfilter.prefixes";
+    String ACTION_TAG = "action";
+    String ACTION_DENY = "deny";
+    String ACTION_ALLOW = "allow";
+}
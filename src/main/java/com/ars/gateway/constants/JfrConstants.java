@@ -0,0 +1,10 @@
+package com.ars.gateway.constants;
+
+/**
+ * Names shared by the custom JFR events of the gateway
+ * @author thoaidc
+ */
+public interface JfrConstants {
+    String EVENT_PREFIX = "com.ars.gateway.";
+    String CATEGORY = "ARS Gateway";
+}
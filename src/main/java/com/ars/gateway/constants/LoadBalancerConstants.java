@@ -0,0 +1,18 @@
+package com.ars.gateway.constants;
+
+/**
+ * Metric names and tags of the gateway load balancers
+ * @author thoaidc
+ */
+public interface LoadBalancerConstants {
+    String INSTANCE_SCORE_METRIC = "gateway.loadbalancer.instance.score";
+    String INSTANCE_LATENCY_METRIC = "gateway.loadbalancer.instance.latency.ewma";
+    String INSTANCE_IN_FLIGHT_METRIC = "gateway.loadbalancer.instance.inflight";
+    String OUTLIER_EJECTIONS_METRIC = "gateway.loadbalancer.outlier.ejections";
+    String OUTLIER_EJECTED_METRIC = "gateway.loadbalancer.outlier.ejected";
+    String SERVICE_TAG = "service";
+    String INSTANCE_TAG = "instance";
+    String REASON_TAG = "reason";
+    String REASON_CONSECUTIVE_ERRORS = "consecutive_errors";
+    String REASON_ERROR_RATE = "error_rate";
+}
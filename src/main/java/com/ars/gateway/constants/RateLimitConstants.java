@@ -26,4 +26,25 @@ public interface RateLimitConstants {
     String DEVICE_BANNED_KEY = ":device:";
     String USER_ID_BANNED_KEY = ":userId:";
     String IP_BANNED_KEY = ":ip:";
+
+    /**
+     * Metric names and tags of the rate limiter
+     */
+    interface Metric {
+        String DECISION_DURATION = "gateway.ratelimit.decision.duration";
+        String DECISIONS = "gateway.ratelimit.decisions";
+        String NEW_BANS = "gateway.ratelimit.bans.new";
+        String REDIS_DURATION = "gateway.ratelimit.redis.duration";
+        String ROUTE_TAG = "route";
+        String OUTCOME_TAG = "outcome";
+        String KEY_TYPE_TAG = "key.type";
+        String OPERATION_TAG = "operation";
+        String OUTCOME_ALLOWED = "allowed";
+        String OUTCOME_BANNED = "banned";
+        String OUTCOME_EXCLUDED = "excluded";
+        String OUTCOME_FAIL_OPEN = "fail_open";
+        String OPERATION_BAN_LOOKUP = "ban_lookup";
+        String OPERATION_COUNT = "count";
+        String OPERATION_BAN = "ban";
+    }
 }
@@ -0,0 +1,21 @@
+package com.ars.gateway.constants;
+
+/**
+ * Metric names and tags of the request bodies rejected by the {@code RequestBodyLimit} filter
+ * <ul>
+ *     <li>{@link #REJECTED_METRIC}: Rejected requests, by route and reason</li>
+ *     <li>
+ *         {@link #REJECTED_BYTES_METRIC}: Size of the rejected bodies, the declared {@code Content-Length}
+ *         when rejected upfront, otherwise the bytes received before the rejection
+ *     </li>
+ * </ul>
+ * @author thoaidc
+ */
+public interface RequestBodyConstants {
+    String REJECTED_METRIC = "gateway.request.body.rejected";
+    String REJECTED_BYTES_METRIC = "gateway.request.body.rejected.bytes";
+    String ROUTE_TAG = "route";
+    String REASON_TAG = "reason";
+    String REASON_TOO_LARGE = "too_large";
+    String REASON_TOO_SLOW = "too_slow";
+}
@@ -0,0 +1,25 @@
+package com.ars.gateway.constants;
+
+/**
+ * Redis keys, channel and route metadata of the dynamic routes
+ * <ul>
+ *     <li>{@link #ROUTES_KEY}: Hash of the route definitions (JSON), field = route ID</li>
+ *     <li>{@link #ROUTE_VERSIONS_KEY}: Hash of the version of each route, field = route ID</li>
+ *     <li>{@link #VERSION_KEY}: Version of the whole route set, incremented on every change</li>
+ *     <li>{@link #CHANNEL}: Pub/sub channel announcing a changed route, the message is the route ID</li>
+ *     <li>{@link #ROUTE_ID_METADATA}, {@link #ROUTE_VERSION_METADATA}: Metadata stamped on every dynamic route</li>
+ *     <li>{@link #LOOKUP_DURATION_METRIC}, {@link #LOOKUP_CANDIDATES_METRIC}: Route lookup through the path prefix index</li>
+ * </ul>
+ * @author thoaidc
+ */
+public interface RouteConstants {
+    String ROUTES_KEY = "gateway_routes";
+    String ROUTE_VERSIONS_KEY = "gateway_route_versions";
+    String VERSION_KEY = "gateway_routes_version";
+    String CHANNEL = "gateway_routes_changed";
+    String ROUTE_ID_METADATA = "dynamic-route-id";
+    String ROUTE_VERSION_METADATA = "dynamic-route-version";
+    String LOOKUP_DURATION_METRIC = "gateway.route.lookup.duration";
+    String LOOKUP_CANDIDATES_METRIC = "gateway.route.lookup.candidates";
+    String MATCHED_TAG = "matched";
+}
@@ -0,0 +1,19 @@
+package com.ars.gateway.constants;
+
+/**
+ * Names of the startup stages gating the readiness probe, the metric used to report their duration
+ * and the header marking the synthetic requests of the JIT warm-up
+ * @author thoaidc
+ */
+public interface StartupConstants {
+    String CONFIG_LOAD_STAGE = "config-load";
+    String CONNECTION_WARMUP_STAGE = "connection-warmup";
+    String JIT_WARMUP_STAGE = "jit-warmup";
+    String JIT_WARMUP_HEADER = "X-Gateway-Warmup";
+    String STAGE_DURATION_METRIC = "gateway.startup.stage.duration";
+    String STAGE_TAG = "stage";
+    String OUTCOME_TAG = "outcome";
+    String OUTCOME_COMPLETED = "completed";
+    String OUTCOME_TIMEOUT = "timeout";
+    String OUTCOME_FAILED = "failed";
+}
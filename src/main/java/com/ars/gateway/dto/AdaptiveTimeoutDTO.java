@@ -0,0 +1,70 @@
+package com.ars.gateway.dto;
+
+import java.time.Instant;
+
+@SuppressWarnings("unused")
+public class AdaptiveTimeoutDTO {
+    private String routeId;
+    private Long staticTimeoutMillis;
+    private Long percentileMillis;
+    private long samples;
+    private long effectiveTimeoutMillis;
+    private boolean adaptive;
+    private Instant updatedAt;
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public void setRouteId(String routeId) {
+        this.routeId = routeId;
+    }
+
+    public Long getStaticTimeoutMillis() {
+        return staticTimeoutMillis;
+    }
+
+    public void setStaticTimeoutMillis(Long staticTimeoutMillis) {
+        this.staticTimeoutMillis = staticTimeoutMillis;
+    }
+
+    public Long getPercentileMillis() {
+        return percentileMillis;
+    }
+
+    public void setPercentileMillis(Long percentileMillis) {
+        this.percentileMillis = percentileMillis;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public void setSamples(long samples) {
+        this.samples = samples;
+    }
+
+    public long getEffectiveTimeoutMillis() {
+        return effectiveTimeoutMillis;
+    }
+
+    public void setEffectiveTimeoutMillis(long effectiveTimeoutMillis) {
+        this.effectiveTimeoutMillis = effectiveTimeoutMillis;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
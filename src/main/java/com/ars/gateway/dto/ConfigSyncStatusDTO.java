@@ -0,0 +1,30 @@
+package com.ars.gateway.dto;
+
+import java.util.List;
+
+@SuppressWarnings("unused")
+public class ConfigSyncStatusDTO {
+    private long clusterVersion;
+    private List<NodeConfigVersionDTO> nodes;
+
+    public ConfigSyncStatusDTO(long clusterVersion, List<NodeConfigVersionDTO> nodes) {
+        this.clusterVersion = clusterVersion;
+        this.nodes = nodes;
+    }
+
+    public long getClusterVersion() {
+        return clusterVersion;
+    }
+
+    public void setClusterVersion(long clusterVersion) {
+        this.clusterVersion = clusterVersion;
+    }
+
+    public List<NodeConfigVersionDTO> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<NodeConfigVersionDTO> nodes) {
+        this.nodes = nodes;
+    }
+}
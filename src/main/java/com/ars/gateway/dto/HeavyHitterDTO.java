@@ -0,0 +1,32 @@
+package com.ars.gateway.dto;
+
+@SuppressWarnings("unused")
+public class HeavyHitterDTO {
+    private String key;
+    private long count;
+    private double share;
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getShare() {
+        return share;
+    }
+
+    public void setShare(double share) {
+        this.share = share;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ars.gateway.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+@SuppressWarnings("unused")
+public class HeavyHitterSliceDTO {
+    private Instant startedAt;
+    private Instant endedAt;
+    private long requests;
+    private List<HeavyHitterDTO> clientKeys;
+    private List<HeavyHitterDTO> ips;
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getEndedAt() {
+        return endedAt;
+    }
+
+    public void setEndedAt(Instant endedAt) {
+        this.endedAt = endedAt;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public List<HeavyHitterDTO> getClientKeys() {
+        return clientKeys;
+    }
+
+    public void setClientKeys(List<HeavyHitterDTO> clientKeys) {
+        this.clientKeys = clientKeys;
+    }
+
+    public List<HeavyHitterDTO> getIps() {
+        return ips;
+    }
+
+    public void setIps(List<HeavyHitterDTO> ips) {
+        this.ips = ips;
+    }
+}
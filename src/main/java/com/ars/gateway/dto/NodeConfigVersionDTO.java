@@ -0,0 +1,52 @@
+package com.ars.gateway.dto;
+
+import java.time.Instant;
+
+@SuppressWarnings("unused")
+public class NodeConfigVersionDTO {
+    private String nodeId;
+    private long version;
+    private Instant appliedAt;
+    private Instant checkedAt;
+
+    public NodeConfigVersionDTO() {}
+
+    public NodeConfigVersionDTO(String nodeId, long version, Instant appliedAt, Instant checkedAt) {
+        this.nodeId = nodeId;
+        this.version = version;
+        this.appliedAt = appliedAt;
+        this.checkedAt = checkedAt;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Instant getAppliedAt() {
+        return appliedAt;
+    }
+
+    public void setAppliedAt(Instant appliedAt) {
+        this.appliedAt = appliedAt;
+    }
+
+    public Instant getCheckedAt() {
+        return checkedAt;
+    }
+
+    public void setCheckedAt(Instant checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+}
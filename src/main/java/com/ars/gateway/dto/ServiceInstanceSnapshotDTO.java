@@ -0,0 +1,75 @@
+package com.ars.gateway.dto;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+@SuppressWarnings("unused")
+public class ServiceInstanceSnapshotDTO {
+    private String instanceId;
+    private String host;
+    private int port;
+    private boolean secure;
+    private Map<String, String> metadata = new HashMap<>();
+
+    public ServiceInstanceSnapshotDTO() {}
+
+    public ServiceInstanceSnapshotDTO(ServiceInstance instance) {
+        this.instanceId = instance.getInstanceId();
+        this.host = instance.getHost();
+        this.port = instance.getPort();
+        this.secure = instance.isSecure();
+
+        if (Objects.nonNull(instance.getMetadata())) {
+            this.metadata = new HashMap<>(instance.getMetadata());
+        }
+    }
+
+    public ServiceInstance toServiceInstance(String serviceId) {
+        String id = Objects.nonNull(instanceId) ? instanceId : host + ":" + port;
+        return new DefaultServiceInstance(id, serviceId, host, port, secure, metadata);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public boolean isSecure() {
+        return secure;
+    }
+
+    public void setSecure(boolean secure) {
+        this.secure = secure;
+    }
+
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    public void setMetadata(Map<String, String> metadata) {
+        this.metadata = metadata;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ars.gateway.exception;
 
+import com.ars.gateway.common.ThrottledLogger;
 import com.ars.gateway.constants.FilterChainConstants;
 import com.dct.model.common.JsonUtils;
 import com.dct.model.common.MessageTranslationUtils;
@@ -25,6 +26,7 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 /**
  * Global exception handler for Spring WebFlux / Spring Cloud Gateway
@@ -80,6 +82,8 @@ import java.nio.charset.StandardCharsets;
 @Order(FilterChainConstants.Order.BEFORE_SPRING_DEFAULT_GLOBAL_ERROR_HANDLER)
 public class GlobalExceptionHandler implements ErrorWebExceptionHandler {
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    // Stack traces are expensive to render, a failing downstream must not turn every request into one
+    private static final ThrottledLogger errorLog = new ThrottledLogger(log, 20, Duration.ofSeconds(10));
     private final MessageTranslationUtils messageUtils;
 
     public GlobalExceptionHandler(MessageTranslationUtils messageUtils) {
@@ -92,8 +96,7 @@ public class GlobalExceptionHandler implements ErrorWebExceptionHandler {
         ServerHttpRequest request = exchange.getRequest();
         String method = request.getMethod().name();
         String fullUrl = request.getURI().toString();
-        log.error("[GATEWAY_GLOBAL_EXCEPTION_HANDLER_INFO] - Request: {} {}", method, fullUrl);
-        log.error("[GATEWAY_GLOBAL_EXCEPTION_HANDLER] - Handling error: {}", e.getMessage(), e);
+        errorLog.error("[GATEWAY_GLOBAL_EXCEPTION_HANDLER] - Request: {} {}, error: {}", method, fullUrl, e.getMessage(), e);
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
         response.getHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
@@ -1,8 +1,10 @@
 package com.ars.gateway.filters;
 
 import com.ars.gateway.common.LocaleUtils;
+import com.ars.gateway.constants.FilterChainConstants;
+import com.ars.gateway.timing.GatewayStage;
+import com.ars.gateway.timing.StageTimings;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
@@ -12,7 +14,7 @@ import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
 @Component
-@Order(Ordered.HIGHEST_PRECEDENCE)
+@Order(FilterChainConstants.Order.LOCALE_CONTEXT_FILTER)
 public class LocaleContextHolderWebFilter implements WebFilter {
     /**
      * Set locale by 'Accept-Language' header from request to use i18n translation
@@ -23,7 +25,9 @@ public class LocaleContextHolderWebFilter implements WebFilter {
     @Override
     @NonNull
     public Mono<Void> filter(@NonNull ServerWebExchange exchange, WebFilterChain chain) {
+        StageTimings.start(exchange, GatewayStage.LOCALE);
         LocaleUtils.setLocale(exchange);
+        StageTimings.end(exchange, GatewayStage.LOCALE);
         return chain.filter(exchange).doFinally(signalType -> LocaleContextHolder.resetLocaleContext());
     }
 }
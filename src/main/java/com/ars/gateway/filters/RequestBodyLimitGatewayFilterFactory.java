@@ -0,0 +1,263 @@
+package com.ars.gateway.filters;
+
+import com.ars.gateway.common.ErrorResponseWriter;
+import com.ars.gateway.common.ThrottledLogger;
+import com.ars.gateway.constants.ExceptionConstants;
+import com.ars.gateway.constants.RequestBodyConstants;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the size and the transfer rate of the request bodies of a route, without buffering them
+ *
+ * <ul>
+ *     <li>A {@code Content-Length} above {@code maxSize} is answered with a 413 {@code BaseResponseDTO}
+ *     before any byte of the body is read</li>
+ *     <li>Chunked bodies, and bodies longer than announced, are counted while they are streamed to the downstream service.
+ *     The request is aborted and answered with a 413 as soon as {@code maxSize} is exceeded</li>
+ *     <li>With {@code minRate} (bytes per second), once {@code gracePeriod} has elapsed the body must have been received
+ *     at this average rate, and no chunk may take longer than {@code gracePeriod} to arrive.
+ *     Slow-loris style uploads are aborted and answered with a 408 {@code BaseResponseDTO}</li>
+ *     <li>Rejected requests and their size are counted per route and reason,
+ *     see {@link RequestBodyConstants#REJECTED_METRIC} and {@link RequestBodyConstants#REJECTED_BYTES_METRIC}</li>
+ *     <li>The connection is closed after a rejection, the unread part of the body is not drained</li>
+ * </ul>
+ *
+ * <p>The rate is measured from the moment the body is sent to the downstream service, a downstream service reading
+ * slower than {@code minRate} is seen as a slow client: keep {@code minRate} far below the downstream throughput
+ *
+ * <p>Usage in application.yml:
+ * <pre>
+ * filters:
+ *   - name: RequestBodyLimit
+ *     args:
+ *       maxSize: 10MB
+ *       minRate: 8KB
+ *       gracePeriod: 10s
+ * </pre>
+ *
+ * @author thoaidc
+ */
+@Component
+public class RequestBodyLimitGatewayFilterFactory extends AbstractGatewayFilterFactory<RequestBodyLimitGatewayFilterFactory.Config> {
+    private static final Logger log = LoggerFactory.getLogger(RequestBodyLimitGatewayFilterFactory.class);
+    private static final ThrottledLogger rejectedLog = new ThrottledLogger(log, 20, Duration.ofSeconds(10));
+    private static final String CONNECTION_CLOSE = "close";
+    private final ErrorResponseWriter errorResponseWriter;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RejectionCounters> rejectionCounters = new ConcurrentHashMap<>();
+
+    public RequestBodyLimitGatewayFilterFactory(ErrorResponseWriter errorResponseWriter, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.errorResponseWriter = errorResponseWriter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxSize", "minRate");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            long contentLength = exchange.getRequest().getHeaders().getContentLength();
+
+            if (contentLength > config.getMaxSize().toBytes()) {
+                return reject(exchange, new RequestBodyRejectedException(RequestBodyConstants.REASON_TOO_LARGE, contentLength));
+            }
+
+            if (contentLength == 0) {
+                return chain.filter(exchange);
+            }
+
+            ServerHttpRequest request = new LimitedBodyRequest(exchange.getRequest(), config);
+            return chain.filter(exchange.mutate().request(request).build())
+                .onErrorResume(error -> Objects.nonNull(findRejection(error)) && !exchange.getResponse().isCommitted(),
+                    error -> reject(exchange, findRejection(error)));
+        };
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, RequestBodyRejectedException rejection) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = Objects.nonNull(route) ? route.getId() : "unknown";
+        boolean tooLarge = RequestBodyConstants.REASON_TOO_LARGE.equals(rejection.getReason());
+        rejectedLog.warn(
+            "[REQUEST_BODY_REJECTED] - route: {}, reason: {}, bytes: {}, path: {}",
+            routeId,
+            rejection.getReason(),
+            rejection.getBytes(),
+            exchange.getRequest().getURI().getPath()
+        );
+        RejectionCounters counters = rejectionCounters.computeIfAbsent(
+            routeId + "/" + rejection.getReason(),
+            ignored -> createCounters(routeId, rejection.getReason())
+        );
+        counters.rejected().increment();
+        counters.rejectedBytes().increment(rejection.getBytes());
+        exchange.getResponse().getHeaders().set(HttpHeaders.CONNECTION, CONNECTION_CLOSE);
+
+        if (tooLarge) {
+            return errorResponseWriter.write(exchange, HttpStatus.PAYLOAD_TOO_LARGE, ExceptionConstants.PAYLOAD_TOO_LARGE);
+        }
+
+        return errorResponseWriter.write(exchange, HttpStatus.REQUEST_TIMEOUT, ExceptionConstants.REQUEST_TIMEOUT);
+    }
+
+    private RejectionCounters createCounters(String routeId, String reason) {
+        Counter rejected = Counter.builder(RequestBodyConstants.REJECTED_METRIC)
+            .tag(RequestBodyConstants.ROUTE_TAG, routeId)
+            .tag(RequestBodyConstants.REASON_TAG, reason)
+            .register(meterRegistry);
+        Counter rejectedBytes = Counter.builder(RequestBodyConstants.REJECTED_BYTES_METRIC)
+            .baseUnit("bytes")
+            .tag(RequestBodyConstants.ROUTE_TAG, routeId)
+            .tag(RequestBodyConstants.REASON_TAG, reason)
+            .register(meterRegistry);
+        return new RejectionCounters(rejected, rejectedBytes);
+    }
+
+    /**
+     * The Netty routing filter may wrap the error of the request body it was sending
+     */
+    private RequestBodyRejectedException findRejection(Throwable error) {
+        Throwable cause = error;
+
+        while (Objects.nonNull(cause)) {
+            if (cause instanceof RequestBodyRejectedException rejection) {
+                return rejection;
+            }
+
+            cause = cause.getCause();
+        }
+
+        return null;
+    }
+
+    private static class LimitedBodyRequest extends ServerHttpRequestDecorator {
+        private final Config config;
+
+        LimitedBodyRequest(ServerHttpRequest delegate, Config config) {
+            super(delegate);
+            this.config = config;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return Flux.defer(() -> {
+                long maxBytes = config.getMaxSize().toBytes();
+                long minRate = Objects.nonNull(config.getMinRate()) ? config.getMinRate().toBytes() : 0;
+                long gracePeriodNanos = config.getGracePeriod().toNanos();
+                long startNanos = System.nanoTime();
+                AtomicLong received = new AtomicLong();
+                Flux<DataBuffer> body = super.getBody().handle((buffer, sink) -> {
+                    long total = received.addAndGet(buffer.readableByteCount());
+                    long elapsedNanos = System.nanoTime() - startNanos;
+
+                    if (total > maxBytes) {
+                        DataBufferUtils.release(buffer);
+                        sink.error(new RequestBodyRejectedException(RequestBodyConstants.REASON_TOO_LARGE, total));
+                        return;
+                    }
+
+                    if (minRate > 0 && elapsedNanos > gracePeriodNanos && total < minRate * elapsedNanos / 1_000_000_000L) {
+                        DataBufferUtils.release(buffer);
+                        sink.error(new RequestBodyRejectedException(RequestBodyConstants.REASON_TOO_SLOW, total));
+                        return;
+                    }
+
+                    sink.next(buffer);
+                });
+
+                if (minRate <= 0) {
+                    return body;
+                }
+
+                // A stalled upload sends no chunk to check the rate against
+                return body.timeout(config.getGracePeriod())
+                    .onErrorMap(TimeoutException.class, e -> new RequestBodyRejectedException(RequestBodyConstants.REASON_TOO_SLOW, received.get()));
+            });
+        }
+    }
+
+    /**
+     * Signals a rejected body through the request body stream, without stack trace
+     */
+    private static class RequestBodyRejectedException extends RuntimeException {
+        private final String reason;
+        private final long bytes;
+
+        RequestBodyRejectedException(String reason, long bytes) {
+            super("Request body rejected: " + reason, null, false, false);
+            this.reason = reason;
+            this.bytes = bytes;
+        }
+
+        String getReason() {
+            return reason;
+        }
+
+        long getBytes() {
+            return bytes;
+        }
+    }
+
+    private record RejectionCounters(Counter rejected, Counter rejectedBytes) {}
+
+    public static class Config {
+        private DataSize maxSize = DataSize.ofMegabytes(1);
+        private DataSize minRate;
+        private Duration gracePeriod = Duration.ofSeconds(10);
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public DataSize getMinRate() {
+            return minRate;
+        }
+
+        public void setMinRate(DataSize minRate) {
+            this.minRate = minRate;
+        }
+
+        public Duration getGracePeriod() {
+            return gracePeriod;
+        }
+
+        public void setGracePeriod(Duration gracePeriod) {
+            this.gracePeriod = gracePeriod;
+        }
+    }
+}
@@ -2,11 +2,15 @@ package com.ars.gateway.filters;
 
 import com.ars.gateway.common.LocaleUtils;
 import com.ars.gateway.constants.CommonConstants;
+import com.ars.gateway.jfr.ResponseRewriteEvent;
+import com.ars.gateway.timing.GatewayStage;
+import com.ars.gateway.timing.StageTimings;
 import com.dct.model.common.MessageTranslationUtils;
 import com.dct.model.dto.response.BaseResponseDTO;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.google.common.annotations.VisibleForTesting;
 
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
@@ -116,7 +120,12 @@ public class ResponseWrapperFilter implements WebFilter, Ordered {
                 if (shouldHandle(originalResponse)) {
                     // Join the entire body into a single buffer
                     Mono<DataBuffer> dataBufferMono = DataBufferUtils.join(Flux.from(body));
-                    return dataBufferMono.flatMap(dataBuffer -> handle(originalResponse, dataBuffer));
+                    return dataBufferMono.flatMap(dataBuffer -> {
+                        StageTimings.start(exchange, GatewayStage.RESPONSE_WRAPPER);
+                        Mono<Void> result = handle(originalResponse, dataBuffer);
+                        StageTimings.end(exchange, GatewayStage.RESPONSE_WRAPPER);
+                        return result;
+                    });
                 }
 
                 return super.writeWith(body);
@@ -163,18 +172,30 @@ public class ResponseWrapperFilter implements WebFilter, Ordered {
     }
 
     private Mono<Void> handle(ServerHttpResponse response, DataBuffer dataBuffer) {
+        ResponseRewriteEvent event = new ResponseRewriteEvent();
+        event.begin();
         byte[] content = new byte[dataBuffer.readableByteCount()];
         dataBuffer.read(content);
         DataBufferUtils.release(dataBuffer);
         String originalBody = new String(content, StandardCharsets.UTF_8);
         String newBody = transformBody(originalBody);
         byte[] newContent = newBody.getBytes(StandardCharsets.UTF_8);
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.inputSize = content.length;
+            event.outputSize = newContent.length;
+            event.rewritten = !Objects.equals(newBody, originalBody);
+            event.commit();
+        }
+
         response.getHeaders().setContentLength(newContent.length);
         DataBuffer buffer = response.bufferFactory().wrap(newContent);
         return response.writeWith(Mono.just(buffer));
     }
 
-    private String transformBody(String originalBody) {
+    @VisibleForTesting
+    String transformBody(String originalBody) {
         try {
             // Create a separate ObjectMapper to fail if a field does not exist in the BaseResponseDTO
             ObjectMapper strictMapper = objectMapper.copy()
@@ -0,0 +1,160 @@
+package com.ars.gateway.filters;
+
+import com.ars.gateway.common.ErrorResponseWriter;
+import com.ars.gateway.constants.CommonConstants;
+import com.ars.gateway.constants.ExceptionConstants;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Protects each route with its own Resilience4j {@link CircuitBreaker}
+ *
+ * <ul>
+ *     <li>The breaker is named after the route ID unless {@code name} is set, its settings come from
+ *     {@code resilience4j.circuitbreaker.instances.<name>}, or {@code configs.default} if there is no such entry</li>
+ *     <li>Failures are connection errors, timeouts and 5xx responses. Calls slower than the slow-call threshold count
+ *     towards the slow-call rate, so a hanging downstream opens the circuit before it exhausts the connection pool</li>
+ *     <li>While the circuit is open, requests are rejected immediately with a 503 {@code BaseResponseDTO}
+ *     without reaching the downstream service. Timeouts are answered with a 504 {@code BaseResponseDTO}</li>
+ *     <li>WebSocket upgrades are not protected, a long-lived connection is not a call with a meaningful duration</li>
+ *     <li>JIT warm-up requests are not recorded, their loopback calls to the warm-up stub would dilute the failure
+ *     and slow-call rates of the route</li>
+ * </ul>
+ *
+ * <p>Usage as a default filter in application.yml:
+ * <pre>
+ * spring:
+ *   cloud:
+ *     gateway:
+ *       default-filters:
+ *         - RouteCircuitBreaker
+ * </pre>
+ *
+ * @author thoaidc
+ */
+@Component
+public class RouteCircuitBreakerGatewayFilterFactory extends AbstractGatewayFilterFactory<RouteCircuitBreakerGatewayFilterFactory.Config> {
+    private static final Logger log = LoggerFactory.getLogger(RouteCircuitBreakerGatewayFilterFactory.class);
+    private static final String WEBSOCKET_UPGRADE = "websocket";
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    public RouteCircuitBreakerGatewayFilterFactory(CircuitBreakerRegistry circuitBreakerRegistry,
+                                                   ErrorResponseWriter errorResponseWriter) {
+        super(Config.class);
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.errorResponseWriter = errorResponseWriter;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (WEBSOCKET_UPGRADE.equalsIgnoreCase(exchange.getRequest().getHeaders().getUpgrade())
+                    || Boolean.TRUE.equals(exchange.getAttribute(CommonConstants.JIT_WARMUP_ATTRIBUTE))) {
+                return chain.filter(exchange);
+            }
+
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(resolveName(config, exchange));
+
+            if (!circuitBreaker.tryAcquirePermission()) {
+                log.debug("[CIRCUIT_BREAKER_REJECTED] - name: {}, state: {}", circuitBreaker.getName(), circuitBreaker.getState());
+                return errorResponseWriter.write(exchange, HttpStatus.SERVICE_UNAVAILABLE, ExceptionConstants.SERVICE_UNAVAILABLE);
+            }
+
+            return filter(exchange, chain, circuitBreaker);
+        };
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, CircuitBreaker circuitBreaker) {
+        long start = circuitBreaker.getCurrentTimestamp();
+
+        return chain.filter(exchange)
+            .doOnSuccess(ignored -> {
+                long duration = circuitBreaker.getCurrentTimestamp() - start;
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+
+                if (Objects.nonNull(status) && status.is5xxServerError()) {
+                    circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(), new ResponseStatusException(status));
+                } else {
+                    circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+                }
+            })
+            .doOnCancel(circuitBreaker::releasePermission)
+            .onErrorResume(error -> {
+                circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), error);
+
+                if (isTimeout(error) && !exchange.getResponse().isCommitted()) {
+                    log.warn(
+                        "[DOWNSTREAM_TIMEOUT] - circuitBreaker: {}, path: {}, after: {}ms",
+                        circuitBreaker.getName(),
+                        exchange.getRequest().getURI().getPath(),
+                        TimeUnit.MILLISECONDS.convert(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit())
+                    );
+                    return errorResponseWriter.write(exchange, HttpStatus.GATEWAY_TIMEOUT, ExceptionConstants.GATEWAY_TIMEOUT);
+                }
+
+                return Mono.error(error);
+            });
+    }
+
+    private String resolveName(Config config, ServerWebExchange exchange) {
+        if (StringUtils.hasText(config.getName())) {
+            return config.getName();
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return Objects.requireNonNull(route).getId();
+    }
+
+    /**
+     * The Netty routing filter reports a response timeout as a 504 {@link ResponseStatusException}
+     */
+    private boolean isTimeout(Throwable error) {
+        Throwable unwrapped = Exceptions.unwrap(error);
+
+        if (unwrapped instanceof ResponseStatusException statusException) {
+            return statusException.getStatusCode().value() == HttpStatus.GATEWAY_TIMEOUT.value();
+        }
+
+        return unwrapped instanceof TimeoutException;
+    }
+
+    public static class Config {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ars.gateway.heavyhitter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch of the number of occurrences of string keys, in a fixed amount of memory
+ *
+ * <ul>
+ *     <li>{@code depth} rows of {@code width} counters, a key increments one counter per row</li>
+ *     <li>The estimate is the smallest of its counters: never below the real count, above it by at most
+ *     {@code e / width} of all the additions with probability {@code 1 - e^-depth}</li>
+ *     <li>Lock-free: one atomic increment per row</li>
+ *     <li>The hash is seeded per sketch, a client cannot craft keys colliding with another client's key
+ *     to inflate its count</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+class CountMinSketch {
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private final int width;
+    private final int depth;
+    private final long seed;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(int width, int depth) {
+        this.width = width;
+        this.depth = depth;
+        this.seed = ThreadLocalRandom.current().nextLong();
+        this.counters = new AtomicLongArray(width * depth);
+    }
+
+    /**
+     * @return the estimate of the key after the addition
+     */
+    long add(String key) {
+        long hash = hash(key);
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+
+        return estimate;
+    }
+
+    long estimate(String key) {
+        long hash = hash(key);
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+
+        return estimate;
+    }
+
+    /**
+     * Row indexes derived from the two halves of one 64-bit hash (Kirsch-Mitzenmacher)
+     */
+    private int index(long hash, int row) {
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        return row * width + Math.floorMod(combined, width);
+    }
+
+    private long hash(String key) {
+        long hash = seed;
+
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        // Final mix of the 64-bit finalizer of MurmurHash3, spreads the low bits of FNV-1a over both halves
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
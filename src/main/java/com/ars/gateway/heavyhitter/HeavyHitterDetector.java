@@ -0,0 +1,221 @@
+package com.ars.gateway.heavyhitter;
+
+import com.ars.gateway.config.properties.HeavyHitterProps;
+import com.ars.gateway.constants.HeavyHitterConstants;
+import com.ars.gateway.constants.RateLimitConstants;
+import com.ars.gateway.dto.HeavyHitterDTO;
+import com.ars.gateway.dto.HeavyHitterSliceDTO;
+import com.ars.gateway.ipfilter.CidrRadixTree;
+import com.ars.gateway.ipfilter.ClientAddressResolver;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Finds the clients and source IPs sending the most requests, whether or not they reach a rate limit threshold
+ *
+ * <ul>
+ *     <li>
+ *         Every client key resolved by {@code CustomKeyResolver} and every source IP is counted in the current slice,
+ *         by a {@link HeavyHitterTracker} per dimension: memory is bounded by the sketch and {@code topK},
+ *         whatever the number of distinct clients
+ *     </li>
+ *     <li>
+ *         Slices last {@code app.heavy-hitters.slice-duration}, the last completed slice and the current one
+ *         are exposed by {@code /actuator/heavyhitters}
+ *     </li>
+ *     <li>
+ *         With {@code auto-ban.enabled}, the heavy hitters of a completed slice above {@code auto-ban.threshold}
+ *         requests are banned through the ban keys of {@code CustomRateLimiter}. A banned IP only blocks the requests
+ *         identified by their IP (no device ID nor user), so clients sharing a NAT address are not locked out.
+ *         The ban keys are written without blocking the scheduler thread
+ *     </li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+@EnableConfigurationProperties(HeavyHitterProps.class)
+public class HeavyHitterDetector {
+    private static final Logger log = LoggerFactory.getLogger(HeavyHitterDetector.class);
+    private final HeavyHitterProps heavyHitterProps;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ClientAddressResolver clientAddressResolver;
+    private final CidrRadixTree<Boolean> exempt = new CidrRadixTree<>();
+    private final Counter clientKeyBans;
+    private final Counter ipBans;
+    private final DistributionSummary sliceRequests;
+    private volatile Slice current;
+    private volatile Slice previous;
+
+    public HeavyHitterDetector(HeavyHitterProps heavyHitterProps,
+                               ReactiveStringRedisTemplate redisTemplate,
+                               ClientAddressResolver clientAddressResolver,
+                               MeterRegistry meterRegistry) {
+        this.heavyHitterProps = heavyHitterProps;
+        this.redisTemplate = redisTemplate;
+        this.clientAddressResolver = clientAddressResolver;
+        heavyHitterProps.getAutoBan().getExempt().forEach(prefix -> exempt.put(prefix, Boolean.TRUE));
+        this.clientKeyBans = banCounter(meterRegistry, HeavyHitterConstants.KEY_TYPE_CLIENT);
+        this.ipBans = banCounter(meterRegistry, HeavyHitterConstants.KEY_TYPE_IP);
+        this.sliceRequests = DistributionSummary.builder(HeavyHitterConstants.SLICE_REQUESTS_METRIC)
+            .description("Requests counted per heavy hitter slice")
+            .register(meterRegistry);
+        this.current = newSlice(Instant.now());
+    }
+
+    public void record(String clientKey, String ip) {
+        if (!heavyHitterProps.isEnabled()) {
+            return;
+        }
+
+        Slice slice = current;
+        slice.clientKeys.add(clientKey);
+        slice.ips.add(ip);
+    }
+
+    /**
+     * The last completed slice if any, then the current one
+     */
+    public List<HeavyHitterSliceDTO> getSlices() {
+        List<HeavyHitterSliceDTO> slices = new ArrayList<>(2);
+        Slice completed = previous;
+
+        if (Objects.nonNull(completed)) {
+            slices.add(completed.toDTO());
+        }
+
+        slices.add(current.toDTO());
+        return slices;
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.heavy-hitters.slice-duration:10s}",
+        fixedRateString = "${app.heavy-hitters.slice-duration:10s}"
+    )
+    public void rotate() {
+        if (!heavyHitterProps.isEnabled()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        Slice completed = current;
+        // Requests that read the previous reference just before the swap are still counted in the completed slice
+        current = newSlice(now);
+        completed.endedAt = now;
+        previous = completed;
+        sliceRequests.record(completed.clientKeys.getTotal());
+
+        if (heavyHitterProps.getAutoBan().isEnabled()) {
+            ban(completed);
+        }
+    }
+
+    private void ban(Slice slice) {
+        HeavyHitterProps.AutoBan autoBan = heavyHitterProps.getAutoBan();
+
+        for (HeavyHitterDTO heavyHitter : slice.clientKeys.getHeavyHitters()) {
+            if (heavyHitter.getCount() < autoBan.getThreshold()) {
+                break;
+            }
+
+            String key = heavyHitter.getKey();
+            boolean ipKey = key.startsWith(RateLimitConstants.IP_BANNED_KEY);
+
+            // Requests without device ID nor user are identified by their IP
+            if (!ipKey || isBannable(key.substring(RateLimitConstants.IP_BANNED_KEY.length()))) {
+                ban(RateLimitConstants.BAN_KEY_PREFIX + heavyHitter.getKey(), heavyHitter, clientKeyBans);
+            }
+        }
+
+        for (HeavyHitterDTO heavyHitter : slice.ips.getHeavyHitters()) {
+            if (heavyHitter.getCount() < autoBan.getThreshold()) {
+                break;
+            }
+
+            if (isBannable(heavyHitter.getKey())) {
+                ban(RateLimitConstants.BAN_KEY_PREFIX + RateLimitConstants.IP_BANNED_KEY + heavyHitter.getKey(), heavyHitter, ipBans);
+            }
+        }
+    }
+
+    /**
+     * Requests without remote address share the {@code ANONYMOUS_USER} IP, which is not an address
+     */
+    private boolean isBannable(String ip) {
+        InetAddress address = CidrRadixTree.parseAddress(ip);
+
+        if (Objects.isNull(address)) {
+            return false;
+        }
+
+        if (clientAddressResolver.isTrustedProxy(address) || exempt.contains(address)) {
+            log.warn("[HEAVY_HITTER_BAN_SKIPPED] - ip: {}, reason: trusted proxy or exempt", ip);
+            return false;
+        }
+
+        return true;
+    }
+
+    private void ban(String banKey, HeavyHitterDTO heavyHitter, Counter bans) {
+        redisTemplate.opsForValue()
+            .set(banKey, RateLimitConstants.BANNED_VALUE, heavyHitterProps.getAutoBan().getDuration())
+            .subscribe(
+                ignored -> {
+                    bans.increment();
+                    log.warn("[HEAVY_HITTER_BANNED] - key: {}, requests: {}, share: {}", banKey, heavyHitter.getCount(), heavyHitter.getShare());
+                },
+                e -> log.error("[HEAVY_HITTER_BAN_FAILED] - key: {}, error: {}", banKey, e.getMessage())
+            );
+    }
+
+    private Slice newSlice(Instant startedAt) {
+        return new Slice(
+            startedAt,
+            new HeavyHitterTracker(heavyHitterProps.getTopK(), heavyHitterProps.getSketchWidth(), heavyHitterProps.getSketchDepth()),
+            new HeavyHitterTracker(heavyHitterProps.getTopK(), heavyHitterProps.getSketchWidth(), heavyHitterProps.getSketchDepth())
+        );
+    }
+
+    private static Counter banCounter(MeterRegistry meterRegistry, String keyType) {
+        return Counter.builder(HeavyHitterConstants.BANS_METRIC)
+            .tag(HeavyHitterConstants.KEY_TYPE_TAG, keyType)
+            .register(meterRegistry);
+    }
+
+    private static final class Slice {
+        private final Instant startedAt;
+        private final HeavyHitterTracker clientKeys;
+        private final HeavyHitterTracker ips;
+        private volatile Instant endedAt;
+
+        private Slice(Instant startedAt, HeavyHitterTracker clientKeys, HeavyHitterTracker ips) {
+            this.startedAt = startedAt;
+            this.clientKeys = clientKeys;
+            this.ips = ips;
+        }
+
+        private HeavyHitterSliceDTO toDTO() {
+            HeavyHitterSliceDTO slice = new HeavyHitterSliceDTO();
+            slice.setStartedAt(startedAt);
+            slice.setEndedAt(endedAt);
+            slice.setRequests(clientKeys.getTotal());
+            slice.setClientKeys(clientKeys.getHeavyHitters());
+            slice.setIps(ips.getHeavyHitters());
+            return slice;
+        }
+    }
+}
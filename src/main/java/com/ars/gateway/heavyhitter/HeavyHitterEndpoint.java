@@ -0,0 +1,29 @@
+package com.ars.gateway.heavyhitter;
+
+import com.ars.gateway.dto.HeavyHitterSliceDTO;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/heavyhitters}: the clients and IPs sending the most requests, restricted to the SYSTEM authority,
+ * see {@link HeavyHitterDetector}
+ * @author thoaidc
+ */
+@Component
+@Endpoint(id = "heavyhitters")
+public class HeavyHitterEndpoint {
+    private final HeavyHitterDetector heavyHitterDetector;
+
+    public HeavyHitterEndpoint(HeavyHitterDetector heavyHitterDetector) {
+        this.heavyHitterDetector = heavyHitterDetector;
+    }
+
+    @ReadOperation
+    public List<HeavyHitterSliceDTO> slices() {
+        return heavyHitterDetector.getSlices();
+    }
+}
@@ -0,0 +1,115 @@
+package com.ars.gateway.heavyhitter;
+
+import com.ars.gateway.dto.HeavyHitterDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code capacity} most frequent keys of a stream, Space-Saving counters backed by a {@link CountMinSketch}
+ *
+ * <ul>
+ *     <li>Every key is added to the sketch, a tracked key also increments its own counter</li>
+ *     <li>
+ *         When all counters are taken, a new key replaces the smallest counter once its sketch estimate exceeds it,
+ *         and starts from that estimate. Counts are never underestimated, a key sending more than
+ *         {@code 1 / capacity} of the stream is always tracked
+ *     </li>
+ *     <li>
+ *         The smallest tracked count is kept as an admission threshold, only the keys of the sketch above it
+ *         scan the counters: the long tail of single requests costs one sketch update
+ *     </li>
+ *     <li>Lock-free: atomic counters, a replacement is a conditional remove that only one thread wins</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+class HeavyHitterTracker {
+    private final int capacity;
+    private final CountMinSketch sketch;
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    private volatile long admissionThreshold;
+
+    HeavyHitterTracker(int capacity, int sketchWidth, int sketchDepth) {
+        this.capacity = capacity;
+        this.sketch = new CountMinSketch(sketchWidth, sketchDepth);
+    }
+
+    void add(String key) {
+        total.increment();
+        long estimate = sketch.add(key);
+        AtomicLong counter = counters.get(key);
+
+        if (Objects.nonNull(counter)) {
+            counter.incrementAndGet();
+            return;
+        }
+
+        if (counters.size() < capacity) {
+            track(key, estimate);
+            return;
+        }
+
+        if (estimate <= admissionThreshold) {
+            return;
+        }
+
+        Map.Entry<String, AtomicLong> smallest = null;
+
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            if (Objects.isNull(smallest) || entry.getValue().get() < smallest.getValue().get()) {
+                smallest = entry;
+            }
+        }
+
+        if (Objects.isNull(smallest)) {
+            return;
+        }
+
+        long smallestCount = smallest.getValue().get();
+        admissionThreshold = smallestCount;
+
+        // Lost to a concurrent replacement: this occurrence is still counted by the sketch
+        if (estimate > smallestCount && counters.remove(smallest.getKey(), smallest.getValue())) {
+            track(key, estimate);
+        }
+    }
+
+    long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Tracked keys by decreasing count, the count of a key is the smallest of its counter and its sketch estimate
+     */
+    List<HeavyHitterDTO> getHeavyHitters() {
+        long requests = Math.max(1, total.sum());
+        List<HeavyHitterDTO> heavyHitters = new ArrayList<>(counters.size());
+
+        counters.forEach((key, counter) -> {
+            HeavyHitterDTO heavyHitter = new HeavyHitterDTO();
+            heavyHitter.setKey(key);
+            heavyHitter.setCount(Math.min(counter.get(), sketch.estimate(key)));
+            heavyHitter.setShare((double) heavyHitter.getCount() / requests);
+            heavyHitters.add(heavyHitter);
+        });
+
+        heavyHitters.sort(Comparator.comparingLong(HeavyHitterDTO::getCount).reversed());
+        return heavyHitters;
+    }
+
+    private void track(String key, long estimate) {
+        AtomicLong existing = counters.putIfAbsent(key, new AtomicLong(estimate));
+
+        if (Objects.nonNull(existing)) {
+            existing.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.ars.gateway.hedging;
+
+import com.ars.gateway.constants.CommonConstants;
+import com.ars.gateway.timing.StageTimings;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exchange of a single hedge attempt
+ *
+ * <ul>
+ *     <li>
+ *         Attributes are a copy of the original ones: routing filters store per-attempt state there
+ *         (request URL, chosen instance, client response...) which must not leak between concurrent attempts
+ *     </li>
+ *     <li>
+ *         Stages are marked on a {@link StageTimings#fork} of the exchange timings, promoted when the attempt wins
+ *         (see {@link HedgeAttemptResponse}) or when every attempt failed and this one is the first
+ *     </li>
+ *     <li>The response only reaches the client if the attempt wins the race, see {@link HedgeAttemptResponse}</li>
+ *     <li>
+ *         Only bodiless requests are hedged, the request body is replaced by an empty one because the inbound body
+ *         of the server connection cannot be subscribed twice
+ *     </li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+class HedgeAttemptExchange extends ServerWebExchangeDecorator {
+    private final Map<String, Object> attributes;
+    private final ServerHttpRequest request;
+    private final StageTimings stageTimings;
+    private final HedgeAttemptResponse response;
+
+    HedgeAttemptExchange(ServerWebExchange delegate, HedgeRace race, boolean hedge) {
+        super(delegate);
+        this.attributes = new ConcurrentHashMap<>(delegate.getAttributes());
+        StageTimings exchangeTimings = delegate.getAttribute(CommonConstants.STAGE_TIMINGS_ATTRIBUTE);
+        this.stageTimings = Objects.nonNull(exchangeTimings) ? exchangeTimings.fork() : null;
+
+        if (Objects.nonNull(stageTimings)) {
+            this.attributes.put(CommonConstants.STAGE_TIMINGS_ATTRIBUTE, stageTimings);
+        }
+
+        if (hedge) {
+            this.attributes.put(CommonConstants.HEDGE_ATTEMPT_ATTRIBUTE, Boolean.TRUE);
+        }
+
+        this.request = new ServerHttpRequestDecorator(delegate.getRequest()) {
+            @Override
+            @NonNull
+            public Flux<DataBuffer> getBody() {
+                return Flux.empty();
+            }
+        };
+        this.response = new HedgeAttemptResponse(delegate.getResponse(), race, hedge, stageTimings);
+    }
+
+    @Override
+    @NonNull
+    public ServerHttpRequest getRequest() {
+        return request;
+    }
+
+    @Override
+    @NonNull
+    public ServerHttpResponse getResponse() {
+        return response;
+    }
+
+    @Override
+    @NonNull
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    HedgeAttemptResponse getAttemptResponse() {
+        return response;
+    }
+
+    void promoteStageTimings() {
+        if (Objects.nonNull(stageTimings)) {
+            stageTimings.promote();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ars.gateway.hedging;
+
+import com.ars.gateway.timing.StageTimings;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * Response of a single hedge attempt, only written to the real response if the attempt wins the {@link HedgeRace}
+ *
+ * <ul>
+ *     <li>
+ *         The race is decided when an attempt commits its response, i.e. once the status and headers of the
+ *         downstream service were received. The winner's status, headers and cookies are copied to the real response
+ *         and its body is streamed to it, the body is never buffered. Its stage marks become those of the exchange
+ *     </li>
+ *     <li>A hedge attempt answering 5xx never wins, the first attempt is awaited instead</li>
+ *     <li>
+ *         An attempt committing after the winner fails with {@link HedgeLostException} without reading its body,
+ *         {@code NettyWriteResponseFilter} then releases its downstream connection
+ *     </li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+class HedgeAttemptResponse extends AbstractServerHttpResponse {
+    private final ServerHttpResponse target;
+    private final HedgeRace race;
+    private final boolean hedge;
+    private final StageTimings stageTimings;
+
+    HedgeAttemptResponse(ServerHttpResponse target, HedgeRace race, boolean hedge, StageTimings stageTimings) {
+        super(target.bufferFactory());
+        this.target = target;
+        this.race = race;
+        this.hedge = hedge;
+        this.stageTimings = stageTimings;
+    }
+
+    @Override
+    public <T> T getNativeResponse() {
+        throw new IllegalStateException("A hedge attempt response is not backed by a native response");
+    }
+
+    @Override
+    protected void applyStatusCode() {}
+
+    @Override
+    protected void applyHeaders() {}
+
+    @Override
+    protected void applyCookies() {}
+
+    @Override
+    protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+        return claim().then(Mono.defer(() -> target.writeWith(body)));
+    }
+
+    @Override
+    protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return claim().then(Mono.defer(() -> target.writeAndFlushWith(body)));
+    }
+
+    /**
+     * A response without body (HEAD, 204, redirect) never reaches {@link #writeWithInternal}
+     */
+    @Override
+    public Mono<Void> setComplete() {
+        return isCommitted() ? Mono.empty() : doCommit(() -> claim().then(Mono.defer(target::setComplete)));
+    }
+
+    private Mono<Void> claim() {
+        boolean serverError = Objects.nonNull(getStatusCode()) && getStatusCode().is5xxServerError();
+
+        if ((hedge && serverError) || !race.tryWin(this)) {
+            return Mono.error(new HedgeLostException());
+        }
+
+        // Before the real response is committed, so that its Server-Timing header sees the winner's stages
+        if (Objects.nonNull(stageTimings)) {
+            stageTimings.promote();
+        }
+
+        target.setStatusCode(getStatusCode());
+        target.getHeaders().putAll(getHeaders());
+        getCookies().values().forEach(cookies -> cookies.forEach(target::addCookie));
+        return Mono.empty();
+    }
+
+    /**
+     * Ends an attempt that lost the race, without stack trace
+     */
+    static class HedgeLostException extends RuntimeException {
+        HedgeLostException() {
+            super("Hedge attempt lost the race", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ars.gateway.hedging;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shared by the attempts of one hedged request, the first attempt to commit its response wins
+ *
+ * <ul>
+ *     <li>{@link #lostBy} signals an attempt as soon as another one won, so its downstream request is cancelled right away</li>
+ *     <li>{@link #closed} signals once the race no longer needs a hedge: an attempt won, or the first attempt failed</li>
+ * </ul>
+ *
+ * The signals only ever emit a value: {@code takeUntilOther} also stops its source when the companion completes empty
+ *
+ * @author thoaidc
+ */
+class HedgeRace {
+    private final AtomicReference<HedgeAttemptResponse> winner = new AtomicReference<>();
+    private final Sinks.One<HedgeAttemptResponse> won = Sinks.one();
+    private final Sinks.One<Boolean> closed = Sinks.one();
+
+    boolean tryWin(HedgeAttemptResponse response) {
+        if (!winner.compareAndSet(null, response)) {
+            return false;
+        }
+
+        won.tryEmitValue(response);
+        close();
+        return true;
+    }
+
+    void close() {
+        closed.tryEmitValue(Boolean.TRUE);
+    }
+
+    Mono<Boolean> closed() {
+        return closed.asMono();
+    }
+
+    Mono<HedgeAttemptResponse> lostBy(HedgeAttemptExchange attempt) {
+        return won.asMono().flatMap(response -> response == attempt.getAttemptResponse() ? Mono.never() : Mono.just(response));
+    }
+
+    boolean isWinner(HedgeAttemptExchange attempt) {
+        return winner.get() == attempt.getAttemptResponse();
+    }
+}
@@ -0,0 +1,204 @@
+package com.ars.gateway.hedging;
+
+import com.ars.gateway.config.properties.HedgingProps;
+import com.ars.gateway.constants.CommonConstants;
+import com.ars.gateway.constants.HedgingConstants;
+import com.ars.gateway.latency.RouteLatencyRecorder;
+import com.ars.gateway.loadbalancer.InstanceStatsRegistry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hedged requests for the idempotent routes listed in {@code app.hedging.routes}
+ *
+ * <ul>
+ *     <li>
+ *         The request is sent once. If it has not answered after the route's observed p95 latency
+ *         (see {@link RouteLatencyRecorder}), a second attempt is sent to a different instance.
+ *         The first attempt to receive its response headers wins and its body is streamed to the client,
+ *         the other attempt is cancelled (see {@link HedgeAttemptResponse})
+ *     </li>
+ *     <li>A 5xx answer of the hedge attempt never wins, the first attempt is awaited instead</li>
+ *     <li>When the first attempt fails before a hedge was sent, its error is reported right away</li>
+ *     <li>Hedges are paid from a per-route {@link RetryBudget}, so they cannot amplify the load during an incident</li>
+ *     <li>Only GET/HEAD requests without body and without WebSocket upgrade are hedged</li>
+ *     <li>
+ *         Runs before the route filters and {@link NettyWriteResponseFilter},
+ *         so each attempt goes through the whole downstream chain with its own {@link HedgeAttemptExchange}
+ *         (circuit breaker, load balancer, routing and response writing)
+ *     </li>
+ * </ul>
+ *
+ * Per route metrics: eligible requests, hedges sent, hedge wins, hedges refused by the budget and budget tokens
+ *
+ * @author thoaidc
+ */
+@Component
+@EnableConfigurationProperties(HedgingProps.class)
+public class HedgingFilter implements GlobalFilter, Ordered {
+    private static final Logger log = LoggerFactory.getLogger(HedgingFilter.class);
+    private static final Set<HttpMethod> HEDGEABLE_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD);
+    private final Map<String, RouteHedging> routes = new ConcurrentHashMap<>();
+    private final HedgingProps hedgingProps;
+    private final RouteLatencyRecorder routeLatencyRecorder;
+    private final MeterRegistry meterRegistry;
+
+    public HedgingFilter(HedgingProps hedgingProps, RouteLatencyRecorder routeLatencyRecorder, MeterRegistry meterRegistry) {
+        this.hedgingProps = hedgingProps;
+        this.routeLatencyRecorder = routeLatencyRecorder;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        if (!hedgingProps.isEnabled() || Objects.isNull(route) || !hedgingProps.getRoutes().contains(route.getId())
+                || !isHedgeable(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+
+        RouteHedging routeHedging = routes.computeIfAbsent(route.getId(), this::createRouteHedging);
+        routeHedging.budget.deposit();
+        routeHedging.requests.increment();
+
+        HedgeRace race = new HedgeRace();
+        HedgeAttemptExchange primary = new HedgeAttemptExchange(exchange, race, false);
+        AtomicReference<Throwable> primaryError = new AtomicReference<>();
+
+        Mono<HedgeAttemptExchange> primaryAttempt = attempt(chain, primary, race)
+            .doOnError(error -> {
+                if (!(error instanceof HedgeAttemptResponse.HedgeLostException)) {
+                    primaryError.set(error);
+                }
+
+                // A failed first attempt is reported right away, not after the hedge delay
+                race.close();
+            });
+        Mono<HedgeAttemptExchange> hedgeAttempt = Mono.delay(hedgeDelay(route.getId()))
+            .takeUntilOther(race.closed())
+            .filter(ignored -> tryHedge(routeHedging))
+            .flatMap(ignored -> attempt(chain, createHedgeAttempt(exchange, primary, race), race));
+
+        return Mono.firstWithValue(primaryAttempt, hedgeAttempt)
+            // When every attempt failed, report the error and the stages of the first one, as if hedging was not there
+            .doOnError(error -> primary.promoteStageTimings())
+            .onErrorMap(error -> Objects.nonNull(primaryError.get()) ? primaryError.get() : error)
+            .doOnNext(winner -> {
+                if (winner != primary) {
+                    routeHedging.wins.increment();
+                    log.debug("[HEDGE_WON] - route: {}, path: {}", route.getId(), exchange.getRequest().getURI().getPath());
+                }
+            })
+            .then();
+    }
+
+    /**
+     * Emits the attempt once its response was streamed to the client, completes empty as soon as another attempt won
+     */
+    private Mono<HedgeAttemptExchange> attempt(GatewayFilterChain chain, HedgeAttemptExchange attempt, HedgeRace race) {
+        return chain.filter(attempt)
+            // A chain ending without writing the response still takes part in the race, like a bodiless answer
+            .then(Mono.defer(() -> attempt.getResponse().setComplete()))
+            .then(Mono.fromSupplier(() -> attempt))
+            .filter(race::isWinner)
+            .takeUntilOther(race.lostBy(attempt));
+    }
+
+    private boolean isHedgeable(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return HEDGEABLE_METHODS.contains(request.getMethod())
+            && headers.getContentLength() <= 0
+            && !headers.containsKey(HttpHeaders.TRANSFER_ENCODING)
+            && !headers.containsKey(HttpHeaders.UPGRADE);
+    }
+
+    private Duration hedgeDelay(String routeId) {
+        Duration delay = routeLatencyRecorder.percentileNanos(routeId, hedgingProps.getPercentile())
+            .stream()
+            .mapToObj(Duration::ofNanos)
+            .findFirst()
+            .orElse(hedgingProps.getDefaultDelay());
+
+        if (delay.compareTo(hedgingProps.getMinDelay()) < 0) {
+            return hedgingProps.getMinDelay();
+        }
+
+        return delay.compareTo(hedgingProps.getMaxDelay()) > 0 ? hedgingProps.getMaxDelay() : delay;
+    }
+
+    private boolean tryHedge(RouteHedging routeHedging) {
+        if (routeHedging.budget.tryWithdraw()) {
+            routeHedging.hedges.increment();
+            return true;
+        }
+
+        routeHedging.budgetExhausted.increment();
+        return false;
+    }
+
+    private HedgeAttemptExchange createHedgeAttempt(ServerWebExchange exchange, HedgeAttemptExchange primary, HedgeRace race) {
+        HedgeAttemptExchange attempt = new HedgeAttemptExchange(exchange, race, true);
+        Response<ServiceInstance> primaryInstance = primary.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+
+        if (Objects.nonNull(primaryInstance) && primaryInstance.hasServer()) {
+            String instanceKey = InstanceStatsRegistry.instanceKey(primaryInstance.getServer());
+            attempt.getAttributes().put(CommonConstants.LOAD_BALANCER_EXCLUDED_INSTANCE_ATTRIBUTE, instanceKey);
+        }
+
+        return attempt;
+    }
+
+    private RouteHedging createRouteHedging(String routeId) {
+        HedgingProps.Budget budgetProps = hedgingProps.getBudget();
+        RetryBudget budget = new RetryBudget(budgetProps.getRatio(), budgetProps.getMinPerSecond(), budgetProps.getMaxTokens());
+        Gauge.builder(HedgingConstants.BUDGET_TOKENS_METRIC, budget, RetryBudget::getTokens)
+            .tag(HedgingConstants.ROUTE_TAG, routeId)
+            .register(meterRegistry);
+        return new RouteHedging(
+            budget,
+            counter(HedgingConstants.REQUESTS_METRIC, routeId),
+            counter(HedgingConstants.HEDGES_METRIC, routeId),
+            counter(HedgingConstants.WINS_METRIC, routeId),
+            counter(HedgingConstants.BUDGET_EXHAUSTED_METRIC, routeId)
+        );
+    }
+
+    private Counter counter(String name, String routeId) {
+        return Counter.builder(name).tag(HedgingConstants.ROUTE_TAG, routeId).register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    private record RouteHedging(RetryBudget budget, Counter requests, Counter hedges, Counter wins, Counter budgetExhausted) {}
+}
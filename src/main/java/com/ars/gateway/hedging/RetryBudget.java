@@ -0,0 +1,58 @@
+package com.ars.gateway.hedging;
+
+/**
+ * Token bucket bounding the extra requests (hedges, retries) a route may send on top of its regular traffic
+ *
+ * <ul>
+ *     <li>Every regular request deposits {@code ratio} token, every extra request withdraws one</li>
+ *     <li>
+ *         {@code minPerSecond} tokens are also granted per elapsed second, so routes with little traffic can still
+ *         send a few extra requests, while the bucket never holds more than {@code maxTokens}
+ *     </li>
+ *     <li>During an incident every request becomes slow and would be hedged, the budget keeps the added load
+ *     to roughly {@code ratio} instead of doubling it</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+public class RetryBudget {
+    private final double ratio;
+    private final double minPerSecond;
+    private final double maxTokens;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    public RetryBudget(double ratio, double minPerSecond, double maxTokens) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.maxTokens = maxTokens;
+    }
+
+    public synchronized void deposit() {
+        refill();
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        refill();
+
+        if (tokens < 1) {
+            return false;
+        }
+
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized double getTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000d;
+        lastRefillNanos = now;
+        tokens = Math.min(maxTokens, tokens + elapsedSeconds * minPerSecond);
+    }
+}
@@ -0,0 +1,236 @@
+package com.ars.gateway.ipfilter;
+
+import com.google.common.net.InetAddresses;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Longest-prefix match of IPv4 and IPv6 addresses against CIDR prefixes, in a path-compressed binary radix tree
+ *
+ * <ul>
+ *     <li>One tree per address family, a node holds a prefix and branches on the bit that follows it</li>
+ *     <li>Chains of single-child nodes are compressed: there are at most two nodes per inserted prefix,
+ *     a lookup visits at most 32 (IPv4) or 128 (IPv6) nodes whatever the number of prefixes</li>
+ *     <li>Not thread-safe while being built, built once then only read (see {@link IpFilterRuleStore})</li>
+ * </ul>
+ *
+ * @param <V> value attached to a prefix, the value of the most specific matching prefix is returned
+ * @author thoaidc
+ */
+public class CidrRadixTree<V> {
+    private Node<V> ipv4Root;
+    private Node<V> ipv6Root;
+    private int size;
+
+    /**
+     * @param cidr an address with its prefix length ({@code 10.0.0.0/8}, {@code 2001:db8::/32}) or a single address
+     * @throws IllegalArgumentException when the CIDR is invalid
+     */
+    public void put(String cidr, V value) {
+        String trimmed = cidr.trim();
+        int slash = trimmed.indexOf('/');
+        InetAddress address = parseAddress(slash < 0 ? trimmed : trimmed.substring(0, slash));
+
+        if (Objects.isNull(address)) {
+            throw new IllegalArgumentException("Invalid CIDR: " + cidr);
+        }
+
+        byte[] bytes = address.getAddress();
+        int length;
+
+        try {
+            length = slash < 0 ? bytes.length * Byte.SIZE : Integer.parseInt(trimmed.substring(slash + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid CIDR: " + cidr);
+        }
+
+        if (length < 0 || length > bytes.length * Byte.SIZE) {
+            throw new IllegalArgumentException("Invalid CIDR prefix length: " + cidr);
+        }
+
+        if (bytes.length == 4) {
+            ipv4Root = insert(ipv4Root, mask(bytes, length), length, value);
+        } else {
+            ipv6Root = insert(ipv6Root, mask(bytes, length), length, value);
+        }
+    }
+
+    /**
+     * @return the value of the most specific prefix containing the address, {@code null} when none does
+     */
+    public V lookup(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        int bits = bytes.length * Byte.SIZE;
+        Node<V> node = bytes.length == 4 ? ipv4Root : ipv6Root;
+        V match = null;
+
+        while (Objects.nonNull(node) && commonPrefixLength(node.prefix, bytes, node.length) == node.length) {
+            if (Objects.nonNull(node.value)) {
+                match = node.value;
+            }
+
+            if (node.length == bits) {
+                break;
+            }
+
+            node = node.child(bit(bytes, node.length));
+        }
+
+        return match;
+    }
+
+    public boolean contains(InetAddress address) {
+        return Objects.nonNull(lookup(address));
+    }
+
+    /**
+     * @return the number of distinct prefixes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Parses an IP address literal, never resolves a host name: called for every {@code X-Forwarded-For} hop
+     * on the event loop, {@code 999.1.1.1} or a host name must not turn into a DNS lookup
+     * @return {@code null} when the value is not a valid IPv4 or IPv6 literal
+     */
+    public static InetAddress parseAddress(String value) {
+        String address = value.trim();
+
+        if (address.startsWith("[") && address.endsWith("]")) {
+            address = address.substring(1, address.length() - 1);
+        }
+
+        try {
+            return InetAddresses.forString(address);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Node<V> insert(Node<V> root, byte[] prefix, int length, V value) {
+        if (Objects.isNull(root)) {
+            size++;
+            return new Node<>(prefix, length, value);
+        }
+
+        Node<V> parent = null;
+        Node<V> node = root;
+
+        while (true) {
+            int common = commonPrefixLength(node.prefix, prefix, Math.min(node.length, length));
+
+            // The new prefix diverges inside the prefix of the node, or is shorter: a node is inserted above it
+            if (common < node.length) {
+                Node<V> branch;
+
+                if (common == length) {
+                    branch = new Node<>(prefix, length, value);
+                } else {
+                    branch = new Node<>(mask(prefix, common), common, null);
+                    branch.setChild(bit(prefix, common), new Node<>(prefix, length, value));
+                }
+
+                size++;
+                branch.setChild(bit(node.prefix, common), node);
+
+                if (Objects.isNull(parent)) {
+                    return branch;
+                }
+
+                parent.setChild(bit(prefix, parent.length), branch);
+                return root;
+            }
+
+            if (length == node.length) {
+                if (Objects.isNull(node.value)) {
+                    size++;
+                }
+
+                node.value = value;
+                return root;
+            }
+
+            int bit = bit(prefix, node.length);
+            Node<V> child = node.child(bit);
+
+            if (Objects.isNull(child)) {
+                size++;
+                node.setChild(bit, new Node<>(prefix, length, value));
+                return root;
+            }
+
+            parent = node;
+            node = child;
+        }
+    }
+
+    private static int bit(byte[] bytes, int index) {
+        return (bytes[index >>> 3] >>> (7 - (index & 7))) & 1;
+    }
+
+    /**
+     * Number of leading bits shared by both addresses, at most {@code maxLength}
+     */
+    private static int commonPrefixLength(byte[] left, byte[] right, int maxLength) {
+        int length = 0;
+
+        for (int i = 0; i < left.length && length < maxLength; i++) {
+            int difference = (left[i] ^ right[i]) & 0xff;
+
+            if (difference != 0) {
+                length += Integer.numberOfLeadingZeros(difference) - 24;
+                break;
+            }
+
+            length += Byte.SIZE;
+        }
+
+        return Math.min(length, maxLength);
+    }
+
+    private static byte[] mask(byte[] bytes, int length) {
+        byte[] masked = Arrays.copyOf(bytes, bytes.length);
+
+        for (int i = 0; i < masked.length; i++) {
+            int remaining = length - i * Byte.SIZE;
+
+            if (remaining <= 0) {
+                masked[i] = 0;
+            } else if (remaining < Byte.SIZE) {
+                masked[i] &= (byte) (0xff << (Byte.SIZE - remaining));
+            }
+        }
+
+        return masked;
+    }
+
+    private static final class Node<V> {
+        private final byte[] prefix;
+        private final int length;
+        private V value;
+        private Node<V> zero;
+        private Node<V> one;
+
+        private Node(byte[] prefix, int length, V value) {
+            this.prefix = prefix;
+            this.length = length;
+            this.value = value;
+        }
+
+        private Node<V> child(int bit) {
+            return bit == 0 ? zero : one;
+        }
+
+        private void setChild(int bit, Node<V> child) {
+            if (bit == 0) {
+                zero = child;
+            } else {
+                one = child;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ars.gateway.ipfilter;
+
+import com.ars.gateway.config.properties.IpFilterProps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Address of the client of a request, read from {@code X-Forwarded-For} only when the connection comes from a trusted proxy
+ *
+ * <ul>
+ *     <li>A connection from outside {@code app.ip-filter.trusted-proxies} is the client itself, its headers are ignored</li>
+ *     <li>
+ *         Otherwise {@code X-Forwarded-For} is read from right to left: every proxy appends the address it received the
+ *         request from, the first address outside the trusted proxies is the client. Addresses written further left
+ *         were sent by the client and are never trusted
+ *     </li>
+ *     <li>A malformed hop stops the walk at the last valid address, it cannot be used to skip a hop</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+@EnableConfigurationProperties(IpFilterProps.class)
+public class ClientAddressResolver {
+    private static final Logger log = LoggerFactory.getLogger(ClientAddressResolver.class);
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    private final CidrRadixTree<Boolean> trustedProxies = new CidrRadixTree<>();
+
+    public ClientAddressResolver(IpFilterProps ipFilterProps) {
+        ipFilterProps.getTrustedProxies().forEach(prefix -> trustedProxies.put(prefix, Boolean.TRUE));
+        log.info("[TRUSTED_PROXIES] - prefixes: {}", trustedProxies.size());
+    }
+
+    /**
+     * @return {@code null} when the remote address of the connection is unknown
+     */
+    public InetAddress resolve(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+
+        if (Objects.isNull(remoteAddress) || Objects.isNull(remoteAddress.getAddress())) {
+            return null;
+        }
+
+        InetAddress client = remoteAddress.getAddress();
+
+        if (!trustedProxies.contains(client)) {
+            return client;
+        }
+
+        List<String> headers = request.getHeaders().getOrEmpty(X_FORWARDED_FOR);
+
+        for (int i = headers.size() - 1; i >= 0; i--) {
+            String[] hops = headers.get(i).split(",");
+
+            for (int j = hops.length - 1; j >= 0; j--) {
+                InetAddress hop = CidrRadixTree.parseAddress(hops[j]);
+
+                if (Objects.isNull(hop)) {
+                    return client;
+                }
+
+                client = hop;
+
+                if (!trustedProxies.contains(hop)) {
+                    return hop;
+                }
+            }
+        }
+
+        return client;
+    }
+
+    public boolean isTrustedProxy(InetAddress address) {
+        return trustedProxies.contains(address);
+    }
+}
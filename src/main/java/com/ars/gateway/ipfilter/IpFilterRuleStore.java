@@ -0,0 +1,156 @@
+package com.ars.gateway.ipfilter;
+
+import com.ars.gateway.config.properties.IpFilterProps;
+import com.ars.gateway.constants.IpFilterConstants;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * CIDR allow/deny lists of {@code app.ip-filter} and Redis, as one radix tree replaced as a whole on every change
+ *
+ * <ul>
+ *     <li>
+ *         The Redis sets {@link IpFilterConstants#DENY_KEY} and {@link IpFilterConstants#ALLOW_KEY} are added to the
+ *         configured lists. After changing them, {@link IpFilterConstants#VERSION_KEY} must be incremented:
+ *         every node compares it with its applied version each {@code app.ip-filter.version-check-interval}
+ *     </li>
+ *     <li>
+ *         The new tree is built off the request path, on a bounded elastic thread, then swapped in one volatile write:
+ *         a lookup sees either the previous lists or the new ones, never a partial tree
+ *     </li>
+ *     <li>The configured lists apply from startup, the Redis lists are loaded in the background and kept when Redis fails</li>
+ *     <li>Invalid entries are skipped and counted in the logs, they never discard the rest of a list</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+@EnableConfigurationProperties(IpFilterProps.class)
+public class IpFilterRuleStore {
+    private static final Logger log = LoggerFactory.getLogger(IpFilterRuleStore.class);
+    private static final long INITIAL_VERSION = -1;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final IpFilterProps ipFilterProps;
+    private volatile Rules rules;
+    private volatile long appliedVersion = INITIAL_VERSION;
+    private Disposable subscription;
+
+    public IpFilterRuleStore(ReactiveStringRedisTemplate redisTemplate, IpFilterProps ipFilterProps, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.ipFilterProps = ipFilterProps;
+        this.rules = build(List.of(), List.of());
+        Gauge.builder(IpFilterConstants.PREFIXES_METRIC, this, store -> store.rules.denied())
+            .tag(IpFilterConstants.ACTION_TAG, IpFilterConstants.ACTION_DENY)
+            .register(meterRegistry);
+        Gauge.builder(IpFilterConstants.PREFIXES_METRIC, this, store -> store.rules.allowed())
+            .tag(IpFilterConstants.ACTION_TAG, IpFilterConstants.ACTION_ALLOW)
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        subscription = reload().subscribe(
+            ignored -> {},
+            e -> log.error("[IP_FILTER_LOAD_FAILED] - Using the configured lists only, error: {}", e.getMessage())
+        );
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (Objects.nonNull(subscription)) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * @return the action of the most specific prefix containing the address, {@code null} when none does
+     */
+    public Action lookup(InetAddress address) {
+        return rules.tree().lookup(address);
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.ip-filter.version-check-interval:30s}",
+        fixedDelayString = "${app.ip-filter.version-check-interval:30s}"
+    )
+    public void checkVersion() {
+        reload().subscribe(ignored -> {}, e -> log.error("[IP_FILTER_VERSION_CHECK_FAILED] - error: {}", e.getMessage()));
+    }
+
+    private Mono<Long> reload() {
+        return redisTemplate.opsForValue()
+            .get(IpFilterConstants.VERSION_KEY)
+            .map(Long::parseLong)
+            .defaultIfEmpty(0L)
+            .filter(version -> version != appliedVersion)
+            .flatMap(version -> Mono.zip(members(IpFilterConstants.DENY_KEY), members(IpFilterConstants.ALLOW_KEY))
+                .publishOn(Schedulers.boundedElastic())
+                .map(lists -> {
+                    Rules rebuilt = build(lists.getT1(), lists.getT2());
+                    rules = rebuilt;
+                    appliedVersion = version;
+                    log.info("[IP_FILTER_APPLIED] - version: {}, denied: {}, allowed: {}", version, rebuilt.denied(), rebuilt.allowed());
+                    return version;
+                }));
+    }
+
+    private Mono<List<String>> members(String key) {
+        return redisTemplate.opsForSet().members(key).collectList();
+    }
+
+    /**
+     * Allowed prefixes are inserted last, an address both allowed and denied with the same prefix is allowed
+     */
+    private Rules build(List<String> redisDeny, List<String> redisAllow) {
+        CidrRadixTree<Action> tree = new CidrRadixTree<>();
+        int denied = put(tree, ipFilterProps.getDeny(), Action.DENY) + put(tree, redisDeny, Action.DENY);
+        int allowed = put(tree, ipFilterProps.getAllow(), Action.ALLOW) + put(tree, redisAllow, Action.ALLOW);
+        return new Rules(tree, denied, allowed);
+    }
+
+    private int put(CidrRadixTree<Action> tree, List<String> prefixes, Action action) {
+        int inserted = 0;
+        int invalid = 0;
+        String firstInvalid = null;
+
+        for (String prefix : prefixes) {
+            try {
+                tree.put(prefix, action);
+                inserted++;
+            } catch (IllegalArgumentException e) {
+                invalid++;
+                firstInvalid = Objects.isNull(firstInvalid) ? prefix : firstInvalid;
+            }
+        }
+
+        if (invalid > 0) {
+            log.warn("[IP_FILTER_INVALID_PREFIXES] - action: {}, skipped: {}, first: {}", action, invalid, firstInvalid);
+        }
+
+        return inserted;
+    }
+
+    public enum Action {
+        ALLOW,
+        DENY
+    }
+
+    private record Rules(CidrRadixTree<Action> tree, int denied, int allowed) {}
+}
@@ -0,0 +1,22 @@
+package com.ars.gateway.jfr;
+
+import com.ars.gateway.constants.JfrConstants;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * AES decryption of the {@code X-Device-ID} header, see {@link com.ars.gateway.common.EncryptionUtils}
+ * @author thoaidc
+ */
+@Name(JfrConstants.EVENT_PREFIX + "DeviceIdDecrypt")
+@Label("Device ID Decrypt")
+@Category({JfrConstants.CATEGORY, "Security"})
+@Description("AES decryption of the device ID header")
+public class DeviceIdDecryptEvent extends Event {
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,31 @@
+package com.ars.gateway.jfr;
+
+import com.ars.gateway.constants.JfrConstants;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A proxied call, from load balancing until the downstream response was written to the client
+ * @author thoaidc
+ */
+@Name(JfrConstants.EVENT_PREFIX + "DownstreamCall")
+@Label("Downstream Call")
+@Category({JfrConstants.CATEGORY, "Routing"})
+@Description("Proxied call, from instance selection until the response is written to the client")
+public class DownstreamCallEvent extends Event {
+    @Label("Route")
+    public String route;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Target")
+    public String target;
+
+    @Label("Status")
+    public int status;
+}
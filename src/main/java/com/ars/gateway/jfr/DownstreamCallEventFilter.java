@@ -0,0 +1,54 @@
+package com.ars.gateway.jfr;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * Emits a {@link DownstreamCallEvent} per proxied call, only when a recording enabling it is running
+ * @author thoaidc
+ */
+@Component
+public class DownstreamCallEventFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        DownstreamCallEvent event = new DownstreamCallEvent();
+
+        if (!event.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        event.begin();
+        return chain.filter(exchange).doFinally(signal -> {
+            event.end();
+
+            if (event.shouldCommit()) {
+                Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                URI target = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                event.route = Objects.nonNull(route) ? route.getId() : null;
+                event.method = exchange.getRequest().getMethod().name();
+                event.target = Objects.nonNull(target) ? target.getScheme() + "://" + target.getAuthority() : null;
+                event.status = Objects.nonNull(status) ? status.value() : 0;
+                event.commit();
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 2;
+    }
+}
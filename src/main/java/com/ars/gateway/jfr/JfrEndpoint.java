@@ -0,0 +1,152 @@
+package com.ars.gateway.jfr;
+
+import com.ars.gateway.config.properties.JfrProps;
+import com.ars.gateway.dto.JfrRecordingDTO;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@code /actuator/jfr}: on-demand JDK Flight Recorder recording of a live node, restricted to the SYSTEM authority
+ *
+ * <ul>
+ *     <li>{@code POST /actuator/jfr} {@code {"durationSeconds": 60}}: starts a bounded recording, one at a time</li>
+ *     <li>{@code GET /actuator/jfr}: state of the current or last recording</li>
+ *     <li>{@code GET /actuator/jfr/{id}}: stops the recording if it is still running and streams the {@code .jfr} file</li>
+ *     <li>{@code DELETE /actuator/jfr}: stops the recording and deletes its file</li>
+ * </ul>
+ *
+ * Besides the JDK events, recordings contain the gateway events of the {@code com.ars.gateway} package (JWT validation,
+ * device ID decrypt, rate-limit decision, response rewrite, downstream call)
+ *
+ * @author thoaidc
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@EnableConfigurationProperties(JfrProps.class)
+public class JfrEndpoint {
+    private static final Logger log = LoggerFactory.getLogger(JfrEndpoint.class);
+    private static final List<Class<? extends Event>> GATEWAY_EVENTS = List.of(
+        JwtValidationEvent.class,
+        DeviceIdDecryptEvent.class,
+        RateLimitDecisionEvent.class,
+        ResponseRewriteEvent.class,
+        DownstreamCallEvent.class
+    );
+    private final JfrProps jfrProps;
+    private Recording recording;
+    private Path file;
+
+    public JfrEndpoint(JfrProps jfrProps) {
+        this.jfrProps = jfrProps;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<JfrRecordingDTO> start(@Nullable Long durationSeconds) throws Exception {
+        if (Objects.nonNull(recording) && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(toDTO(), HttpStatus.CONFLICT.value());
+        }
+
+        discard();
+        Duration duration = Objects.nonNull(durationSeconds) ? Duration.ofSeconds(durationSeconds) : jfrProps.getDefaultDuration();
+
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(jfrProps.getMaxDuration()) > 0) {
+            duration = jfrProps.getMaxDuration();
+        }
+
+        Path directory = Path.of(jfrProps.getDirectory()).toAbsolutePath();
+        Files.createDirectories(directory);
+        Recording newRecording = new Recording(Configuration.getConfiguration(jfrProps.getSettings()));
+        newRecording.setName("gateway-" + System.currentTimeMillis());
+        GATEWAY_EVENTS.forEach(event -> newRecording.enable(event).withoutThreshold());
+        newRecording.setToDisk(true);
+        newRecording.setDuration(duration);
+        newRecording.setMaxSize(jfrProps.getMaxSize());
+        file = directory.resolve(newRecording.getName() + ".jfr");
+        newRecording.setDestination(file);
+        newRecording.start();
+        recording = newRecording;
+        log.info("[JFR_RECORDING_STARTED] - id: {}, duration: {}, file: {}", recording.getId(), duration, file);
+        return new WebEndpointResponse<>(toDTO(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @ReadOperation
+    public synchronized WebEndpointResponse<JfrRecordingDTO> status() {
+        if (Objects.isNull(recording)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        return new WebEndpointResponse<>(toDTO(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector long id) {
+        if (Objects.isNull(recording) || recording.getId() != id) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        if (recording.getState() == RecordingState.RUNNING) {
+            // Stopping writes the recording to its destination
+            recording.stop();
+            log.info("[JFR_RECORDING_STOPPED] - id: {}, file: {}", id, file);
+        }
+
+        if (!Files.isReadable(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public synchronized void stop() throws IOException {
+        discard();
+    }
+
+    private void discard() throws IOException {
+        if (Objects.nonNull(recording)) {
+            recording.close();
+            recording = null;
+        }
+
+        if (Objects.nonNull(file)) {
+            Files.deleteIfExists(file);
+            file = null;
+        }
+    }
+
+    private JfrRecordingDTO toDTO() {
+        JfrRecordingDTO dto = new JfrRecordingDTO();
+        dto.setId(recording.getId());
+        dto.setName(recording.getName());
+        dto.setState(recording.getState().name());
+        dto.setStartTime(recording.getStartTime());
+        dto.setDurationSeconds(Objects.nonNull(recording.getDuration()) ? recording.getDuration().toSeconds() : 0);
+        dto.setMaxSize(recording.getMaxSize());
+        dto.setSize(recording.getSize());
+        return dto;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ars.gateway.jfr;
+
+import com.ars.gateway.constants.JfrConstants;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Parsing and signature check of an access token, see {@link com.ars.gateway.security.filter.JwtProvider}
+ * @author thoaidc
+ */
+@Name(JfrConstants.EVENT_PREFIX + "JwtValidation")
+@Label("JWT Validation")
+@Category({JfrConstants.CATEGORY, "Security"})
+@Description("Parsing and signature verification of an access token")
+public class JwtValidationEvent extends Event {
+    @Label("Valid")
+    public boolean valid;
+}
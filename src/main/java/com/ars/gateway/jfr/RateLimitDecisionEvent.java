@@ -0,0 +1,33 @@
+package com.ars.gateway.jfr;
+
+import com.ars.gateway.constants.JfrConstants;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One decision of {@link com.ars.gateway.security.ratelimiter.CustomRateLimiter}, with the time spent in Redis
+ * @author thoaidc
+ */
+@Name(JfrConstants.EVENT_PREFIX + "RateLimitDecision")
+@Label("Rate Limit Decision")
+@Category({JfrConstants.CATEGORY, "Rate Limiter"})
+@Description("Rate limit decision of a request, including the Redis round trips")
+public class RateLimitDecisionEvent extends Event {
+    @Label("Route")
+    public String route;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Redis Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long redisTime;
+
+    @Label("Redis Calls")
+    public int redisCalls;
+}
@@ -0,0 +1,31 @@
+package com.ars.gateway.jfr;
+
+import com.ars.gateway.constants.JfrConstants;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JSON rewrite of a gateway response by {@link com.ars.gateway.filters.ResponseWrapperFilter}
+ * @author thoaidc
+ */
+@Name(JfrConstants.EVENT_PREFIX + "ResponseRewrite")
+@Label("Response Rewrite")
+@Category({JfrConstants.CATEGORY, "Filters"})
+@Description("Parsing, message translation and serialization of a gateway response body")
+public class ResponseRewriteEvent extends Event {
+    @Label("Input Size")
+    @DataAmount
+    public long inputSize;
+
+    @Label("Output Size")
+    @DataAmount
+    public long outputSize;
+
+    @Label("Rewritten")
+    public boolean rewritten;
+}
@@ -0,0 +1,34 @@
+package com.ars.gateway.latency;
+
+import com.ars.gateway.dto.AdaptiveTimeoutDTO;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * {@code /actuator/adaptivetimeouts}: the latest timeout decision of every route, see {@link AdaptiveTimeoutManager}
+ * @author thoaidc
+ */
+@Component
+@Endpoint(id = "adaptivetimeouts")
+public class AdaptiveTimeoutEndpoint {
+    private final AdaptiveTimeoutManager adaptiveTimeoutManager;
+
+    public AdaptiveTimeoutEndpoint(AdaptiveTimeoutManager adaptiveTimeoutManager) {
+        this.adaptiveTimeoutManager = adaptiveTimeoutManager;
+    }
+
+    @ReadOperation
+    public Collection<AdaptiveTimeoutDTO> decisions() {
+        return adaptiveTimeoutManager.getDecisions();
+    }
+
+    @ReadOperation
+    public AdaptiveTimeoutDTO decision(@Selector String routeId) {
+        return adaptiveTimeoutManager.getDecision(routeId);
+    }
+}
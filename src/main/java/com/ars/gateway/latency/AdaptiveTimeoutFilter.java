@@ -0,0 +1,50 @@
+package com.ars.gateway.latency;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * Replaces the route of the exchange with the copy carrying its effective timeout, see {@link AdaptiveTimeoutManager}
+ * <p>
+ * Runs after the route filters, so only the Netty routing filter sees the adapted {@code response-timeout} metadata
+ *
+ * @author thoaidc
+ */
+@Component
+public class AdaptiveTimeoutFilter implements GlobalFilter, Ordered {
+    private final AdaptiveTimeoutManager adaptiveTimeoutManager;
+
+    public AdaptiveTimeoutFilter(AdaptiveTimeoutManager adaptiveTimeoutManager) {
+        this.adaptiveTimeoutManager = adaptiveTimeoutManager;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        if (Objects.nonNull(route)) {
+            Route adjusted = adaptiveTimeoutManager.adjust(route);
+
+            if (adjusted != route) {
+                exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, adjusted);
+            }
+        }
+
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1;
+    }
+}
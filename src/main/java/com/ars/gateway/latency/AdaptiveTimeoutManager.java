@@ -0,0 +1,265 @@
+package com.ars.gateway.latency;
+
+import com.ars.gateway.config.properties.AdaptiveTimeoutProps;
+import com.ars.gateway.dto.AdaptiveTimeoutDTO;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.context.ApplicationListener;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically derives the response timeout of every route from its observed latency
+ *
+ * <ul>
+ *     <li>
+ *         Effective timeout = latency at {@code percentile} (see {@link RouteLatencyRecorder}) x {@code multiplier},
+ *         bounded by the min/max timeouts of the route
+ *     </li>
+ *     <li>Routes without a latency window yet, and WebSocket routes, keep their static {@code response-timeout} metadata</li>
+ *     <li>
+ *         Applied by {@link AdaptiveTimeoutFilter} through a copy of the route carrying the effective timeout in its
+ *         {@code response-timeout} metadata, read by the Netty routing filter
+ *     </li>
+ *     <li>Decisions are exposed by the {@code adaptivetimeouts} actuator endpoint and as a gauge per route</li>
+ *     <li>
+ *         The decision, the gauge and the latency window of a route are removed once a refresh of the routes
+ *         no longer returns it (route deleted from the dynamic route repository)
+ *     </li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+@EnableConfigurationProperties(AdaptiveTimeoutProps.class)
+public class AdaptiveTimeoutManager implements ApplicationListener<RefreshRoutesResultEvent> {
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveTimeoutManager.class);
+    private static final String EFFECTIVE_TIMEOUT_METRIC = "gateway.route.timeout.effective";
+    private static final String ROUTE_TAG = "route";
+    private static final Set<String> WEBSOCKET_SCHEMES = Set.of("ws", "wss");
+    private volatile Map<String, AdjustedRoute> adjustedRoutes = Map.of();
+    private final Map<String, AdaptiveTimeoutDTO> decisions = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final AdaptiveTimeoutProps adaptiveTimeoutProps;
+    private final RouteLatencyRecorder routeLatencyRecorder;
+    private final RouteLocator routeLocator;
+    private final MeterRegistry meterRegistry;
+
+    public AdaptiveTimeoutManager(AdaptiveTimeoutProps adaptiveTimeoutProps,
+                                  RouteLatencyRecorder routeLatencyRecorder,
+                                  RouteLocator routeLocator,
+                                  MeterRegistry meterRegistry) {
+        this.adaptiveTimeoutProps = adaptiveTimeoutProps;
+        this.routeLatencyRecorder = routeLatencyRecorder;
+        this.routeLocator = routeLocator;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return the copy of this route carrying its effective timeout, or the route itself when it is not adapted
+     */
+    public Route adjust(Route route) {
+        AdjustedRoute adjustedRoute = adjustedRoutes.get(route.getId());
+
+        // Routes are rebuilt on refresh, a copy made from a previous instance is ignored until the next update
+        if (Objects.nonNull(adjustedRoute) && adjustedRoute.source() == route) {
+            return adjustedRoute.adjusted();
+        }
+
+        return route;
+    }
+
+    public Collection<AdaptiveTimeoutDTO> getDecisions() {
+        return decisions.values();
+    }
+
+    public AdaptiveTimeoutDTO getDecision(String routeId) {
+        return decisions.get(routeId);
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull RefreshRoutesResultEvent event) {
+        if (!event.isSuccess() || !(event.getSource() instanceof RouteLocator refreshedLocator)) {
+            return;
+        }
+
+        // The source is the route cache, its routes are read synchronously
+        refreshedLocator.getRoutes()
+            .map(Route::getId)
+            .collect(Collectors.toSet())
+            .subscribe(this::removeDeletedRoutes, error -> log.error("[ADAPTIVE_TIMEOUT_CLEANUP_FAILED] - error: {}", error.getMessage()));
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.adaptive-timeout.update-interval:30s}",
+        fixedDelayString = "${app.adaptive-timeout.update-interval:30s}"
+    )
+    public void update() {
+        if (!adaptiveTimeoutProps.isEnabled()) {
+            adjustedRoutes = Map.of();
+            return;
+        }
+
+        routeLocator.getRoutes()
+            .collectList()
+            .subscribe(this::update, error -> log.error("[ADAPTIVE_TIMEOUT_UPDATE_FAILED] - error: {}", error.getMessage()));
+    }
+
+    private void update(List<Route> routes) {
+        Map<String, AdjustedRoute> updatedRoutes = new HashMap<>();
+
+        for (Route route : routes) {
+            if (isWebSocket(route.getUri())) {
+                continue;
+            }
+
+            AdaptiveTimeoutDTO decision = decide(route);
+            AdaptiveTimeoutDTO previous = decisions.put(route.getId(), decision);
+
+            gauges.computeIfAbsent(route.getId(), this::registerGauge);
+
+            if (decision.isAdaptive()) {
+                updatedRoutes.put(route.getId(), new AdjustedRoute(route, withTimeout(route, decision.getEffectiveTimeoutMillis())));
+
+                if (Objects.isNull(previous) || previous.getEffectiveTimeoutMillis() != decision.getEffectiveTimeoutMillis()) {
+                    log.info(
+                        "[ADAPTIVE_TIMEOUT_UPDATED] - route: {}, p{}: {}ms, samples: {}, timeout: {}ms",
+                        route.getId(),
+                        Math.round(adaptiveTimeoutProps.getPercentile() * 100),
+                        decision.getPercentileMillis(),
+                        decision.getSamples(),
+                        decision.getEffectiveTimeoutMillis()
+                    );
+                }
+            }
+        }
+
+        adjustedRoutes = Map.copyOf(updatedRoutes);
+    }
+
+    private Gauge registerGauge(String routeId) {
+        return Gauge.builder(EFFECTIVE_TIMEOUT_METRIC, decisions, values -> effectiveTimeout(values, routeId))
+            .tag(ROUTE_TAG, routeId)
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+    }
+
+    private void removeDeletedRoutes(Set<String> routeIds) {
+        for (String routeId : Set.copyOf(decisions.keySet())) {
+            if (routeIds.contains(routeId)) {
+                continue;
+            }
+
+            decisions.remove(routeId);
+            Gauge gauge = gauges.remove(routeId);
+
+            if (Objects.nonNull(gauge)) {
+                meterRegistry.remove(gauge);
+            }
+
+            log.info("[ADAPTIVE_TIMEOUT_ROUTE_REMOVED] - route: {}", routeId);
+        }
+
+        routeLatencyRecorder.retainRoutes(routeIds);
+    }
+
+    private AdaptiveTimeoutDTO decide(Route route) {
+        String routeId = route.getId();
+        Long staticTimeout = readStaticTimeout(route);
+        OptionalLong percentileNanos = routeLatencyRecorder.percentileNanos(routeId, adaptiveTimeoutProps.getPercentile());
+        AdaptiveTimeoutDTO decision = new AdaptiveTimeoutDTO();
+        decision.setRouteId(routeId);
+        decision.setStaticTimeoutMillis(staticTimeout);
+        decision.setSamples(routeLatencyRecorder.sampleCount(routeId));
+        decision.setUpdatedAt(Instant.now());
+
+        if (percentileNanos.isEmpty()) {
+            decision.setAdaptive(false);
+            decision.setEffectiveTimeoutMillis(Objects.nonNull(staticTimeout) ? staticTimeout : -1);
+            return decision;
+        }
+
+        Duration percentile = Duration.ofNanos(percentileNanos.getAsLong());
+        Duration timeout = Duration.ofNanos((long) (percentile.toNanos() * adaptiveTimeoutProps.getMultiplier()));
+        Duration minTimeout = adaptiveTimeoutProps.getMinTimeout(routeId);
+        Duration maxTimeout = adaptiveTimeoutProps.getMaxTimeout(routeId);
+
+        if (timeout.compareTo(minTimeout) < 0) {
+            timeout = minTimeout;
+        } else if (timeout.compareTo(maxTimeout) > 0) {
+            timeout = maxTimeout;
+        }
+
+        decision.setAdaptive(true);
+        decision.setPercentileMillis(percentile.toMillis());
+        decision.setEffectiveTimeoutMillis(timeout.toMillis());
+        return decision;
+    }
+
+    private static Route withTimeout(Route route, long timeoutMillis) {
+        Map<String, Object> metadata = new HashMap<>(route.getMetadata());
+        metadata.put(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, timeoutMillis);
+        return Route.async()
+            .id(route.getId())
+            .uri(route.getUri())
+            .order(route.getOrder())
+            .asyncPredicate(route.getPredicate())
+            .replaceFilters(route.getFilters())
+            .metadata(metadata)
+            .build();
+    }
+
+    private static Long readStaticTimeout(Route route) {
+        Object timeout = route.getMetadata().get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR);
+
+        if (timeout instanceof Number number) {
+            return number.longValue();
+        }
+
+        try {
+            return Objects.nonNull(timeout) ? Long.parseLong(timeout.toString()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isWebSocket(URI uri) {
+        String scheme = uri.getScheme();
+
+        // lb:ws://SERVICE is an opaque URI, its real scheme is the start of the scheme-specific part
+        if (uri.isOpaque()) {
+            scheme = uri.getSchemeSpecificPart().split(":", 2)[0];
+        }
+
+        return Objects.nonNull(scheme) && WEBSOCKET_SCHEMES.contains(scheme.toLowerCase());
+    }
+
+    private static double effectiveTimeout(Map<String, AdaptiveTimeoutDTO> decisions, String routeId) {
+        AdaptiveTimeoutDTO decision = decisions.get(routeId);
+        return Objects.nonNull(decision) ? decision.getEffectiveTimeoutMillis() : Double.NaN;
+    }
+
+    private record AdjustedRoute(Route source, Route adjusted) {}
+}
@@ -0,0 +1,115 @@
+package com.ars.gateway.latency;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of every route, as observed by the gateway for each downstream attempt
+ *
+ * <ul>
+ *     <li>Recording is lock-free ({@link Recorder}), a background task rolls the intervals every {@value #WINDOW_SECONDS}s</li>
+ *     <li>
+ *         Percentiles are read from the last published window, which holds at least {@value #MIN_SAMPLES} samples:
+ *         intervals of low-traffic routes are accumulated until they reach that count
+ *     </li>
+ *     <li>Fed by {@link RouteLatencyRecordingFilter}</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+public class RouteLatencyRecorder {
+    private static final long WINDOW_SECONDS = 10;
+    private static final long MIN_SAMPLES = 50;
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private final Map<String, RouteLatency> routes = new ConcurrentHashMap<>();
+
+    public void record(String routeId, long latencyNanos) {
+        if (latencyNanos < 0) {
+            return;
+        }
+
+        RouteLatency routeLatency = routes.computeIfAbsent(routeId, ignored -> new RouteLatency());
+        routeLatency.recorder.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+    }
+
+    /**
+     * @param percentile between 0 and 1, e.g. 0.95
+     * @return the latency at this percentile in the last published window, empty if the route has no window yet
+     */
+    public OptionalLong percentileNanos(String routeId, double percentile) {
+        RouteLatency routeLatency = routes.get(routeId);
+
+        if (Objects.isNull(routeLatency) || Objects.isNull(routeLatency.published)) {
+            return OptionalLong.empty();
+        }
+
+        return OptionalLong.of(routeLatency.published.percentileNanos(percentile));
+    }
+
+    /**
+     * @return the number of samples of the last published window, 0 if the route has no window yet
+     */
+    public long sampleCount(String routeId) {
+        RouteLatency routeLatency = routes.get(routeId);
+
+        if (Objects.isNull(routeLatency) || Objects.isNull(routeLatency.published)) {
+            return 0;
+        }
+
+        return routeLatency.published.histogram().getTotalCount();
+    }
+
+    /**
+     * Drops the latency of the routes that no longer exist
+     */
+    public void retainRoutes(Set<String> routeIds) {
+        routes.keySet().retainAll(routeIds);
+    }
+
+    @Scheduled(fixedDelay = WINDOW_SECONDS, initialDelay = WINDOW_SECONDS, timeUnit = TimeUnit.SECONDS)
+    public void rollWindows() {
+        routes.values().forEach(RouteLatency::roll);
+    }
+
+    private static class RouteLatency {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        private final Histogram pending = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        private Histogram interval;
+        private volatile Window published;
+
+        private void roll() {
+            interval = recorder.getIntervalHistogram(interval);
+            pending.add(interval);
+
+            if (pending.getTotalCount() >= MIN_SAMPLES) {
+                published = new Window(pending.copy());
+                pending.reset();
+            }
+        }
+    }
+
+    /**
+     * Immutable once published, percentiles are memoized because the same few are read on every request
+     */
+    private record Window(Histogram histogram, Map<Double, Long> percentiles) {
+
+        private Window(Histogram histogram) {
+            this(histogram, new ConcurrentHashMap<>());
+        }
+
+        private long percentileNanos(double percentile) {
+            return percentiles.computeIfAbsent(percentile, p -> histogram.getValueAtPercentile(p * 100));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ars.gateway.latency;
+
+import com.ars.gateway.constants.CommonConstants;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * Records the latency of every downstream attempt into {@link RouteLatencyRecorder}
+ *
+ * <ul>
+ *     <li>
+ *         Runs right after {@link ReactiveLoadBalancerClientFilter}, so only the downstream call is measured: requests
+ *         answered by the gateway itself (rate limiter 429, circuit breaker or missing instance 503) are not recorded
+ *     </li>
+ *     <li>
+ *         The measure ends when the response headers of the downstream service are received, the response body
+ *         is streamed afterwards by {@code NettyWriteResponseFilter}
+ *     </li>
+ *     <li>Cancelled attempts (client gone, lost hedge) are not recorded, their latency is unknown</li>
+ *     <li>JIT warm-up requests, answered by a loopback stub, are not recorded</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+public class RouteLatencyRecordingFilter implements GlobalFilter, Ordered {
+    private final RouteLatencyRecorder routeLatencyRecorder;
+
+    public RouteLatencyRecordingFilter(RouteLatencyRecorder routeLatencyRecorder) {
+        this.routeLatencyRecorder = routeLatencyRecorder;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        if (Objects.isNull(route) || Boolean.TRUE.equals(exchange.getAttribute(CommonConstants.JIT_WARMUP_ATTRIBUTE))) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+            .doOnTerminate(() -> routeLatencyRecorder.record(route.getId(), System.nanoTime() - start));
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
@@ -0,0 +1,209 @@
+package com.ars.gateway.loadbalancer;
+
+import com.ars.gateway.constants.CommonConstants;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sticky load balancer placing every instance on a consistent hash ring
+ *
+ * <ul>
+ *     <li>
+ *         Each instance owns {@code virtualNodes} points of the ring, a request goes to the owner of the first point
+ *         at or after the hash of its key (see {@link LoadBalancerHashKeyFilter})
+ *     </li>
+ *     <li>
+ *         The ring holds every registered instance of the service (see {@link RegistrySnapshotStore}), not only the
+ *         candidates of the request: the candidates change from request to request while {@link OutlierDetector}
+ *         reintroduces ejected instances, or a hedge excludes the instance of the first attempt
+ *     </li>
+ *     <li>
+ *         Owners that are not candidates of the request are skipped while walking the ring, their keys move to the next
+ *         owner only while they are ejected or excluded
+ *     </li>
+ *     <li>
+ *         When an instance joins or leaves the registry (scaling, Eureka eviction), only the keys of the ring
+ *         segments it owns move, every other client keeps reaching the same instance
+ *     </li>
+ *     <li>The ring is rebuilt only when the registered instance set changes, lookups are a binary search</li>
+ *     <li>Requests without a hash key are spread randomly</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+public class ConsistentHashLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+    private static final Logger log = LoggerFactory.getLogger(ConsistentHashLoadBalancer.class);
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final RegistrySnapshotStore registrySnapshotStore;
+    private final String serviceId;
+    private final int virtualNodes;
+    private volatile HashRing ring = new HashRing(new String[0], new long[0], new String[0]);
+
+    public ConsistentHashLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                      RegistrySnapshotStore registrySnapshotStore,
+                                      String serviceId,
+                                      int virtualNodes) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.registrySnapshotStore = registrySnapshotStore;
+        this.serviceId = serviceId;
+        this.virtualNodes = Math.max(virtualNodes, 1);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        String hashKey = resolveHashKey(request);
+
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances, hashKey);
+
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+
+            return response;
+        });
+    }
+
+    @SuppressWarnings("rawtypes")
+    private String resolveHashKey(Request request) {
+        if (request.getContext() instanceof RequestDataContext context && Objects.nonNull(context.getClientRequest())) {
+            Object hashKey = context.getClientRequest().getAttributes().get(CommonConstants.LOAD_BALANCER_HASH_KEY_ATTRIBUTE);
+            return hashKey instanceof String key ? key : null;
+        }
+
+        return null;
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances, String hashKey) {
+        if (instances.isEmpty()) {
+            log.warn("[CONSISTENT_HASH_LOAD_BALANCER] - No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        if (Objects.isNull(hashKey)) {
+            return new DefaultResponse(instances.get(ThreadLocalRandom.current().nextInt(instances.size())));
+        }
+
+        Map<String, ServiceInstance> candidates = new HashMap<>(instances.size() * 2);
+        instances.forEach(instance -> candidates.put(InstanceStatsRegistry.instanceKey(instance), instance));
+        ServiceInstance owner = getRing(instances).locate(hash(hashKey), candidates);
+
+        if (Objects.isNull(owner)) {
+            // Candidates unknown to the registry snapshot, only while it catches up with the discovery client
+            return new DefaultResponse(instances.get(ThreadLocalRandom.current().nextInt(instances.size())));
+        }
+
+        return new DefaultResponse(owner);
+    }
+
+    /**
+     * @param candidates the candidates of the request, the ring members when the registry snapshot is still empty
+     */
+    private HashRing getRing(List<ServiceInstance> candidates) {
+        List<ServiceInstance> members = registrySnapshotStore.get(serviceId);
+        List<ServiceInstance> instances = members.isEmpty() ? candidates : members;
+        String[] memberKeys = instances.stream().map(InstanceStatsRegistry::instanceKey).sorted().toArray(String[]::new);
+        HashRing current = ring;
+
+        if (Arrays.equals(current.memberKeys, memberKeys)) {
+            return current;
+        }
+
+        HashRing rebuilt = HashRing.build(memberKeys, instances, virtualNodes);
+        ring = rebuilt;
+        log.debug("[CONSISTENT_HASH_RING_REBUILT] - service: {}, instances: {}", serviceId, Arrays.toString(memberKeys));
+        return rebuilt;
+    }
+
+    private static long hash(String value) {
+        return HASH_FUNCTION.hashString(value, StandardCharsets.UTF_8).asLong();
+    }
+
+    /**
+     * Immutable ring: sorted point hashes with the {@code host:port} of the instance owning each point at the same index
+     */
+    private record HashRing(String[] memberKeys, long[] points, String[] owners) {
+
+        private static HashRing build(String[] memberKeys, List<ServiceInstance> instances, int virtualNodes) {
+            int size = instances.size() * virtualNodes;
+            long[][] entries = new long[size][2];
+            int index = 0;
+
+            for (int i = 0; i < instances.size(); i++) {
+                // Points depend only on host:port, so an instance keeps the same segments whatever the other members
+                String instanceKey = InstanceStatsRegistry.instanceKey(instances.get(i));
+
+                for (int node = 0; node < virtualNodes; node++) {
+                    entries[index][0] = hash(instanceKey + "#" + node);
+                    entries[index][1] = i;
+                    index++;
+                }
+            }
+
+            Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+            long[] points = new long[size];
+            String[] owners = new String[size];
+
+            for (int i = 0; i < size; i++) {
+                points[i] = entries[i][0];
+                owners[i] = InstanceStatsRegistry.instanceKey(instances.get((int) entries[i][1]));
+            }
+
+            return new HashRing(memberKeys, points, owners);
+        }
+
+        /**
+         * @return the candidate owning the first point at or after the hash, skipping the owners that are not candidates,
+         * or null if no owner of the ring is a candidate
+         */
+        private ServiceInstance locate(long hash, Map<String, ServiceInstance> candidates) {
+            int index = Arrays.binarySearch(points, hash);
+
+            if (index < 0) {
+                index = -index - 1;
+            }
+
+            for (int step = 0; step < points.length; step++) {
+                // Past the last point the ring wraps around to the first one
+                ServiceInstance owner = candidates.get(owners[(index + step) % points.length]);
+
+                if (Objects.nonNull(owner)) {
+                    return owner;
+                }
+            }
+
+            return null;
+        }
+    }
+}
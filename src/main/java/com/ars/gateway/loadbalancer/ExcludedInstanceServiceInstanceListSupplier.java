@@ -0,0 +1,61 @@
+package com.ars.gateway.loadbalancer;
+
+import com.ars.gateway.constants.CommonConstants;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Removes the instance named by the {@link CommonConstants#LOAD_BALANCER_EXCLUDED_INSTANCE_ATTRIBUTE} exchange attribute,
+ * so a hedge attempt never goes to the instance already handling the first attempt
+ * <p>
+ * The list is left untouched when the excluded instance is the only candidate
+ *
+ * @author thoaidc
+ */
+public class ExcludedInstanceServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    public ExcludedInstanceServiceInstanceListSupplier(ServiceInstanceListSupplier delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return getDelegate().get();
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Flux<List<ServiceInstance>> get(Request request) {
+        String excludedInstance = resolveExcludedInstance(request);
+
+        if (Objects.isNull(excludedInstance)) {
+            return getDelegate().get(request);
+        }
+
+        return getDelegate().get(request).map(instances -> {
+            List<ServiceInstance> remaining = instances.stream()
+                .filter(instance -> !excludedInstance.equals(InstanceStatsRegistry.instanceKey(instance)))
+                .toList();
+            return remaining.isEmpty() ? instances : remaining;
+        });
+    }
+
+    @SuppressWarnings("rawtypes")
+    private String resolveExcludedInstance(Request request) {
+        if (request.getContext() instanceof RequestDataContext context && Objects.nonNull(context.getClientRequest())) {
+            Object excluded = context.getClientRequest().getAttributes().get(CommonConstants.LOAD_BALANCER_EXCLUDED_INSTANCE_ATTRIBUTE);
+            return excluded instanceof String instanceKey ? instanceKey : null;
+        }
+
+        return null;
+    }
+}
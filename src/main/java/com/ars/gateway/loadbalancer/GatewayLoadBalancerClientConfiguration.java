@@ -0,0 +1,82 @@
+package com.ars.gateway.loadbalancer;
+
+import com.ars.gateway.config.properties.LoadBalancerProps;
+import com.ars.gateway.config.properties.RegistryProps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplierBuilder;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Default configuration of every load balancer client child context, registered through
+ * {@code @LoadBalancerClients(defaultConfiguration = ...)} in {@link com.ars.gateway.config.LoadBalancerConfiguration}
+ *
+ * <p>Intentionally not annotated with {@code @Configuration}: it must only be loaded into the child context of each service,
+ * never picked up by component scanning into the application context
+ *
+ * <p>The strategy is resolved per service ID from {@link LoadBalancerProps#getStrategy(String)}.
+ * Every strategy reads its candidates from the same supplier chain:
+ * discovery client with {@link SnapshotFallbackServiceInstanceListSupplier} (or {@link StaticServiceInstanceListSupplier}
+ * in static registry mode), then cache, then {@link OutlierFilteringServiceInstanceListSupplier},
+ * then {@link ExcludedInstanceServiceInstanceListSupplier}
+ *
+ * @author thoaidc
+ */
+public class GatewayLoadBalancerClientConfiguration {
+    private static final Logger log = LoggerFactory.getLogger(GatewayLoadBalancerClientConfiguration.class);
+
+    @Bean
+    public ServiceInstanceListSupplier discoveryClientServiceInstanceListSupplier(ConfigurableApplicationContext context,
+                                                                                 Environment environment,
+                                                                                 RegistryProps registryProps,
+                                                                                 RegistrySnapshotStore registrySnapshotStore,
+                                                                                 OutlierDetector outlierDetector) {
+        ServiceInstanceListSupplierBuilder builder = ServiceInstanceListSupplier.builder();
+
+        if (registryProps.getMode() == RegistryProps.Mode.STATIC) {
+            String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+            builder.withBase(new StaticServiceInstanceListSupplier(serviceId, registrySnapshotStore));
+        } else {
+            builder.withDiscoveryClient()
+                .with((ctx, delegate) -> new SnapshotFallbackServiceInstanceListSupplier(delegate, registrySnapshotStore));
+        }
+
+        return builder.withCaching()
+            .with((ctx, delegate) -> new OutlierFilteringServiceInstanceListSupplier(delegate, outlierDetector))
+            .with((ctx, delegate) -> new ExcludedInstanceServiceInstanceListSupplier(delegate))
+            .build(context);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(Environment environment,
+                                                                                   LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                                   LoadBalancerProps loadBalancerProps,
+                                                                                   InstanceStatsRegistry instanceStatsRegistry,
+                                                                                   RegistrySnapshotStore registrySnapshotStore) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        LoadBalancerProps.Strategy strategy = loadBalancerProps.getStrategy(serviceId);
+        ObjectProvider<ServiceInstanceListSupplier> supplierProvider =
+            loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+        log.info("[LOAD_BALANCER_STRATEGY] - service: {}, strategy: {}", serviceId, strategy);
+
+        return switch (strategy) {
+            case PEAK_EWMA -> new PeakEwmaLoadBalancer(supplierProvider, instanceStatsRegistry, serviceId);
+            case CONSISTENT_HASH -> new ConsistentHashLoadBalancer(
+                supplierProvider,
+                registrySnapshotStore,
+                serviceId,
+                loadBalancerProps.getConsistentHash().getVirtualNodes()
+            );
+            case ROUND_ROBIN -> new RoundRobinLoadBalancer(supplierProvider, serviceId);
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.ars.gateway.loadbalancer;
+
+import com.ars.gateway.constants.CommonConstants;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * Counts the requests in flight to every downstream instance, see {@link InstanceStats#getInFlight()}
+ *
+ * <ul>
+ *     <li>Runs right after {@link ReactiveLoadBalancerClientFilter}, which stores the chosen instance in the exchange</li>
+ *     <li>
+ *         The request is released in {@code doFinally}: on completion, on error and on cancellation (client gone,
+ *         lost hedge). {@code LoadBalancerLifecycle#onComplete} is never called for a cancelled request
+ *     </li>
+ *     <li>JIT warm-up requests are not counted</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+public class InstanceInFlightFilter implements GlobalFilter, Ordered {
+    private final InstanceStatsRegistry instanceStatsRegistry;
+
+    public InstanceInFlightFilter(InstanceStatsRegistry instanceStatsRegistry) {
+        this.instanceStatsRegistry = instanceStatsRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+
+        if (Objects.isNull(lbResponse) || !lbResponse.hasServer() || Boolean.TRUE.equals(exchange.getAttribute(CommonConstants.JIT_WARMUP_ATTRIBUTE))) {
+            return chain.filter(exchange);
+        }
+
+        InstanceStats instanceStats = instanceStatsRegistry.get(lbResponse.getServer());
+        instanceStats.onRequestStarted();
+        return chain.filter(exchange).doFinally(signal -> instanceStats.onRequestEnded());
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ars.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency and load of a single downstream instance, as observed from the gateway's own traffic
+ *
+ * <ul>
+ *     <li>
+ *         The latency is a peak-sensitive exponentially weighted moving average (peak EWMA):
+ *         a slower-than-average response replaces the average immediately,
+ *         faster responses pull it down gradually with a time-based decay
+ *     </li>
+ *     <li>The score combines that latency with the number of requests currently in flight to the instance</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+public class InstanceStats {
+    private final String serviceId;
+    private final String instance;
+    private final double decayNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double ewmaNanos;
+    private long lastUpdateNanos;
+
+    public InstanceStats(String serviceId, String instance, long decayNanos, long initialLatencyNanos) {
+        this.serviceId = serviceId;
+        this.instance = instance;
+        this.decayNanos = Math.max(decayNanos, 1);
+        this.ewmaNanos = initialLatencyNanos;
+        this.lastUpdateNanos = System.nanoTime();
+    }
+
+    public void onRequestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void onRequestEnded() {
+        inFlight.updateAndGet(current -> Math.max(current - 1, 0));
+    }
+
+    public synchronized void observe(long latencyNanos) {
+        long now = System.nanoTime();
+        double elapsed = Math.max(now - lastUpdateNanos, 0);
+        lastUpdateNanos = now;
+
+        if (latencyNanos > ewmaNanos) {
+            ewmaNanos = latencyNanos;
+            return;
+        }
+
+        double weight = Math.exp(-elapsed / decayNanos);
+        ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+    }
+
+    /**
+     * Lower is better. Each request already in flight is expected to cost one more average latency
+     */
+    public synchronized double score() {
+        return ewmaNanos * (inFlight.get() + 1);
+    }
+
+    public synchronized double getLatencyMillis() {
+        return ewmaNanos / 1_000_000d;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public String getInstance() {
+        return instance;
+    }
+}
@@ -0,0 +1,95 @@
+package com.ars.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Feeds {@link InstanceStatsRegistry} and {@link OutlierDetector} from every request the gateway load-balances
+ *
+ * <ul>
+ *     <li>
+ *         The {@code ReactiveLoadBalancerClientFilter} of Spring Cloud Gateway calls the lifecycle beans of each
+ *         load balancer client, including the beans of the parent (application) context like this one
+ *     </li>
+ *     <li>{@link #onStartRequest} runs right after an instance was chosen, {@link #onComplete} once the response was received</li>
+ *     <li>
+ *         {@link #onComplete} is not called for cancelled requests, the requests in flight are counted
+ *         by {@link InstanceInFlightFilter} instead
+ *     </li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+public class InstanceStatsLoadBalancerLifecycle implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+    private final InstanceStatsRegistry instanceStatsRegistry;
+    private final OutlierDetector outlierDetector;
+
+    public InstanceStatsLoadBalancerLifecycle(InstanceStatsRegistry instanceStatsRegistry, OutlierDetector outlierDetector) {
+        this.instanceStatsRegistry = instanceStatsRegistry;
+        this.outlierDetector = outlierDetector;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {}
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+
+        if (request.getContext() instanceof TimedRequestContext timedContext && timedContext.getRequestStartTime() <= 0) {
+            timedContext.setRequestStartTime(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+
+        if (Objects.isNull(lbResponse) || !lbResponse.hasServer()
+                || completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+
+        Request<RequestDataContext> request = completionContext.getLoadBalancerRequest();
+
+        if (request.getContext() instanceof TimedRequestContext timedContext && timedContext.getRequestStartTime() > 0) {
+            instanceStatsRegistry.get(lbResponse.getServer()).observe(System.nanoTime() - timedContext.getRequestStartTime());
+        }
+
+        outlierDetector.onResult(lbResponse.getServer(), isFailure(completionContext));
+    }
+
+    /**
+     * Connection errors and timeouts end with {@link CompletionContext.Status#FAILED}, a 5xx answer means the instance
+     * was reached but could not serve the request
+     */
+    private boolean isFailure(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+
+        ResponseData responseData = completionContext.getClientResponse();
+        return Objects.nonNull(responseData)
+                && Objects.nonNull(responseData.getHttpStatus())
+                && responseData.getHttpStatus().is5xxServerError();
+    }
+}
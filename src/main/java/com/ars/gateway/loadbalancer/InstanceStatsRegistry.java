@@ -0,0 +1,97 @@
+package com.ars.gateway.loadbalancer;
+
+import com.ars.gateway.config.properties.LoadBalancerProps;
+import com.ars.gateway.constants.LoadBalancerConstants;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the {@link InstanceStats} of every downstream instance the gateway has sent traffic to
+ * <p>
+ * Each instance is exported with the {@link LoadBalancerConstants#INSTANCE_SCORE_METRIC},
+ * {@link LoadBalancerConstants#INSTANCE_LATENCY_METRIC} and {@link LoadBalancerConstants#INSTANCE_IN_FLIGHT_METRIC}
+ * gauges, tagged by service and {@code host:port}
+ * <p>
+ * Instances come and go with every deployment: the stats and gauges of the instances that left the last known
+ * members of their service (see {@link RegistrySnapshotStore}) are removed every {@value #CLEANUP_INTERVAL_SECONDS}s
+ *
+ * @author thoaidc
+ */
+@Component
+public class InstanceStatsRegistry {
+    private static final Logger log = LoggerFactory.getLogger(InstanceStatsRegistry.class);
+    private static final long CLEANUP_INTERVAL_SECONDS = 60;
+    private final Map<String, TrackedInstance> stats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final RegistrySnapshotStore registrySnapshotStore;
+    private final long decayNanos;
+    private final long initialLatencyNanos;
+
+    public InstanceStatsRegistry(MeterRegistry meterRegistry,
+                                 RegistrySnapshotStore registrySnapshotStore,
+                                 LoadBalancerProps loadBalancerProps) {
+        this.meterRegistry = meterRegistry;
+        this.registrySnapshotStore = registrySnapshotStore;
+        this.decayNanos = loadBalancerProps.getPeakEwma().getDecayTime().toNanos();
+        this.initialLatencyNanos = loadBalancerProps.getPeakEwma().getInitialLatency().toNanos();
+    }
+
+    public static String instanceKey(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        String serviceId = instance.getServiceId();
+        String instanceKey = instanceKey(instance);
+        return stats.computeIfAbsent(serviceId + "/" + instanceKey, ignored -> create(serviceId, instanceKey)).instanceStats();
+    }
+
+    @Scheduled(fixedDelay = CLEANUP_INTERVAL_SECONDS, initialDelay = CLEANUP_INTERVAL_SECONDS, timeUnit = TimeUnit.SECONDS)
+    public void removeDepartedInstances() {
+        stats.forEach((key, tracked) -> {
+            InstanceStats instanceStats = tracked.instanceStats();
+            List<ServiceInstance> members = registrySnapshotStore.get(instanceStats.getServiceId());
+
+            // Unknown members (service never discovered): nothing proves the instance is gone
+            if (members.isEmpty() || members.stream().anyMatch(member -> instanceKey(member).equals(instanceStats.getInstance()))) {
+                return;
+            }
+
+            if (stats.remove(key, tracked)) {
+                tracked.meterIds().forEach(meterRegistry::remove);
+                log.info("[INSTANCE_STATS_REMOVED] - service: {}, instance: {}", instanceStats.getServiceId(), instanceStats.getInstance());
+            }
+        });
+    }
+
+    private TrackedInstance create(String serviceId, String instanceKey) {
+        InstanceStats instanceStats = new InstanceStats(serviceId, instanceKey, decayNanos, initialLatencyNanos);
+        Tags tags = Tags.of(LoadBalancerConstants.SERVICE_TAG, serviceId, LoadBalancerConstants.INSTANCE_TAG, instanceKey);
+        Gauge score = Gauge.builder(LoadBalancerConstants.INSTANCE_SCORE_METRIC, instanceStats, InstanceStats::score)
+            .tags(tags)
+            .register(meterRegistry);
+        Gauge latency = Gauge.builder(LoadBalancerConstants.INSTANCE_LATENCY_METRIC, instanceStats, InstanceStats::getLatencyMillis)
+            .tags(tags)
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge inFlight = Gauge.builder(LoadBalancerConstants.INSTANCE_IN_FLIGHT_METRIC, instanceStats, InstanceStats::getInFlight)
+            .tags(tags)
+            .register(meterRegistry);
+        return new TrackedInstance(instanceStats, List.of(score.getId(), latency.getId(), inFlight.getId()));
+    }
+
+    private record TrackedInstance(InstanceStats instanceStats, List<Meter.Id> meterIds) {}
+}
@@ -0,0 +1,136 @@
+package com.ars.gateway.loadbalancer;
+
+import com.ars.gateway.common.EncryptionUtils;
+import com.ars.gateway.config.properties.LoadBalancerProps;
+import com.ars.gateway.constants.CommonConstants;
+import com.ars.gateway.dto.CheckValidDeviceIdResponseDTO;
+import com.dct.model.constants.BaseSecurityConstants;
+import com.dct.model.dto.auth.BaseUserDTO;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Resolves the hash key used by {@link ConsistentHashLoadBalancer} and stores it in the
+ * {@link CommonConstants#LOAD_BALANCER_HASH_KEY_ATTRIBUTE} exchange attribute
+ *
+ * <ul>
+ *     <li>Runs right before {@link ReactiveLoadBalancerClientFilter}, only for {@code lb} routes of services using
+ *     {@link LoadBalancerProps.Strategy#CONSISTENT_HASH}</li>
+ *     <li>
+ *         Sources are tried in the order of {@code app.load-balancer.consistent-hash.key-sources}.
+ *         {@code USER_ID} is only available when the request was authenticated by {@code JwtFilter},
+ *         {@code DEVICE_ID} uses the decrypted device ID so the key stays stable across re-encryptions of the header
+ *     </li>
+ *     <li>
+ *         Decrypted device IDs are cached by header value ({@value #DEVICE_ID_CACHE_SIZE} entries), a client sending
+ *         the same header costs one AES decryption, not one per request
+ *     </li>
+ *     <li>Each key is prefixed by its source so a user ID never collides with a device ID or an IP</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+public class LoadBalancerHashKeyFilter implements GlobalFilter, Ordered {
+    private static final String LOAD_BALANCER_SCHEME = "lb";
+    private static final long DEVICE_ID_CACHE_SIZE = 10_000;
+    private static final String INVALID_DEVICE_ID = "";
+    private final LoadBalancerProps loadBalancerProps;
+    private final EncryptionUtils encryptionUtils;
+    private final Cache<String, String> decryptedDeviceIds = Caffeine.newBuilder()
+        .maximumSize(DEVICE_ID_CACHE_SIZE)
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .build();
+
+    public LoadBalancerHashKeyFilter(LoadBalancerProps loadBalancerProps, EncryptionUtils encryptionUtils) {
+        this.loadBalancerProps = loadBalancerProps;
+        this.encryptionUtils = encryptionUtils;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        String schemePrefix = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_SCHEME_PREFIX_ATTR);
+
+        if (Objects.isNull(url)
+                || (!LOAD_BALANCER_SCHEME.equals(url.getScheme()) && !LOAD_BALANCER_SCHEME.equals(schemePrefix))
+                || loadBalancerProps.getStrategy(url.getHost()) != LoadBalancerProps.Strategy.CONSISTENT_HASH) {
+            return chain.filter(exchange);
+        }
+
+        String hashKey = resolveHashKey(exchange);
+
+        if (Objects.nonNull(hashKey)) {
+            exchange.getAttributes().put(CommonConstants.LOAD_BALANCER_HASH_KEY_ATTRIBUTE, hashKey);
+        }
+
+        return chain.filter(exchange);
+    }
+
+    private String resolveHashKey(ServerWebExchange exchange) {
+        for (LoadBalancerProps.HashKeySource source : loadBalancerProps.getConsistentHash().getKeySources()) {
+            String value = switch (source) {
+                case USER_ID -> resolveUserId(exchange);
+                case DEVICE_ID -> resolveDeviceId(exchange);
+                case CLIENT_IP -> resolveClientIp(exchange);
+            };
+
+            if (StringUtils.hasText(value)) {
+                return source.name() + ":" + value;
+            }
+        }
+
+        return null;
+    }
+
+    private String resolveUserId(ServerWebExchange exchange) {
+        BaseUserDTO userDTO = exchange.getAttribute(CommonConstants.AUTHENTICATION_EXCHANGE_ATTRIBUTE);
+        return Objects.nonNull(userDTO) && Objects.nonNull(userDTO.getId()) ? String.valueOf(userDTO.getId()) : null;
+    }
+
+    private String resolveDeviceId(ServerWebExchange exchange) {
+        String deviceId = exchange.getRequest().getHeaders().getFirst(BaseSecurityConstants.HEADER.X_DEVICE_ID);
+
+        if (!StringUtils.hasText(deviceId)) {
+            return null;
+        }
+
+        // Invalid headers are cached too, as an empty value: the cache cannot hold null
+        String decrypted = decryptedDeviceIds.get(deviceId, header -> {
+            CheckValidDeviceIdResponseDTO result = encryptionUtils.checkValidDeviceId(header);
+            return result.isValid() && StringUtils.hasText(result.getDeviceId()) ? result.getDeviceId() : INVALID_DEVICE_ID;
+        });
+        return StringUtils.hasText(decrypted) ? decrypted : null;
+    }
+
+    private String resolveClientIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+
+        if (Objects.isNull(remoteAddress) || Objects.isNull(remoteAddress.getAddress())) {
+            return null;
+        }
+
+        return remoteAddress.getAddress().getHostAddress();
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+}
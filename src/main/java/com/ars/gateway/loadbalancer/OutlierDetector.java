@@ -0,0 +1,256 @@
+package com.ars.gateway.loadbalancer;
+
+import com.ars.gateway.config.properties.LoadBalancerProps;
+import com.ars.gateway.constants.LoadBalancerConstants;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Passive health checking of downstream instances based on the results of real gateway traffic
+ *
+ * <p>Ejection:
+ * <ul>
+ *     <li>An instance is ejected after {@code consecutiveErrors} failures in a row, or when its failure ratio within
+ *     the current {@code interval} reaches {@code errorRateThreshold} over at least {@code minimumRequests} requests</li>
+ *     <li>The ejection lasts {@code baseEjectionTime x 2^(n-1)} for the n-th ejection, capped by {@code maxEjectionTime}</li>
+ *     <li>No more than {@code maxEjectionPercent} of the known instances of a service are ejected at the same time,
+ *     so a service-wide incident never removes every instance</li>
+ * </ul>
+ *
+ * <p>Reintroduction: once its ejection expires, an instance is kept in the candidate list with a probability
+ * growing linearly from 0 to 1 over {@code recoveryTime}, instead of receiving its full share of traffic at once
+ *
+ * @author thoaidc
+ */
+@Component
+public class OutlierDetector {
+    private static final Logger log = LoggerFactory.getLogger(OutlierDetector.class);
+    private final Map<String, InstanceHealth> instances = new ConcurrentHashMap<>();
+    private final Map<String, Integer> knownInstanceCounts = new ConcurrentHashMap<>();
+    private final Set<String> gaugedServices = ConcurrentHashMap.newKeySet();
+    private final LoadBalancerProps.OutlierDetection config;
+    private final MeterRegistry meterRegistry;
+
+    public OutlierDetector(LoadBalancerProps loadBalancerProps, MeterRegistry meterRegistry) {
+        this.config = loadBalancerProps.getOutlierDetection();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public void onResult(ServiceInstance instance, boolean failed) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        InstanceHealth health = getHealth(instance);
+        String reason = health.record(failed, System.nanoTime());
+
+        if (reason != null) {
+            eject(health, reason);
+        }
+    }
+
+    /**
+     * Removes ejected instances from the candidate list of a load balancer
+     * @param serviceId the service whose instances are filtered
+     * @param candidates all instances currently known for the service
+     * @return the instances that may receive traffic, or all candidates if every one of them is ejected
+     */
+    public List<ServiceInstance> filter(String serviceId, List<ServiceInstance> candidates) {
+        if (!config.isEnabled() || candidates.isEmpty()) {
+            return candidates;
+        }
+
+        knownInstanceCounts.put(serviceId, candidates.size());
+        long now = System.nanoTime();
+        List<ServiceInstance> available = new ArrayList<>(candidates.size());
+
+        for (ServiceInstance candidate : candidates) {
+            InstanceHealth health = instances.get(key(candidate));
+
+            if (health == null || health.isAvailable(now, config.getRecoveryTime().toNanos())) {
+                available.add(candidate);
+            }
+        }
+
+        // Never leave a service without instances, sending traffic to a degraded instance beats failing every request
+        return available.isEmpty() ? candidates : available;
+    }
+
+    private void eject(InstanceHealth health, String reason) {
+        int knownInstances = knownInstanceCounts.getOrDefault(health.serviceId, 1);
+        long ejected = countEjected(health.serviceId);
+        int maxEjected = Math.max(knownInstances * config.getMaxEjectionPercent() / 100, 0);
+
+        if (ejected >= maxEjected) {
+            log.warn(
+                "[OUTLIER_EJECTION_SKIPPED] - service: {}, instance: {}, reason: {}, ejected: {}/{} (max {}%)",
+                health.serviceId,
+                health.instance,
+                reason,
+                ejected,
+                knownInstances,
+                config.getMaxEjectionPercent()
+            );
+            health.resetCounters();
+            return;
+        }
+
+        long ejectionNanos = health.eject(config.getBaseEjectionTime().toNanos(), config.getMaxEjectionTime().toNanos());
+        Counter.builder(LoadBalancerConstants.OUTLIER_EJECTIONS_METRIC)
+            .tag(LoadBalancerConstants.SERVICE_TAG, health.serviceId)
+            .tag(LoadBalancerConstants.INSTANCE_TAG, health.instance)
+            .tag(LoadBalancerConstants.REASON_TAG, reason)
+            .register(meterRegistry)
+            .increment();
+        log.warn(
+            "[INSTANCE_EJECTED] - service: {}, instance: {}, reason: {}, ejectedFor: {}ms",
+            health.serviceId,
+            health.instance,
+            reason,
+            ejectionNanos / 1_000_000
+        );
+    }
+
+    private long countEjected(String serviceId) {
+        long now = System.nanoTime();
+        return instances.values()
+            .stream()
+            .filter(health -> health.serviceId.equals(serviceId) && health.isEjected(now))
+            .count();
+    }
+
+    private InstanceHealth getHealth(ServiceInstance instance) {
+        String serviceId = instance.getServiceId();
+
+        if (gaugedServices.add(serviceId)) {
+            Gauge.builder(LoadBalancerConstants.OUTLIER_EJECTED_METRIC, () -> countEjected(serviceId))
+                .tag(LoadBalancerConstants.SERVICE_TAG, serviceId)
+                .register(meterRegistry);
+        }
+
+        return instances.computeIfAbsent(
+            key(instance),
+            ignored -> new InstanceHealth(serviceId, InstanceStatsRegistry.instanceKey(instance))
+        );
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "/" + InstanceStatsRegistry.instanceKey(instance);
+    }
+
+    private class InstanceHealth {
+        private final String serviceId;
+        private final String instance;
+        private int consecutiveFailures;
+        private int intervalRequests;
+        private int intervalFailures;
+        private long intervalStartNanos = System.nanoTime();
+        private int ejectionCount;
+        private volatile long ejectedUntilNanos;
+        private volatile boolean recovering;
+
+        private InstanceHealth(String serviceId, String instance) {
+            this.serviceId = serviceId;
+            this.instance = instance;
+            // nanoTime has an arbitrary origin, so "not ejected" must be expressed relative to it
+            this.ejectedUntilNanos = System.nanoTime();
+        }
+
+        /**
+         * @return the ejection reason if this result crossed a threshold, otherwise null
+         */
+        private synchronized String record(boolean failed, long now) {
+            if (isEjected(now)) {
+                return null;
+            }
+
+            if (now - intervalStartNanos > config.getInterval().toNanos()) {
+                intervalStartNanos = now;
+                intervalRequests = 0;
+                intervalFailures = 0;
+            }
+
+            intervalRequests++;
+
+            if (!failed) {
+                consecutiveFailures = 0;
+                return null;
+            }
+
+            consecutiveFailures++;
+            intervalFailures++;
+
+            if (consecutiveFailures >= config.getConsecutiveErrors()) {
+                return LoadBalancerConstants.REASON_CONSECUTIVE_ERRORS;
+            }
+
+            if (intervalRequests >= config.getMinimumRequests()
+                    && (double) intervalFailures / intervalRequests >= config.getErrorRateThreshold()) {
+                return LoadBalancerConstants.REASON_ERROR_RATE;
+            }
+
+            return null;
+        }
+
+        private synchronized long eject(long baseNanos, long maxNanos) {
+            ejectionCount++;
+            long ejectionNanos = Math.min(baseNanos << Math.min(ejectionCount - 1, 20), maxNanos);
+            ejectedUntilNanos = System.nanoTime() + ejectionNanos;
+            recovering = true;
+            resetCounters();
+            return ejectionNanos;
+        }
+
+        private synchronized void resetCounters() {
+            consecutiveFailures = 0;
+            intervalRequests = 0;
+            intervalFailures = 0;
+            intervalStartNanos = System.nanoTime();
+        }
+
+        private boolean isEjected(long now) {
+            return ejectedUntilNanos - now > 0;
+        }
+
+        private boolean isAvailable(long now, long recoveryNanos) {
+            if (isEjected(now)) {
+                return false;
+            }
+
+            if (!recovering) {
+                return true;
+            }
+
+            long sinceReintroduction = now - ejectedUntilNanos;
+
+            if (sinceReintroduction >= recoveryNanos) {
+                recovering = false;
+                // A full healthy recovery period forgives previous ejections
+                synchronized (this) {
+                    ejectionCount = 0;
+                }
+                log.info("[INSTANCE_REINTRODUCED] - service: {}, instance: {}", serviceId, instance);
+                return true;
+            }
+
+            return ThreadLocalRandom.current().nextDouble() < (double) sinceReintroduction / recoveryNanos;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ars.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Removes the instances currently ejected by {@link OutlierDetector} before any load balancing strategy chooses one
+ * @author thoaidc
+ */
+public class OutlierFilteringServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+    private final OutlierDetector outlierDetector;
+
+    public OutlierFilteringServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, OutlierDetector outlierDetector) {
+        super(delegate);
+        this.outlierDetector = outlierDetector;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return getDelegate().get().map(instances -> outlierDetector.filter(getServiceId(), instances));
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Flux<List<ServiceInstance>> get(Request request) {
+        return getDelegate().get(request).map(instances -> outlierDetector.filter(getServiceId(), instances));
+    }
+}
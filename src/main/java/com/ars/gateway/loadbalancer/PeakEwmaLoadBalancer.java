@@ -0,0 +1,90 @@
+package com.ars.gateway.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency-aware load balancer using the power of two choices over peak EWMA scores
+ *
+ * <ul>
+ *     <li>Picks two distinct instances at random and sends the request to the one with the lower {@link InstanceStats#score()}</li>
+ *     <li>
+ *         Random sampling avoids the herd effect of always choosing the single best instance,
+ *         while comparing two candidates is enough to steer traffic away from a slow (e.g. GC-pausing) instance
+ *     </li>
+ *     <li>Scores are fed from the gateway's own traffic by {@link InstanceStatsLoadBalancerLifecycle}</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+    private static final Logger log = LoggerFactory.getLogger(PeakEwmaLoadBalancer.class);
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final InstanceStatsRegistry instanceStatsRegistry;
+    private final String serviceId;
+
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                InstanceStatsRegistry instanceStatsRegistry,
+                                String serviceId) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.instanceStatsRegistry = instanceStatsRegistry;
+        this.serviceId = serviceId;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances);
+
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+
+            return response;
+        });
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("[PEAK_EWMA_LOAD_BALANCER] - No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        // Shift the second pick past the first one so both candidates are always distinct
+        int second = random.nextInt(instances.size() - 1);
+
+        if (second >= first) {
+            second++;
+        }
+
+        ServiceInstance firstInstance = instances.get(first);
+        ServiceInstance secondInstance = instances.get(second);
+        double firstScore = instanceStatsRegistry.get(firstInstance).score();
+        double secondScore = instanceStatsRegistry.get(secondInstance).score();
+        return new DefaultResponse(firstScore <= secondScore ? firstInstance : secondInstance);
+    }
+}
@@ -0,0 +1,157 @@
+package com.ars.gateway.loadbalancer;
+
+import com.ars.gateway.config.properties.RegistryProps;
+import com.ars.gateway.dto.ServiceInstanceSnapshotDTO;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Last-known instances of every service routed by the gateway, kept in memory and persisted to a local JSON file
+ *
+ * <ul>
+ *     <li>
+ *         Loaded at startup, so {@code lb://} routes are usable before the first Eureka fetch completes
+ *         and while Eureka is unreachable, see {@link SnapshotFallbackServiceInstanceListSupplier}
+ *     </li>
+ *     <li>Updated from every non-empty discovery result and written to disk only when it changed</li>
+ *     <li>
+ *         In {@link RegistryProps.Mode#STATIC} mode, loaded from {@code app.registry.static-file} instead
+ *         and never written, see {@link StaticServiceInstanceListSupplier}
+ *     </li>
+ * </ul>
+ *
+ * File format: {@code {"SERVICE-ID": [{"instanceId": "...", "host": "...", "port": 8080, "secure": false, "metadata": {}}]}}
+ *
+ * @author thoaidc
+ */
+@Component
+public class RegistrySnapshotStore {
+    private static final Logger log = LoggerFactory.getLogger(RegistrySnapshotStore.class);
+    private static final TypeReference<Map<String, List<ServiceInstanceSnapshotDTO>>> SNAPSHOT_TYPE = new TypeReference<>() {};
+    private final Map<String, List<ServiceInstance>> instances = new ConcurrentHashMap<>();
+    private final RegistryProps registryProps;
+    private final ObjectMapper objectMapper;
+    private volatile boolean dirty;
+
+    public RegistrySnapshotStore(RegistryProps registryProps, ObjectMapper objectMapper) {
+        this.registryProps = registryProps;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void load() {
+        boolean staticMode = registryProps.getMode() == RegistryProps.Mode.STATIC;
+
+        if (!staticMode && !registryProps.getSnapshot().isEnabled()) {
+            return;
+        }
+
+        Path file = Path.of(staticMode ? registryProps.getStaticFile() : registryProps.getSnapshot().getFile());
+
+        if (!Files.isReadable(file)) {
+            log.info("[REGISTRY_SNAPSHOT_NOT_FOUND] - file: {}", file.toAbsolutePath());
+            return;
+        }
+
+        try {
+            Map<String, List<ServiceInstanceSnapshotDTO>> snapshot = objectMapper.readValue(file.toFile(), SNAPSHOT_TYPE);
+            snapshot.forEach((serviceId, snapshotInstances) -> instances.put(
+                normalize(serviceId),
+                snapshotInstances.stream().map(instance -> instance.toServiceInstance(serviceId)).toList()
+            ));
+            log.info("[REGISTRY_SNAPSHOT_LOADED] - file: {}, services: {}", file.toAbsolutePath(), instances.keySet());
+        } catch (Exception e) {
+            // A corrupted snapshot must never prevent startup, discovery will rebuild it
+            log.error("[REGISTRY_SNAPSHOT_LOAD_FAILED] - file: {}, error: {}", file.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    public List<ServiceInstance> get(String serviceId) {
+        return Objects.isNull(serviceId) ? List.of() : instances.getOrDefault(normalize(serviceId), List.of());
+    }
+
+    public void update(String serviceId, List<ServiceInstance> discovered) {
+        if (Objects.isNull(serviceId) || discovered.isEmpty() || registryProps.getMode() == RegistryProps.Mode.STATIC) {
+            return;
+        }
+
+        List<ServiceInstance> previous = instances.put(normalize(serviceId), List.copyOf(discovered));
+
+        if (Objects.isNull(previous) || !sameMembers(previous, discovered)) {
+            dirty = true;
+        }
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.registry.snapshot.persist-interval:30s}",
+        fixedDelayString = "${app.registry.snapshot.persist-interval:30s}"
+    )
+    public void persistIfChanged() {
+        if (dirty) {
+            persist();
+        }
+    }
+
+    @PreDestroy
+    public void persistOnShutdown() {
+        persistIfChanged();
+    }
+
+    private synchronized void persist() {
+        if (registryProps.getMode() == RegistryProps.Mode.STATIC || !registryProps.getSnapshot().isEnabled()) {
+            return;
+        }
+
+        dirty = false;
+        Path file = Path.of(registryProps.getSnapshot().getFile()).toAbsolutePath();
+        Map<String, List<ServiceInstanceSnapshotDTO>> snapshot = new TreeMap<>();
+        instances.forEach((serviceId, serviceInstances) -> snapshot.put(
+            serviceId,
+            serviceInstances.stream().map(ServiceInstanceSnapshotDTO::new).toList()
+        ));
+
+        try {
+            Files.createDirectories(file.getParent());
+            Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), snapshot);
+            // Readers (next startup) must never see a partially written snapshot
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("[REGISTRY_SNAPSHOT_PERSISTED] - file: {}, services: {}", file, snapshot.keySet());
+        } catch (Exception e) {
+            dirty = true;
+            log.error("[REGISTRY_SNAPSHOT_PERSIST_FAILED] - file: {}, error: {}", file, e.getMessage());
+        }
+    }
+
+    private static boolean sameMembers(List<ServiceInstance> previous, List<ServiceInstance> current) {
+        return previous.size() == current.size() && members(previous).equals(members(current));
+    }
+
+    private static Set<String> members(List<ServiceInstance> serviceInstances) {
+        return serviceInstances.stream().map(InstanceStatsRegistry::instanceKey).collect(Collectors.toSet());
+    }
+
+    private static String normalize(String serviceId) {
+        return serviceId.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ars.gateway.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Keeps {@link RegistrySnapshotStore} up to date from the discovery client and serves the snapshot instead
+ * whenever discovery has no instance for the service (first Eureka fetch not done yet, Eureka unreachable)
+ * @author thoaidc
+ */
+public class SnapshotFallbackServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+    private static final Logger log = LoggerFactory.getLogger(SnapshotFallbackServiceInstanceListSupplier.class);
+    private final RegistrySnapshotStore registrySnapshotStore;
+
+    public SnapshotFallbackServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+                                                       RegistrySnapshotStore registrySnapshotStore) {
+        super(delegate);
+        this.registrySnapshotStore = registrySnapshotStore;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return getDelegate().get()
+            .map(this::updateOrFallback)
+            .onErrorResume(error -> {
+                log.warn("[REGISTRY_DISCOVERY_FAILED] - service: {}, error: {}", getServiceId(), error.getMessage());
+                return Flux.just(registrySnapshotStore.get(getServiceId()));
+            });
+    }
+
+    private List<ServiceInstance> updateOrFallback(List<ServiceInstance> discovered) {
+        if (!discovered.isEmpty()) {
+            registrySnapshotStore.update(getServiceId(), discovered);
+            return discovered;
+        }
+
+        List<ServiceInstance> snapshot = registrySnapshotStore.get(getServiceId());
+
+        if (!snapshot.isEmpty()) {
+            log.debug("[REGISTRY_SNAPSHOT_FALLBACK] - service: {}, instances: {}", getServiceId(), snapshot.size());
+        }
+
+        return snapshot;
+    }
+}
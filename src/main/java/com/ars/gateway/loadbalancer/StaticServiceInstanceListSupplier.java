@@ -0,0 +1,33 @@
+package com.ars.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Base supplier of the {@code static} registry mode: instances come only from the file loaded by
+ * {@link RegistrySnapshotStore}, the discovery client is never called
+ * @author thoaidc
+ */
+public class StaticServiceInstanceListSupplier implements ServiceInstanceListSupplier {
+    private final String serviceId;
+    private final RegistrySnapshotStore registrySnapshotStore;
+
+    public StaticServiceInstanceListSupplier(String serviceId, RegistrySnapshotStore registrySnapshotStore) {
+        this.serviceId = serviceId;
+        this.registrySnapshotStore = registrySnapshotStore;
+    }
+
+    @Override
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return Flux.just(registrySnapshotStore.get(serviceId));
+    }
+}
@@ -0,0 +1,40 @@
+package com.ars.gateway.metrics;
+
+import io.micrometer.common.KeyValue;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * {@code uri} tag of the {@code http.server.requests} metric for proxied requests
+ * <p>
+ * WebFlux tags requests without a handler path pattern as {@code UNKNOWN}, which is every request routed by the gateway.
+ * They are tagged with their path template instead, requests handled locally (actuator...) keep the default tag
+ *
+ * @author thoaidc
+ */
+@Component
+public class PathTemplateObservationConvention extends DefaultServerRequestObservationConvention {
+    private static final String URI_TAG = "uri";
+    private final PathTemplateResolver pathTemplateResolver;
+
+    public PathTemplateObservationConvention(PathTemplateResolver pathTemplateResolver) {
+        this.pathTemplateResolver = pathTemplateResolver;
+    }
+
+    @Override
+    protected KeyValue uri(ServerRequestObservationContext context) {
+        Object route = context.getAttributes().get(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+        if (Objects.isNull(route) || Objects.nonNull(context.getPathPattern()) || Objects.isNull(context.getCarrier())) {
+            return super.uri(context);
+        }
+
+        String routePattern = (String) context.getAttributes().get(ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ATTR);
+        String path = context.getCarrier().getPath().value();
+        return KeyValue.of(URI_TAG, pathTemplateResolver.resolve(path, routePattern));
+    }
+}
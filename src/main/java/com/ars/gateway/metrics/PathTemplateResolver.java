@@ -0,0 +1,163 @@
+package com.ars.gateway.metrics;
+
+import com.ars.gateway.config.properties.PathTemplateProps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Maps raw request paths to a bounded set of templates, used as metric tags instead of the raw path
+ *
+ * <ul>
+ *     <li>Numeric, UUID and opaque token segments are replaced by {@code {id}}, {@code {uuid}} and {@code {token}}</li>
+ *     <li>
+ *         Other segments are learned in a prefix tree: a position that has seen more than
+ *         {@code maxDistinctValues} values under the same prefix is collapsed to {@code {var}}
+ *     </li>
+ *     <li>
+ *         At most {@code maxTemplates} templates are ever produced. Once the cap is reached, unknown paths are tagged
+ *         with the pattern of the route predicate that matched them (e.g. {@code /api/v1/products/**})
+ *     </li>
+ * </ul>
+ *
+ * E.g. {@code /api/p/v1/products/123/reviews} -> {@code /api/p/v1/products/{id}/reviews}
+ *
+ * @author thoaidc
+ */
+@Component
+@EnableConfigurationProperties(PathTemplateProps.class)
+public class PathTemplateResolver {
+    private static final Logger log = LoggerFactory.getLogger(PathTemplateResolver.class);
+    private static final Pattern NUMERIC = Pattern.compile("\\d+");
+    private static final Pattern UUID = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    // Hashes, encoded IDs, file names with a generated part: long segments mixing letters and digits
+    private static final Pattern TOKEN = Pattern.compile("(?=.*\\d)(?=.*[a-zA-Z])[\\w.=-]{16,}");
+    private static final String ID = "{id}";
+    private static final String UUID_VALUE = "{uuid}";
+    private static final String TOKEN_VALUE = "{token}";
+    private static final String VARIABLE = "{var}";
+    private static final String ANY = "/**";
+    private final Set<String> templates = ConcurrentHashMap.newKeySet();
+    private final Node root = new Node();
+    private final PathTemplateProps pathTemplateProps;
+    private volatile boolean capReached;
+
+    public PathTemplateResolver(PathTemplateProps pathTemplateProps) {
+        this.pathTemplateProps = pathTemplateProps;
+    }
+
+    /**
+     * @param path raw request path
+     * @param routePattern pattern of the route predicate that matched the request, may be null
+     */
+    public String resolve(String path, String routePattern) {
+        String fallback = StringUtils.hasText(routePattern) ? routePattern : ANY;
+
+        if (!StringUtils.hasText(path) || "/".equals(path)) {
+            return "/";
+        }
+
+        String[] segments = StringUtils.tokenizeToStringArray(path, "/");
+        int depth = Math.min(segments.length, pathTemplateProps.getMaxSegments());
+        StringBuilder template = new StringBuilder(path.length());
+        Node node = root;
+
+        for (int i = 0; i < depth; i++) {
+            node = node.child(normalize(segments[i]), pathTemplateProps.getMaxDistinctValues(), capReached);
+
+            if (Objects.isNull(node)) {
+                return fallback;
+            }
+
+            template.append('/').append(node.value);
+        }
+
+        if (segments.length > depth) {
+            template.append(ANY);
+        }
+
+        return register(template.toString(), fallback);
+    }
+
+    private String register(String template, String fallback) {
+        if (templates.contains(template)) {
+            return template;
+        }
+
+        if (templates.size() >= pathTemplateProps.getMaxTemplates()) {
+            if (!capReached) {
+                capReached = true;
+                log.warn("[PATH_TEMPLATE_CAP_REACHED] - maxTemplates: {}, new paths are tagged with their route pattern", templates.size());
+            }
+
+            return fallback;
+        }
+
+        templates.add(template);
+        return template;
+    }
+
+    private static String normalize(String segment) {
+        if (NUMERIC.matcher(segment).matches()) {
+            return ID;
+        }
+
+        if (UUID.matcher(segment).matches()) {
+            return UUID_VALUE;
+        }
+
+        return TOKEN.matcher(segment).matches() ? TOKEN_VALUE : segment;
+    }
+
+    private static final class Node {
+        private final String value;
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+        private volatile Node variable;
+
+        private Node() {
+            this("");
+        }
+
+        private Node(String value) {
+            this.value = value;
+        }
+
+        /**
+         * @return the child of this segment, or null when it is unknown and no new node may be created
+         */
+        private Node child(String segment, int maxDistinctValues, boolean frozen) {
+            if (Objects.nonNull(variable)) {
+                return variable;
+            }
+
+            Node child = children.get(segment);
+
+            if (Objects.nonNull(child) || frozen) {
+                return child;
+            }
+
+            if (children.size() >= maxDistinctValues) {
+                return collapse();
+            }
+
+            return children.computeIfAbsent(segment, Node::new);
+        }
+
+        private synchronized Node collapse() {
+            if (Objects.isNull(variable)) {
+                variable = new Node(VARIABLE);
+            }
+
+            return variable;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ars.gateway.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.gateway.support.tagsprovider.GatewayTagsProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * {@code path} tag of the {@code spring.cloud.gateway.requests} metric, replaces the built-in path tag
+ * ({@code spring.cloud.gateway.metrics.tags.path.enabled} must stay false)
+ *
+ * @author thoaidc
+ */
+@Component
+public class PathTemplateTagsProvider implements GatewayTagsProvider {
+    private static final String PATH_TAG = "path";
+    private final PathTemplateResolver pathTemplateResolver;
+
+    public PathTemplateTagsProvider(PathTemplateResolver pathTemplateResolver) {
+        this.pathTemplateResolver = pathTemplateResolver;
+    }
+
+    @Override
+    public Tags apply(ServerWebExchange exchange) {
+        String routePattern = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ATTR);
+        String path = exchange.getRequest().getPath().value();
+        return Tags.of(PATH_TAG, pathTemplateResolver.resolve(path, routePattern));
+    }
+}
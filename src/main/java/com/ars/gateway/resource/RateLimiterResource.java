@@ -1,5 +1,6 @@
 package com.ars.gateway.resource;
 
+import com.ars.gateway.configsync.GatewayConfigSynchronizer;
 import com.ars.gateway.service.RateLimitConfigService;
 import com.dct.model.constants.BaseRoleConstants;
 import com.dct.model.dto.response.BaseResponseDTO;
@@ -17,16 +18,17 @@ import java.util.List;
 @RequestMapping("/api/v1/gateway/securities/rate-limiter")
 public class RateLimiterResource {
     private final RateLimitConfigService rateLimitConfigService;
+    private final GatewayConfigSynchronizer configSynchronizer;
 
-    public RateLimiterResource(RateLimitConfigService rateLimitConfigService) {
+    public RateLimiterResource(RateLimitConfigService rateLimitConfigService, GatewayConfigSynchronizer configSynchronizer) {
         this.rateLimitConfigService = rateLimitConfigService;
+        this.configSynchronizer = configSynchronizer;
     }
 
     @PostMapping("/refresh")
     @PreAuthorize("hasAuthority('" + BaseRoleConstants.System.SYSTEM + "')")
     public Mono<BaseResponseDTO> refreshRateLimitConfig() {
-        rateLimitConfigService.refreshRateLimitConfig();
-        return Mono.just(BaseResponseDTO.builder().ok());
+        return configSynchronizer.publish().map(version -> BaseResponseDTO.builder().ok());
     }
 
     @GetMapping("/excluded")
@@ -38,7 +40,6 @@ public class RateLimiterResource {
     @PostMapping("/excluded")
     @PreAuthorize("hasAuthority('" + BaseRoleConstants.System.SYSTEM + "')")
     public Mono<BaseResponseDTO> updateRateExcludedApis() {
-        rateLimitConfigService.refreshRateLimitExcludedApis();
-        return Mono.just(BaseResponseDTO.builder().ok());
+        return configSynchronizer.publish().map(version -> BaseResponseDTO.builder().ok());
     }
 }
@@ -1,22 +1,32 @@
 package com.ars.gateway.resource;
 
 import com.ars.gateway.dto.RouteConfigDTO;
+import com.ars.gateway.route.RedisRouteDefinitionRepository;
 import com.ars.gateway.service.RouteConfigService;
 import com.dct.model.constants.BaseRoleConstants;
+import com.dct.model.dto.response.BaseResponseDTO;
 
+import org.springframework.cloud.gateway.route.RouteDefinition;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/v1/gateway/securities/routes")
 public class RouteConfigResource {
     private final RouteConfigService routeConfigService;
+    private final RedisRouteDefinitionRepository routeDefinitionRepository;
 
-    public RouteConfigResource(RouteConfigService routeConfigService) {
+    public RouteConfigResource(RouteConfigService routeConfigService, RedisRouteDefinitionRepository routeDefinitionRepository) {
         this.routeConfigService = routeConfigService;
+        this.routeDefinitionRepository = routeDefinitionRepository;
     }
 
     @GetMapping
@@ -24,4 +34,23 @@ public class RouteConfigResource {
     public Flux<RouteConfigDTO> getRoutesConfig() {
         return Flux.fromIterable(routeConfigService.getRoutesConfig());
     }
+
+    @GetMapping("/dynamic")
+    @PreAuthorize("hasAuthority('" + BaseRoleConstants.System.SYSTEM + "')")
+    public Flux<RouteDefinition> getDynamicRoutes() {
+        return routeDefinitionRepository.getRouteDefinitions();
+    }
+
+    @PutMapping("/dynamic/{routeId}")
+    @PreAuthorize("hasAuthority('" + BaseRoleConstants.System.SYSTEM + "')")
+    public Mono<BaseResponseDTO> saveDynamicRoute(@PathVariable String routeId, @RequestBody RouteDefinition routeDefinition) {
+        routeDefinition.setId(routeId);
+        return routeDefinitionRepository.store(routeDefinition).map(version -> BaseResponseDTO.builder().ok());
+    }
+
+    @DeleteMapping("/dynamic/{routeId}")
+    @PreAuthorize("hasAuthority('" + BaseRoleConstants.System.SYSTEM + "')")
+    public Mono<BaseResponseDTO> deleteDynamicRoute(@PathVariable String routeId) {
+        return routeDefinitionRepository.remove(routeId).map(version -> BaseResponseDTO.builder().ok());
+    }
 }
@@ -1,5 +1,7 @@
 package com.ars.gateway.resource;
 
+import com.ars.gateway.configsync.GatewayConfigSynchronizer;
+import com.ars.gateway.dto.ConfigSyncStatusDTO;
 import com.ars.gateway.service.RequestAuthorizationManagementService;
 import com.dct.model.constants.BaseRoleConstants;
 import com.dct.model.dto.response.BaseResponseDTO;
@@ -17,9 +19,12 @@ import java.util.List;
 @RequestMapping("/api/v1/gateway/securities")
 public class SecurityConfigResource {
     private final RequestAuthorizationManagementService requestAuthorizationManagementService;
+    private final GatewayConfigSynchronizer configSynchronizer;
 
-    public SecurityConfigResource(RequestAuthorizationManagementService requestAuthorizationManagementService) {
+    public SecurityConfigResource(RequestAuthorizationManagementService requestAuthorizationManagementService,
+                                  GatewayConfigSynchronizer configSynchronizer) {
         this.requestAuthorizationManagementService = requestAuthorizationManagementService;
+        this.configSynchronizer = configSynchronizer;
     }
 
     @GetMapping("/public-request-patterns")
@@ -31,7 +36,12 @@ public class SecurityConfigResource {
     @PostMapping("/public-request-patterns")
     @PreAuthorize("hasAuthority('" + BaseRoleConstants.System.SYSTEM + "')")
     public Mono<BaseResponseDTO> refreshPublicRequestPatterns() {
-        requestAuthorizationManagementService.refreshPublicRequestsConfig();
-        return Mono.just(BaseResponseDTO.builder().ok());
+        return configSynchronizer.publish().map(version -> BaseResponseDTO.builder().ok());
+    }
+
+    @GetMapping("/config-versions")
+    @PreAuthorize("hasAuthority('" + BaseRoleConstants.System.SYSTEM + "')")
+    public Mono<ConfigSyncStatusDTO> getConfigVersions() {
+        return configSynchronizer.getStatus();
     }
 }
@@ -0,0 +1,256 @@
+package com.ars.gateway.route;
+
+import com.ars.gateway.config.properties.DynamicRouteProps;
+import com.ars.gateway.constants.RouteConstants;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps the in-memory routes of {@link RedisRouteDefinitionRepository} identical to Redis and recompiles only the changed ones
+ *
+ * <ul>
+ *     <li>
+ *         At startup, routes are first loaded from the local snapshot file, then from Redis when it answers
+ *         within {@code app.dynamic-routes.startup-timeout}, so a cold start never waits for Redis to serve them
+ *     </li>
+ *     <li>
+ *         A change announced on {@link RouteConstants#CHANNEL} reloads that route only and publishes a
+ *         {@link RefreshRoutesEvent} scoped by its {@link RouteConstants#ROUTE_ID_METADATA}:
+ *         the route cache recompiles this route and keeps every other one as is
+ *     </li>
+ *     <li>
+ *         Every {@code app.dynamic-routes.version-check-interval}, the route set version is compared with Redis.
+ *         On mismatch, all stored routes are compared by version and only the differing ones are refreshed
+ *     </li>
+ *     <li>The snapshot file is rewritten after every applied change</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+@EnableConfigurationProperties(DynamicRouteProps.class)
+public class DynamicRouteSynchronizer {
+    private static final Logger log = LoggerFactory.getLogger(DynamicRouteSynchronizer.class);
+    private static final TypeReference<List<RouteDefinition>> SNAPSHOT_TYPE = new TypeReference<>() {};
+    // Marks a removed route in a change set, reactive signals and Map.of do not accept null
+    private static final RouteDefinition DELETED = new RouteDefinition();
+    private final RedisRouteDefinitionRepository routeRepository;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DynamicRouteProps dynamicRouteProps;
+    private final ObjectMapper objectMapper;
+    // Nothing applied yet, the first successful version check always synchronizes
+    private volatile long appliedVersion = -1;
+    private volatile boolean started;
+    private Disposable subscription;
+
+    public DynamicRouteSynchronizer(RedisRouteDefinitionRepository routeRepository,
+                                    ReactiveStringRedisTemplate redisTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    DynamicRouteProps dynamicRouteProps,
+                                    ObjectMapper objectMapper) {
+        this.routeRepository = routeRepository;
+        this.redisTemplate = redisTemplate;
+        this.eventPublisher = eventPublisher;
+        this.dynamicRouteProps = dynamicRouteProps;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs before the route cache is first built, so no refresh event is needed for the initial routes
+     */
+    @PostConstruct
+    public void start() {
+        loadSnapshot();
+
+        try {
+            synchronizeAll().block(dynamicRouteProps.getStartupTimeout());
+        } catch (Exception e) {
+            log.error("[DYNAMIC_ROUTES_STARTUP_LOAD_FAILED] - Serving the local snapshot, error: {}", e.getMessage());
+        }
+
+        started = true;
+        subscription = redisTemplate.listenToChannel(RouteConstants.CHANNEL)
+            .concatMap(message -> synchronizeRoute(message.getMessage()).onErrorResume(this::logSyncError))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                .maxBackoff(Duration.ofSeconds(30))
+                .doBeforeRetry(signal -> log.warn("[DYNAMIC_ROUTES_SUBSCRIPTION_LOST] - error: {}", signal.failure().getMessage())))
+            .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (Objects.nonNull(subscription)) {
+            subscription.dispose();
+        }
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.dynamic-routes.version-check-interval:30s}",
+        fixedDelayString = "${app.dynamic-routes.version-check-interval:30s}"
+    )
+    public void checkVersion() {
+        redisTemplate.opsForValue()
+            .get(RouteConstants.VERSION_KEY)
+            .map(Long::parseLong)
+            .defaultIfEmpty(0L)
+            .filter(version -> version != appliedVersion)
+            .flatMap(version -> {
+                log.info("[DYNAMIC_ROUTES_VERSION_MISMATCH] - applied: {}, cluster: {}", appliedVersion, version);
+                return synchronizeAll();
+            })
+            .subscribe(ignored -> {}, this::logSyncError);
+    }
+
+    private Mono<Boolean> synchronizeRoute(String routeId) {
+        return Mono.zip(
+                redisTemplate.<String, String>opsForHash().get(RouteConstants.ROUTES_KEY, routeId),
+                redisTemplate.<String, String>opsForHash().get(RouteConstants.ROUTE_VERSIONS_KEY, routeId)
+            )
+            .map(stored -> read(routeId, stored.getT1(), Long.parseLong(stored.getT2())))
+            // Empty when the route was deleted
+            .defaultIfEmpty(DELETED)
+            .map(routeDefinition -> apply(Map.of(routeId, routeDefinition), false));
+    }
+
+    /**
+     * Reads the route set version before the routes, so the applied routes are at least as recent as the applied version
+     */
+    private Mono<Boolean> synchronizeAll() {
+        return redisTemplate.opsForValue()
+            .get(RouteConstants.VERSION_KEY)
+            .map(Long::parseLong)
+            .defaultIfEmpty(0L)
+            .flatMap(version -> Mono.zip(
+                    redisTemplate.<String, String>opsForHash().entries(RouteConstants.ROUTES_KEY).collectMap(Map.Entry::getKey, Map.Entry::getValue),
+                    redisTemplate.<String, String>opsForHash().entries(RouteConstants.ROUTE_VERSIONS_KEY).collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                )
+                .map(stored -> applyAll(version, stored.getT1(), stored.getT2())));
+    }
+
+    private boolean applyAll(long version, Map<String, String> storedRoutes, Map<String, String> storedVersions) {
+        boolean reset = version < appliedVersion;
+        Map<String, RouteDefinition> changes = new HashMap<>();
+        storedRoutes.forEach((routeId, json) -> {
+            String routeVersion = storedVersions.get(routeId);
+
+            if (Objects.nonNull(routeVersion)) {
+                changes.put(routeId, read(routeId, json, Long.parseLong(routeVersion)));
+            }
+        });
+        routeRepository.getLocalRoutes()
+            .stream()
+            .map(RouteDefinition::getId)
+            .filter(routeId -> !changes.containsKey(routeId))
+            .forEach(routeId -> changes.put(routeId, DELETED));
+        boolean changed = apply(changes, reset);
+        appliedVersion = version;
+        return changed;
+    }
+
+    /**
+     * Serialized, so that the in-memory routes, the refresh events and the snapshot file follow the same order
+     */
+    private synchronized boolean apply(Map<String, RouteDefinition> routes, boolean reset) {
+        Set<String> refreshed = new HashSet<>();
+
+        if (reset) {
+            log.warn("[DYNAMIC_ROUTES_VERSION_RESET] - Route set version went backwards, reloading every route");
+            routeRepository.getLocalRoutes().forEach(route -> refreshed.add(route.getId()));
+            routeRepository.clearLocal();
+        }
+
+        routes.forEach((routeId, routeDefinition) -> {
+            if (routeRepository.applyLocal(routeId, routeDefinition == DELETED ? null : routeDefinition)) {
+                refreshed.add(routeId);
+            }
+        });
+
+        if (refreshed.isEmpty()) {
+            return false;
+        }
+
+        log.info("[DYNAMIC_ROUTES_APPLIED] - routes: {}", refreshed);
+
+        if (started) {
+            refreshed.forEach(routeId -> eventPublisher.publishEvent(
+                new RefreshRoutesEvent(this, Map.of(RouteConstants.ROUTE_ID_METADATA, routeId))
+            ));
+        }
+
+        persistSnapshot();
+        return true;
+    }
+
+    private RouteDefinition read(String routeId, String json, long version) {
+        try {
+            return routeRepository.readStored(routeId, json, version);
+        } catch (Exception e) {
+            // A broken definition must not remove the running route, it keeps its previous version
+            log.error("[DYNAMIC_ROUTE_INVALID] - routeId: {}, version: {}, error: {}", routeId, version, e.getMessage());
+            return Objects.requireNonNullElse(routeRepository.getLocalRoute(routeId), DELETED);
+        }
+    }
+
+    private void loadSnapshot() {
+        Path file = Path.of(dynamicRouteProps.getSnapshotFile());
+
+        if (!Files.isReadable(file)) {
+            log.info("[DYNAMIC_ROUTES_SNAPSHOT_NOT_FOUND] - file: {}", file.toAbsolutePath());
+            return;
+        }
+
+        try {
+            List<RouteDefinition> routes = objectMapper.readValue(file.toFile(), SNAPSHOT_TYPE);
+            routes.forEach(route -> routeRepository.applyLocal(route.getId(), route));
+            log.info("[DYNAMIC_ROUTES_SNAPSHOT_LOADED] - file: {}, routes: {}", file.toAbsolutePath(), routes.size());
+        } catch (Exception e) {
+            log.error("[DYNAMIC_ROUTES_SNAPSHOT_LOAD_FAILED] - file: {}, error: {}", file.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    private void persistSnapshot() {
+        Path file = Path.of(dynamicRouteProps.getSnapshotFile()).toAbsolutePath();
+
+        try {
+            Files.createDirectories(file.getParent());
+            Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), List.copyOf(routeRepository.getLocalRoutes()));
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.error("[DYNAMIC_ROUTES_SNAPSHOT_PERSIST_FAILED] - file: {}, error: {}", file, e.getMessage());
+        }
+    }
+
+    private Mono<Boolean> logSyncError(Throwable e) {
+        log.warn("[DYNAMIC_ROUTES_SYNC_FAILED] - appliedVersion: {}, error: {}", appliedVersion, e.getMessage());
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,66 @@
+package com.ars.gateway.route;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteLocator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the routes of the delegate locator with an {@link IndexedRoutePredicate} carrying the literal path prefixes
+ * of their definition, indexed by {@link RouteIndex} once the route cache is refreshed
+ *
+ * <ul>
+ *     <li>Routes without definition (Java DSL routes) keep no prefix and are always evaluated</li>
+ *     <li>Scoped refreshes compile only the routes matching the metadata, like the delegate</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+public class IndexedRouteLocator implements RouteLocator {
+    private final RouteLocator delegate;
+    private final RouteDefinitionLocator routeDefinitionLocator;
+    private final RouteIndex routeIndex;
+
+    public IndexedRouteLocator(RouteLocator delegate, RouteDefinitionLocator routeDefinitionLocator, RouteIndex routeIndex) {
+        this.delegate = delegate;
+        this.routeDefinitionLocator = routeDefinitionLocator;
+        this.routeIndex = routeIndex;
+    }
+
+    @Override
+    public Flux<Route> getRoutes() {
+        return literalPrefixes().flatMapMany(prefixes -> delegate.getRoutes().map(route -> index(route, prefixes)));
+    }
+
+    @Override
+    public Flux<Route> getRoutesByMetadata(Map<String, Object> metadata) {
+        return literalPrefixes().flatMapMany(prefixes -> delegate.getRoutesByMetadata(metadata).map(route -> index(route, prefixes)));
+    }
+
+    private Mono<Map<String, List<List<String>>>> literalPrefixes() {
+        return routeDefinitionLocator.getRouteDefinitions().collectMap(RouteDefinition::getId, RouteIndex::literalPrefixes);
+    }
+
+    private Route index(Route route, Map<String, List<List<String>>> prefixes) {
+        IndexedRoutePredicate predicate = new IndexedRoutePredicate(
+            route.getId(),
+            prefixes.getOrDefault(route.getId(), List.of()),
+            route.getPredicate(),
+            routeIndex
+        );
+        return Route.async()
+            .id(route.getId())
+            .uri(route.getUri())
+            .order(route.getOrder())
+            .asyncPredicate(predicate)
+            .replaceFilters(route.getFilters())
+            .metadata(route.getMetadata())
+            .build();
+    }
+}
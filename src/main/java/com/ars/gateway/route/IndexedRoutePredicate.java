@@ -0,0 +1,53 @@
+package com.ars.gateway.route;
+
+import org.springframework.cloud.gateway.handler.AsyncPredicate;
+import org.springframework.web.server.ServerWebExchange;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Predicate of a route compiled by {@link IndexedRouteLocator}: answers {@code false} without evaluating the route's
+ * predicates when the request path is outside the literal prefixes of the route, see {@link RouteIndex}
+ *
+ * @author thoaidc
+ */
+class IndexedRoutePredicate implements AsyncPredicate<ServerWebExchange> {
+    private final String routeId;
+    private final List<List<String>> prefixes;
+    private final AsyncPredicate<ServerWebExchange> delegate;
+    private final RouteIndex routeIndex;
+
+    IndexedRoutePredicate(String routeId,
+                          List<List<String>> prefixes,
+                          AsyncPredicate<ServerWebExchange> delegate,
+                          RouteIndex routeIndex) {
+        this.routeId = routeId;
+        this.prefixes = prefixes;
+        this.delegate = delegate;
+        this.routeIndex = routeIndex;
+    }
+
+    @Override
+    public Publisher<Boolean> apply(ServerWebExchange exchange) {
+        RouteIndex.Lookup lookup = routeIndex.lookup(exchange);
+
+        if (!lookup.isCandidate(routeId, this)) {
+            routeIndex.evaluated(exchange, lookup, false);
+            return Mono.just(false);
+        }
+
+        return Mono.from(delegate.apply(exchange)).doOnNext(matched -> routeIndex.evaluated(exchange, lookup, matched));
+    }
+
+    List<List<String>> getPrefixes() {
+        return prefixes;
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
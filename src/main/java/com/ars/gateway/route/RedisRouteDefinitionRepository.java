@@ -0,0 +1,209 @@
+package com.ars.gateway.route;
+
+import com.ars.gateway.constants.ExceptionConstants;
+import com.ars.gateway.constants.RouteConstants;
+import com.dct.model.exception.BaseIllegalArgumentException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionRepository;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes stored in Redis, served from memory
+ *
+ * <ul>
+ *     <li>
+ *         {@link #getRouteDefinitions()} never reaches Redis, it is called for every route refresh.
+ *         The in-memory copy is maintained by {@link DynamicRouteSynchronizer}
+ *     </li>
+ *     <li>
+ *         A change is written by a Lua script that increments the route set version, stores the definition and its version
+ *         and publishes the route ID, so concurrent changes of the same route are ordered by their version
+ *     </li>
+ *     <li>Routes of {@code spring.cloud.gateway.routes} cannot be overridden, their IDs are rejected</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+public class RedisRouteDefinitionRepository implements RouteDefinitionRepository {
+    private static final String ENTITY_NAME = "com.ars.gateway.route.RedisRouteDefinitionRepository";
+    private static final String SAVE_SCRIPT = """
+        local version = redis.call('INCR', KEYS[1])
+        redis.call('HSET', KEYS[2], ARGV[1], ARGV[2])
+        redis.call('HSET', KEYS[3], ARGV[1], version)
+        redis.call('PUBLISH', ARGV[3], ARGV[1])
+        return version
+    """;
+    private static final String DELETE_SCRIPT = """
+        if redis.call('HEXISTS', KEYS[2], ARGV[1]) == 0 then
+            return 0
+        end
+        local version = redis.call('INCR', KEYS[1])
+        redis.call('HDEL', KEYS[2], ARGV[1])
+        redis.call('HDEL', KEYS[3], ARGV[1])
+        redis.call('PUBLISH', ARGV[2], ARGV[1])
+        return version
+    """;
+    private static final List<String> SCRIPT_KEYS = List.of(
+        RouteConstants.VERSION_KEY,
+        RouteConstants.ROUTES_KEY,
+        RouteConstants.ROUTE_VERSIONS_KEY
+    );
+    private final Map<String, RouteDefinition> routes = new ConcurrentHashMap<>();
+    private final RedisScript<Long> saveScript = new DefaultRedisScript<>(SAVE_SCRIPT, Long.class);
+    private final RedisScript<Long> deleteScript = new DefaultRedisScript<>(DELETE_SCRIPT, Long.class);
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final GatewayProperties gatewayProperties;
+    private final ObjectMapper objectMapper;
+
+    public RedisRouteDefinitionRepository(ReactiveStringRedisTemplate redisTemplate,
+                                          GatewayProperties gatewayProperties,
+                                          ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.gatewayProperties = gatewayProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Flux<RouteDefinition> getRouteDefinitions() {
+        return Flux.fromIterable(routes.values());
+    }
+
+    @Override
+    public Mono<Void> save(Mono<RouteDefinition> route) {
+        return route.flatMap(this::store).then();
+    }
+
+    @Override
+    public Mono<Void> delete(Mono<String> routeId) {
+        return routeId.flatMap(this::remove).then();
+    }
+
+    /**
+     * Stores the route in Redis and announces it to every node, this one included
+     * @return the version of the stored route
+     */
+    public Mono<Long> store(RouteDefinition routeDefinition) {
+        try {
+            validate(routeDefinition);
+            RouteDefinition stored = copyWithoutStamp(routeDefinition);
+            String json = objectMapper.writeValueAsString(stored);
+            List<String> args = List.of(routeDefinition.getId(), json, RouteConstants.CHANNEL);
+            return redisTemplate.execute(saveScript, SCRIPT_KEYS, args).next();
+        } catch (BaseIllegalArgumentException | JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * Removes the route from Redis and announces it to every node, this one included
+     * @return the route set version after the removal
+     */
+    public Mono<Long> remove(String routeId) {
+        List<String> args = List.of(routeId, RouteConstants.CHANNEL);
+        return redisTemplate.execute(deleteScript, SCRIPT_KEYS, args)
+            .next()
+            .filter(version -> version > 0)
+            .switchIfEmpty(Mono.error(() -> new NotFoundException("RouteDefinition not found: " + routeId)));
+    }
+
+    public Collection<RouteDefinition> getLocalRoutes() {
+        return routes.values();
+    }
+
+    RouteDefinition getLocalRoute(String routeId) {
+        return routes.get(routeId);
+    }
+
+    /**
+     * Replaces the in-memory copy of a route, {@code null} removes it
+     * @return whether the route changed, so that it must be recompiled
+     */
+    boolean applyLocal(String routeId, RouteDefinition routeDefinition) {
+        if (Objects.isNull(routeDefinition)) {
+            return Objects.nonNull(routes.remove(routeId));
+        }
+
+        RouteDefinition previous = routes.get(routeId);
+
+        if (Objects.nonNull(previous) && version(previous) >= version(routeDefinition)) {
+            return false;
+        }
+
+        routes.put(routeId, routeDefinition);
+        return true;
+    }
+
+    /**
+     * Used when the route set version went backwards (e.g. Redis was flushed), stored versions are no longer comparable
+     */
+    void clearLocal() {
+        routes.clear();
+    }
+
+    /**
+     * Definition read from Redis, stamped with the metadata that scopes its refresh to this route only
+     */
+    RouteDefinition readStored(String routeId, String json, long version) throws JsonProcessingException {
+        RouteDefinition routeDefinition = objectMapper.readValue(json, RouteDefinition.class);
+        routeDefinition.setId(routeId);
+        Map<String, Object> metadata = new HashMap<>(routeDefinition.getMetadata());
+        metadata.put(RouteConstants.ROUTE_ID_METADATA, routeId);
+        metadata.put(RouteConstants.ROUTE_VERSION_METADATA, version);
+        routeDefinition.setMetadata(metadata);
+        return routeDefinition;
+    }
+
+    static long version(RouteDefinition routeDefinition) {
+        Object version = routeDefinition.getMetadata().get(RouteConstants.ROUTE_VERSION_METADATA);
+        return version instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private void validate(RouteDefinition routeDefinition) {
+        if (!StringUtils.hasText(routeDefinition.getId()) || Objects.isNull(routeDefinition.getUri())
+                || routeDefinition.getPredicates().isEmpty()) {
+            throw new BaseIllegalArgumentException(ENTITY_NAME, ExceptionConstants.INVALID_ROUTE_DEFINITION);
+        }
+
+        boolean staticRoute = gatewayProperties.getRoutes()
+            .stream()
+            .anyMatch(route -> route.getId().equals(routeDefinition.getId()));
+
+        if (staticRoute) {
+            throw new BaseIllegalArgumentException(ENTITY_NAME, ExceptionConstants.STATIC_ROUTE_NOT_MODIFIABLE);
+        }
+    }
+
+    private static RouteDefinition copyWithoutStamp(RouteDefinition routeDefinition) {
+        RouteDefinition copy = new RouteDefinition();
+        copy.setId(routeDefinition.getId());
+        copy.setUri(routeDefinition.getUri());
+        copy.setOrder(routeDefinition.getOrder());
+        copy.setPredicates(routeDefinition.getPredicates());
+        copy.setFilters(routeDefinition.getFilters());
+        Map<String, Object> metadata = new HashMap<>(routeDefinition.getMetadata());
+        metadata.remove(RouteConstants.ROUTE_ID_METADATA);
+        metadata.remove(RouteConstants.ROUTE_VERSION_METADATA);
+        copy.setMetadata(metadata);
+        return copy;
+    }
+}
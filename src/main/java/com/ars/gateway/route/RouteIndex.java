@@ -0,0 +1,267 @@
+package com.ars.gateway.route;
+
+import com.ars.gateway.constants.CommonConstants;
+import com.ars.gateway.constants.RouteConstants;
+import com.ars.gateway.timing.GatewayStage;
+import com.ars.gateway.timing.StageTimings;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.ApplicationListener;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trie of the literal path prefixes of the routes, so that a request only evaluates the predicates of the routes
+ * that can match its path
+ *
+ * <ul>
+ *     <li>
+ *         The literal prefix of a {@code Path} pattern is made of its segments before the first variable or wildcard,
+ *         e.g. {@code /api/v1/users/{id}/**} is indexed under {@code /api/v1/users}.
+ *         A route is a candidate when one of its prefixes is a prefix of the request path
+ *     </li>
+ *     <li>
+ *         Routes without {@code Path} predicate are not indexed and always evaluated, like the routes compiled
+ *         after the last rebuild of the trie (full scan fallback)
+ *     </li>
+ *     <li>
+ *         The {@code Path} predicate is still evaluated for the candidates, the index only skips routes that cannot match.
+ *         Other predicates of a route (method, host, header...) are evaluated as before
+ *     </li>
+ *     <li>Rebuilt after every refresh of the route cache, scoped refreshes included</li>
+ *     <li>The lookup of every request is timed as the {@link GatewayStage#ROUTE_LOOKUP} stage</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+public class RouteIndex implements ApplicationListener<RefreshRoutesResultEvent> {
+    private static final Logger log = LoggerFactory.getLogger(RouteIndex.class);
+    private static final String PATH_PREDICATE = "Path";
+    private static final String PATH_SEPARATOR = "/";
+    private static final String PATTERN_SEPARATOR = ",";
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final Timer matchedTimer;
+    private final Timer unmatchedTimer;
+    private final DistributionSummary candidatesSummary;
+
+    public RouteIndex(MeterRegistry meterRegistry) {
+        this.matchedTimer = lookupTimer(meterRegistry, true);
+        this.unmatchedTimer = lookupTimer(meterRegistry, false);
+        this.candidatesSummary = DistributionSummary.builder(RouteConstants.LOOKUP_CANDIDATES_METRIC)
+            .description("Routes whose predicates are evaluated for a request")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull RefreshRoutesResultEvent event) {
+        if (!event.isSuccess() || !(event.getSource() instanceof RouteLocator routeLocator)) {
+            return;
+        }
+
+        // The source is the route cache, its routes are read synchronously
+        routeLocator.getRoutes()
+            .collectList()
+            .map(Snapshot::build)
+            .subscribe(rebuilt -> {
+                snapshot = rebuilt;
+                log.info("[ROUTE_INDEX_REBUILT] - routes: {}, indexed: {}", rebuilt.routeCount, rebuilt.predicates.size());
+            }, e -> log.warn("[ROUTE_INDEX_REBUILD_FAILED] - Evaluating every route, error: {}", e.getMessage()));
+    }
+
+    /**
+     * Literal prefixes of the {@code Path} patterns of a route definition, as path segments
+     * @return an empty list when the route has no {@code Path} predicate and cannot be indexed
+     */
+    static List<List<String>> literalPrefixes(RouteDefinition routeDefinition) {
+        return pathPatterns(routeDefinition).stream().map(RouteIndex::literalSegments).toList();
+    }
+
+    /**
+     * Patterns of the first {@code Path} predicate of a route definition, shortcut ({@code Path=/a/**,/b/**})
+     * and named arguments alike
+     */
+    public static List<String> pathPatterns(RouteDefinition routeDefinition) {
+        return routeDefinition.getPredicates()
+            .stream()
+            .filter(predicate -> PATH_PREDICATE.equalsIgnoreCase(predicate.getName()))
+            .findFirst()
+            .map(RouteIndex::pathPatterns)
+            .orElse(List.of());
+    }
+
+    private static List<String> pathPatterns(PredicateDefinition pathPredicate) {
+        return pathPredicate.getArgs()
+            .values()
+            .stream()
+            .flatMap(value -> Arrays.stream(value.split(PATTERN_SEPARATOR)))
+            .map(String::trim)
+            // Other arguments such as matchTrailingSlash
+            .filter(pattern -> pattern.startsWith(PATH_SEPARATOR))
+            .toList();
+    }
+
+    private static List<String> literalSegments(String pattern) {
+        List<String> segments = new ArrayList<>();
+
+        for (String segment : pattern.split(PATH_SEPARATOR)) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+
+            if (segment.contains("*") || segment.contains("?") || segment.contains("{")) {
+                break;
+            }
+
+            segments.add(segment);
+        }
+
+        return List.copyOf(segments);
+    }
+
+    /**
+     * Candidate routes of the request, computed once by the first evaluated predicate,
+     * which also starts the {@link GatewayStage#ROUTE_LOOKUP} stage
+     */
+    Lookup lookup(ServerWebExchange exchange) {
+        Lookup lookup = exchange.getAttribute(CommonConstants.ROUTE_LOOKUP_ATTRIBUTE);
+
+        if (Objects.isNull(lookup)) {
+            long startNanos = System.nanoTime();
+            StageTimings.start(exchange, GatewayStage.ROUTE_LOOKUP);
+            Snapshot current = snapshot;
+            lookup = new Lookup(current, current.candidates(exchange.getRequest().getPath().pathWithinApplication()), startNanos);
+            exchange.getAttributes().put(CommonConstants.ROUTE_LOOKUP_ATTRIBUTE, lookup);
+            candidatesSummary.record(lookup.candidates.size() + current.routeCount - current.predicates.size());
+        }
+
+        return lookup;
+    }
+
+    /**
+     * Records the lookup duration once a route matched, or once every route was evaluated without match
+     */
+    void evaluated(ServerWebExchange exchange, Lookup lookup, boolean matched) {
+        lookup.evaluated++;
+
+        if (lookup.recorded) {
+            return;
+        }
+
+        if (matched || (lookup.snapshot.routeCount > 0 && lookup.evaluated >= lookup.snapshot.routeCount)) {
+            lookup.recorded = true;
+            StageTimings.end(exchange, GatewayStage.ROUTE_LOOKUP);
+            (matched ? matchedTimer : unmatchedTimer).record(System.nanoTime() - lookup.startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer lookupTimer(MeterRegistry meterRegistry, boolean matched) {
+        return Timer.builder(RouteConstants.LOOKUP_DURATION_METRIC)
+            .description("Route lookup duration, from the first evaluated predicate to the matching one")
+            .tag(RouteConstants.MATCHED_TAG, String.valueOf(matched))
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(1_000))
+            .maximumExpectedValue(Duration.ofMillis(100))
+            .register(meterRegistry);
+    }
+
+    /**
+     * Per-request lookup state, the predicates of a request are evaluated one after another
+     */
+    static final class Lookup {
+        private final Snapshot snapshot;
+        private final Set<String> candidates;
+        private final long startNanos;
+        private int evaluated;
+        private boolean recorded;
+
+        private Lookup(Snapshot snapshot, Set<String> candidates, long startNanos) {
+            this.snapshot = snapshot;
+            this.candidates = candidates;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * A predicate indexed by another compilation of the route (refresh in progress) is always a candidate
+         */
+        boolean isCandidate(String routeId, IndexedRoutePredicate predicate) {
+            return snapshot.predicates.get(routeId) != predicate || candidates.contains(routeId);
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<String> routeIds = new ArrayList<>();
+    }
+
+    private record Snapshot(Node root, Map<String, IndexedRoutePredicate> predicates, int routeCount) {
+        private static final Snapshot EMPTY = new Snapshot(new Node(), Map.of(), 0);
+
+        private static Snapshot build(List<Route> routes) {
+            Node root = new Node();
+            Map<String, IndexedRoutePredicate> predicates = new HashMap<>();
+
+            for (Route route : routes) {
+                if (!(route.getPredicate() instanceof IndexedRoutePredicate predicate) || predicate.getPrefixes().isEmpty()) {
+                    continue;
+                }
+
+                predicates.put(route.getId(), predicate);
+
+                for (List<String> prefix : predicate.getPrefixes()) {
+                    Node node = root;
+
+                    for (String segment : prefix) {
+                        node = node.children.computeIfAbsent(segment, key -> new Node());
+                    }
+
+                    node.routeIds.add(route.getId());
+                }
+            }
+
+            return new Snapshot(root, Map.copyOf(predicates), routes.size());
+        }
+
+        private Set<String> candidates(PathContainer path) {
+            Set<String> candidates = new HashSet<>(root.routeIds);
+            Node node = root;
+
+            for (PathContainer.Element element : path.elements()) {
+                // Separators and empty segments are skipped, which can only add candidates
+                if (!(element instanceof PathContainer.PathSegment segment) || segment.valueToMatch().isEmpty()) {
+                    continue;
+                }
+
+                node = node.children.get(segment.valueToMatch());
+
+                if (Objects.isNull(node)) {
+                    break;
+                }
+
+                candidates.addAll(node.routeIds);
+            }
+
+            return candidates;
+        }
+    }
+}
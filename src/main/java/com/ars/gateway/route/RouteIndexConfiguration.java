@@ -0,0 +1,50 @@
+package com.ars.gateway.route;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.route.CachingRouteLocator;
+import org.springframework.cloud.gateway.route.CompositeRouteLocator;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Replaces the route cache of the gateway with one whose routes are looked up through {@link RouteIndex}
+ *
+ * <ul>
+ *     <li>
+ *         Same bean name as the gateway's own route cache, which then backs off: the handler mapping, the refresh events
+ *         and the actuator keep working on a {@link CachingRouteLocator}
+ *     </li>
+ *     <li>
+ *         {@code app.route-index.enabled=false} restores the linear evaluation of every route,
+ *         the {@code route} stage of the stage timings is then not recorded
+ *     </li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.route-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RouteIndexConfiguration {
+
+    @Bean
+    public RouteIndex routeIndex(MeterRegistry meterRegistry) {
+        return new RouteIndex(meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public RouteLocator cachedCompositeRouteLocator(List<RouteLocator> routeLocators,
+                                                    RouteDefinitionLocator routeDefinitionLocator,
+                                                    RouteIndex routeIndex) {
+        RouteLocator compositeRouteLocator = new CompositeRouteLocator(Flux.fromIterable(routeLocators));
+        return new CachingRouteLocator(new IndexedRouteLocator(compositeRouteLocator, routeDefinitionLocator, routeIndex));
+    }
+}
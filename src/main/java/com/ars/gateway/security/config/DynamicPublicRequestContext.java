@@ -13,7 +13,6 @@ import reactor.core.publisher.Mono;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages a dynamic set of "public" request paths that do not require authentication
@@ -34,11 +33,11 @@ import java.util.concurrent.ConcurrentHashMap;
 @Component
 public class DynamicPublicRequestContext {
     /**
-     * A thread-safe set containing the public request paths.
+     * An immutable set containing the public request paths, replaced as a whole on update.
      * Paths stored here are used to determine if a request should be allowed
      * without authentication.
      */
-    private final Set<String> publicPaths = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> publicPaths = Set.of();
     private static final Logger log = LoggerFactory.getLogger(DynamicPublicRequestContext.class);
 
     /**
@@ -69,9 +68,8 @@ public class DynamicPublicRequestContext {
      * @param newPaths a collection of new public request paths
      */
     public void updatePublicPaths(Collection<String> newPaths) {
-        Set<String> oldPaths = Set.copyOf(publicPaths);
-        publicPaths.clear();
-        publicPaths.addAll(newPaths);
+        Set<String> oldPaths = publicPaths;
+        publicPaths = Set.copyOf(newPaths);
         Set<String> removed = new HashSet<>(oldPaths);
         removed.removeAll(newPaths);
         Set<String> added = new HashSet<>(newPaths);
@@ -1,8 +1,11 @@
 package com.ars.gateway.security.config;
 
 import com.ars.gateway.security.filter.JwtFilter;
+import com.ars.gateway.timing.GatewayStage;
+import com.ars.gateway.timing.StageTimings;
 import com.dct.model.config.properties.CorsProps;
 import com.dct.model.config.properties.SecurityProps;
+import com.dct.model.constants.BaseRoleConstants;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -18,6 +21,7 @@ import org.springframework.security.web.server.authorization.ServerAccessDeniedH
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsConfigurationSource;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.server.WebFilter;
 
 import java.time.Duration;
 import java.util.List;
@@ -28,6 +32,8 @@ import java.util.Objects;
 @EnableReactiveMethodSecurity
 @EnableConfigurationProperties({SecurityProps.class, CorsProps.class})
 public class GatewaySecurityConfig {
+    private static final String[] JFR_ENDPOINT_PATHS = {"/actuator/jfr", "/actuator/jfr/**"};
+    private static final String[] HEAVY_HITTERS_ENDPOINT_PATHS = {"/actuator/heavyhitters", "/actuator/heavyhitters/**"};
     private final DynamicPublicRequestContext dynamicPublicRequestContext;
     private final ServerAuthenticationEntryPoint authenticationEntryPoint;
     private final ServerAccessDeniedHandler accessDeniedHandler;
@@ -59,8 +65,14 @@ public class GatewaySecurityConfig {
                     .contentTypeOptions(Customizer.withDefaults())
                 )
                 .addFilterBefore(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
-                .authorizeExchange(exchanges ->
-                    exchanges.anyExchange().access(dynamicPublicRequestContext::isPublicPath)
+                .addFilterBefore(authorizationStartMarker(), SecurityWebFiltersOrder.AUTHORIZATION)
+                .addFilterAfter(authorizationEndMarker(), SecurityWebFiltersOrder.AUTHORIZATION)
+                .authorizeExchange(exchanges -> exchanges
+                    // Profiling a live node is an admin operation, it exposes thread stacks and memory contents
+                    .pathMatchers(JFR_ENDPOINT_PATHS).hasAuthority(BaseRoleConstants.System.SYSTEM)
+                    // Lists client identities and IP addresses
+                    .pathMatchers(HEAVY_HITTERS_ENDPOINT_PATHS).hasAuthority(BaseRoleConstants.System.SYSTEM)
+                    .anyExchange().access(dynamicPublicRequestContext::isPublicPath)
                 )
                 .exceptionHandling(exceptions -> exceptions
                     .authenticationEntryPoint(authenticationEntryPoint)
@@ -69,6 +81,23 @@ public class GatewaySecurityConfig {
                 .build();
     }
 
+    /**
+     * Stage marks of the authorization filter, not registered as beans so that they only run inside the security chain
+     */
+    private static WebFilter authorizationStartMarker() {
+        return (exchange, chain) -> {
+            StageTimings.start(exchange, GatewayStage.AUTHORIZATION);
+            return chain.filter(exchange);
+        };
+    }
+
+    private static WebFilter authorizationEndMarker() {
+        return (exchange, chain) -> {
+            StageTimings.end(exchange, GatewayStage.AUTHORIZATION);
+            return chain.filter(exchange);
+        };
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -1,7 +1,10 @@
 package com.ars.gateway.security.filter;
 
+import com.ars.gateway.common.ThrottledLogger;
 import com.ars.gateway.constants.CommonConstants;
 import com.ars.gateway.security.config.DynamicPublicRequestContext;
+import com.ars.gateway.timing.GatewayStage;
+import com.ars.gateway.timing.StageTimings;
 import com.dct.model.common.JsonUtils;
 import com.dct.model.common.SecurityUtils;
 import com.dct.model.constants.BaseExceptionConstants;
@@ -30,10 +33,13 @@ import org.springframework.web.server.WebFilterChain;
 
 import reactor.core.publisher.Mono;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 @Component
 public class JwtFilter implements WebFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtFilter.class);
+    // Every request with an invalid token is logged, throttled so that a flood of such requests cannot slow the gateway
+    private static final ThrottledLogger invalidTokenLog = new ThrottledLogger(log, 20, Duration.ofSeconds(10));
     private final DynamicPublicRequestContext dynamicPublicRequestContext;
     private final JwtProvider jwtProvider;
 
@@ -45,10 +51,11 @@ public class JwtFilter implements WebFilter {
     @Override
     @NonNull
     public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        StageTimings.start(exchange, GatewayStage.JWT);
         String path = exchange.getRequest().getURI().getPath();
-        log.debug("[GATEWAY_JWT_FILTER] - Filtering request: {} {}", exchange.getRequest().getMethod(), path);
 
         if (dynamicPublicRequestContext.isPublicPath(path)) {
+            StageTimings.end(exchange, GatewayStage.JWT);
             return chain.filter(exchange);
         }
 
@@ -70,13 +77,15 @@ public class JwtFilter implements WebFilter {
             userDTO.getAuthorities()
         );
         exchange.getAttributes().put(CommonConstants.AUTHENTICATION_EXCHANGE_ATTRIBUTE, userDTO);
+        StageTimings.end(exchange, GatewayStage.JWT);
         return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
     }
 
     private Mono<Void> handleUnauthorized(ServerWebExchange exchange, Throwable e) {
         // Handle custom authenticate exception
         if (e instanceof JwtException || e instanceof BaseException) {
-            log.error("[GATEWAY_JWT_FILTER_ERROR] - Token validation failed: {}", e.getMessage());
+            StageTimings.end(exchange, GatewayStage.JWT);
+            invalidTokenLog.error("[GATEWAY_JWT_FILTER_ERROR] - Token validation failed: {}", e.getMessage());
             ServerHttpResponse response = exchange.getResponse();
             response.setStatusCode(HttpStatus.UNAUTHORIZED);
             response.getHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
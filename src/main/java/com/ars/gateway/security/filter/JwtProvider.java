@@ -1,5 +1,6 @@
 package com.ars.gateway.security.filter;
 
+import com.ars.gateway.jfr.JwtValidationEvent;
 import com.dct.model.config.properties.SecurityProps;
 import com.dct.model.constants.BaseExceptionConstants;
 import com.dct.model.constants.BaseSecurityConstants;
@@ -8,6 +9,7 @@ import com.dct.model.exception.BaseBadRequestException;
 import com.dct.model.exception.BaseIllegalArgumentException;
 import com.dct.model.security.AbstractJwtProvider;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,7 +40,11 @@ public class JwtProvider extends AbstractJwtProvider {
         return Mono.fromCallable(() -> getAuthentication(token)).subscribeOn(Schedulers.boundedElastic());
     }
 
-    private BaseUserDTO getAuthentication(String token) {
+    @VisibleForTesting
+    BaseUserDTO getAuthentication(String token) {
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
+
         try {
             Claims claims = parseToken(super.accessTokenParser, token);
             Integer userId = (Integer) claims.get(BaseSecurityConstants.TOKEN_PAYLOAD.USER_ID);
@@ -49,6 +55,7 @@ public class JwtProvider extends AbstractJwtProvider {
                     .map(String::trim)
                     .filter(StringUtils::hasText)
                     .collect(Collectors.toSet());
+            event.valid = true;
 
             return BaseUserDTO.userBuilder()
                     .withId(userId)
@@ -59,6 +66,8 @@ public class JwtProvider extends AbstractJwtProvider {
         } catch (Exception e) {
             log.error("[JWT_PROVIDER_GET_AUTHENTICATION_ERROR] - error: {}", e.getMessage());
             throw new BaseIllegalArgumentException(ENTITY_NAME, "Could not get authentication from token");
+        } finally {
+            event.commit();
         }
     }
 }
@@ -2,14 +2,14 @@ package com.ars.gateway.security.filter;
 
 import com.ars.gateway.constants.CommonConstants;
 import com.ars.gateway.constants.FilterChainConstants;
+import com.ars.gateway.timing.GatewayStage;
+import com.ars.gateway.timing.StageTimings;
 import com.dct.model.common.SecurityUtils;
 import com.dct.model.config.properties.SecurityProps;
 import com.dct.model.constants.BaseSecurityConstants;
 import com.dct.model.dto.auth.BaseUserDTO;
 import com.dct.model.exception.BaseAuthenticationException;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
@@ -52,7 +52,6 @@ import java.util.stream.Collectors;
  */
 @Component
 public class SecurityRequestForwardingFilter implements GlobalFilter, Ordered {
-    private static final Logger log = LoggerFactory.getLogger(SecurityRequestForwardingFilter.class);
     private static final String ENTITY_NAME = "com.ars.gateway.security.filter.SecurityRequestForwardingFilter";
     private final String[] publicPatterns;
 
@@ -62,17 +61,19 @@ public class SecurityRequestForwardingFilter implements GlobalFilter, Ordered {
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        StageTimings.start(exchange, GatewayStage.SECURITY_FORWARDING);
         String requestUri = exchange.getRequest().getURI().getPath();
 
         if (SecurityUtils.checkIfAuthenticationNotRequired(requestUri, publicPatterns)) {
+            StageTimings.end(exchange, GatewayStage.SECURITY_FORWARDING);
             return chain.filter(exchange);
         }
 
-        log.debug("[HEADER_SECURITY_FORWARD] - Forward request: {}: {}", exchange.getRequest().getMethod(), requestUri);
         BaseUserDTO userDTO = exchange.getAttribute(CommonConstants.AUTHENTICATION_EXCHANGE_ATTRIBUTE);
         String token = exchange.getAttribute(CommonConstants.TOKEN_EXCHANGE_ATTRIBUTE);
 
         if (Objects.isNull(userDTO)) {
+            StageTimings.end(exchange, GatewayStage.SECURITY_FORWARDING);
             return Mono.error(new BaseAuthenticationException(ENTITY_NAME, "Authentication not found!"));
         }
 
@@ -87,6 +88,7 @@ public class SecurityRequestForwardingFilter implements GlobalFilter, Ordered {
                 .header(BaseSecurityConstants.HEADER.USER_AUTHORITIES, String.join(",", userPermissions))
                 .header(BaseSecurityConstants.HEADER.AUTHORIZATION_HEADER, token)
                 .build();
+        StageTimings.end(exchange, GatewayStage.SECURITY_FORWARDING);
         return chain.filter(exchange.mutate().request(mutatedRequest).build());
     }
 
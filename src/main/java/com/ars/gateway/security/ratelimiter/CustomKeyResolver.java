@@ -4,6 +4,7 @@ import com.ars.gateway.common.EncryptionUtils;
 import com.ars.gateway.constants.CommonConstants;
 import com.ars.gateway.constants.RateLimitConstants;
 import com.ars.gateway.dto.CheckValidDeviceIdResponseDTO;
+import com.ars.gateway.heavyhitter.HeavyHitterDetector;
 import com.dct.model.constants.BaseSecurityConstants;
 import com.dct.model.dto.auth.BaseUserDTO;
 
@@ -21,13 +22,30 @@ import java.util.Optional;
 @Component("customKeyResolver")
 public class CustomKeyResolver implements KeyResolver {
     private final EncryptionUtils encryptionUtils;
+    private final HeavyHitterDetector heavyHitterDetector;
 
-    public CustomKeyResolver(EncryptionUtils encryptionUtils) {
+    public CustomKeyResolver(EncryptionUtils encryptionUtils, HeavyHitterDetector heavyHitterDetector) {
         this.encryptionUtils = encryptionUtils;
+        this.heavyHitterDetector = heavyHitterDetector;
     }
 
+    /**
+     * Every resolved key and the source IP of the request are also counted by {@link HeavyHitterDetector},
+     * except for the JIT warm-up requests, all sent from the loopback address
+     */
     @Override
     public Mono<String> resolve(ServerWebExchange exchange) {
+        String userIP = Optional.ofNullable(extractClientIp(exchange)).orElse(CommonConstants.ANONYMOUS_USER);
+        String rateLimitKey = resolveKey(exchange, userIP);
+
+        if (!Boolean.TRUE.equals(exchange.getAttribute(CommonConstants.JIT_WARMUP_ATTRIBUTE))) {
+            heavyHitterDetector.record(rateLimitKey, userIP);
+        }
+
+        return Mono.just(rateLimitKey);
+    }
+
+    private String resolveKey(ServerWebExchange exchange, String userIP) {
         BaseUserDTO userDTO = exchange.getAttribute(CommonConstants.AUTHENTICATION_EXCHANGE_ATTRIBUTE);
         Integer userId = Optional.ofNullable(userDTO).orElseGet(BaseUserDTO::new).getId();
         String deviceId = exchange.getRequest().getHeaders().getFirst(BaseSecurityConstants.HEADER.X_DEVICE_ID);
@@ -43,15 +61,22 @@ public class CustomKeyResolver implements KeyResolver {
         }
 
         if (StringUtils.hasText(rateLimitKey)) {
-            return Mono.just(rateLimitKey);
+            return rateLimitKey;
         }
 
-        String userIP = Optional.ofNullable(extractClientIp(exchange)).orElse(CommonConstants.ANONYMOUS_USER);
-        rateLimitKey += RateLimitConstants.IP_BANNED_KEY + userIP;
-        return Mono.just(rateLimitKey);
+        return rateLimitKey + RateLimitConstants.IP_BANNED_KEY + userIP;
     }
 
+    /**
+     * The address resolved by {@code IpFilterWebFilter} honors the trusted proxies, the remote address is the fallback
+     */
     private String extractClientIp(ServerWebExchange exchange) {
+        String clientIp = exchange.getAttribute(CommonConstants.CLIENT_IP_ATTRIBUTE);
+
+        if (StringUtils.hasText(clientIp)) {
+            return clientIp;
+        }
+
         try {
             ServerHttpRequest request = exchange.getRequest();
             return Objects.requireNonNull(request.getRemoteAddress()).getAddress().getHostAddress();
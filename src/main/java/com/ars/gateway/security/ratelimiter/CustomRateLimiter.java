@@ -1,9 +1,17 @@
 package com.ars.gateway.security.ratelimiter;
 
+import com.ars.gateway.common.ThrottledLogger;
+import com.ars.gateway.configsync.GatewayConfigHolder;
+import com.ars.gateway.configsync.GatewayConfigSnapshot;
+import com.ars.gateway.constants.CommonConstants;
 import com.ars.gateway.constants.RateLimitConstants;
+import com.ars.gateway.jfr.RateLimitDecisionEvent;
 import com.dct.model.common.SecurityUtils;
-import com.dct.model.config.properties.SecurityProps;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
@@ -21,18 +29,31 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-
-import static com.ars.gateway.constants.RateLimitConstants.RATE_LIMIT_EXCLUDED_APIS;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Primary
 @Component
 public class CustomRateLimiter extends AbstractRateLimiter<RateLimiterConfig> {
     private static final Logger log = LoggerFactory.getLogger(CustomRateLimiter.class);
-    private static final Map<String, RateLimiterConfig> rateLimiterConfigs = new ConcurrentHashMap<>();
-    private static final Map<String, String[]> rateLimitExcludedApis = new ConcurrentHashMap<>();
+    // Written once per request under attack, throttled so that logging does not become the bottleneck
+    private static final ThrottledLogger bannedLog = new ThrottledLogger(log, 10, Duration.ofSeconds(10));
+    private static final ThrottledLogger newBanLog = new ThrottledLogger(log, 50, Duration.ofSeconds(10));
+    private static final ThrottledLogger failOpenLog = new ThrottledLogger(log, 5, Duration.ofSeconds(10));
+    private static final String KEY_TYPE_DEVICE = "device";
+    private static final String KEY_TYPE_USER = "user";
+    private static final String KEY_TYPE_IP = "ip";
     private final StringRedisTemplate redisTemplate;
-    private final String[] defaultExcludedApis;
+    private final GatewayConfigHolder configHolder;
     private final RedisScript<Long> rateLimitScript;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteMetrics> routeMetrics = new ConcurrentHashMap<>();
+    // No-op meters: a composite registry without any registry attached discards what is recorded
+    private final RouteMetrics warmupMetrics = createRouteMetrics(new CompositeMeterRegistry(), "jit-warmup");
+    private final Map<String, Counter> newBans;
+    private final Timer banLookupTimer;
+    private final Timer countTimer;
+    private final Timer banTimer;
     // Lua script to ensure atomic increment + expire
     private static final String LUA_RATE_LIMIT_SCRIPT = """
         local current = redis.call('INCR', KEYS[1])
@@ -44,21 +65,21 @@ public class CustomRateLimiter extends AbstractRateLimiter<RateLimiterConfig> {
 
     public CustomRateLimiter(StringRedisTemplate redisTemplate,
                              ConfigurationService configService,
-                             SecurityProps securityProps) {
+                             GatewayConfigHolder configHolder,
+                             MeterRegistry meterRegistry) {
         super(RateLimiterConfig.class, RateLimitConstants.RATE_LIMIT_PROPERTIES_PREFIX, configService);
         this.redisTemplate = redisTemplate;
-        this.defaultExcludedApis = securityProps.getRateLimitExcludedApis();
+        this.configHolder = configHolder;
         this.rateLimitScript = new DefaultRedisScript<>(LUA_RATE_LIMIT_SCRIPT, Long.class);
-    }
-
-    // For dynamic update config in runtime
-    public static void updateRateLimiterConfig(String key, RateLimiterConfig rateLimiterConfig) {
-        rateLimiterConfigs.put(key, rateLimiterConfig);
-    }
-
-    // For dynamic update config in runtime
-    public static void updateRateExcludedApis(String[] excludedApis) {
-        rateLimitExcludedApis.put(RATE_LIMIT_EXCLUDED_APIS, excludedApis);
+        this.meterRegistry = meterRegistry;
+        this.banLookupTimer = redisTimer(RateLimitConstants.Metric.OPERATION_BAN_LOOKUP);
+        this.countTimer = redisTimer(RateLimitConstants.Metric.OPERATION_COUNT);
+        this.banTimer = redisTimer(RateLimitConstants.Metric.OPERATION_BAN);
+        this.newBans = Map.of(
+            KEY_TYPE_DEVICE, newBanCounter(KEY_TYPE_DEVICE),
+            KEY_TYPE_USER, newBanCounter(KEY_TYPE_USER),
+            KEY_TYPE_IP, newBanCounter(KEY_TYPE_IP)
+        );
     }
 
     /**
@@ -69,50 +90,150 @@ public class CustomRateLimiter extends AbstractRateLimiter<RateLimiterConfig> {
      * @return Mono<Response> containing {@code allowed = true/false} and optional metadata.
      */
     public Mono<Response> isAllowed(ServerWebExchange exchange, String routeId, String clientKey) {
+        // JIT warm-up requests go through the whole decision, without being counted in the decision metrics
+        boolean warmup = Boolean.TRUE.equals(exchange.getAttribute(CommonConstants.JIT_WARMUP_ATTRIBUTE));
+        RouteMetrics metrics = warmup ? warmupMetrics : routeMetrics.computeIfAbsent(routeId, id -> createRouteMetrics(meterRegistry, id));
+        RateLimitDecisionEvent event = new RateLimitDecisionEvent();
+        long start = System.nanoTime();
+        event.begin();
+
         return Mono.fromCallable(() -> {
-            String[] excludedApis = rateLimitExcludedApis.getOrDefault(RATE_LIMIT_EXCLUDED_APIS, defaultExcludedApis);
+            // Runtime configuration, replaced as a whole by GatewayConfigSynchronizer when a new version is published
+            GatewayConfigSnapshot config = configHolder.current();
+            String[] excludedApis = config.rateLimitExcludedApis();
             String requestPath = exchange.getRequest().getURI().getPath();
 
             if (SecurityUtils.checkPathMatches(requestPath, excludedApis)) {
+                metrics.excluded.increment();
+                event.outcome = RateLimitConstants.Metric.OUTCOME_EXCLUDED;
                 return new Response(RateLimitConstants.REQUEST_ALLOWED, Collections.emptyMap());
             }
 
             // Retrieve the rate limiter configuration for this route
-            RateLimiterConfig rateLimiterConfig = rateLimiterConfigs.getOrDefault(routeId, getConfig().get(routeId));
+            RateLimiterConfig rateLimiterConfig = config.rateLimiterConfigs().getOrDefault(routeId, getConfig().get(routeId));
             // Redis key to mark temporarily banned clients
             String clientBanned = RateLimitConstants.BAN_KEY_PREFIX + clientKey;
 
             // If the client is currently banned, return not allowed
-            if (redisTemplate.hasKey(clientBanned)) {
-                log.info("[REQUEST_BANNED] - currently banned device: {}", clientBanned);
+            if (redis(banLookupTimer, event, () -> redisTemplate.hasKey(clientBanned))) {
+                bannedLog.info("[REQUEST_BANNED] - currently banned device: {}", clientBanned);
+                metrics.banned.increment();
+                event.outcome = RateLimitConstants.Metric.OUTCOME_BANNED;
                 return new Response(RateLimitConstants.REQUEST_BANNED, Collections.emptyMap());
             }
 
             // Redis key to count requests within a fixed window
             String requestRateLimitKey = RateLimitConstants.RATE_LIMIT_KEY + routeId + ":" + clientKey;
             // Atomic increment + expire using Lua script. Set the window expiration (e.g., 1 seconds)
-            Long requestCounted = redisTemplate.execute(
+            Long requestCounted = redis(countTimer, event, () -> redisTemplate.execute(
                     rateLimitScript,
                     Collections.singletonList(requestRateLimitKey),
                     String.valueOf(rateLimiterConfig.getWindowSeconds())
-            );
+            ));
 
             // If the request count exceeds the threshold, ban the client temporarily
             if (requestCounted > rateLimiterConfig.getBanThreshold()) {
-                log.info("[REQUEST_NOW_BANNED] - start banning device: {}", clientBanned);
+                newBanLog.info("[REQUEST_NOW_BANNED] - start banning device: {}", clientBanned);
                 Duration blockingTime = Duration.ofMinutes(rateLimiterConfig.getBanDurationMinutes());
-                redisTemplate.opsForValue().set(clientBanned, RateLimitConstants.BANNED_VALUE, blockingTime);
+                redis(banTimer, event, () -> redisTemplate.opsForValue().set(clientBanned, RateLimitConstants.BANNED_VALUE, blockingTime));
+
+                if (!warmup) {
+                    newBans.get(keyType(clientKey)).increment();
+                }
+
+                metrics.banned.increment();
+                event.outcome = RateLimitConstants.Metric.OUTCOME_BANNED;
                 return new Response(RateLimitConstants.REQUEST_BANNED, Collections.emptyMap());
             }
 
             // Otherwise, allow the request
+            metrics.allowed.increment();
+            event.outcome = RateLimitConstants.Metric.OUTCOME_ALLOWED;
             return new Response(RateLimitConstants.REQUEST_ALLOWED, Collections.emptyMap());
         }).onErrorResume(exception -> {
-            log.error("[RATE_LIMITER_REDIS_ERROR] - Allowed requests because Redis error: {}", exception.getMessage());
+            failOpenLog.error("[RATE_LIMITER_REDIS_ERROR] - Allowed requests because Redis error: {}", exception.getMessage());
+            metrics.failOpen.increment();
+            event.outcome = RateLimitConstants.Metric.OUTCOME_FAIL_OPEN;
             return Mono.just(new Response(RateLimitConstants.REQUEST_ALLOWED, Collections.emptyMap()));
+        }).doOnTerminate(() -> {
+            metrics.decision.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.route = routeId;
+            event.commit();
+        });
+    }
+
+    /**
+     * Runs a Redis command, recording its latency in the timer of the operation and in the JFR event of the decision
+     */
+    private static <T> T redis(Timer timer, RateLimitDecisionEvent event, Supplier<T> command) {
+        long start = System.nanoTime();
+
+        try {
+            return command.get();
+        } finally {
+            long duration = System.nanoTime() - start;
+            timer.record(duration, TimeUnit.NANOSECONDS);
+            event.redisTime += duration;
+            event.redisCalls++;
+        }
+    }
+
+    private static void redis(Timer timer, RateLimitDecisionEvent event, Runnable command) {
+        redis(timer, event, () -> {
+            command.run();
+            return null;
         });
     }
 
+    /**
+     * The key built by {@link CustomKeyResolver} starts with its most specific identity: device, then user, then IP
+     */
+    private static String keyType(String clientKey) {
+        if (clientKey.startsWith(RateLimitConstants.DEVICE_BANNED_KEY)) {
+            return KEY_TYPE_DEVICE;
+        }
+
+        return clientKey.startsWith(RateLimitConstants.USER_ID_BANNED_KEY) ? KEY_TYPE_USER : KEY_TYPE_IP;
+    }
+
+    private static RouteMetrics createRouteMetrics(MeterRegistry meterRegistry, String routeId) {
+        Timer decision = Timer.builder(RateLimitConstants.Metric.DECISION_DURATION)
+            .tag(RateLimitConstants.Metric.ROUTE_TAG, routeId)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(100_000))
+            .maximumExpectedValue(Duration.ofSeconds(1))
+            .register(meterRegistry);
+        return new RouteMetrics(
+            decision,
+            decisionCounter(meterRegistry, routeId, RateLimitConstants.Metric.OUTCOME_ALLOWED),
+            decisionCounter(meterRegistry, routeId, RateLimitConstants.Metric.OUTCOME_BANNED),
+            decisionCounter(meterRegistry, routeId, RateLimitConstants.Metric.OUTCOME_EXCLUDED),
+            decisionCounter(meterRegistry, routeId, RateLimitConstants.Metric.OUTCOME_FAIL_OPEN)
+        );
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, String routeId, String outcome) {
+        return Counter.builder(RateLimitConstants.Metric.DECISIONS)
+            .tag(RateLimitConstants.Metric.ROUTE_TAG, routeId)
+            .tag(RateLimitConstants.Metric.OUTCOME_TAG, outcome)
+            .register(meterRegistry);
+    }
+
+    private Counter newBanCounter(String keyType) {
+        return Counter.builder(RateLimitConstants.Metric.NEW_BANS)
+            .tag(RateLimitConstants.Metric.KEY_TYPE_TAG, keyType)
+            .register(meterRegistry);
+    }
+
+    private Timer redisTimer(String operation) {
+        return Timer.builder(RateLimitConstants.Metric.REDIS_DURATION)
+            .tag(RateLimitConstants.Metric.OPERATION_TAG, operation)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(100_000))
+            .maximumExpectedValue(Duration.ofSeconds(1))
+            .register(meterRegistry);
+    }
+
     /**
      * Checks whether the client is allowed to make a request.
      *
@@ -124,4 +245,6 @@ public class CustomRateLimiter extends AbstractRateLimiter<RateLimiterConfig> {
     public Mono<Response> isAllowed(String routeId, String clientKey) {
         return Mono.fromCallable(() -> new Response(RateLimitConstants.REQUEST_ALLOWED, Collections.emptyMap()));
     }
+
+    private record RouteMetrics(Timer decision, Counter allowed, Counter banned, Counter excluded, Counter failOpen) {}
 }
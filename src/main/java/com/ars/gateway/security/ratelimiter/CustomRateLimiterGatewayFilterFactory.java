@@ -1,7 +1,10 @@
 package com.ars.gateway.security.ratelimiter;
 
 import com.ars.gateway.common.LocaleUtils;
+import com.ars.gateway.constants.CommonConstants;
 import com.ars.gateway.constants.ExceptionConstants;
+import com.ars.gateway.timing.GatewayStage;
+import com.ars.gateway.timing.StageTimings;
 import com.dct.model.common.JsonUtils;
 import com.dct.model.common.MessageTranslationUtils;
 import com.dct.model.dto.response.BaseResponseDTO;
@@ -90,13 +93,22 @@ public class CustomRateLimiterGatewayFilterFactory extends AbstractGatewayFilter
      */
     @Override
     public GatewayFilter apply(RateLimiterConfig config) {
-        return (exchange, chain) -> this.customKeyResolver.resolve(exchange)
-                .defaultIfEmpty(EMPTY_KEY)
-                .flatMap(key -> applyResponse(exchange, chain, key));
+        return (exchange, chain) -> {
+            // The request was already counted by its first attempt
+            if (Boolean.TRUE.equals(exchange.getAttribute(CommonConstants.HEDGE_ATTEMPT_ATTRIBUTE))) {
+                return chain.filter(exchange);
+            }
+
+            StageTimings.start(exchange, GatewayStage.RATE_LIMIT);
+            return this.customKeyResolver.resolve(exchange)
+                    .defaultIfEmpty(EMPTY_KEY)
+                    .flatMap(key -> applyResponse(exchange, chain, key));
+        };
     }
 
     private Mono<Void> applyResponse(ServerWebExchange exchange, GatewayFilterChain chain, String key) {
         if (EMPTY_KEY.equals(key)) {
+            StageTimings.end(exchange, GatewayStage.RATE_LIMIT);
             HttpStatusHolder emptyKeyStatus = HttpStatusHolder.parse(HttpStatus.TOO_MANY_REQUESTS.name());
             setResponseStatus(exchange, emptyKeyStatus);
             return convertResponse(exchange);
@@ -109,6 +121,7 @@ public class CustomRateLimiterGatewayFilterFactory extends AbstractGatewayFilter
             HttpHeaders headers = exchange.getResponse().getHeaders();
             headers.add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
             response.getHeaders().forEach(headers::add);
+            StageTimings.end(exchange, GatewayStage.RATE_LIMIT);
 
             if (response.isAllowed()) {
                 return chain.filter(exchange);
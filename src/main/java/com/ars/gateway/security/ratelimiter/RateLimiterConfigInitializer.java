@@ -1,7 +1,7 @@
 package com.ars.gateway.security.ratelimiter;
 
+import com.ars.gateway.configsync.GatewayConfigSynchronizer;
 import com.ars.gateway.dto.RouteConfigDTO;
-import com.ars.gateway.service.RateLimitConfigService;
 import com.ars.gateway.service.RouteConfigService;
 
 import org.slf4j.Logger;
@@ -15,23 +15,23 @@ import java.util.List;
 @Component
 public class RateLimiterConfigInitializer implements ApplicationRunner {
     private static final Logger log = LoggerFactory.getLogger(RateLimiterConfigInitializer.class);
-    private final RateLimitConfigService rateLimitConfigService;
+    private final GatewayConfigSynchronizer configSynchronizer;
     private final RouteConfigService routeConfigService;
 
-    public RateLimiterConfigInitializer(RateLimitConfigService rateLimitConfigService,
-                                        RouteConfigService routeConfigService) {
-        this.rateLimitConfigService = rateLimitConfigService;
+    public RateLimiterConfigInitializer(GatewayConfigSynchronizer configSynchronizer, RouteConfigService routeConfigService) {
+        this.configSynchronizer = configSynchronizer;
         this.routeConfigService = routeConfigService;
     }
 
+    /**
+     * The Redis configuration is loaded in the background by {@link GatewayConfigSynchronizer},
+     * only the route defaults are logged here once it has finished or fallen back, when there is no rate limit override
+     */
     @Override
     public void run(ApplicationArguments args) {
-        rateLimitConfigService.refreshRateLimitExcludedApis();
-        boolean isInitialized = rateLimitConfigService.refreshRateLimitConfig();
-
-        if (!isInitialized) {
-            logStartup();
-        }
+        configSynchronizer.awaitStartupLoad()
+            .filter(snapshot -> snapshot.rateLimiterConfigs().isEmpty())
+            .subscribe(snapshot -> logStartup());
     }
 
     private void logStartup() {
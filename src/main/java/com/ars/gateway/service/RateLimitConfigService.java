@@ -1,9 +1,12 @@
 package com.ars.gateway.service;
 
+import com.ars.gateway.security.ratelimiter.RateLimiterConfig;
+
 import java.util.List;
+import java.util.Map;
 
 public interface RateLimitConfigService {
-    boolean refreshRateLimitConfig();
-    void refreshRateLimitExcludedApis();
+    Map<String, RateLimiterConfig> parseRateLimitConfig(String redisConfig);
+    String[] parseRateExcludedApis(String redisConfig);
     List<String> getDefaultRateExcludedApis();
 }
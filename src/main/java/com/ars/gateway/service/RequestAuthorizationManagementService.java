@@ -3,6 +3,6 @@ package com.ars.gateway.service;
 import java.util.List;
 
 public interface RequestAuthorizationManagementService {
-    void refreshPublicRequestsConfig();
+    List<String> parsePublicRequestsConfig(String redisConfig);
     List<String> getDefaultPublicRequestsConfig();
 }
@@ -2,6 +2,7 @@ package com.ars.gateway.service.impl;
 
 import com.ars.gateway.constants.RateLimitConstants;
 import com.ars.gateway.dto.RouteConfigDTO;
+import com.ars.gateway.route.RedisRouteDefinitionRepository;
 import com.ars.gateway.security.ratelimiter.CustomRateLimiter;
 import com.ars.gateway.security.ratelimiter.RateLimiterConfig;
 import com.ars.gateway.service.RouteConfigService;
@@ -13,17 +14,22 @@ import org.springframework.cloud.gateway.route.RouteDefinition;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class RouteConfigServiceImpl implements RouteConfigService {
     private final GatewayProperties gatewayProperties;
+    private final RedisRouteDefinitionRepository routeDefinitionRepository;
 
-    public RouteConfigServiceImpl(GatewayProperties gatewayProperties) {
+    public RouteConfigServiceImpl(GatewayProperties gatewayProperties, RedisRouteDefinitionRepository routeDefinitionRepository) {
         this.gatewayProperties = gatewayProperties;
+        this.routeDefinitionRepository = routeDefinitionRepository;
     }
 
     public List<RouteConfigDTO> getRoutesConfig() {
-        return gatewayProperties.getRoutes().stream().map(this::convertRouteConfig).toList();
+        return Stream.concat(gatewayProperties.getRoutes().stream(), routeDefinitionRepository.getLocalRoutes().stream())
+            .map(this::convertRouteConfig)
+            .toList();
     }
 
     private RouteConfigDTO convertRouteConfig(RouteDefinition routeDefinition) {
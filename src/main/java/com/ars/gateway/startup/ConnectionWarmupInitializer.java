@@ -0,0 +1,149 @@
+package com.ars.gateway.startup;
+
+import com.ars.gateway.config.properties.StartupProps;
+import com.ars.gateway.constants.StartupConstants;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Opens keep-alive connections to every downstream instance before the gateway reports itself ready
+ *
+ * <p>Flow:
+ * <ol>
+ *     <li>Collects the service IDs of all {@code lb://} and {@code lb:ws://} routes</li>
+ *     <li>Resolves their instances through the {@link ServiceInstanceListSupplier} of each load balancer client</li>
+ *     <li>
+ *         Sends {@code connectionsPerInstance} concurrent requests per instance through the gateway {@link HttpClient},
+ *         so its connection pool already holds that many keep-alive connections when real traffic arrives
+ *     </li>
+ *     <li>Completes the {@link StartupConstants#CONNECTION_WARMUP_STAGE} readiness stage when done or timed out</li>
+ * </ol>
+ *
+ * <p>The work is subscribed asynchronously, so it never delays the other {@link ApplicationRunner}s
+ *
+ * @author thoaidc
+ */
+@Component
+@EnableConfigurationProperties(StartupProps.class)
+public class ConnectionWarmupInitializer implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionWarmupInitializer.class);
+    private static final String LOAD_BALANCER_SCHEME = "lb";
+    private final StartupReadinessHealthIndicator readinessIndicator;
+    private final RouteDefinitionLocator routeDefinitionLocator;
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+    private final HttpClient httpClient;
+    private final StartupProps.ConnectionWarmup config;
+
+    public ConnectionWarmupInitializer(StartupReadinessHealthIndicator readinessIndicator,
+                                       RouteDefinitionLocator routeDefinitionLocator,
+                                       LoadBalancerClientFactory loadBalancerClientFactory,
+                                       HttpClient httpClient,
+                                       StartupProps startupProps) {
+        this.readinessIndicator = readinessIndicator;
+        this.routeDefinitionLocator = routeDefinitionLocator;
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+        this.httpClient = httpClient;
+        this.config = startupProps.getConnectionWarmup();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!config.isEnabled()) {
+            log.info("[CONNECTION_WARMUP] - Disabled, skipping");
+            return;
+        }
+
+        readinessIndicator.register(StartupConstants.CONNECTION_WARMUP_STAGE);
+
+        httpClient.warmup()
+            .thenMany(routeDefinitionLocator.getRouteDefinitions())
+            .map(RouteDefinition::getUri)
+            .mapNotNull(this::resolveServiceId)
+            .distinct()
+            .flatMap(this::warmupService)
+            .then()
+            .timeout(config.getTimeout())
+            .subscribe(
+                ignored -> {},
+                this::handleError,
+                () -> readinessIndicator.complete(StartupConstants.CONNECTION_WARMUP_STAGE, StartupConstants.OUTCOME_COMPLETED)
+            );
+    }
+
+    private void handleError(Throwable e) {
+        if (e instanceof TimeoutException) {
+            log.warn("[CONNECTION_WARMUP_TIMEOUT] - Warm-up exceeded {}, marking gateway ready", config.getTimeout());
+            readinessIndicator.complete(StartupConstants.CONNECTION_WARMUP_STAGE, StartupConstants.OUTCOME_TIMEOUT);
+            return;
+        }
+
+        log.error("[CONNECTION_WARMUP_ERROR] - error: {}", e.getMessage());
+        readinessIndicator.complete(StartupConstants.CONNECTION_WARMUP_STAGE, StartupConstants.OUTCOME_FAILED);
+    }
+
+    private String resolveServiceId(URI uri) {
+        if (Objects.isNull(uri) || !LOAD_BALANCER_SCHEME.equalsIgnoreCase(uri.getScheme())) {
+            return null;
+        }
+
+        // lb:ws://SERVICE is an opaque URI, its host lives in the scheme-specific part
+        if (Objects.isNull(uri.getHost())) {
+            return URI.create(uri.getSchemeSpecificPart()).getHost();
+        }
+
+        return uri.getHost();
+    }
+
+    private Mono<Void> warmupService(String serviceId) {
+        ServiceInstanceListSupplier supplier = loadBalancerClientFactory.getInstance(serviceId, ServiceInstanceListSupplier.class);
+
+        if (Objects.isNull(supplier)) {
+            return Mono.empty();
+        }
+
+        return supplier.get()
+            .next()
+            .doOnNext(instances -> log.info("[CONNECTION_WARMUP] - service: {}, instances: {}", serviceId, instances.size()))
+            .flatMapMany(Flux::fromIterable)
+            .flatMap(this::warmupInstance)
+            .then();
+    }
+
+    private Mono<Void> warmupInstance(ServiceInstance instance) {
+        if (!StringUtils.hasText(config.getRequestPath())) {
+            return Mono.empty();
+        }
+
+        String uri = instance.getUri().toString() + config.getRequestPath();
+        int connections = Math.max(1, config.getConnectionsPerInstance());
+
+        // Concurrent requests force the pool to open one connection each, they are kept alive once released
+        return Flux.range(0, connections)
+            .flatMap(ignored -> httpClient.get().uri(uri).response((response, body) -> body.then()), connections)
+            .then()
+            .doOnSuccess(ignored -> log.debug("[CONNECTION_WARMUP] - warmed {} connections to {}", connections, uri))
+            .onErrorResume(e -> {
+                log.warn("[CONNECTION_WARMUP_INSTANCE_ERROR] - instance: {}, error: {}", uri, e.getMessage());
+                return Mono.empty();
+            });
+    }
+}
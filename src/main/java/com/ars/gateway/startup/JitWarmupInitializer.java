@@ -0,0 +1,263 @@
+package com.ars.gateway.startup;
+
+import com.ars.gateway.common.EncryptionUtils;
+import com.ars.gateway.config.properties.StartupProps;
+import com.ars.gateway.configsync.GatewayConfigSynchronizer;
+import com.ars.gateway.constants.StartupConstants;
+import com.ars.gateway.route.RouteIndex;
+import com.dct.model.constants.BaseSecurityConstants;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the request path of the gateway until the JIT has compiled it, before the readiness probe reports UP
+ *
+ * <p>Flow:
+ * <ol>
+ *     <li>Starts a local stub answering every request with a {@code BaseResponseDTO} JSON body</li>
+ *     <li>
+ *         Derives one concrete path from every {@code Path} pattern of the HTTP routes
+ *         (variables and wildcards replaced by {@code 1}), e.g. {@code /api/v1/users/{id}/**} gives {@code /api/v1/users/1/1}
+ *     </li>
+ *     <li>
+ *         Sends GET requests to the gateway's own port, rotating between a device ID, an access token and both,
+ *         so they go through the whole filter chain: JWT parsing, device ID decryption, authorization,
+ *         route lookup, rate limiter and response rewriting. {@link JitWarmupRoutingFilter} sends them to the stub
+ *     </li>
+ *     <li>
+ *         Completes the {@link StartupConstants#JIT_WARMUP_STAGE} readiness stage once {@code iterations} requests
+ *         were answered or {@code duration} elapsed
+ *     </li>
+ * </ol>
+ *
+ * <p>
+ * Starts once the gateway configuration was loaded from Redis or has fallen back to its defaults,
+ * see {@link GatewayConfigSynchronizer#awaitStartupLoad()}. The synthetic users and devices are random, each of them stays far below
+ * the rate limits. The requests are marked by {@link JitWarmupWebFilter}: they are left out of the request statistics
+ * and logs
+ *
+ * @author thoaidc
+ */
+@Component
+@EnableConfigurationProperties(StartupProps.class)
+public class JitWarmupInitializer implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(JitWarmupInitializer.class);
+    private static final String LOCALHOST = "127.0.0.1";
+    private static final String LOAD_BALANCER_SCHEME = "lb";
+    private static final Set<String> HTTP_SCHEMES = Set.of("http", "https");
+    private static final String PATH_VARIABLE_VALUE = "1";
+    private static final int CREDENTIALS_POOL_SIZE = 256;
+    private static final Duration ACCESS_TOKEN_VALIDITY = Duration.ofMinutes(10);
+    private static final byte[] STUB_BODY = "{\"code\":200,\"success\":true,\"message\":\"warm-up\"}".getBytes(StandardCharsets.UTF_8);
+    private final StartupReadinessHealthIndicator readinessIndicator;
+    private final JitWarmupRoutingFilter routingFilter;
+    private final GatewayConfigSynchronizer configSynchronizer;
+    private final RouteDefinitionLocator routeDefinitionLocator;
+    private final EncryptionUtils encryptionUtils;
+    private final Environment environment;
+    private final StartupProps.JitWarmup config;
+    private final String accessTokenSecret;
+
+    public JitWarmupInitializer(StartupReadinessHealthIndicator readinessIndicator,
+                                JitWarmupRoutingFilter routingFilter,
+                                GatewayConfigSynchronizer configSynchronizer,
+                                RouteDefinitionLocator routeDefinitionLocator,
+                                EncryptionUtils encryptionUtils,
+                                Environment environment,
+                                StartupProps startupProps,
+                                @Value("${app.security.jwt.access-token.base64-secret-key}") String accessTokenSecret) {
+        this.readinessIndicator = readinessIndicator;
+        this.routingFilter = routingFilter;
+        this.configSynchronizer = configSynchronizer;
+        this.routeDefinitionLocator = routeDefinitionLocator;
+        this.encryptionUtils = encryptionUtils;
+        this.environment = environment;
+        this.config = startupProps.getJitWarmup();
+        this.accessTokenSecret = accessTokenSecret;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!config.isEnabled()) {
+            log.info("[JIT_WARMUP] - Disabled, skipping");
+            return;
+        }
+
+        readinessIndicator.register(StartupConstants.JIT_WARMUP_STAGE);
+
+        try {
+            start();
+        } catch (Exception e) {
+            log.error("[JIT_WARMUP_ERROR] - error: {}", e.getMessage());
+            routingFilter.deactivate();
+            readinessIndicator.complete(StartupConstants.JIT_WARMUP_STAGE, StartupConstants.OUTCOME_FAILED);
+        }
+    }
+
+    private void start() {
+        int port = environment.getRequiredProperty("local.server.port", Integer.class);
+        DisposableServer stub = HttpServer.create()
+            .host(LOCALHOST)
+            .port(0)
+            .route(routes -> routes.route(request -> true, (request, response) -> request.receive()
+                .then()
+                .then(response.header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                    .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(STUB_BODY.length))
+                    .sendByteArray(Mono.just(STUB_BODY))
+                    .then())))
+            .bindNow();
+        ConnectionProvider connectionProvider = ConnectionProvider.create(StartupConstants.JIT_WARMUP_STAGE, config.getConcurrency());
+        HttpClient client = HttpClient.create(connectionProvider)
+            .baseUrl("http://" + LOCALHOST + ":" + port)
+            .responseTimeout(Duration.ofSeconds(5));
+        String token = UUID.randomUUID().toString();
+        List<String> accessTokens = IntStream.range(0, CREDENTIALS_POOL_SIZE).mapToObj(this::accessToken).toList();
+        List<String> deviceIds = IntStream.range(0, CREDENTIALS_POOL_SIZE)
+            .mapToObj(ignored -> encryptionUtils.encrypt(UUID.randomUUID().toString()))
+            .toList();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        routingFilter.activate(token, URI.create("http://" + LOCALHOST + ":" + stub.port()));
+
+        configSynchronizer.awaitStartupLoad()
+            .thenMany(routeDefinitionLocator.getRouteDefinitions())
+            .filter(this::isHttpRoute)
+            .flatMapIterable(RouteIndex::pathPatterns)
+            .map(JitWarmupInitializer::concretePath)
+            .distinct()
+            .collectList()
+            .doOnNext(paths -> log.info("[JIT_WARMUP] - paths: {}, iterations: {}, duration: {}", paths.size(), config.getIterations(), config.getDuration()))
+            .flatMapMany(paths -> paths.isEmpty() ? Flux.empty() : Flux.range(0, config.getIterations())
+                .take(config.getDuration())
+                .flatMap(iteration -> {
+                    String path = paths.get(iteration % paths.size());
+                    String accessToken = accessTokens.get(iteration % CREDENTIALS_POOL_SIZE);
+                    String deviceId = deviceIds.get((iteration / 3) % CREDENTIALS_POOL_SIZE);
+                    return send(client, path, token, iteration % 3 != 0 ? accessToken : null, iteration % 3 != 1 ? deviceId : null);
+                }, config.getConcurrency()))
+            .doOnNext(status -> statuses.computeIfAbsent(status, key -> new LongAdder()).increment())
+            .then()
+            .doFinally(signal -> {
+                routingFilter.deactivate();
+                stub.dispose();
+                connectionProvider.disposeLater().subscribe();
+            })
+            .subscribe(
+                ignored -> {},
+                e -> {
+                    log.error("[JIT_WARMUP_ERROR] - error: {}", e.getMessage());
+                    readinessIndicator.complete(StartupConstants.JIT_WARMUP_STAGE, StartupConstants.OUTCOME_FAILED);
+                },
+                () -> {
+                    Map<Integer, Long> summary = statuses.entrySet()
+                        .stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(), Long::sum, TreeMap::new));
+                    log.info("[JIT_WARMUP_COMPLETED] - statuses: {}", summary);
+                    readinessIndicator.complete(StartupConstants.JIT_WARMUP_STAGE, StartupConstants.OUTCOME_COMPLETED);
+                }
+            );
+    }
+
+    private Mono<Integer> send(HttpClient client, String path, String token, String accessToken, String deviceId) {
+        return client.headers(headers -> {
+                headers.set(StartupConstants.JIT_WARMUP_HEADER, token);
+
+                if (Objects.nonNull(accessToken)) {
+                    headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+                }
+
+                if (Objects.nonNull(deviceId)) {
+                    headers.set(BaseSecurityConstants.HEADER.X_DEVICE_ID, deviceId);
+                }
+            })
+            .get()
+            .uri(path)
+            .responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+            // Transport errors are counted as -1, the warm-up goes on
+            .onErrorResume(e -> Mono.just(-1));
+    }
+
+    /**
+     * WebSocket routes are skipped, their handshake cannot be answered by the stub
+     */
+    private boolean isHttpRoute(RouteDefinition routeDefinition) {
+        URI uri = routeDefinition.getUri();
+
+        if (Objects.isNull(uri)) {
+            return false;
+        }
+
+        // lb:ws://SERVICE is an opaque URI, the scheme of its target lives in the scheme-specific part
+        if (LOAD_BALANCER_SCHEME.equalsIgnoreCase(uri.getScheme())) {
+            return Objects.nonNull(uri.getHost());
+        }
+
+        return HTTP_SCHEMES.contains(uri.getScheme());
+    }
+
+    private static String concretePath(String pattern) {
+        StringBuilder path = new StringBuilder();
+
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+
+            boolean variable = segment.contains("*") || segment.contains("?") || segment.contains("{");
+            path.append('/').append(variable ? PATH_VARIABLE_VALUE : segment);
+
+            // A multi-segment wildcard ends the pattern
+            if (segment.equals("**")) {
+                break;
+            }
+        }
+
+        return path.isEmpty() ? "/" : path.toString();
+    }
+
+    private String accessToken(int index) {
+        return Jwts.builder()
+            .claim(BaseSecurityConstants.TOKEN_PAYLOAD.USER_ID, Integer.MAX_VALUE - index)
+            .claim(BaseSecurityConstants.TOKEN_PAYLOAD.USERNAME, "jit-warmup-" + index)
+            .claim(BaseSecurityConstants.TOKEN_PAYLOAD.AUTHORITIES, "ROLE_USER")
+            .setExpiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_VALIDITY.toMillis()))
+            .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(accessTokenSecret)))
+            .compact();
+    }
+}
@@ -0,0 +1,80 @@
+package com.ars.gateway.startup;
+
+import com.ars.gateway.constants.CommonConstants;
+import com.ars.gateway.constants.StartupConstants;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * Sends the synthetic requests of {@link JitWarmupInitializer} to its stub instead of the downstream service
+ *
+ * <ul>
+ *     <li>
+ *         Only requests carrying the random token of the running warm-up in {@link StartupConstants#JIT_WARMUP_HEADER}
+ *         are redirected, as marked by {@link JitWarmupWebFilter}. The filter does nothing once the warm-up has finished
+ *     </li>
+ *     <li>
+ *         Runs right before the load balancer: route filters (rate limiter) have run, the circuit breaker lets
+ *         warm-up requests through without recording them, the statistics of the real instances are not affected
+ *         by the stub latency
+ *     </li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+public class JitWarmupRoutingFilter implements GlobalFilter, Ordered {
+    private volatile Target target;
+
+    void activate(String token, URI stubUri) {
+        target = new Target(token, stubUri);
+    }
+
+    void deactivate() {
+        target = null;
+    }
+
+    boolean isWarmupRequest(ServerHttpRequest request) {
+        Target current = target;
+        return Objects.nonNull(current) && current.token().equals(request.getHeaders().getFirst(StartupConstants.JIT_WARMUP_HEADER));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Target current = target;
+
+        if (Objects.isNull(current) || !Boolean.TRUE.equals(exchange.getAttribute(CommonConstants.JIT_WARMUP_ATTRIBUTE))) {
+            return chain.filter(exchange);
+        }
+
+        URI requestUrl = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        URI stubUrl = UriComponentsBuilder.fromUri(requestUrl)
+            .scheme(current.stubUri().getScheme())
+            .host(current.stubUri().getHost())
+            .port(current.stubUri().getPort())
+            .build(true)
+            .toUri();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, stubUrl);
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+
+    private record Target(String token, URI stubUri) {}
+}
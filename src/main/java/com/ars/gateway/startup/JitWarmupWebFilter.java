@@ -0,0 +1,52 @@
+package com.ars.gateway.startup;
+
+import com.ars.gateway.constants.CommonConstants;
+import com.ars.gateway.constants.FilterChainConstants;
+import com.ars.gateway.constants.StartupConstants;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Marks the synthetic requests of {@link JitWarmupInitializer} with {@link CommonConstants#JIT_WARMUP_ATTRIBUTE}
+ *
+ * <ul>
+ *     <li>
+ *         Only requests carrying the random token of the running warm-up in {@link StartupConstants#JIT_WARMUP_HEADER}
+ *         are marked, a client cannot mark its own requests
+ *     </li>
+ *     <li>
+ *         Marked requests are answered by the stub (see {@link JitWarmupRoutingFilter}) and are not recorded in the
+ *         route latencies, the instance statistics, the heavy hitters, the circuit breakers, the stage timers,
+ *         the access log nor the rate limiter decision metrics: thousands of sub-millisecond loopback requests
+ *         would lower the hedge delays and adaptive timeouts, and count as one client for the auto-ban
+ *     </li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+@Order(FilterChainConstants.Order.JIT_WARMUP_FILTER)
+public class JitWarmupWebFilter implements WebFilter {
+    private final JitWarmupRoutingFilter routingFilter;
+
+    public JitWarmupWebFilter(JitWarmupRoutingFilter routingFilter) {
+        this.routingFilter = routingFilter;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        if (routingFilter.isWarmupRequest(exchange.getRequest())) {
+            exchange.getAttributes().put(CommonConstants.JIT_WARMUP_ATTRIBUTE, Boolean.TRUE);
+        }
+
+        return chain.filter(exchange);
+    }
+}
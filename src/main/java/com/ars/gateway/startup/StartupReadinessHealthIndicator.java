@@ -0,0 +1,111 @@
+package com.ars.gateway.startup;
+
+import com.ars.gateway.constants.StartupConstants;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the readiness probe DOWN until every registered startup stage has finished
+ *
+ * <ul>
+ *     <li>
+ *         Startup components call {@link #register(String)} before starting asynchronous work
+ *         and {@link #complete(String, String)} when it finishes, fails or exceeds its deadline
+ *     </li>
+ *     <li>
+ *         Exposed as the {@code startupReadiness} health contributor,
+ *         which is included in the {@code readiness} health group next to {@code readinessState}
+ *     </li>
+ *     <li>The duration of each stage is reported in the health details and as a Micrometer timer</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component("startupReadinessHealthIndicator")
+public class StartupReadinessHealthIndicator implements HealthIndicator {
+    private static final Logger log = LoggerFactory.getLogger(StartupReadinessHealthIndicator.class);
+    private final Map<String, Stage> stages = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public StartupReadinessHealthIndicator(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void register(String stageName) {
+        stages.put(stageName, new Stage(System.nanoTime()));
+        log.info("[STARTUP_STAGE_STARTED] - stage: {}", stageName);
+    }
+
+    public void complete(String stageName, String outcome) {
+        Stage stage = stages.get(stageName);
+
+        if (stage == null || stage.isCompleted()) {
+            return;
+        }
+
+        Duration duration = stage.complete(outcome);
+        Timer.builder(StartupConstants.STAGE_DURATION_METRIC)
+                .tag(StartupConstants.STAGE_TAG, stageName)
+                .tag(StartupConstants.OUTCOME_TAG, outcome)
+                .register(meterRegistry)
+                .record(duration);
+        log.info("[STARTUP_STAGE_COMPLETED] - stage: {}, outcome: {}, duration: {}ms", stageName, outcome, duration.toMillis());
+    }
+
+    public boolean isReady() {
+        return stages.values().stream().allMatch(Stage::isCompleted);
+    }
+
+    @Override
+    public Health health() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        stages.forEach((name, stage) -> details.put(name, stage.describe()));
+        Health.Builder builder = isReady() ? Health.up() : Health.down();
+        return builder.withDetails(details).build();
+    }
+
+    private static class Stage {
+        private final long startedAt;
+        private volatile long durationNanos = -1;
+        private volatile String outcome;
+
+        private Stage(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private synchronized Duration complete(String outcome) {
+            this.durationNanos = System.nanoTime() - startedAt;
+            this.outcome = outcome;
+            return Duration.ofNanos(durationNanos);
+        }
+
+        private boolean isCompleted() {
+            return durationNanos >= 0;
+        }
+
+        private Map<String, Object> describe() {
+            Map<String, Object> details = new LinkedHashMap<>();
+
+            if (isCompleted()) {
+                details.put("status", outcome);
+                details.put("durationMs", Duration.ofNanos(durationNanos).toMillis());
+            } else {
+                details.put("status", "in-progress");
+                details.put("elapsedMs", Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+            }
+
+            return details;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ars.gateway.timing;
+
+/**
+ * Stages of a request through the gateway, timed by {@link StageTimings}
+ * <p>
+ * Each stage measures the time spent in a filter before it hands the request over to the next one,
+ * except {@link #ROUTE_LOOKUP} (evaluation of the route predicates, marked by {@code RouteIndex}),
+ * {@link #DOWNSTREAM} (load balancing, downstream call and response streaming) and {@link #TOTAL}
+ *
+ * @author thoaidc
+ */
+public enum GatewayStage {
+    LOCALE("locale"),
+    JWT("jwt"),
+    AUTHORIZATION("authz"),
+    ROUTE_LOOKUP("route"),
+    SECURITY_FORWARDING("forward"),
+    RATE_LIMIT("ratelimit"),
+    DOWNSTREAM("downstream"),
+    RESPONSE_WRAPPER("wrapper"),
+    TOTAL("total");
+
+    private final String metricName;
+
+    GatewayStage(String metricName) {
+        this.metricName = metricName;
+    }
+
+    /**
+     * Short name used as the {@code stage} tag and as the {@code Server-Timing} metric name
+     */
+    public String getMetricName() {
+        return metricName;
+    }
+}
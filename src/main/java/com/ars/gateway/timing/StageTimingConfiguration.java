@@ -0,0 +1,77 @@
+package com.ars.gateway.timing;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Stage marks that have no filter of their own in the gateway filter chain, and the meter settings of the stage timers
+ *
+ * <ul>
+ *     <li>
+ *         {@link GatewayStage#DOWNSTREAM} starts right before load balancing and ends once the downstream response
+ *         has been streamed to the client
+ *     </li>
+ *     <li>
+ *         Stage timers only publish count, sum and max: one timer per stage and route is enough to locate a slow stage,
+ *         histogram buckets would multiply the series by the number of buckets
+ *     </li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Configuration
+public class StageTimingConfiguration {
+
+    @Bean
+    public MeterFilter stageTimingMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(@NonNull Meter.Id id, @NonNull DistributionStatisticConfig config) {
+                if (!id.getName().startsWith(StageTimingRecorder.STAGE_DURATION_METRIC)) {
+                    return config;
+                }
+
+                return DistributionStatisticConfig.builder()
+                    .percentilesHistogram(false)
+                    .percentiles(new double[0])
+                    .build()
+                    .merge(config);
+            }
+        };
+    }
+
+    @Bean
+    public GlobalFilter downstreamStageFilter() {
+        return new OrderedStageFilter(ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 2, (exchange, chain) -> {
+            StageTimings.start(exchange, GatewayStage.DOWNSTREAM);
+            return chain.filter(exchange).doFinally(signal -> StageTimings.end(exchange, GatewayStage.DOWNSTREAM));
+        });
+    }
+
+    /**
+     * The gateway reads the order of global filters from {@link Ordered}, not from {@code @Order} on bean methods
+     */
+    private record OrderedStageFilter(int order, GlobalFilter delegate) implements GlobalFilter, Ordered {
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            return delegate.filter(exchange, chain);
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ars.gateway.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the {@link StageTimings} of finished exchanges as {@value #STAGE_DURATION_METRIC} timers tagged by stage and route
+ * <p>
+ * The timers of a route are created once and kept in an array indexed by stage, recording is an array access per stage
+ *
+ * @author thoaidc
+ */
+@Component
+public class StageTimingRecorder {
+    public static final String STAGE_DURATION_METRIC = "gateway.stage.duration";
+    private static final String STAGE_TAG = "stage";
+    private static final String ROUTE_TAG = "route";
+    private static final String UNMATCHED_ROUTE = "unmatched";
+    private static final GatewayStage[] STAGES = GatewayStage.values();
+    private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public StageTimingRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(ServerWebExchange exchange, StageTimings timings) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = Objects.nonNull(route) ? route.getId() : UNMATCHED_ROUTE;
+        Timer[] routeTimers = timers.computeIfAbsent(routeId, this::createTimers);
+
+        for (GatewayStage stage : STAGES) {
+            long durationNanos = timings.durationNanos(stage);
+
+            if (durationNanos >= 0) {
+                routeTimers[stage.ordinal()].record(durationNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private Timer[] createTimers(String routeId) {
+        Timer[] routeTimers = new Timer[STAGES.length];
+
+        for (GatewayStage stage : STAGES) {
+            routeTimers[stage.ordinal()] = Timer.builder(STAGE_DURATION_METRIC)
+                .tag(STAGE_TAG, stage.getMetricName())
+                .tag(ROUTE_TAG, routeId)
+                .register(meterRegistry);
+        }
+
+        return routeTimers;
+    }
+}
@@ -0,0 +1,95 @@
+package com.ars.gateway.timing;
+
+import com.ars.gateway.config.properties.StageTimingProps;
+import com.ars.gateway.constants.CommonConstants;
+import com.ars.gateway.constants.FilterChainConstants;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * First filter of the chain: attaches the {@link StageTimings} of the exchange and publishes them once it completes
+ *
+ * <ul>
+ *     <li>Stages are marked by the filters themselves, see {@link GatewayStage}</li>
+ *     <li>
+ *         Sampled requests receive a {@code Server-Timing} header with the stages finished when the response is
+ *         committed, {@code downstream} then being the time to the first response byte
+ *     </li>
+ *     <li>JIT warm-up requests are not published, they are only marked once the chain has started</li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+@Component
+@Order(FilterChainConstants.Order.STAGE_TIMING_FILTER)
+@EnableConfigurationProperties(StageTimingProps.class)
+public class StageTimingWebFilter implements WebFilter {
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final GatewayStage[] STAGES = GatewayStage.values();
+    private final StageTimingProps stageTimingProps;
+    private final StageTimingRecorder stageTimingRecorder;
+
+    public StageTimingWebFilter(StageTimingProps stageTimingProps, StageTimingRecorder stageTimingRecorder) {
+        this.stageTimingProps = stageTimingProps;
+        this.stageTimingRecorder = stageTimingRecorder;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        if (!stageTimingProps.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        StageTimingProps.ServerTiming serverTiming = stageTimingProps.getServerTiming();
+        boolean sampled = serverTiming.isEnabled() && ThreadLocalRandom.current().nextDouble() < serverTiming.getSampleRate();
+        StageTimings timings = new StageTimings(System.nanoTime(), sampled);
+        exchange.getAttributes().put(CommonConstants.STAGE_TIMINGS_ATTRIBUTE, timings);
+        StageTimings.start(exchange, GatewayStage.TOTAL);
+
+        if (timings.isSampled()) {
+            exchange.getResponse().beforeCommit(() -> {
+                exchange.getResponse().getHeaders().add(SERVER_TIMING_HEADER, toServerTiming(timings));
+                return Mono.empty();
+            });
+        }
+
+        return chain.filter(exchange).doFinally(signal -> {
+            StageTimings.end(exchange, GatewayStage.TOTAL);
+
+            if (!Boolean.TRUE.equals(exchange.getAttribute(CommonConstants.JIT_WARMUP_ATTRIBUTE))) {
+                stageTimingRecorder.record(exchange, timings);
+            }
+        });
+    }
+
+    private static String toServerTiming(StageTimings timings) {
+        StringJoiner header = new StringJoiner(", ");
+
+        for (GatewayStage stage : STAGES) {
+            long durationNanos = timings.durationNanos(stage);
+
+            if (durationNanos < 0 && (stage == GatewayStage.DOWNSTREAM || stage == GatewayStage.TOTAL)) {
+                durationNanos = timings.elapsedNanos(stage);
+            }
+
+            if (durationNanos >= 0) {
+                header.add(String.format(Locale.ROOT, "%s;dur=%.3f", stage.getMetricName(), durationNanos / 1_000_000d));
+            }
+        }
+
+        return header.toString();
+    }
+}
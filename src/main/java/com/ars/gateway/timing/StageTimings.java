@@ -0,0 +1,131 @@
+package com.ars.gateway.timing;
+
+import com.ars.gateway.constants.CommonConstants;
+
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Objects;
+
+/**
+ * Monotonic start/end marks of every {@link GatewayStage} of one exchange, stored in two preallocated arrays
+ *
+ * <ul>
+ *     <li>Created by {@link StageTimingWebFilter} and stored in the {@link CommonConstants#STAGE_TIMINGS_ATTRIBUTE} attribute</li>
+ *     <li>
+ *         Filters mark stages through the static {@link #start} and {@link #end} methods: an attribute lookup
+ *         and a {@link System#nanoTime()} call, no-ops when stage timing is disabled
+ *     </li>
+ *     <li>Marks are stored relative to the creation of the exchange, 0 means "not marked"</li>
+ *     <li>
+ *         Concurrent attempts of one exchange (hedged requests) mark a {@link #fork} each, only the marks of the attempt
+ *         that is {@link #promote promoted} reach the timings of the exchange
+ *     </li>
+ * </ul>
+ *
+ * @author thoaidc
+ */
+public final class StageTimings {
+    private static final int STAGE_COUNT = GatewayStage.values().length;
+    private final long[] starts = new long[STAGE_COUNT];
+    private final long[] ends = new long[STAGE_COUNT];
+    private final long originNanos;
+    private final boolean sampled;
+    private final StageTimings parent;
+    private volatile boolean promoted;
+
+    StageTimings(long originNanos, boolean sampled) {
+        this(originNanos, sampled, null);
+    }
+
+    private StageTimings(long originNanos, boolean sampled, StageTimings parent) {
+        this.originNanos = originNanos;
+        this.sampled = sampled;
+        this.parent = parent;
+    }
+
+    public static void start(ServerWebExchange exchange, GatewayStage stage) {
+        StageTimings timings = exchange.getAttribute(CommonConstants.STAGE_TIMINGS_ATTRIBUTE);
+
+        if (Objects.nonNull(timings)) {
+            timings.markStart(stage.ordinal());
+        }
+    }
+
+    public static void end(ServerWebExchange exchange, GatewayStage stage) {
+        StageTimings timings = exchange.getAttribute(CommonConstants.STAGE_TIMINGS_ATTRIBUTE);
+
+        if (Objects.nonNull(timings)) {
+            timings.markEnd(stage.ordinal());
+        }
+    }
+
+    /**
+     * @return empty timings with the same origin, for one of several concurrent attempts of the exchange
+     */
+    public StageTimings fork() {
+        return new StageTimings(originNanos, sampled, this);
+    }
+
+    /**
+     * Copies the marks of this fork to the timings it was forked from, later marks are written to both
+     */
+    public void promote() {
+        if (Objects.isNull(parent) || promoted) {
+            return;
+        }
+
+        promoted = true;
+
+        for (int i = 0; i < STAGE_COUNT; i++) {
+            if (starts[i] > 0) {
+                parent.starts[i] = starts[i];
+            }
+
+            if (ends[i] > 0) {
+                parent.ends[i] = ends[i];
+            }
+        }
+    }
+
+    /**
+     * @return the duration of the stage, or -1 if it did not run or has not finished
+     */
+    public long durationNanos(GatewayStage stage) {
+        long start = starts[stage.ordinal()];
+        long end = ends[stage.ordinal()];
+        return start > 0 && end >= start ? end - start : -1;
+    }
+
+    /**
+     * @return the time elapsed since the stage started, or -1 if it did not start
+     */
+    long elapsedNanos(GatewayStage stage) {
+        long start = starts[stage.ordinal()];
+        return start > 0 ? mark() - start : -1;
+    }
+
+    boolean isSampled() {
+        return sampled;
+    }
+
+    private void markStart(int index) {
+        starts[index] = mark();
+
+        if (promoted) {
+            parent.starts[index] = starts[index];
+        }
+    }
+
+    private void markEnd(int index) {
+        ends[index] = mark();
+
+        if (promoted) {
+            parent.ends[index] = ends[index];
+        }
+    }
+
+    private long mark() {
+        // +1 keeps a mark taken at the very origin distinguishable from "not marked"
+        return System.nanoTime() - originNanos + 1;
+    }
+}
@@ -0,0 +1,181 @@
+package com.ars.gateway.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogRingBufferTest {
+
+    @Test
+    void testCapacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new AccessLogRingBuffer(1000).capacity()).isEqualTo(1024);
+        assertThat(new AccessLogRingBuffer(1024).capacity()).isEqualTo(1024);
+        assertThat(new AccessLogRingBuffer(1025).capacity()).isEqualTo(2048);
+        assertThat(new AccessLogRingBuffer(0).capacity()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void testEntriesAreConsumedInClaimOrder() {
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(8);
+
+        for (int i = 0; i < 20; i++) {
+            produce(ringBuffer, i);
+            AccessLogEntry entry = ringBuffer.poll();
+            assertThat(entry).isNotNull();
+            assertThat(entry.status).isEqualTo(i);
+            ringBuffer.release(entry);
+        }
+
+        assertThat(ringBuffer.poll()).isNull();
+        assertThat(ringBuffer.size()).isZero();
+    }
+
+    @Test
+    void testClaimFailsWhenFullUntilTheConsumerReleasesASlot() {
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(4);
+
+        for (int i = 0; i < ringBuffer.capacity(); i++) {
+            assertThat(produce(ringBuffer, i)).isTrue();
+        }
+
+        assertThat(ringBuffer.size()).isEqualTo(4);
+        assertThat(ringBuffer.claim()).isEqualTo(AccessLogRingBuffer.FULL);
+
+        AccessLogEntry oldest = ringBuffer.poll();
+        assertThat(oldest.status).isZero();
+        ringBuffer.release(oldest);
+
+        assertThat(produce(ringBuffer, 4)).isTrue();
+        assertThat(ringBuffer.claim()).isEqualTo(AccessLogRingBuffer.FULL);
+    }
+
+    @Test
+    void testUnpublishedSlotBlocksTheFollowingOnes() {
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(4);
+        long first = ringBuffer.claim();
+        long second = ringBuffer.claim();
+        ringBuffer.entry(second).status = 2;
+        ringBuffer.publish(second);
+
+        // The consumer keeps the claim order: the second record waits for the first one
+        assertThat(ringBuffer.poll()).isNull();
+
+        ringBuffer.entry(first).status = 1;
+        ringBuffer.publish(first);
+        AccessLogEntry entry = ringBuffer.poll();
+        assertThat(entry.status).isEqualTo(1);
+        ringBuffer.release(entry);
+        assertThat(ringBuffer.poll().status).isEqualTo(2);
+    }
+
+    @Test
+    void testReleaseClearsTheReferencesOfTheEntry() {
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(2);
+        long position = ringBuffer.claim();
+        AccessLogEntry entry = ringBuffer.entry(position);
+        entry.method = "GET";
+        entry.path = "/api/v1/users";
+        entry.routeId = "user-service-route";
+        entry.userId = 1;
+        entry.error = new IllegalStateException();
+        ringBuffer.publish(position);
+
+        ringBuffer.release(ringBuffer.poll());
+
+        assertThat(entry.method).isNull();
+        assertThat(entry.path).isNull();
+        assertThat(entry.routeId).isNull();
+        assertThat(entry.userId).isNull();
+        assertThat(entry.error).isNull();
+    }
+
+    @Test
+    void testConcurrentProducersLoseNoPublishedRecord() throws InterruptedException {
+        int producers = 4;
+        int recordsPerProducer = 200_000;
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(256);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger dropped = new AtomicInteger();
+        AtomicBoolean producing = new AtomicBoolean(true);
+        AtomicInteger finishedProducers = new AtomicInteger();
+
+        for (int producer = 0; producer < producers; producer++) {
+            int producerId = producer;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                for (int i = 0; i < recordsPerProducer; i++) {
+                    if (!produce(ringBuffer, producerId * recordsPerProducer + i)) {
+                        dropped.incrementAndGet();
+                    }
+                }
+
+                if (finishedProducers.incrementAndGet() == producers) {
+                    producing.set(false);
+                }
+            });
+        }
+
+        List<Integer> consumed = new ArrayList<>();
+        start.countDown();
+
+        while (true) {
+            AccessLogEntry entry = ringBuffer.poll();
+
+            if (Objects.nonNull(entry)) {
+                consumed.add(entry.status);
+                ringBuffer.release(entry);
+            } else if (!producing.get() && Objects.isNull(ringBuffer.poll())) {
+                break;
+            }
+        }
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        Set<Integer> unique = new HashSet<>(consumed);
+        int[] lastByProducer = new int[producers];
+        Arrays.fill(lastByProducer, -1);
+
+        for (int status : consumed) {
+            int producer = status / recordsPerProducer;
+            // Records of one producer are consumed in the order they were produced
+            assertThat(status).isGreaterThan(lastByProducer[producer]);
+            lastByProducer[producer] = status;
+        }
+
+        assertThat(unique).hasSameSizeAs(consumed);
+        assertThat(consumed.size() + dropped.get()).isEqualTo(producers * recordsPerProducer);
+        assertThat(ringBuffer.size()).isZero();
+    }
+
+    private static boolean produce(AccessLogRingBuffer ringBuffer, int status) {
+        long position = ringBuffer.claim();
+
+        if (position == AccessLogRingBuffer.FULL) {
+            return false;
+        }
+
+        ringBuffer.entry(position).status = status;
+        ringBuffer.publish(position);
+        return true;
+    }
+}
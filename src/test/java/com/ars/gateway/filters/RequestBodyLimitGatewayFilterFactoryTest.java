@@ -0,0 +1,170 @@
+package com.ars.gateway.filters;
+
+import com.ars.gateway.common.ErrorResponseWriter;
+import com.ars.gateway.constants.RequestBodyConstants;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestBodyLimitGatewayFilterFactoryTest {
+    private static final String ROUTE_ID = "product-service-route";
+    private final AtomicInteger chainCalls = new AtomicInteger();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private RequestBodyLimitGatewayFilterFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        ErrorResponseWriter errorResponseWriter = mock(ErrorResponseWriter.class);
+        when(errorResponseWriter.write(any(), any(), anyString())).thenAnswer(invocation -> {
+            ServerWebExchange exchange = invocation.getArgument(0);
+            exchange.getResponse().setStatusCode(invocation.getArgument(1));
+            return Mono.empty();
+        });
+        meterRegistry = new SimpleMeterRegistry();
+        factory = new RequestBodyLimitGatewayFilterFactory(errorResponseWriter, meterRegistry);
+    }
+
+    @Test
+    void testDeclaredContentLengthAboveMaxSizeIsRejectedBeforeReadingTheBody() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/uploads/products")
+            .contentLength(DataSize.ofMegabytes(2).toBytes())
+            .body(Flux.just(buffer(16))));
+
+        filter(config(DataSize.ofMegabytes(1), null), exchange);
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONNECTION)).isEqualTo("close");
+        assertThat(chainCalls).hasValue(0);
+        assertThat(rejected(RequestBodyConstants.REASON_TOO_LARGE)).isEqualTo(1);
+        assertThat(rejectedBytes(RequestBodyConstants.REASON_TOO_LARGE)).isEqualTo(DataSize.ofMegabytes(2).toBytes());
+    }
+
+    @Test
+    void testBodyWithinTheLimitIsStreamedUnchanged() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/uploads/products")
+            .body(Flux.just(buffer(400), buffer(400))));
+
+        filter(config(DataSize.ofKilobytes(1), null), exchange);
+
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        assertThat(chainCalls).hasValue(1);
+        assertThat(bytesReceived).hasValue(800);
+        assertThat(meterRegistry.find(RequestBodyConstants.REJECTED_METRIC).counters()).isEmpty();
+    }
+
+    @Test
+    void testChunkedBodyIsAbortedOnceItExceedsMaxSize() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/uploads/products")
+            .body(Flux.just(buffer(600), buffer(600), buffer(600))));
+
+        filter(config(DataSize.ofKilobytes(1), null), exchange);
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(bytesReceived).hasValue(600);
+        assertThat(rejectedBytes(RequestBodyConstants.REASON_TOO_LARGE)).isEqualTo(1200);
+    }
+
+    @Test
+    void testStalledUploadIsRejectedAfterTheGracePeriod() {
+        RequestBodyLimitGatewayFilterFactory.Config config = config(DataSize.ofMegabytes(1), DataSize.ofKilobytes(8));
+        config.setGracePeriod(Duration.ofMillis(100));
+        Flux<DataBuffer> stalled = Flux.concat(Mono.just(buffer(100)), Mono.delay(Duration.ofSeconds(2)).map(ignored -> buffer(100)));
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/uploads/products").body(stalled));
+
+        filter(config, exchange);
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.REQUEST_TIMEOUT);
+        assertThat(rejected(RequestBodyConstants.REASON_TOO_SLOW)).isEqualTo(1);
+        assertThat(rejectedBytes(RequestBodyConstants.REASON_TOO_SLOW)).isEqualTo(100);
+    }
+
+    @Test
+    void testRejectionsOfARouteShareTheirCounters() {
+        RequestBodyLimitGatewayFilterFactory.Config config = config(DataSize.ofKilobytes(1), null);
+
+        for (int i = 0; i < 3; i++) {
+            filter(config, exchange(MockServerHttpRequest.post("/uploads/products").contentLength(2048).body(Flux.empty())));
+        }
+
+        assertThat(meterRegistry.find(RequestBodyConstants.REJECTED_METRIC).counters()).hasSize(1);
+        assertThat(rejected(RequestBodyConstants.REASON_TOO_LARGE)).isEqualTo(3);
+        assertThat(rejectedBytes(RequestBodyConstants.REASON_TOO_LARGE)).isEqualTo(3 * 2048);
+    }
+
+    private void filter(RequestBodyLimitGatewayFilterFactory.Config config, ServerWebExchange exchange) {
+        GatewayFilter filter = factory.apply(config);
+        GatewayFilterChain chain = filtered -> {
+            chainCalls.incrementAndGet();
+            return filtered.getRequest()
+                .getBody()
+                .doOnNext(buffer -> {
+                    bytesReceived.addAndGet(buffer.readableByteCount());
+                    DataBufferUtils.release(buffer);
+                })
+                .then();
+        };
+        filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+    }
+
+    private static RequestBodyLimitGatewayFilterFactory.Config config(DataSize maxSize, DataSize minRate) {
+        RequestBodyLimitGatewayFilterFactory.Config config = new RequestBodyLimitGatewayFilterFactory.Config();
+        config.setMaxSize(maxSize);
+        config.setMinRate(minRate);
+        return config;
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async().id(ROUTE_ID).uri("http://localhost").predicate(ignored -> true).build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private static DataBuffer buffer(int size) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(new byte[size]);
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get(RequestBodyConstants.REJECTED_METRIC)
+            .tag(RequestBodyConstants.ROUTE_TAG, ROUTE_ID)
+            .tag(RequestBodyConstants.REASON_TAG, reason)
+            .counter()
+            .count();
+    }
+
+    private double rejectedBytes(String reason) {
+        return meterRegistry.get(RequestBodyConstants.REJECTED_BYTES_METRIC)
+            .tag(RequestBodyConstants.ROUTE_TAG, ROUTE_ID)
+            .tag(RequestBodyConstants.REASON_TAG, reason)
+            .counter()
+            .count();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ars.gateway.heavyhitter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountMinSketchTest {
+    private static final int WIDTH = 1024;
+    private static final int DEPTH = 4;
+
+    @Test
+    void testNeverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        Map<String, Long> counts = addSkewedStream(sketch, 5000, 100_000);
+
+        counts.forEach((key, count) -> assertThat(sketch.estimate(key)).as(key).isGreaterThanOrEqualTo(count));
+    }
+
+    @Test
+    void testAddReturnsTheEstimateAfterTheAddition() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+
+        for (int i = 0; i < 10; i++) {
+            sketch.add("key-" + i);
+        }
+
+        long estimate = sketch.add("client");
+        assertThat(estimate).isEqualTo(sketch.estimate("client")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void testOverestimatesWithinTheErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(WIDTH, DEPTH);
+        int total = 100_000;
+        Map<String, Long> counts = addSkewedStream(sketch, 5000, total);
+        double bound = Math.E / WIDTH * total;
+        long outsideBound = counts.entrySet()
+            .stream()
+            .filter(entry -> sketch.estimate(entry.getKey()) - entry.getValue() > bound)
+            .count();
+
+        // Each estimate stays within the bound with probability 1 - e^-depth (98%)
+        assertThat((double) outsideBound / counts.size()).isLessThan(Math.exp(-DEPTH) * 2);
+    }
+
+    @Test
+    void testUnknownKeyOfAnEmptySketchIsZero() {
+        assertThat(new CountMinSketch(WIDTH, DEPTH).estimate("unknown")).isZero();
+    }
+
+    /**
+     * Zipf-like stream: a few keys send most of the requests, a long tail sends a few each
+     */
+    private static Map<String, Long> addSkewedStream(CountMinSketch sketch, int keys, int total) {
+        Random random = new Random(42);
+        Map<String, Long> counts = new HashMap<>();
+
+        for (int i = 0; i < total; i++) {
+            int rank = (int) Math.min(keys - 1, Math.floor(1 / (random.nextDouble() + 1e-9)) - 1);
+            String key = "client-" + rank;
+            sketch.add(key);
+            counts.merge(key, 1L, Long::sum);
+        }
+
+        return counts;
+    }
+}
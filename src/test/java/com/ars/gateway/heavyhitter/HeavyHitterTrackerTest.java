@@ -0,0 +1,118 @@
+package com.ars.gateway.heavyhitter;
+
+import com.ars.gateway.dto.HeavyHitterDTO;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHitterTrackerTest {
+    private static final int SKETCH_WIDTH = 4096;
+    private static final int SKETCH_DEPTH = 4;
+
+    @Test
+    void testDominantKeyIsTrackedAmongUniqueKeys() {
+        HeavyHitterTracker tracker = new HeavyHitterTracker(10, SKETCH_WIDTH, SKETCH_DEPTH);
+        int dominant = 0;
+
+        for (int i = 0; i < 50_000; i++) {
+            if (i % 5 == 0) {
+                tracker.add("dominant");
+                dominant++;
+            } else {
+                tracker.add("unique-" + i);
+            }
+        }
+
+        List<HeavyHitterDTO> heavyHitters = tracker.getHeavyHitters();
+        assertThat(heavyHitters).hasSizeLessThanOrEqualTo(10);
+        assertThat(heavyHitters.get(0).getKey()).isEqualTo("dominant");
+        assertThat(heavyHitters.get(0).getCount()).isGreaterThanOrEqualTo(dominant);
+        assertThat(tracker.getTotal()).isEqualTo(50_000);
+    }
+
+    @Test
+    void testKeysAboveOneOverCapacityAreTrackedEvenWhenTheyStartLate() {
+        HeavyHitterTracker tracker = new HeavyHitterTracker(10, SKETCH_WIDTH, SKETCH_DEPTH);
+
+        // The counters are taken by the long tail before the heavy hitters send anything
+        for (int i = 0; i < 10_000; i++) {
+            tracker.add("tail-" + i);
+        }
+
+        for (int i = 0; i < 30_000; i++) {
+            tracker.add(i % 3 == 0 ? "late-heavy-" + (i % 2) : "tail-" + (10_000 + i));
+        }
+
+        assertThat(tracker.getHeavyHitters())
+            .extracting(HeavyHitterDTO::getKey)
+            .contains("late-heavy-0", "late-heavy-1");
+    }
+
+    @Test
+    void testCountsAreNeverUnderestimated() {
+        HeavyHitterTracker tracker = new HeavyHitterTracker(3, SKETCH_WIDTH, SKETCH_DEPTH);
+
+        for (int i = 0; i < 1000; i++) {
+            tracker.add("a");
+            tracker.add(i % 2 == 0 ? "b" : "c");
+            tracker.add("noise-" + i);
+        }
+
+        assertThat(tracker.getHeavyHitters())
+            .filteredOn(heavyHitter -> heavyHitter.getKey().equals("a"))
+            .singleElement()
+            .satisfies(heavyHitter -> {
+                assertThat(heavyHitter.getCount()).isGreaterThanOrEqualTo(1000);
+                assertThat(heavyHitter.getShare()).isGreaterThanOrEqualTo(1000 / 3000d);
+            });
+    }
+
+    @Test
+    void testReplacementUnderContention() throws InterruptedException {
+        int capacity = 20;
+        int threads = 8;
+        int addsPerThread = 50_000;
+        HeavyHitterTracker tracker = new HeavyHitterTracker(capacity, SKETCH_WIDTH, SKETCH_DEPTH);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int thread = 0; thread < threads; thread++) {
+            int threadId = thread;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                // Every thread competes for the same counters: two shared heavy keys within a stream of unique keys
+                for (int i = 0; i < addsPerThread; i++) {
+                    tracker.add(i % 4 == 0 ? "heavy-" + (i % 8 == 0 ? 0 : 1) : "unique-" + threadId + "-" + i);
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        long heavyCount = (long) threads * addsPerThread / 8;
+        List<HeavyHitterDTO> heavyHitters = tracker.getHeavyHitters();
+        assertThat(tracker.getTotal()).isEqualTo((long) threads * addsPerThread);
+        // Concurrent replacements may briefly overshoot the capacity by the number of racing threads, never more
+        assertThat(heavyHitters).hasSizeLessThanOrEqualTo(capacity + threads);
+        assertThat(heavyHitters.subList(0, 2))
+            .extracting(HeavyHitterDTO::getKey)
+            .containsExactlyInAnyOrder("heavy-0", "heavy-1");
+        assertThat(heavyHitters.subList(0, 2))
+            .allSatisfy(heavyHitter -> assertThat(heavyHitter.getCount()).isGreaterThanOrEqualTo(heavyCount));
+    }
+}
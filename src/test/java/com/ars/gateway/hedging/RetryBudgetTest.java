@@ -0,0 +1,101 @@
+package com.ars.gateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RetryBudgetTest {
+
+    @Test
+    void testStartsEmpty() {
+        RetryBudget retryBudget = new RetryBudget(0.25, 0, 10);
+
+        assertThat(retryBudget.tryWithdraw()).isFalse();
+        assertThat(retryBudget.getTokens()).isZero();
+    }
+
+    @Test
+    void testEveryRegularRequestDepositsRatioToken() {
+        RetryBudget retryBudget = new RetryBudget(0.25, 0, 10);
+
+        for (int i = 0; i < 3; i++) {
+            retryBudget.deposit();
+        }
+
+        assertThat(retryBudget.tryWithdraw()).isFalse();
+
+        retryBudget.deposit();
+
+        assertThat(retryBudget.tryWithdraw()).isTrue();
+        assertThat(retryBudget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void testTokensAreCappedByMaxTokens() {
+        RetryBudget retryBudget = new RetryBudget(1, 0, 3);
+
+        for (int i = 0; i < 10; i++) {
+            retryBudget.deposit();
+        }
+
+        assertThat(retryBudget.getTokens()).isEqualTo(3);
+        assertThat(retryBudget.tryWithdraw()).isTrue();
+        assertThat(retryBudget.tryWithdraw()).isTrue();
+        assertThat(retryBudget.tryWithdraw()).isTrue();
+        assertThat(retryBudget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void testMinPerSecondIsGrantedOverTime() throws InterruptedException {
+        RetryBudget retryBudget = new RetryBudget(0.1, 100, 5);
+
+        Thread.sleep(100);
+
+        assertThat(retryBudget.tryWithdraw()).isTrue();
+        // 100 tokens per second for 100ms, but never more than maxTokens
+        assertThat(retryBudget.getTokens()).isCloseTo(4, within(0.5));
+    }
+
+    @Test
+    void testConcurrentWithdrawalsNeverExceedTheTokens() throws InterruptedException {
+        RetryBudget retryBudget = new RetryBudget(1, 0, 100);
+
+        for (int i = 0; i < 100; i++) {
+            retryBudget.deposit();
+        }
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger withdrawn = new AtomicInteger();
+
+        for (int thread = 0; thread < threads; thread++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                for (int i = 0; i < 50; i++) {
+                    if (retryBudget.tryWithdraw()) {
+                        withdrawn.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(withdrawn.get()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,143 @@
+package com.ars.gateway.ipfilter;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CidrRadixTreeTest {
+
+    @Test
+    void testMostSpecificPrefixWins() {
+        CidrRadixTree<String> tree = new CidrRadixTree<>();
+        tree.put("10.0.0.0/8", "private");
+        tree.put("10.1.0.0/16", "office");
+        tree.put("10.1.2.3", "host");
+
+        assertThat(tree.lookup(address("10.200.0.1"))).isEqualTo("private");
+        assertThat(tree.lookup(address("10.1.9.9"))).isEqualTo("office");
+        assertThat(tree.lookup(address("10.1.2.3"))).isEqualTo("host");
+        assertThat(tree.lookup(address("11.0.0.1"))).isNull();
+        assertThat(tree.contains(address("192.168.1.1"))).isFalse();
+    }
+
+    @Test
+    void testInsertionOrderDoesNotMatter() {
+        CidrRadixTree<String> tree = new CidrRadixTree<>();
+        tree.put("10.1.2.3", "host");
+        tree.put("10.1.0.0/16", "office");
+        tree.put("10.0.0.0/8", "private");
+
+        assertThat(tree.lookup(address("10.200.0.1"))).isEqualTo("private");
+        assertThat(tree.lookup(address("10.1.9.9"))).isEqualTo("office");
+        assertThat(tree.lookup(address("10.1.2.3"))).isEqualTo("host");
+    }
+
+    @Test
+    void testDefaultRouteMatchesItsFamilyOnly() {
+        CidrRadixTree<String> tree = new CidrRadixTree<>();
+        tree.put("0.0.0.0/0", "any-ipv4");
+
+        assertThat(tree.lookup(address("203.0.113.7"))).isEqualTo("any-ipv4");
+        assertThat(tree.lookup(address("2001:db8::1"))).isNull();
+    }
+
+    @Test
+    void testIpv6Prefixes() {
+        CidrRadixTree<String> tree = new CidrRadixTree<>();
+        tree.put("2001:db8::/32", "documentation");
+        tree.put("2001:db8:abcd::/48", "site");
+        tree.put("[::1]", "loopback");
+
+        assertThat(tree.lookup(address("2001:db8:1::1"))).isEqualTo("documentation");
+        assertThat(tree.lookup(address("2001:db8:abcd:12::1"))).isEqualTo("site");
+        assertThat(tree.lookup(address("::1"))).isEqualTo("loopback");
+        assertThat(tree.lookup(address("2001:db9::1"))).isNull();
+    }
+
+    @Test
+    void testHostBitsOfThePrefixAreIgnored() {
+        CidrRadixTree<String> tree = new CidrRadixTree<>();
+        tree.put("192.168.1.77/24", "lan");
+
+        assertThat(tree.lookup(address("192.168.1.1"))).isEqualTo("lan");
+        assertThat(tree.lookup(address("192.168.2.1"))).isNull();
+    }
+
+    @Test
+    void testSizeCountsDistinctPrefixes() {
+        CidrRadixTree<String> tree = new CidrRadixTree<>();
+        tree.put("10.0.0.0/8", "a");
+        tree.put("10.0.0.0/8", "b");
+        tree.put("10.128.0.0/9", "c");
+        tree.put("10.64.0.0/10", "d");
+
+        assertThat(tree.size()).isEqualTo(3);
+        assertThat(tree.lookup(address("10.1.1.1"))).isEqualTo("b");
+    }
+
+    @Test
+    void testInvalidCidrsAreRejected() {
+        CidrRadixTree<String> tree = new CidrRadixTree<>();
+
+        assertThatThrownBy(() -> tree.put("10.0.0.0/33", "x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tree.put("10.0.0.0/-1", "x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tree.put("10.0.0.0/abc", "x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tree.put("2001:db8::/129", "x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tree.put("example.com/8", "x")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(tree.size()).isZero();
+    }
+
+    @Test
+    void testParseAddressAcceptsLiteralsOnly() {
+        assertThat(CidrRadixTree.parseAddress(" 192.0.2.1 ")).isEqualTo(address("192.0.2.1"));
+        assertThat(CidrRadixTree.parseAddress("[2001:db8::1]")).isEqualTo(address("2001:db8::1"));
+        assertThat(CidrRadixTree.parseAddress("999.1.1.1")).isNull();
+        assertThat(CidrRadixTree.parseAddress("localhost")).isNull();
+        assertThat(CidrRadixTree.parseAddress("example.com")).isNull();
+        assertThat(CidrRadixTree.parseAddress("")).isNull();
+    }
+
+    @Test
+    void testLookupMatchesALinearScanOfRandomPrefixes() {
+        Random random = new Random(7);
+        CidrRadixTree<Integer> tree = new CidrRadixTree<>();
+        List<int[]> prefixes = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            int network = random.nextInt();
+            int length = random.nextInt(33);
+            tree.put(toAddress(network).getHostAddress() + "/" + length, length);
+            prefixes.add(new int[] {network, length});
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            int candidate = random.nextBoolean() ? random.nextInt() : prefixes.get(random.nextInt(prefixes.size()))[0] ^ random.nextInt(256);
+            Integer expected = null;
+
+            for (int[] prefix : prefixes) {
+                int mask = prefix[1] == 0 ? 0 : -1 << (32 - prefix[1]);
+
+                if ((candidate & mask) == (prefix[0] & mask) && (Objects.isNull(expected) || prefix[1] > expected)) {
+                    expected = prefix[1];
+                }
+            }
+
+            assertThat(tree.lookup(toAddress(candidate))).isEqualTo(expected);
+        }
+    }
+
+    private static InetAddress address(String literal) {
+        return CidrRadixTree.parseAddress(literal);
+    }
+
+    private static InetAddress toAddress(int value) {
+        return address((value >>> 24) + "." + ((value >>> 16) & 0xff) + "." + ((value >>> 8) & 0xff) + "." + (value & 0xff));
+    }
+}
@@ -0,0 +1,158 @@
+package com.ars.gateway.loadbalancer;
+
+import com.ars.gateway.config.properties.LoadBalancerProps;
+import com.ars.gateway.constants.LoadBalancerConstants;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutlierDetectorTest {
+    private static final String SERVICE_ID = "PRODUCT-SERVICE";
+    private final List<ServiceInstance> instances = IntStream.range(0, 4)
+        .mapToObj(i -> (ServiceInstance) new DefaultServiceInstance("product-" + i, SERVICE_ID, "10.0.0." + i, 8080, false))
+        .toList();
+    private LoadBalancerProps loadBalancerProps;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        loadBalancerProps = new LoadBalancerProps();
+        LoadBalancerProps.OutlierDetection config = loadBalancerProps.getOutlierDetection();
+        config.setConsecutiveErrors(5);
+        config.setErrorRateThreshold(0.5);
+        config.setMinimumRequests(20);
+        config.setMaxEjectionPercent(50);
+        config.setBaseEjectionTime(Duration.ofMinutes(1));
+        config.setRecoveryTime(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testConsecutiveErrorsEjectTheInstance() {
+        OutlierDetector outlierDetector = detector();
+        outlierDetector.filter(SERVICE_ID, instances);
+
+        fail(outlierDetector, instances.get(0), 5);
+
+        assertThat(outlierDetector.filter(SERVICE_ID, instances)).doesNotContain(instances.get(0)).hasSize(3);
+        assertThat(ejections(LoadBalancerConstants.REASON_CONSECUTIVE_ERRORS)).isEqualTo(1);
+        assertThat(meterRegistry.get(LoadBalancerConstants.OUTLIER_EJECTED_METRIC).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testSuccessResetsConsecutiveErrors() {
+        OutlierDetector outlierDetector = detector();
+        outlierDetector.filter(SERVICE_ID, instances);
+
+        fail(outlierDetector, instances.get(0), 4);
+        outlierDetector.onResult(instances.get(0), false);
+        fail(outlierDetector, instances.get(0), 4);
+
+        assertThat(outlierDetector.filter(SERVICE_ID, instances)).containsExactlyElementsOf(instances);
+    }
+
+    @Test
+    void testErrorRateEjectsOnceMinimumRequestsAreReached() {
+        loadBalancerProps.getOutlierDetection().setConsecutiveErrors(100);
+        loadBalancerProps.getOutlierDetection().setMinimumRequests(10);
+        OutlierDetector outlierDetector = detector();
+        outlierDetector.filter(SERVICE_ID, instances);
+
+        for (int i = 0; i < 9; i++) {
+            outlierDetector.onResult(instances.get(1), i % 2 == 1);
+        }
+
+        assertThat(outlierDetector.filter(SERVICE_ID, instances)).contains(instances.get(1));
+
+        // 10th request, 5 failures out of 10
+        outlierDetector.onResult(instances.get(1), true);
+
+        assertThat(outlierDetector.filter(SERVICE_ID, instances)).doesNotContain(instances.get(1));
+        assertThat(ejections(LoadBalancerConstants.REASON_ERROR_RATE)).isEqualTo(1);
+    }
+
+    @Test
+    void testNoMoreThanMaxEjectionPercentAreEjected() {
+        OutlierDetector outlierDetector = detector();
+        outlierDetector.filter(SERVICE_ID, instances);
+
+        instances.forEach(instance -> fail(outlierDetector, instance, 5));
+
+        assertThat(outlierDetector.filter(SERVICE_ID, instances)).hasSize(2);
+    }
+
+    @Test
+    void testServiceIsNeverLeftWithoutInstances() {
+        loadBalancerProps.getOutlierDetection().setMaxEjectionPercent(100);
+        OutlierDetector outlierDetector = detector();
+        outlierDetector.filter(SERVICE_ID, instances);
+
+        instances.forEach(instance -> fail(outlierDetector, instance, 5));
+
+        assertThat(outlierDetector.filter(SERVICE_ID, instances)).containsExactlyElementsOf(instances);
+    }
+
+    @Test
+    void testInstanceIsReintroducedOnceItsEjectionExpires() throws InterruptedException {
+        loadBalancerProps.getOutlierDetection().setBaseEjectionTime(Duration.ofMillis(50));
+        OutlierDetector outlierDetector = detector();
+        outlierDetector.filter(SERVICE_ID, instances);
+
+        fail(outlierDetector, instances.get(0), 5);
+        assertThat(outlierDetector.filter(SERVICE_ID, instances)).doesNotContain(instances.get(0));
+
+        Thread.sleep(200);
+
+        assertThat(outlierDetector.filter(SERVICE_ID, instances)).contains(instances.get(0));
+    }
+
+    @Test
+    void testResultsOfAnEjectedInstanceAreIgnored() {
+        OutlierDetector outlierDetector = detector();
+        outlierDetector.filter(SERVICE_ID, instances);
+
+        fail(outlierDetector, instances.get(0), 15);
+
+        assertThat(ejections(LoadBalancerConstants.REASON_CONSECUTIVE_ERRORS)).isEqualTo(1);
+    }
+
+    @Test
+    void testDisabledDetectorKeepsEveryInstance() {
+        loadBalancerProps.getOutlierDetection().setEnabled(false);
+        OutlierDetector outlierDetector = detector();
+
+        fail(outlierDetector, instances.get(0), 50);
+
+        assertThat(outlierDetector.filter(SERVICE_ID, instances)).isSameAs(instances);
+        assertThat(meterRegistry.find(LoadBalancerConstants.OUTLIER_EJECTIONS_METRIC).counters()).isEmpty();
+    }
+
+    private OutlierDetector detector() {
+        return new OutlierDetector(loadBalancerProps, meterRegistry);
+    }
+
+    private static void fail(OutlierDetector outlierDetector, ServiceInstance instance, int failures) {
+        for (int i = 0; i < failures; i++) {
+            outlierDetector.onResult(instance, true);
+        }
+    }
+
+    private double ejections(String reason) {
+        return meterRegistry.find(LoadBalancerConstants.OUTLIER_EJECTIONS_METRIC)
+            .tag(LoadBalancerConstants.REASON_TAG, reason)
+            .counters()
+            .stream()
+            .mapToDouble(Counter::count)
+            .sum();
+    }
+}
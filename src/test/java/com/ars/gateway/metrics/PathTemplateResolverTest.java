@@ -0,0 +1,101 @@
+package com.ars.gateway.metrics;
+
+import com.ars.gateway.config.properties.PathTemplateProps;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathTemplateResolverTest {
+    private static final String ROUTE_PATTERN = "/api/v1/products/**";
+    private PathTemplateProps pathTemplateProps;
+
+    @BeforeEach
+    void setUp() {
+        pathTemplateProps = new PathTemplateProps();
+        pathTemplateProps.setMaxTemplates(500);
+        pathTemplateProps.setMaxSegments(8);
+        pathTemplateProps.setMaxDistinctValues(50);
+    }
+
+    @Test
+    void testIdentifiersAreReplaced() {
+        PathTemplateResolver resolver = new PathTemplateResolver(pathTemplateProps);
+
+        assertThat(resolver.resolve("/api/p/v1/products/123/reviews", ROUTE_PATTERN))
+            .isEqualTo("/api/p/v1/products/{id}/reviews");
+        assertThat(resolver.resolve("/api/v1/orders/3f2b8c1e-9a4d-4e5f-8b6a-1c2d3e4f5a6b", ROUTE_PATTERN))
+            .isEqualTo("/api/v1/orders/{uuid}");
+        assertThat(resolver.resolve("/uploads/products/a1b2c3d4e5f6a7b8c9d0.jpg", ROUTE_PATTERN))
+            .isEqualTo("/uploads/products/{token}");
+        assertThat(resolver.resolve("/api/v1/products/search", ROUTE_PATTERN))
+            .isEqualTo("/api/v1/products/search");
+    }
+
+    @Test
+    void testRootAndEmptyPaths() {
+        PathTemplateResolver resolver = new PathTemplateResolver(pathTemplateProps);
+
+        assertThat(resolver.resolve("/", ROUTE_PATTERN)).isEqualTo("/");
+        assertThat(resolver.resolve("", ROUTE_PATTERN)).isEqualTo("/");
+        assertThat(resolver.resolve(null, ROUTE_PATTERN)).isEqualTo("/");
+    }
+
+    @Test
+    void testPositionWithTooManyDistinctValuesIsCollapsed() {
+        pathTemplateProps.setMaxDistinctValues(3);
+        PathTemplateResolver resolver = new PathTemplateResolver(pathTemplateProps);
+
+        assertThat(resolver.resolve("/api/v1/users/alice", ROUTE_PATTERN)).isEqualTo("/api/v1/users/alice");
+        resolver.resolve("/api/v1/users/bob", ROUTE_PATTERN);
+        resolver.resolve("/api/v1/users/carol", ROUTE_PATTERN);
+
+        assertThat(resolver.resolve("/api/v1/users/dave", ROUTE_PATTERN)).isEqualTo("/api/v1/users/{var}");
+        // Once collapsed, known values share the variable too
+        assertThat(resolver.resolve("/api/v1/users/alice/orders", ROUTE_PATTERN)).isEqualTo("/api/v1/users/{var}/orders");
+        // Other prefixes keep their own values
+        assertThat(resolver.resolve("/api/v1/shops/alice", ROUTE_PATTERN)).isEqualTo("/api/v1/shops/alice");
+    }
+
+    @Test
+    void testDeepPathsAreTruncated() {
+        pathTemplateProps.setMaxSegments(3);
+        PathTemplateResolver resolver = new PathTemplateResolver(pathTemplateProps);
+
+        assertThat(resolver.resolve("/api/v1/products/1/reviews/2", ROUTE_PATTERN)).isEqualTo("/api/v1/products/**");
+        assertThat(resolver.resolve("/api/v1/products", ROUTE_PATTERN)).isEqualTo("/api/v1/products");
+    }
+
+    @Test
+    void testNewPathsFallBackToTheRoutePatternOnceTheCapIsReached() {
+        pathTemplateProps.setMaxTemplates(2);
+        PathTemplateResolver resolver = new PathTemplateResolver(pathTemplateProps);
+
+        assertThat(resolver.resolve("/api/v1/products/1", ROUTE_PATTERN)).isEqualTo("/api/v1/products/{id}");
+        assertThat(resolver.resolve("/api/v1/products/1/reviews", ROUTE_PATTERN)).isEqualTo("/api/v1/products/{id}/reviews");
+
+        assertThat(resolver.resolve("/api/v1/products/search", ROUTE_PATTERN)).isEqualTo(ROUTE_PATTERN);
+        assertThat(resolver.resolve("/api/v1/unknown", null)).isEqualTo("/**");
+        // Known templates keep resolving
+        assertThat(resolver.resolve("/api/v1/products/42", ROUTE_PATTERN)).isEqualTo("/api/v1/products/{id}");
+    }
+
+    @Test
+    void testTemplateCountStaysBoundedForRandomPaths() {
+        pathTemplateProps.setMaxTemplates(20);
+        pathTemplateProps.setMaxDistinctValues(5);
+        PathTemplateResolver resolver = new PathTemplateResolver(pathTemplateProps);
+        Set<String> tags = new HashSet<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            tags.add(resolver.resolve("/api/v1/" + Integer.toString(i, 36) + "x/" + Integer.toString(i * 31, 36) + "y", ROUTE_PATTERN));
+        }
+
+        // The templates, plus the route pattern once the cap is reached
+        assertThat(tags).hasSizeLessThanOrEqualTo(21);
+    }
+}
@@ -0,0 +1,169 @@
+package com.ars.gateway.route;
+
+import com.ars.gateway.constants.RouteConstants;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.handler.AsyncPredicate;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteIndexTest {
+    private final Map<String, AtomicInteger> evaluations = new ConcurrentHashMap<>();
+    private SimpleMeterRegistry meterRegistry;
+    private RouteIndex routeIndex;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        routeIndex = new RouteIndex(meterRegistry);
+    }
+
+    @Test
+    void testLiteralPrefixesOfShortcutAndNamedPathArguments() {
+        RouteDefinition shortcut = definition("users", "Path=/api/v1/users/**, /api/p/v1/users/{id}, /login/**");
+        RouteDefinition named = new RouteDefinition();
+        PredicateDefinition path = new PredicateDefinition();
+        path.setName("Path");
+        path.addArg("patterns", "/{tenant}/orders/**");
+        path.addArg("matchTrailingSlash", "true");
+        named.setPredicates(List.of(path));
+
+        assertThat(RouteIndex.literalPrefixes(shortcut)).containsExactly(
+            List.of("api", "v1", "users"),
+            List.of("api", "p", "v1", "users"),
+            List.of("login")
+        );
+        assertThat(RouteIndex.literalPrefixes(named)).containsExactly(List.of());
+        assertThat(RouteIndex.literalPrefixes(definition("hosts", "Host=**.example.com"))).isEmpty();
+    }
+
+    @Test
+    void testOnlyRoutesUnderTheRequestPathAreEvaluated() {
+        List<Route> routes = List.of(
+            route("users", List.of(List.of("api", "v1", "users")), "/api/v1/users/"),
+            route("products", List.of(List.of("api", "v1", "products")), "/api/v1/products/"),
+            route("not-indexed", List.of(), null)
+        );
+        refresh(routes);
+
+        assertThat(firstMatch(routes, "/api/v1/products/1")).isEqualTo("products");
+        assertThat(evaluations).containsOnlyKeys("products");
+    }
+
+    @Test
+    void testRoutesWithoutPathPrefixAreAlwaysEvaluated() {
+        List<Route> routes = List.of(
+            route("users", List.of(List.of("api", "v1", "users")), "/api/v1/users/"),
+            route("tenant", List.of(List.of()), "/acme/"),
+            route("not-indexed", List.of(), "/other/")
+        );
+        refresh(routes);
+
+        assertThat(firstMatch(routes, "/other/1")).isEqualTo("not-indexed");
+        assertThat(evaluations).containsOnlyKeys("tenant", "not-indexed");
+    }
+
+    @Test
+    void testRoutesCompiledAfterTheLastRebuildAreEvaluated() {
+        refresh(List.of(route("users", List.of(List.of("api", "v1", "users")), "/api/v1/users/")));
+        // Recompiled by a refresh whose event was not handled yet: another predicate instance for the same route ID
+        List<Route> recompiled = List.of(route("users", List.of(List.of("api", "v2", "users")), "/api/v2/users/"));
+
+        assertThat(firstMatch(recompiled, "/api/v2/users/1")).isEqualTo("users");
+    }
+
+    @Test
+    void testLookupDurationIsRecordedOncePerRequest() {
+        List<Route> routes = List.of(
+            route("users", List.of(List.of("api", "v1", "users")), "/api/v1/users/"),
+            route("products", List.of(List.of("api", "v1", "products")), "/api/v1/products/")
+        );
+        refresh(routes);
+
+        firstMatch(routes, "/api/v1/users/1");
+        firstMatch(routes, "/unknown");
+
+        assertThat(meterRegistry.get(RouteConstants.LOOKUP_DURATION_METRIC).tag(RouteConstants.MATCHED_TAG, "true").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(RouteConstants.LOOKUP_DURATION_METRIC).tag(RouteConstants.MATCHED_TAG, "false").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(RouteConstants.LOOKUP_CANDIDATES_METRIC).summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testFailedRefreshKeepsThePreviousIndex() {
+        List<Route> routes = List.of(
+            route("users", List.of(List.of("api", "v1", "users")), "/api/v1/users/"),
+            route("products", List.of(List.of("api", "v1", "products")), "/api/v1/products/")
+        );
+        refresh(routes);
+        routeIndex.onApplicationEvent(new RefreshRoutesResultEvent((RouteLocator) Flux::empty, new IllegalStateException("failed")));
+
+        assertThat(firstMatch(routes, "/api/v1/products/1")).isEqualTo("products");
+        assertThat(evaluations).containsOnlyKeys("products");
+    }
+
+    /**
+     * Evaluates the routes in order like the gateway handler mapping
+     * @return the ID of the first matching route, null when none matches
+     */
+    private String firstMatch(List<Route> routes, String path) {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+
+        for (Route route : routes) {
+            if (Boolean.TRUE.equals(Mono.from(route.getPredicate().apply(exchange)).block())) {
+                return route.getId();
+            }
+        }
+
+        return null;
+    }
+
+    private void refresh(List<Route> routes) {
+        RouteLocator routeLocator = () -> Flux.fromIterable(routes);
+        routeIndex.onApplicationEvent(new RefreshRoutesResultEvent(routeLocator));
+    }
+
+    /**
+     * @param pathPrefix the path the underlying predicate accepts, null for a predicate that never matches
+     */
+    private Route route(String routeId, List<List<String>> prefixes, String pathPrefix) {
+        AsyncPredicate<ServerWebExchange> delegate = exchange -> {
+            evaluations.computeIfAbsent(routeId, ignored -> new AtomicInteger()).incrementAndGet();
+            String requestPath = exchange.getRequest().getPath().value();
+            return Mono.just(Objects.nonNull(pathPrefix) && requestPath.startsWith(pathPrefix));
+        };
+        return Route.async()
+            .id(routeId)
+            .uri("http://localhost")
+            .asyncPredicate(new IndexedRoutePredicate(routeId, new ArrayList<>(prefixes), delegate, routeIndex))
+            .build();
+    }
+
+    private static RouteDefinition definition(String routeId, String predicate) {
+        RouteDefinition definition = new RouteDefinition();
+        definition.setId(routeId);
+        definition.setPredicates(List.of(new PredicateDefinition(predicate)));
+        return definition;
+    }
+}
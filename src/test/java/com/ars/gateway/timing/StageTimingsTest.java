@@ -0,0 +1,72 @@
+package com.ars.gateway.timing;
+
+import com.ars.gateway.constants.CommonConstants;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StageTimingsTest {
+
+    @Test
+    void testStagesAreMarkedOnTheExchangeTimings() {
+        StageTimings timings = new StageTimings(System.nanoTime(), false);
+        MockServerWebExchange exchange = exchange(timings);
+
+        StageTimings.start(exchange, GatewayStage.DOWNSTREAM);
+        assertThat(timings.durationNanos(GatewayStage.DOWNSTREAM)).isEqualTo(-1);
+        assertThat(timings.elapsedNanos(GatewayStage.DOWNSTREAM)).isGreaterThanOrEqualTo(0);
+        StageTimings.end(exchange, GatewayStage.DOWNSTREAM);
+
+        assertThat(timings.durationNanos(GatewayStage.DOWNSTREAM)).isGreaterThanOrEqualTo(0);
+        assertThat(timings.durationNanos(GatewayStage.RATE_LIMIT)).isEqualTo(-1);
+    }
+
+    @Test
+    void testMarksOfAForkOnlyReachTheExchangeOncePromoted() {
+        StageTimings timings = new StageTimings(System.nanoTime(), false);
+        StageTimings primary = timings.fork();
+        StageTimings hedge = timings.fork();
+        MockServerWebExchange primaryExchange = exchange(primary);
+        MockServerWebExchange hedgeExchange = exchange(hedge);
+
+        StageTimings.start(primaryExchange, GatewayStage.DOWNSTREAM);
+        StageTimings.start(hedgeExchange, GatewayStage.DOWNSTREAM);
+        StageTimings.end(primaryExchange, GatewayStage.DOWNSTREAM);
+        assertThat(timings.elapsedNanos(GatewayStage.DOWNSTREAM)).isEqualTo(-1);
+
+        hedge.promote();
+        assertThat(timings.elapsedNanos(GatewayStage.DOWNSTREAM)).isGreaterThanOrEqualTo(0);
+        assertThat(timings.durationNanos(GatewayStage.DOWNSTREAM)).isEqualTo(-1);
+
+        StageTimings.end(hedgeExchange, GatewayStage.DOWNSTREAM);
+        assertThat(timings.durationNanos(GatewayStage.DOWNSTREAM)).isEqualTo(hedge.durationNanos(GatewayStage.DOWNSTREAM));
+    }
+
+    @Test
+    void testLosingForkDoesNotOverwriteThePromotedMarks() {
+        StageTimings timings = new StageTimings(System.nanoTime(), false);
+        StageTimings primary = timings.fork();
+        StageTimings hedge = timings.fork();
+        MockServerWebExchange primaryExchange = exchange(primary);
+        MockServerWebExchange hedgeExchange = exchange(hedge);
+
+        StageTimings.start(primaryExchange, GatewayStage.DOWNSTREAM);
+        StageTimings.start(hedgeExchange, GatewayStage.DOWNSTREAM);
+        primary.promote();
+        StageTimings.end(primaryExchange, GatewayStage.DOWNSTREAM);
+        long winnerDuration = timings.durationNanos(GatewayStage.DOWNSTREAM);
+        StageTimings.end(hedgeExchange, GatewayStage.DOWNSTREAM);
+
+        assertThat(winnerDuration).isEqualTo(primary.durationNanos(GatewayStage.DOWNSTREAM));
+        assertThat(timings.durationNanos(GatewayStage.DOWNSTREAM)).isEqualTo(winnerDuration);
+    }
+
+    private static MockServerWebExchange exchange(StageTimings timings) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/products"));
+        exchange.getAttributes().put(CommonConstants.STAGE_TIMINGS_ATTRIBUTE, timings);
+        return exchange;
+    }
+}